@@ -0,0 +1,91 @@
+package com.github.marschall.charsequences;
+
+import java.util.Arrays;
+
+/**
+ * The match masks of a pattern of up to 64 chars for the bit-parallel
+ * algorithm of Myers. Bit {@code i} of the mask of a char is set if the
+ * pattern contains the char at index {@code i}.
+ *
+ * <p>A pattern can be reused for different pattern strings, no
+ * allocation is performed after construction.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+final class BitParallelPattern {
+
+  static final int MAXIMUM_LENGTH = Long.SIZE;
+
+  private static final int ASCII = 0x80;
+
+  private final long[] asciiMasks;
+
+  // the non-ASCII chars of the pattern, there can be at most one per index
+  private final char[] chars;
+
+  private final long[] charMasks;
+
+  private int charCount;
+
+  BitParallelPattern() {
+    this.asciiMasks = new long[ASCII];
+    this.chars = new char[MAXIMUM_LENGTH];
+    this.charMasks = new long[MAXIMUM_LENGTH];
+  }
+
+  /**
+   * Sets the pattern.
+   *
+   * @param pattern the sequence containing the pattern
+   * @param beginIndex the inclusive index at which the pattern starts
+   * @param endIndex the exclusive index at which the pattern ends, at
+   *        most {@link #MAXIMUM_LENGTH} after beginIndex
+   * @param reverse whether the pattern should be reversed
+   */
+  void set(CharSequence pattern, int beginIndex, int endIndex, boolean reverse) {
+    Arrays.fill(this.asciiMasks, 0L);
+    this.charCount = 0;
+    int length = endIndex - beginIndex;
+    for (int i = 0; i < length; i++) {
+      char c = pattern.charAt(reverse ? (endIndex - 1 - i) : (beginIndex + i));
+      long bit = 1L << i;
+      if (c < ASCII) {
+        this.asciiMasks[c] |= bit;
+      } else {
+        this.addNonAscii(c, bit);
+      }
+    }
+  }
+
+  private void addNonAscii(char c, long bit) {
+    for (int i = 0; i < this.charCount; i++) {
+      if (this.chars[i] == c) {
+        this.charMasks[i] |= bit;
+        return;
+      }
+    }
+    this.chars[this.charCount] = c;
+    this.charMasks[this.charCount] = bit;
+    this.charCount += 1;
+  }
+
+  /**
+   * Returns the match mask of a char.
+   *
+   * @param c the char
+   * @return the mask with the bits of the indices at which the pattern
+   *         contains the char set
+   */
+  long mask(char c) {
+    if (c < ASCII) {
+      return this.asciiMasks[c];
+    }
+    for (int i = 0; i < this.charCount; i++) {
+      if (this.chars[i] == c) {
+        return this.charMasks[i];
+      }
+    }
+    return 0L;
+  }
+
+}
@@ -0,0 +1,313 @@
+package com.github.marschall.charsequences;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+
+/**
+ * Classes of ASCII chars that check whole sequences and arrays.
+ *
+ * <p>Bytes are read eight at a time into a {@code long} and classified
+ * with a few arithmetic operations and a single branch (SWAR, SIMD within
+ * a register). Only a word that fails is looked at byte by byte to find
+ * the first offending index. Bytes are classified as ISO-8859-1 chars.
+ * For all classes this gives the same result as UTF-8 since no byte of a
+ * multi byte UTF-8 sequence is ASCII.</p>
+ *
+ * <p>Chars are checked one at a time. Heap {@link CharBuffer}s are read
+ * from their backing array, a Latin-1 {@link CharSequenceBuffer} from its
+ * bytes eight at a time, other sequences through
+ * {@link CharSequence#charAt(int)}. Assembling four chars into a word from
+ * separate reads is slower than checking them directly.</p>
+ *
+ * <p>Empty ranges match every class.</p>
+ *
+ * @see CharSequences#isNumeric(CharSequence)
+ */
+public enum CharClass implements CharPredicate {
+
+  /**
+   * Chars from {@code U+0000} to {@code U+007F}.
+   */
+  ASCII {
+
+    @Override
+    public boolean test(char c) {
+      return c < 0x80;
+    }
+
+    @Override
+    boolean testWord(long word) {
+      return (word & HIGH) == 0L;
+    }
+
+  },
+
+  /**
+   * The ASCII digits {@code 0} to {@code 9}.
+   */
+  DIGIT {
+
+    @Override
+    public boolean test(char c) {
+      // unsigned, wraps around for chars below '0'
+      return (char) (c - '0') < 10;
+    }
+
+    @Override
+    boolean testWord(long word) {
+      return ((word & HIGH) == 0L)
+              && (inRange(word, '0', '9') == HIGH);
+    }
+
+  },
+
+  /**
+   * The ASCII digits {@code 0} to {@code 9} and the letters {@code a}
+   * to {@code f} in lower and upper case.
+   */
+  HEX_DIGIT {
+
+    @Override
+    public boolean test(char c) {
+      // a table, branches for the ranges mispredict on mixed input
+      return (c < 0x80) && HEX_DIGITS[c];
+    }
+
+    @Override
+    boolean testWord(long word) {
+      return ((word & HIGH) == 0L)
+              && ((inRange(word, '0', '9') | inRange(toLowerCase(word), 'a', 'f')) == HIGH);
+    }
+
+  },
+
+  /**
+   * The ASCII digits {@code 0} to {@code 9} and the ASCII letters in lower
+   * and upper case.
+   */
+  ALPHANUMERIC {
+
+    @Override
+    public boolean test(char c) {
+      return (c < 0x80) && ALPHANUMERICS[c];
+    }
+
+    @Override
+    boolean testWord(long word) {
+      return ((word & HIGH) == 0L)
+              && ((inRange(word, '0', '9') | inRange(toLowerCase(word), 'a', 'z')) == HIGH);
+    }
+
+  },
+
+  /**
+   * The ASCII letters {@code A} to {@code Z}.
+   */
+  UPPER_CASE {
+
+    @Override
+    public boolean test(char c) {
+      return (char) (c - 'A') < 26;
+    }
+
+    @Override
+    boolean testWord(long word) {
+      return ((word & HIGH) == 0L)
+              && (inRange(word, 'A', 'Z') == HIGH);
+    }
+
+  };
+
+  // eight 8 bit lanes
+  private static final long ONES = 0x0101_0101_0101_0101L;
+
+  private static final long HIGH = 0x8080_8080_8080_8080L;
+
+  private static final boolean[] HEX_DIGITS = new boolean[0x80];
+
+  private static final boolean[] ALPHANUMERICS = new boolean[0x80];
+
+  static {
+    for (char c = '0'; c <= '9'; c++) {
+      HEX_DIGITS[c] = true;
+      ALPHANUMERICS[c] = true;
+    }
+    for (char c = 'a'; c <= 'z'; c++) {
+      HEX_DIGITS[c] = c <= 'f';
+      HEX_DIGITS[Character.toUpperCase(c)] = c <= 'f';
+      ALPHANUMERICS[c] = true;
+      ALPHANUMERICS[Character.toUpperCase(c)] = true;
+    }
+  }
+
+  /**
+   * Checks whether every byte of a word is in this class.
+   *
+   * @param word eight bytes
+   * @return whether every byte is in this class
+   */
+  abstract boolean testWord(long word);
+
+  /**
+   * Returns a word with the highest bit set in every byte that is between
+   * lower and upper, both inclusive.
+   *
+   * <p>Every byte has to be ASCII so that the additions can not carry
+   * into the next byte.</p>
+   */
+  private static long inRange(long word, char lower, char upper) {
+    long atLeastLower = word + (HIGH - (ONES * lower));
+    long aboveUpper = word + (HIGH - (ONES * (upper + 1)));
+    return atLeastLower & ~aboveUpper & HIGH;
+  }
+
+  /**
+   * Maps the ASCII upper case letters to lower case. Other bytes may
+   * be changed as well but never into a lower case letter.
+   */
+  private static long toLowerCase(long word) {
+    return word | (ONES * 0x20);
+  }
+
+  /**
+   * Checks whether every char of a sequence is in this class.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence to check, not {@code null}
+   * @return whether every char of the sequence is in this class,
+   *         {@code true} for an empty sequence
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public boolean matchesAll(CharSequence charSequence) {
+    return this.indexOfMismatch(charSequence, 0, charSequence.length()) == -1;
+  }
+
+  /**
+   * Searches a range of a sequence for the first char that is not in
+   * this class.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence containing the range to check, not {@code null}
+   * @param beginIndex the inclusive index at which to start checking
+   * @param endIndex the exclusive index at which to stop checking
+   * @return the index of the first char not in this class, or {@code -1}
+   *         if every char of the range is in this class
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public int indexOfMismatch(CharSequence charSequence, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.CHAR_CLASS, charSequence, endIndex - beginIndex);
+      if (((charSequence instanceof CharBuffer) && ((CharBuffer) charSequence).hasArray())
+          || ((charSequence instanceof CharSequenceBuffer) && ((CharSequenceBuffer) charSequence).isLatin1())) {
+        Instrumentation.fastPath(Operation.CHAR_CLASS);
+      } else {
+        Instrumentation.fallback(Operation.CHAR_CLASS);
+      }
+    }
+    return this.mismatch(charSequence, beginIndex, endIndex);
+  }
+
+  /**
+   * Searches a range of an array for the first char that is not in
+   * this class.
+   *
+   * @implNote no allocation is performed
+   * @param array the array containing the range to check, not {@code null}
+   * @param beginIndex the inclusive index at which to start checking
+   * @param endIndex the exclusive index at which to stop checking
+   * @return the index of the first char not in this class, or {@code -1}
+   *         if every char of the range is in this class
+   * @throws NullPointerException if the array is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of array
+   */
+  public int indexOfMismatch(char[] array, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > array.length)) {
+      throw new IndexOutOfBoundsException();
+    }
+    return this.mismatch(array, beginIndex, endIndex);
+  }
+
+  /**
+   * Searches a range of an array for the first byte that is not in
+   * this class.
+   *
+   * <p>Bytes are classified as ISO-8859-1 chars, for ASCII and UTF-8
+   * encoded input this gives the same result as classifying the decoded
+   * chars.</p>
+   *
+   * @implNote no allocation is performed
+   * @param array the array containing the range to check, not {@code null}
+   * @param beginIndex the inclusive index at which to start checking
+   * @param endIndex the exclusive index at which to stop checking
+   * @return the index of the first byte not in this class, or {@code -1}
+   *         if every byte of the range is in this class
+   * @throws NullPointerException if the array is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of array
+   */
+  public int indexOfMismatch(byte[] array, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > array.length)) {
+      throw new IndexOutOfBoundsException();
+    }
+    return this.mismatch(array, beginIndex, endIndex);
+  }
+
+  /**
+   * Uninstrumented version of {@link #indexOfMismatch(CharSequence, int, int)}
+   * without bounds checks.
+   */
+  int mismatch(CharSequence charSequence, int beginIndex, int endIndex) {
+    if (charSequence instanceof CharBuffer) {
+      CharBuffer buffer = (CharBuffer) charSequence;
+      if (buffer.hasArray()) {
+        int offset = buffer.arrayOffset() + buffer.position();
+        int index = this.mismatch(buffer.array(), offset + beginIndex, offset + endIndex);
+        return index == -1 ? -1 : index - offset;
+      }
+    } else if ((charSequence instanceof CharSequenceBuffer) && ((CharSequenceBuffer) charSequence).isLatin1()) {
+      return this.mismatch(((CharSequenceBuffer) charSequence).latin1Array(), beginIndex, endIndex);
+    }
+    for (int i = beginIndex; i < endIndex; i++) {
+      if (!this.test(charSequence.charAt(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  int mismatch(char[] array, int beginIndex, int endIndex) {
+    for (int i = beginIndex; i < endIndex; i++) {
+      if (!this.test(array[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  int mismatch(byte[] array, int beginIndex, int endIndex) {
+    // does not escape, removed by escape analysis
+    ByteBuffer buffer = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+    int i = beginIndex;
+    while (i <= (endIndex - 8)) {
+      if (!this.testWord(buffer.getLong(i))) {
+        break;
+      }
+      i += 8;
+    }
+    // the tail and the word that failed
+    for (; i < endIndex; i++) {
+      if (!this.test((char) (array[i] & 0xFF))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+}
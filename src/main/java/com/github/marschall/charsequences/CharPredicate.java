@@ -0,0 +1,22 @@
+package com.github.marschall.charsequences;
+
+/**
+ * Represents a predicate of one {@code char}. This is the
+ * {@code char}-consuming primitive type specialization of
+ * {@link java.util.function.Predicate}.
+ *
+ * @see CharSequences#trim(CharSequence, CharPredicate)
+ */
+@FunctionalInterface
+public interface CharPredicate {
+
+  /**
+   * Evaluates this predicate on the given {@code char}.
+   *
+   * @param c the {@code char} to test
+   * @return {@code true} if the {@code char} matches the predicate,
+   *         otherwise {@code false}
+   */
+  boolean test(char c);
+
+}
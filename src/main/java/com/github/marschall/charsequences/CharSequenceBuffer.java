@@ -0,0 +1,493 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * A mutable, reusable {@link CharSequence} for scratch space.
+ *
+ * <p>As long as every char appended is in the ISO-8859-1 (Latin-1) range
+ * the content is stored as one byte per char. The first char outside of
+ * this range inflates the content to UTF-16. {@link #clear()} resets the
+ * buffer to Latin-1, both arrays are kept and reused so that a buffer
+ * that is cleared and filled again does not allocate once it has grown
+ * to the size needed.</p>
+ *
+ * <p>{@link CharSequences#parseInt(CharSequence)},
+ * {@link CharSequences#parseLong(CharSequence)},
+ * {@link CharSequences#indexOf(CharSequence, char)},
+ * {@link CharClass#indexOfMismatch(CharSequence, int, int)} and
+ * {@link CharSequenceReader} access the Latin-1 content directly.</p>
+ *
+ * <p>Like {@link StringBuilder} this class does not override
+ * {@link Object#equals(Object)} and {@link Object#hashCode()}.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public final class CharSequenceBuffer implements SearchableCharSequence, Appendable {
+
+  static final int DEFAULT_CAPACITY = 16;
+
+  private static final int MAX_LATIN1 = 0xFF;
+
+  private byte[] bytes;
+
+  // allocated on the first char outside of Latin-1
+  private char[] chars;
+
+  private int length;
+
+  private boolean latin1;
+
+  /**
+   * Constructs an empty buffer with the default capacity.
+   */
+  public CharSequenceBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs an empty buffer with a given capacity.
+   *
+   * @param capacity the initial capacity in chars
+   * @throws IllegalArgumentException if the capacity is negative
+   */
+  public CharSequenceBuffer(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("negative capacity: " + capacity);
+    }
+    this.bytes = new byte[capacity];
+    this.latin1 = true;
+  }
+
+  /**
+   * Removes all chars so that the buffer can be reused.
+   *
+   * <p>The buffer is reset to Latin-1, the capacity is kept.</p>
+   *
+   * @implNote no allocation is performed
+   * @return this buffer
+   */
+  public CharSequenceBuffer clear() {
+    this.length = 0;
+    this.latin1 = true;
+    return this;
+  }
+
+  /**
+   * Checks whether the content is stored as one byte per char.
+   *
+   * @return {@code true} if every char appended since the last
+   *         {@link #clear()} is in the ISO-8859-1 range
+   */
+  public boolean isLatin1() {
+    return this.latin1;
+  }
+
+  /**
+   * Returns the Latin-1 content, only valid if {@link #isLatin1()}.
+   */
+  byte[] latin1Array() {
+    return this.bytes;
+  }
+
+  @Override
+  public int length() {
+    return this.length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if ((index < 0) || (index >= this.length)) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (this.latin1) {
+      return (char) (this.bytes[index] & 0xFF);
+    }
+    return this.chars[index];
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The returned sequence is a copy, it is not affected by later
+   * changes to this buffer.</p>
+   */
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if ((end < start) || (start < 0) || (end > this.length)) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (this.latin1) {
+      return new String(this.bytes, start, end - start, ISO_8859_1);
+    }
+    return new String(this.chars, start, end - start);
+  }
+
+  /**
+   * Copies chars into a destination array, compatible with
+   * {@link StringBuilder#getChars(int, int, char[], int)}.
+   *
+   * @implNote no allocation is performed
+   * @param srcBegin the index of the first char to copy
+   * @param srcEnd the index after the last char to copy
+   * @param dst the destination array, not {@code null}
+   * @param dstBegin the index in the destination array of the first char
+   * @throws IndexOutOfBoundsException if the source range is invalid or
+   *         the destination range is outside of the destination array
+   */
+  public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+    if ((srcEnd < srcBegin) || (srcBegin < 0) || (srcEnd > this.length)) {
+      throw new IndexOutOfBoundsException();
+    }
+    if ((dstBegin < 0) || ((srcEnd - srcBegin) > (dst.length - dstBegin))) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (this.latin1) {
+      byte[] source = this.bytes;
+      for (int i = srcBegin; i < srcEnd; i++) {
+        dst[dstBegin + (i - srcBegin)] = (char) (source[i] & 0xFF);
+      }
+    } else {
+      System.arraycopy(this.chars, srcBegin, dst, dstBegin, srcEnd - srcBegin);
+    }
+  }
+
+  /**
+   * Appends a char.
+   *
+   * @implNote no allocation is performed unless the buffer has to grow or
+   *           to be inflated to UTF-16 for the first time
+   * @param c the char to append
+   * @return this buffer
+   */
+  @Override
+  public CharSequenceBuffer append(char c) {
+    int newLength = this.length + 1;
+    if (this.latin1) {
+      if (c <= MAX_LATIN1) {
+        this.ensureCapacity(newLength);
+        this.bytes[this.length] = (byte) c;
+        this.length = newLength;
+        return this;
+      }
+      this.inflate(newLength);
+    } else {
+      this.ensureCapacity(newLength);
+    }
+    this.chars[this.length] = c;
+    this.length = newLength;
+    return this;
+  }
+
+  /**
+   * Appends a sequence of chars.
+   *
+   * @implNote no allocation is performed unless the buffer has to grow or
+   *           to be inflated to UTF-16 for the first time
+   * @param charSequence the sequence to append, {@code null} appends
+   *        {@code "null"}
+   * @return this buffer
+   */
+  @Override
+  public CharSequenceBuffer append(CharSequence charSequence) {
+    CharSequence sequence = charSequence != null ? charSequence : "null";
+    return this.append(sequence, 0, sequence.length());
+  }
+
+  /**
+   * Appends a range of a sequence of chars.
+   *
+   * @implNote no allocation is performed unless the buffer has to grow or
+   *           to be inflated to UTF-16 for the first time
+   * @param charSequence the sequence to append, {@code null} appends
+   *        the range of {@code "null"}
+   * @param beginIndex the inclusive index of the first char to append
+   * @param endIndex the exclusive index of the last char to append
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  @Override
+  public CharSequenceBuffer append(CharSequence charSequence, int beginIndex, int endIndex) {
+    CharSequence sequence = charSequence != null ? charSequence : "null";
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > sequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    int newLength = this.length + (endIndex - beginIndex);
+    if (newLength < 0) {
+      throw new OutOfMemoryError("required capacity too large");
+    }
+    this.ensureCapacity(newLength);
+    if ((sequence instanceof CharSequenceBuffer) && ((CharSequenceBuffer) sequence).latin1) {
+      byte[] source = ((CharSequenceBuffer) sequence).bytes;
+      if (this.latin1) {
+        System.arraycopy(source, beginIndex, this.bytes, this.length, endIndex - beginIndex);
+      } else {
+        for (int i = beginIndex; i < endIndex; i++) {
+          this.chars[this.length + (i - beginIndex)] = (char) (source[i] & 0xFF);
+        }
+      }
+      this.length = newLength;
+      return this;
+    }
+    int i = beginIndex;
+    if (this.latin1) {
+      byte[] target = this.bytes;
+      int offset = this.length - beginIndex;
+      // no branch per char, the range is copied again as UTF-16 in the rare
+      // case it turns out not to be Latin-1
+      int bits = 0;
+      for (; i < endIndex; i++) {
+        char c = sequence.charAt(i);
+        bits |= c;
+        target[offset + i] = (byte) c;
+      }
+      if (bits <= MAX_LATIN1) {
+        this.length = newLength;
+        return this;
+      }
+      i = beginIndex;
+      this.inflate(newLength);
+    }
+    if (sequence instanceof String) {
+      ((String) sequence).getChars(i, endIndex, this.chars, this.length);
+    } else {
+      char[] target = this.chars;
+      int position = this.length;
+      for (; i < endIndex; i++) {
+        target[position++] = sequence.charAt(i);
+      }
+    }
+    this.length = newLength;
+    return this;
+  }
+
+  /**
+   * Appends the decimal representation of an {@code int}, compatible
+   * with {@link StringBuilder#append(int)}.
+   *
+   * @implNote no allocation is performed unless the buffer has to grow
+   * @param value the value to append
+   * @return this buffer
+   */
+  public CharSequenceBuffer append(int value) {
+    return this.append((long) value);
+  }
+
+  /**
+   * Appends the decimal representation of a {@code long}, compatible
+   * with {@link StringBuilder#append(long)}.
+   *
+   * @implNote no allocation is performed unless the buffer has to grow
+   * @param value the value to append
+   * @return this buffer
+   */
+  public CharSequenceBuffer append(long value) {
+    int newLength = this.length + decimalLength(value);
+    if (newLength < 0) {
+      throw new OutOfMemoryError("required capacity too large");
+    }
+    this.ensureCapacity(newLength);
+    // work with negative numbers, Long.MIN_VALUE has no positive representation
+    long remaining = value < 0L ? value : -value;
+    int position = newLength;
+    if (this.latin1) {
+      byte[] target = this.bytes;
+      do {
+        target[--position] = (byte) ('0' - (remaining % 10L));
+        remaining /= 10L;
+      } while (remaining != 0L);
+      if (value < 0L) {
+        target[--position] = '-';
+      }
+    } else {
+      char[] target = this.chars;
+      do {
+        target[--position] = (char) ('0' - (remaining % 10L));
+        remaining /= 10L;
+      } while (remaining != 0L);
+      if (value < 0L) {
+        target[--position] = '-';
+      }
+    }
+    this.length = newLength;
+    return this;
+  }
+
+  /**
+   * Number of chars in the decimal representation including the sign.
+   */
+  static int decimalLength(long value) {
+    int sign = 0;
+    long negative = value;
+    if (value < 0L) {
+      sign = 1;
+    } else {
+      negative = -value;
+    }
+    long power = -10L;
+    for (int digits = 1; digits < 19; digits++) {
+      if (negative > power) {
+        return digits + sign;
+      }
+      power *= 10L;
+    }
+    return 19 + sign;
+  }
+
+  /**
+   * Parses the content compatible to {@link Integer#parseInt(String)}.
+   *
+   * @implNote no allocation is performed
+   * @return the integer value represented by the content in decimal
+   * @throws NumberFormatException if the content is not a parsable int
+   * @see CharSequences#parseInt(CharSequence)
+   */
+  public int parseInt() {
+    return CharSequences.parseInt(this);
+  }
+
+  /**
+   * Parses the content compatible to {@link Long#parseLong(String)}.
+   *
+   * @implNote no allocation is performed
+   * @return the long value represented by the content in decimal
+   * @throws NumberFormatException if the content is not a parsable long
+   * @see CharSequences#parseLong(CharSequence)
+   */
+  public long parseLong() {
+    return CharSequences.parseLong(this);
+  }
+
+  /**
+   * Searches for the first occurrence of a char in a range of this
+   * buffer, compatible with {@link String#indexOf(int, int)} limited
+   * to {@code toIndex}.
+   *
+   * @implNote no allocation is performed
+   * @param c the {@code char} to search for
+   * @param fromIndex the inclusive index at which to start the search,
+   *        if it is negative it is treated as {@code 0}
+   * @param toIndex the exclusive index at which to end the search,
+   *        if it is larger than the length it is treated as the length
+   * @return the index of the first occurrence of {@code c} at or after
+   *         {@code fromIndex} and before {@code toIndex}, or {@code -1}
+   *         if there is no such occurrence or the range is empty
+   */
+  @Override
+  public int indexOf(char c, int fromIndex, int toIndex) {
+    int from = Math.max(fromIndex, 0);
+    int to = Math.min(toIndex, this.length);
+    if (from >= to) {
+      return -1;
+    }
+    if (this.latin1) {
+      if (c > MAX_LATIN1) {
+        return -1;
+      }
+      byte b = (byte) c;
+      byte[] array = this.bytes;
+      for (int i = from; i < to; i++) {
+        if (array[i] == b) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    char[] array = this.chars;
+    for (int i = from; i < to; i++) {
+      if (array[i] == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Searches for the last occurrence of a char in this buffer,
+   * compatible with {@link String#lastIndexOf(int)}.
+   *
+   * @implNote no allocation is performed
+   * @param c the {@code char} to search for
+   * @return the index of the last occurrence of {@code c}, or {@code -1}
+   *         if there is no such occurrence
+   */
+  @Override
+  public int lastIndexOf(char c) {
+    if (this.latin1) {
+      if (c > MAX_LATIN1) {
+        return -1;
+      }
+      byte b = (byte) c;
+      byte[] array = this.bytes;
+      for (int i = this.length - 1; i >= 0; i--) {
+        if (array[i] == b) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    char[] array = this.chars;
+    for (int i = this.length - 1; i >= 0; i--) {
+      if (array[i] == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void ensureCapacity(int minimumCapacity) {
+    if (this.latin1) {
+      if (minimumCapacity > this.bytes.length) {
+        byte[] newBytes = new byte[newCapacity(this.bytes.length, minimumCapacity)];
+        System.arraycopy(this.bytes, 0, newBytes, 0, this.length);
+        this.bytes = newBytes;
+      }
+    } else {
+      if (minimumCapacity > this.chars.length) {
+        char[] newChars = new char[newCapacity(this.chars.length, minimumCapacity)];
+        System.arraycopy(this.chars, 0, newChars, 0, this.length);
+        this.chars = newChars;
+      }
+    }
+  }
+
+  /**
+   * Switches to UTF-16, reuses the char array from a previous inflation
+   * if it is big enough.
+   */
+  private void inflate(int minimumCapacity) {
+    char[] target = this.chars;
+    if ((target == null) || (target.length < minimumCapacity)) {
+      target = new char[newCapacity(this.bytes.length, minimumCapacity)];
+      this.chars = target;
+    }
+    byte[] source = this.bytes;
+    for (int i = 0; i < this.length; i++) {
+      target[i] = (char) (source[i] & 0xFF);
+    }
+    this.latin1 = false;
+  }
+
+  private static int newCapacity(int oldCapacity, int minimumCapacity) {
+    int newCapacity = (oldCapacity * 2) + 2;
+    if ((newCapacity < minimumCapacity) || (newCapacity < 0)) {
+      return minimumCapacity;
+    }
+    return newCapacity;
+  }
+
+  /**
+   * Returns a copy of the content.
+   *
+   * @return a string containing the chars of this buffer
+   */
+  @Override
+  public String toString() {
+    if (this.latin1) {
+      return new String(this.bytes, 0, this.length, ISO_8859_1);
+    }
+    return new String(this.chars, 0, this.length);
+  }
+
+}
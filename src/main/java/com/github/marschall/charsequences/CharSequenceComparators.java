@@ -0,0 +1,310 @@
+package com.github.marschall.charsequences;
+
+import java.util.Comparator;
+
+/**
+ * {@link Comparator}s and binary search for {@link CharSequence}s that
+ * work directly on the sequences without converting them to {@link String}s.
+ *
+ * <p>All comparators are thread-safe and serializable.</p>
+ */
+public final class CharSequenceComparators {
+
+  private CharSequenceComparators() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Compares two sequences lexicographically, compatible with
+   * {@code CharSequence.compare(CharSequence, CharSequence)} from Java 11
+   * and {@link String#compareTo(String)}.
+   *
+   * @implNote no allocation is performed
+   * @implNote two {@link String}s are compared with {@link String#compareTo(String)}
+   * @param a the first sequence, not {@code null}
+   * @param b the second sequence, not {@code null}
+   * @return the value {@code 0} if both sequences contain the same chars,
+   *         a negative value if a is lexicographically less than b and
+   *         a positive value if a is lexicographically greater than b
+   * @throws NullPointerException if either sequence is {@code null}
+   */
+  public static int compare(CharSequence a, CharSequence b) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.COMPARE, a, Math.min(a.length(), b.length()));
+    }
+    if ((a instanceof String) && (b instanceof String)) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.COMPARE);
+      }
+      return ((String) a).compareTo((String) b);
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.fallback(Operation.COMPARE);
+    }
+    if (a == b) {
+      return 0;
+    }
+    int aLength = a.length();
+    int bLength = b.length();
+    int mismatch = mismatch(a, b, 0, bLength, 0);
+    if (mismatch < Math.min(aLength, bLength)) {
+      return a.charAt(mismatch) - b.charAt(mismatch);
+    }
+    return aLength - bLength;
+  }
+
+  /**
+   * Returns a comparator that compares sequences lexicographically.
+   *
+   * @return the comparator, not {@code null}
+   * @see #compare(CharSequence, CharSequence)
+   */
+  public static Comparator<CharSequence> lexicographic() {
+    return LexicographicComparator.INSTANCE;
+  }
+
+  /**
+   * Returns a comparator that compares sequences lexicographically
+   * ignoring the case of ASCII letters. Non-ASCII characters are
+   * compared exactly.
+   *
+   * <p>Unlike {@link String#CASE_INSENSITIVE_ORDER} the order does not
+   * depend on the Unicode case mappings.</p>
+   *
+   * @implNote no allocation is performed
+   * @return the comparator, not {@code null}
+   */
+  public static Comparator<CharSequence> ignoringAsciiCase() {
+    return AsciiCaseInsensitiveComparator.INSTANCE;
+  }
+
+  /**
+   * Returns a comparator that compares runs of ASCII digits by their
+   * numeric value and everything else lexicographically. For example
+   * {@code "file9"} is sorted before {@code "file10"}.
+   *
+   * <p>Numbers can have any length. If two numbers have the same value
+   * the one with fewer leading zeros is sorted first, but only if the
+   * rest of the sequences are equal.</p>
+   *
+   * @implNote no allocation is performed
+   * @return the comparator, not {@code null}
+   */
+  public static Comparator<CharSequence> natural() {
+    return NaturalComparator.INSTANCE;
+  }
+
+  /**
+   * Searches a sorted array for a key like {@link java.util.Arrays#binarySearch(Object[], Object)}.
+   *
+   * @implNote no allocation is performed
+   * @implNote the common prefix of the key with the current lower and
+   *           upper bound is tracked and not compared again
+   * @param sorted the array to search, not {@code null}, sorted
+   *        according to {@link #lexicographic()}, no element may be {@code null}
+   * @param key the key to search for, not {@code null}
+   * @return the index of the key, if it is contained in the array;
+   *         otherwise, <code>(-(<i>insertion point</i>) - 1)</code>
+   * @throws NullPointerException if the array or the key is {@code null}
+   * @see java.util.Arrays#binarySearch(Object[], Object)
+   */
+  public static int binarySearch(CharSequence[] sorted, CharSequence key) {
+    return binarySearch(sorted, key, 0, key.length());
+  }
+
+  /**
+   * Searches a sorted array for a range of a key like {@link java.util.Arrays#binarySearch(Object[], Object)}.
+   *
+   * @implNote no allocation is performed
+   * @implNote the common prefix of the key with the current lower and
+   *           upper bound is tracked and not compared again
+   * @param sorted the array to search, not {@code null}, sorted
+   *        according to {@link #lexicographic()}, no element may be {@code null}
+   * @param key the sequence containing the key to search for, not {@code null}
+   * @param beginIndex the inclusive index at which the key starts
+   * @param endIndex the exclusive index at which the key ends
+   * @return the index of the key, if it is contained in the array;
+   *         otherwise, <code>(-(<i>insertion point</i>) - 1)</code>
+   * @throws NullPointerException if the array or the key is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of key
+   * @see java.util.Arrays#binarySearch(Object[], Object)
+   */
+  public static int binarySearch(CharSequence[] sorted, CharSequence key, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > key.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.BINARY_SEARCH, key, endIndex - beginIndex);
+    }
+    int keyLength = endIndex - beginIndex;
+    int low = 0;
+    int high = sorted.length - 1;
+    // all elements between low and high share this many chars with the key
+    int lowPrefix = 0;
+    int highPrefix = 0;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      CharSequence element = sorted[middle];
+      int elementLength = element.length();
+      int mismatch = mismatch(element, key, beginIndex, endIndex, Math.min(lowPrefix, highPrefix));
+      int comparison;
+      if (mismatch < Math.min(elementLength, keyLength)) {
+        comparison = element.charAt(mismatch) - key.charAt(beginIndex + mismatch);
+      } else {
+        comparison = elementLength - keyLength;
+      }
+      if (comparison < 0) {
+        low = middle + 1;
+        lowPrefix = mismatch;
+      } else if (comparison > 0) {
+        high = middle - 1;
+        highPrefix = mismatch;
+      } else {
+        return middle;
+      }
+    }
+    return -(low + 1);
+  }
+
+  /**
+   * Finds the first index at which a sequence and a range of another
+   * sequence differ.
+   *
+   * @param a the first sequence
+   * @param b the sequence containing the range
+   * @param beginIndex the inclusive index at which the range starts
+   * @param endIndex the exclusive index at which the range ends
+   * @param fromIndex the index relative to the start of the range from
+   *        which to compare, the chars before are known to be equal
+   * @return the index relative to the start of the range of the first
+   *         mismatch, or the length of the shorter of the two if there is none
+   */
+  static int mismatch(CharSequence a, CharSequence b, int beginIndex, int endIndex, int fromIndex) {
+    int length = Math.min(a.length(), endIndex - beginIndex);
+    for (int i = fromIndex; i < length; i++) {
+      if (a.charAt(i) != b.charAt(beginIndex + i)) {
+        return i;
+      }
+    }
+    return length;
+  }
+
+  static int compareIgnoringAsciiCase(CharSequence a, CharSequence b) {
+    int aLength = a.length();
+    int bLength = b.length();
+    int length = Math.min(aLength, bLength);
+    for (int i = 0; i < length; i++) {
+      char aChar = a.charAt(i);
+      char bChar = b.charAt(i);
+      if (aChar != bChar) {
+        aChar = KeywordMatcher.toLowerAscii(aChar);
+        bChar = KeywordMatcher.toLowerAscii(bChar);
+        if (aChar != bChar) {
+          return aChar - bChar;
+        }
+      }
+    }
+    return aLength - bLength;
+  }
+
+  static int compareNatural(CharSequence a, CharSequence b) {
+    int aLength = a.length();
+    int bLength = b.length();
+    int i = 0;
+    int j = 0;
+    // decides between numbers that only differ in leading zeros
+    int leadingZeros = 0;
+    while ((i < aLength) && (j < bLength)) {
+      char aChar = a.charAt(i);
+      char bChar = b.charAt(j);
+      if (isDigit(aChar) && isDigit(bChar)) {
+        int aStart = skipZeros(a, i, aLength);
+        int bStart = skipZeros(b, j, bLength);
+        int aEnd = skipDigits(a, aStart, aLength);
+        int bEnd = skipDigits(b, bStart, bLength);
+        // without leading zeros a longer number is larger
+        int digits = aEnd - aStart;
+        if (digits != (bEnd - bStart)) {
+          return digits - (bEnd - bStart);
+        }
+        for (int k = 0; k < digits; k++) {
+          int difference = a.charAt(aStart + k) - b.charAt(bStart + k);
+          if (difference != 0) {
+            return difference;
+          }
+        }
+        if (leadingZeros == 0) {
+          leadingZeros = (aStart - i) - (bStart - j);
+        }
+        i = aEnd;
+        j = bEnd;
+      } else {
+        if (aChar != bChar) {
+          return aChar - bChar;
+        }
+        i += 1;
+        j += 1;
+      }
+    }
+    int difference = (aLength - i) - (bLength - j);
+    if (difference != 0) {
+      return difference;
+    }
+    return leadingZeros;
+  }
+
+  private static boolean isDigit(char c) {
+    return (c >= '0') && (c <= '9');
+  }
+
+  private static int skipZeros(CharSequence charSequence, int beginIndex, int endIndex) {
+    int i = beginIndex;
+    while ((i < endIndex) && (charSequence.charAt(i) == '0')) {
+      i += 1;
+    }
+    return i;
+  }
+
+  private static int skipDigits(CharSequence charSequence, int beginIndex, int endIndex) {
+    int i = beginIndex;
+    while ((i < endIndex) && isDigit(charSequence.charAt(i))) {
+      i += 1;
+    }
+    return i;
+  }
+
+  enum LexicographicComparator implements Comparator<CharSequence> {
+
+    INSTANCE;
+
+    @Override
+    public int compare(CharSequence a, CharSequence b) {
+      return CharSequenceComparators.compare(a, b);
+    }
+
+  }
+
+  enum AsciiCaseInsensitiveComparator implements Comparator<CharSequence> {
+
+    INSTANCE;
+
+    @Override
+    public int compare(CharSequence a, CharSequence b) {
+      return compareIgnoringAsciiCase(a, b);
+    }
+
+  }
+
+  enum NaturalComparator implements Comparator<CharSequence> {
+
+    INSTANCE;
+
+    @Override
+    public int compare(CharSequence a, CharSequence b) {
+      return compareNatural(a, b);
+    }
+
+  }
+
+}
@@ -0,0 +1,220 @@
+package com.github.marschall.charsequences;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * A {@link Reader} over a {@link CharSequence}. The equivalent of
+ * {@link StringReader} for any {@link CharSequence}.
+ *
+ * <p>Bulk reads use {@code getChars} for {@link String},
+ * {@link StringBuilder}, {@link StringBuffer} and
+ * {@link CharSequenceBuffer} and {@link CharBuffer#get(char[], int, int)}
+ * for {@link CharBuffer}. Other sequences fall back to
+ * {@link CharSequence#charAt(int)}.</p>
+ *
+ * <p>The length of the sequence is determined when the reader is
+ * constructed, the sequence must not be modified while the reader is
+ * in use.</p>
+ *
+ * <p>Mark and reset are supported, the read ahead limit is ignored.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public final class CharSequenceReader extends Reader {
+
+  private static final int TRANSFER_BUFFER_SIZE = 8192;
+
+  private final CharSequence charSequence;
+
+  private final int length;
+
+  // a private duplicate so that the position of the original buffer is not changed
+  private final CharBuffer charBuffer;
+
+  private final int charBufferOffset;
+
+  private int position;
+
+  private int mark;
+
+  private boolean closed;
+
+  /**
+   * Constructs a new {@link CharSequenceReader}.
+   *
+   * @param charSequence the sequence to read, not {@code null}
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public CharSequenceReader(CharSequence charSequence) {
+    this.charSequence = Objects.requireNonNull(charSequence, "charSequence");
+    this.length = charSequence.length();
+    if (charSequence instanceof CharBuffer) {
+      CharBuffer original = (CharBuffer) charSequence;
+      this.charBuffer = original.duplicate();
+      this.charBufferOffset = original.position();
+    } else {
+      this.charBuffer = null;
+      this.charBufferOffset = 0;
+    }
+    this.position = 0;
+    this.mark = 0;
+    this.closed = false;
+  }
+
+  private void closedCheck() throws IOException {
+    if (this.closed) {
+      throw new IOException("closed");
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    this.closedCheck();
+    if (this.position == this.length) {
+      return -1;
+    }
+    return this.charSequence.charAt(this.position++);
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) throws IOException {
+    this.closedCheck();
+    if ((off < 0) || (len < 0) || (len > (cbuf.length - off))) {
+      throw new IndexOutOfBoundsException();
+    } else if (len == 0) {
+      return 0;
+    }
+    int remaining = this.length - this.position;
+    if (remaining == 0) {
+      return -1;
+    }
+    int toRead = Math.min(remaining, len);
+    this.getChars(this.position, this.position + toRead, cbuf, off);
+    this.position += toRead;
+    return toRead;
+  }
+
+  @Override
+  public int read(CharBuffer target) throws IOException {
+    this.closedCheck();
+    int remaining = this.length - this.position;
+    if (remaining == 0) {
+      return -1;
+    }
+    int toRead = Math.min(remaining, target.remaining());
+    if (target.hasArray()) {
+      int targetPosition = target.position();
+      this.getChars(this.position, this.position + toRead, target.array(), target.arrayOffset() + targetPosition);
+      // cast for Java 8 compatibility, CharBuffer#position(int) is covariant in Java 9+
+      ((Buffer) target).position(targetPosition + toRead);
+    } else if (this.charSequence instanceof String) {
+      target.put((String) this.charSequence, this.position, this.position + toRead);
+    } else {
+      for (int i = 0; i < toRead; i++) {
+        target.put(this.charSequence.charAt(this.position + i));
+      }
+    }
+    this.position += toRead;
+    return toRead;
+  }
+
+  private void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+    CharSequence sequence = this.charSequence;
+    if (sequence instanceof String) {
+      ((String) sequence).getChars(srcBegin, srcEnd, dst, dstBegin);
+    } else if (sequence instanceof StringBuilder) {
+      ((StringBuilder) sequence).getChars(srcBegin, srcEnd, dst, dstBegin);
+    } else if (sequence instanceof StringBuffer) {
+      ((StringBuffer) sequence).getChars(srcBegin, srcEnd, dst, dstBegin);
+    } else if (sequence instanceof CharSequenceBuffer) {
+      ((CharSequenceBuffer) sequence).getChars(srcBegin, srcEnd, dst, dstBegin);
+    } else if (this.charBuffer != null) {
+      // cast for Java 8 compatibility, CharBuffer#position(int) is covariant in Java 9+
+      ((Buffer) this.charBuffer).position(this.charBufferOffset + srcBegin);
+      this.charBuffer.get(dst, dstBegin, srcEnd - srcBegin);
+    } else {
+      for (int i = srcBegin; i < srcEnd; i++) {
+        dst[dstBegin + (i - srcBegin)] = sequence.charAt(i);
+      }
+    }
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (n < 0L) {
+      throw new IllegalArgumentException("skip value is negative");
+    }
+    this.closedCheck();
+    int skipped = (int) Math.min(this.length - this.position, n);
+    this.position += skipped;
+    return skipped;
+  }
+
+  @Override
+  public boolean ready() throws IOException {
+    this.closedCheck();
+    return true;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
+  @Override
+  public void mark(int readAheadLimit) throws IOException {
+    if (readAheadLimit < 0) {
+      throw new IllegalArgumentException("read-ahead limit < 0");
+    }
+    this.closedCheck();
+    this.mark = this.position;
+  }
+
+  @Override
+  public void reset() throws IOException {
+    this.closedCheck();
+    this.position = this.mark;
+  }
+
+  /**
+   * Reads all characters from this reader and writes the characters to the
+   * given writer in the order that they are read.
+   *
+   * @implNote no intermediate buffer is used for {@link String}
+   * @param out the writer, not {@code null}
+   * @return the number of characters transferred
+   * @throws IOException if an I/O error occurs when reading or writing
+   * @throws NullPointerException if {@code out} is {@code null}
+   */
+  // default method in JDK 10+
+  public long transferTo(Writer out) throws IOException {
+    Objects.requireNonNull(out, "out");
+    this.closedCheck();
+    int remaining = this.length - this.position;
+    if (this.charSequence instanceof String) {
+      out.write((String) this.charSequence, this.position, remaining);
+      this.position = this.length;
+      return remaining;
+    }
+    char[] buffer = new char[Math.min(remaining, TRANSFER_BUFFER_SIZE)];
+    long transferred = 0L;
+    int read;
+    while ((read = this.read(buffer, 0, buffer.length)) > 0) {
+      out.write(buffer, 0, read);
+      transferred += read;
+    }
+    return transferred;
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+  }
+
+}
@@ -0,0 +1,445 @@
+package com.github.marschall.charsequences;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorts arrays of {@link CharSequence}s, or of objects with a
+ * {@link CharSequence} key, in {@link CharSequenceComparators#lexicographic()
+ * lexicographic} order.
+ *
+ * <p>Uses a <a href="https://www.cs.princeton.edu/~rs/strings/">multikey
+ * quicksort</a>. Elements are partitioned on the char at the current
+ * depth into less, equal and greater, only the equal partition advances
+ * to the next char. Unlike a comparison sort the common prefixes of the
+ * keys are therefore only read once. The chars at the current depth are
+ * cached in an {@code int[]} so that partitioning does not call
+ * {@link CharSequence#charAt(int)} repeatedly. Small partitions are
+ * sorted with an insertion sort starting at the current depth.</p>
+ *
+ * <p>The sort is not stable.</p>
+ */
+public final class CharSequenceSorter {
+
+  /**
+   * Partitions smaller than this are sorted using insertion sort.
+   */
+  static final int INSERTION_SORT_THRESHOLD = 16;
+
+  /**
+   * Partitions larger than this are sorted in a separate task by
+   * {@link #parallelSort(CharSequence[])}.
+   */
+  static final int PARALLEL_THRESHOLD = 1 << 13;
+
+  // the cached value for a key that is shorter than the current depth
+  private static final int END_OF_KEY = -1;
+
+  private CharSequenceSorter() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Sorts an array of sequences lexicographically.
+   *
+   * @param a the array to sort, not {@code null}, no element may be {@code null}
+   * @throws NullPointerException if the array or an element is {@code null}
+   * @see java.util.Arrays#sort(Object[], java.util.Comparator)
+   */
+  public static void sort(CharSequence[] a) {
+    sort(a, 0, a.length, IdentityKeyExtractor.INSTANCE);
+  }
+
+  /**
+   * Sorts a range of an array of sequences lexicographically.
+   *
+   * @param a the array to sort, not {@code null}, no element in the range may be {@code null}
+   * @param fromIndex the index of the first element, inclusive, to be sorted
+   * @param toIndex the index of the last element, exclusive, to be sorted
+   * @throws NullPointerException if the array or an element is {@code null}
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > a.length}
+   * @see java.util.Arrays#sort(Object[], int, int, java.util.Comparator)
+   */
+  public static void sort(CharSequence[] a, int fromIndex, int toIndex) {
+    sort(a, fromIndex, toIndex, IdentityKeyExtractor.INSTANCE);
+  }
+
+  /**
+   * Sorts an array lexicographically by a key extracted from each element.
+   *
+   * @param <T> the type of the elements
+   * @param a the array to sort, not {@code null}
+   * @param keyExtractor the key extractor, not {@code null}
+   * @throws NullPointerException if the array or the key extractor is {@code null}
+   */
+  public static <T> void sort(T[] a, KeyExtractor<? super T> keyExtractor) {
+    sort(a, 0, a.length, keyExtractor);
+  }
+
+  /**
+   * Sorts a range of an array lexicographically by a key extracted from
+   * each element.
+   *
+   * @param <T> the type of the elements
+   * @param a the array to sort, not {@code null}
+   * @param fromIndex the index of the first element, inclusive, to be sorted
+   * @param toIndex the index of the last element, exclusive, to be sorted
+   * @param keyExtractor the key extractor, not {@code null}
+   * @throws NullPointerException if the array or the key extractor is {@code null}
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > a.length}
+   */
+  public static <T> void sort(T[] a, int fromIndex, int toIndex, KeyExtractor<? super T> keyExtractor) {
+    checkRange(a.length, fromIndex, toIndex);
+    new Sorter<T>(a, fromIndex, toIndex, keyExtractor, false).sort(fromIndex, toIndex, 0, false);
+  }
+
+  /**
+   * Sorts an array of sequences lexicographically using the
+   * {@link ForkJoinPool#commonPool() common pool}.
+   *
+   * @param a the array to sort, not {@code null}, no element may be {@code null}
+   * @throws NullPointerException if the array or an element is {@code null}
+   * @see java.util.Arrays#parallelSort(Object[], java.util.Comparator)
+   */
+  public static void parallelSort(CharSequence[] a) {
+    parallelSort(a, IdentityKeyExtractor.INSTANCE);
+  }
+
+  /**
+   * Sorts an array lexicographically by a key extracted from each element
+   * using the {@link ForkJoinPool#commonPool() common pool}.
+   *
+   * @param <T> the type of the elements
+   * @param a the array to sort, not {@code null}
+   * @param keyExtractor the key extractor, not {@code null}, has to be thread-safe
+   * @throws NullPointerException if the array or the key extractor is {@code null}
+   */
+  public static <T> void parallelSort(T[] a, KeyExtractor<? super T> keyExtractor) {
+    if (a.length <= PARALLEL_THRESHOLD) {
+      sort(a, 0, a.length, keyExtractor);
+      return;
+    }
+    Sorter<T> sorter = new Sorter<>(a, 0, a.length, keyExtractor, true);
+    ForkJoinPool.commonPool().invoke(new SortTask(sorter, 0, a.length, 0, false));
+  }
+
+  private static void checkRange(int length, int fromIndex, int toIndex) {
+    if (fromIndex > toIndex) {
+      throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+    }
+    if (fromIndex < 0) {
+      throw new ArrayIndexOutOfBoundsException(fromIndex);
+    }
+    if (toIndex > length) {
+      throw new ArrayIndexOutOfBoundsException(toIndex);
+    }
+  }
+
+  /**
+   * Extracts the sort key from an element. The key is a range of a
+   * {@link CharSequence}.
+   *
+   * <p>Implementations should be fast, the methods are called repeatedly
+   * for the same element.</p>
+   *
+   * @param <T> the type of the elements
+   */
+  public interface KeyExtractor<T> {
+
+    /**
+     * Returns the sequence containing the key.
+     *
+     * @param element the element, not {@code null}
+     * @return the sequence containing the key, not {@code null}
+     */
+    CharSequence sequence(T element);
+
+    /**
+     * Returns the index of the first char of the key in the sequence.
+     *
+     * @param element the element, not {@code null}
+     * @return the inclusive index at which the key starts, {@code 0} by default
+     */
+    default int beginIndex(T element) {
+      return 0;
+    }
+
+    /**
+     * Returns the index after the last char of the key in the sequence.
+     *
+     * @param element the element, not {@code null}
+     * @return the exclusive index at which the key ends, the length of the
+     *         sequence by default
+     */
+    default int endIndex(T element) {
+      return this.sequence(element).length();
+    }
+
+    /**
+     * Returns a key extractor for a fixed range of sequences, for example
+     * a field of a fixed-width record. Sequences that are too short are
+     * truncated to their length.
+     *
+     * @param beginIndex the inclusive index at which the key starts
+     * @param endIndex the exclusive index at which the key ends
+     * @return the key extractor, not {@code null}
+     * @throws IllegalArgumentException if beginIndex is negative or larger than endIndex
+     */
+    static KeyExtractor<CharSequence> range(int beginIndex, int endIndex) {
+      if ((beginIndex < 0) || (endIndex < beginIndex)) {
+        throw new IllegalArgumentException("invalid range");
+      }
+      return new RangeKeyExtractor(beginIndex, endIndex);
+    }
+
+  }
+
+  enum IdentityKeyExtractor implements KeyExtractor<CharSequence> {
+
+    INSTANCE;
+
+    @Override
+    public CharSequence sequence(CharSequence element) {
+      return element;
+    }
+
+    @Override
+    public int beginIndex(CharSequence element) {
+      return 0;
+    }
+
+    @Override
+    public int endIndex(CharSequence element) {
+      return element.length();
+    }
+
+  }
+
+  static final class RangeKeyExtractor implements KeyExtractor<CharSequence> {
+
+    private final int beginIndex;
+
+    private final int endIndex;
+
+    RangeKeyExtractor(int beginIndex, int endIndex) {
+      this.beginIndex = beginIndex;
+      this.endIndex = endIndex;
+    }
+
+    @Override
+    public CharSequence sequence(CharSequence element) {
+      return element;
+    }
+
+    @Override
+    public int beginIndex(CharSequence element) {
+      return Math.min(this.beginIndex, element.length());
+    }
+
+    @Override
+    public int endIndex(CharSequence element) {
+      return Math.min(this.endIndex, element.length());
+    }
+
+  }
+
+  static final class Sorter<T> {
+
+    private final T[] a;
+
+    private final KeyExtractor<? super T> keyExtractor;
+
+    // the char at the current depth of each element, indexed relative to offset
+    private final int[] cache;
+
+    private final int offset;
+
+    private final boolean parallel;
+
+    Sorter(T[] a, int fromIndex, int toIndex, KeyExtractor<? super T> keyExtractor, boolean parallel) {
+      this.a = a;
+      this.keyExtractor = keyExtractor;
+      this.cache = new int[toIndex - fromIndex];
+      this.offset = fromIndex;
+      this.parallel = parallel;
+    }
+
+    /**
+     * Sorts the elements from lo, inclusive, to hi, exclusive, whose
+     * keys are known to have the same first depth chars.
+     *
+     * @param cached whether the cache contains the chars at depth
+     */
+    void sort(int lo, int hi, int depth, boolean cached) {
+      SortTask forked = null;
+      int from = lo;
+      int to = hi;
+      int currentDepth = depth;
+      boolean currentCached = cached;
+      while ((to - from) > 1) {
+        if ((to - from) < INSERTION_SORT_THRESHOLD) {
+          this.insertionSort(from, to, currentDepth);
+          break;
+        }
+        if (!currentCached) {
+          this.fillCache(from, to, currentDepth);
+        }
+        int[] cache = this.cache;
+        int offset = this.offset;
+        int pivot = medianOfThree(cache[from - offset], cache[((from + to) >>> 1) - offset], cache[to - 1 - offset]);
+
+        // three way partition: [from, lt) < pivot, [lt, gt] == pivot, (gt, to) > pivot
+        int lt = from;
+        int gt = to - 1;
+        int i = from;
+        while (i <= gt) {
+          int c = cache[i - offset];
+          if (c < pivot) {
+            this.swap(lt++, i++);
+          } else if (c > pivot) {
+            this.swap(i, gt--);
+          } else {
+            i += 1;
+          }
+        }
+
+        // the cache is still valid for the less and greater partitions
+        if (this.parallel && ((lt - from) > PARALLEL_THRESHOLD)) {
+          forked = fork(new SortTask(this, from, lt, currentDepth, true), forked);
+        } else {
+          this.sort(from, lt, currentDepth, true);
+        }
+        if (this.parallel && (((to - gt) - 1) > PARALLEL_THRESHOLD)) {
+          forked = fork(new SortTask(this, gt + 1, to, currentDepth, true), forked);
+        } else {
+          this.sort(gt + 1, to, currentDepth, true);
+        }
+
+        if (pivot == END_OF_KEY) {
+          // all keys in the equal partition are equal
+          break;
+        }
+        // continue with the equal partition at the next char
+        from = lt;
+        to = gt + 1;
+        currentDepth += 1;
+        currentCached = false;
+      }
+      while (forked != null) {
+        forked.join();
+        forked = forked.next;
+      }
+    }
+
+    private static SortTask fork(SortTask task, SortTask forked) {
+      task.next = forked;
+      task.fork();
+      return task;
+    }
+
+    private void fillCache(int from, int to, int depth) {
+      KeyExtractor<? super T> keyExtractor = this.keyExtractor;
+      for (int i = from; i < to; i++) {
+        T element = this.a[i];
+        CharSequence sequence = keyExtractor.sequence(element);
+        int beginIndex = keyExtractor.beginIndex(element);
+        int endIndex = keyExtractor.endIndex(element);
+        this.cache[i - this.offset] = (beginIndex + depth) < endIndex ? sequence.charAt(beginIndex + depth) : END_OF_KEY;
+      }
+    }
+
+    private static int medianOfThree(int a, int b, int c) {
+      if (a < b) {
+        if (b < c) {
+          return b;
+        }
+        return a < c ? c : a;
+      }
+      if (a < c) {
+        return a;
+      }
+      return b < c ? c : b;
+    }
+
+    private void swap(int i, int j) {
+      T[] a = this.a;
+      T element = a[i];
+      a[i] = a[j];
+      a[j] = element;
+      int[] cache = this.cache;
+      int c = cache[i - this.offset];
+      cache[i - this.offset] = cache[j - this.offset];
+      cache[j - this.offset] = c;
+    }
+
+    private void insertionSort(int from, int to, int depth) {
+      T[] a = this.a;
+      for (int i = from + 1; i < to; i++) {
+        T element = a[i];
+        int j = i;
+        while ((j > from) && (this.compare(element, a[j - 1], depth) < 0)) {
+          a[j] = a[j - 1];
+          j -= 1;
+        }
+        a[j] = element;
+      }
+    }
+
+    /**
+     * Compares the keys of two elements whose first depth chars are equal.
+     */
+    private int compare(T x, T y, int depth) {
+      KeyExtractor<? super T> keyExtractor = this.keyExtractor;
+      CharSequence xSequence = keyExtractor.sequence(x);
+      int xBegin = keyExtractor.beginIndex(x);
+      int xLength = keyExtractor.endIndex(x) - xBegin;
+      CharSequence ySequence = keyExtractor.sequence(y);
+      int yBegin = keyExtractor.beginIndex(y);
+      int yLength = keyExtractor.endIndex(y) - yBegin;
+      int length = Math.min(xLength, yLength);
+      for (int i = depth; i < length; i++) {
+        int difference = xSequence.charAt(xBegin + i) - ySequence.charAt(yBegin + i);
+        if (difference != 0) {
+          return difference;
+        }
+      }
+      return xLength - yLength;
+    }
+
+  }
+
+  static final class SortTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Sorter<?> sorter;
+
+    private final int lo;
+
+    private final int hi;
+
+    private final int depth;
+
+    private final boolean cached;
+
+    // forked tasks of the same parent are joined as a linked list
+    SortTask next;
+
+    SortTask(Sorter<?> sorter, int lo, int hi, int depth, boolean cached) {
+      this.sorter = sorter;
+      this.lo = lo;
+      this.hi = hi;
+      this.depth = depth;
+      this.cached = cached;
+    }
+
+    @Override
+    protected void compute() {
+      this.sorter.sort(this.lo, this.hi, this.depth, this.cached);
+    }
+
+  }
+
+}
@@ -0,0 +1,227 @@
+package com.github.marschall.charsequences;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Produces a stream of UTF-8 bytes from a {@link CharSequence}. The
+ * opposite of {@link InputStreamReader}.
+ *
+ * <p>Unpaired surrogates are replaced with {@code '?'}, consistent with
+ * {@link String#getBytes(java.nio.charset.Charset)}.</p>
+ *
+ * <p>Mark and reset are supported, the read limit is ignored.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public final class CharSequenceUtf8InputStream extends InputStream {
+
+  private static final int TRANSFER_BUFFER_SIZE = 8192;
+
+  private final CharSequence charSequence;
+
+  private final int length;
+
+  private boolean closed;
+
+  // index of the next char to encode
+  private int charIndex;
+
+  // bytes of an already encoded char that have not been read yet
+  // the next byte is in the lowest eight bits
+  private int pending;
+
+  private int pendingLength;
+
+  private int markCharIndex;
+
+  private int markPending;
+
+  private int markPendingLength;
+
+  /**
+   * Constructs a new {@link CharSequenceUtf8InputStream}.
+   *
+   * @param charSequence the sequence to encode, not {@code null}
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public CharSequenceUtf8InputStream(CharSequence charSequence) {
+    this.charSequence = Objects.requireNonNull(charSequence, "charSequence");
+    this.length = charSequence.length();
+    this.closed = false;
+  }
+
+  private void closedCheck() throws IOException {
+    if (this.closed) {
+      throw new IOException("closed");
+    }
+  }
+
+  /**
+   * Encodes the non-ASCII char at {@link #charIndex} into {@link #pending}.
+   */
+  private void encodePending(char c) {
+    int encoded = Utf8.encode(c, this.charSequence, this.charIndex, this.length);
+    int byteLength = Utf8.byteLength(encoded);
+    this.charIndex += Utf8.charLength(byteLength);
+    this.pending = encoded;
+    this.pendingLength = byteLength;
+  }
+
+  private int nextPending() {
+    int next = this.pending & 0xFF;
+    this.pending >>>= 8;
+    this.pendingLength -= 1;
+    return next;
+  }
+
+  @Override
+  public int read() throws IOException {
+    this.closedCheck();
+    if (this.pendingLength > 0) {
+      return this.nextPending();
+    }
+    if (this.charIndex == this.length) {
+      return -1;
+    }
+    char c = this.charSequence.charAt(this.charIndex);
+    if (c < 0x80) {
+      this.charIndex += 1;
+      return c;
+    }
+    this.encodePending(c);
+    return this.nextPending();
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    this.closedCheck();
+    if (b == null) {
+      throw new NullPointerException();
+    } else if ((off < 0) || (len < 0) || (len > (b.length - off))) {
+      throw new IndexOutOfBoundsException();
+    } else if (len == 0) {
+      return 0;
+    }
+    if ((this.pendingLength == 0) && (this.charIndex == this.length)) {
+      return -1;
+    }
+
+    int written = 0;
+    while ((this.pendingLength > 0) && (written < len)) {
+      b[off + written++] = (byte) this.nextPending();
+    }
+    CharSequence sequence = this.charSequence;
+    int sequenceLength = this.length;
+    while ((written < len) && (this.charIndex < sequenceLength)) {
+      // ASCII fast path
+      int index = this.charIndex;
+      int asciiEnd = index + Math.min(sequenceLength - index, len - written);
+      char c = 0;
+      while ((index < asciiEnd) && ((c = sequence.charAt(index)) < 0x80)) {
+        b[off + written++] = (byte) c;
+        index += 1;
+      }
+      this.charIndex = index;
+      if (index < asciiEnd) {
+        this.encodePending(c);
+        while ((this.pendingLength > 0) && (written < len)) {
+          b[off + written++] = (byte) this.nextPending();
+        }
+      }
+    }
+    return written;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    this.closedCheck();
+    if (n <= 0L) {
+      return 0L;
+    }
+    long skipped = 0L;
+    while ((this.pendingLength > 0) && (skipped < n)) {
+      this.nextPending();
+      skipped += 1L;
+    }
+    CharSequence sequence = this.charSequence;
+    while ((skipped < n) && (this.charIndex < this.length)) {
+      char c = sequence.charAt(this.charIndex);
+      if (c < 0x80) {
+        this.charIndex += 1;
+        skipped += 1L;
+      } else {
+        this.encodePending(c);
+        while ((this.pendingLength > 0) && (skipped < n)) {
+          this.nextPending();
+          skipped += 1L;
+        }
+      }
+    }
+    return skipped;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote returns a lower bound, every remaining char is encoded
+   *           in at least one byte
+   */
+  @Override
+  public int available() throws IOException {
+    this.closedCheck();
+    return (int) Math.min(Integer.MAX_VALUE, (long) this.pendingLength + (this.length - this.charIndex));
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+  }
+
+  @Override
+  public void mark(int readlimit) {
+    this.markCharIndex = this.charIndex;
+    this.markPending = this.pending;
+    this.markPendingLength = this.pendingLength;
+  }
+
+  @Override
+  public void reset() throws IOException {
+    this.closedCheck();
+    this.charIndex = this.markCharIndex;
+    this.pending = this.markPending;
+    this.pendingLength = this.markPendingLength;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
+  /**
+   * Reads all bytes from this input stream and writes the bytes to the
+   * given output stream in the order that they are read.
+   *
+   * @param out the output stream, not {@code null}
+   * @return the number of bytes transferred
+   * @throws IOException if an I/O error occurs when reading or writing
+   * @throws NullPointerException if {@code out} is {@code null}
+   */
+  // default method in JDK 9+
+  public long transferTo(OutputStream out) throws IOException {
+    Objects.requireNonNull(out, "out");
+    this.closedCheck();
+    byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
+    long transferred = 0L;
+    int read;
+    while ((read = this.read(buffer, 0, buffer.length)) >= 0) {
+      out.write(buffer, 0, read);
+      transferred += read;
+    }
+    return transferred;
+  }
+
+}
@@ -1,8 +1,13 @@
 package com.github.marschall.charsequences;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility methods for dealing with {@link CharSequence} objects.
@@ -21,6 +26,25 @@ public final class CharSequences {
 
   private static final char BOM = '\uFEFF';
 
+  /**
+   * Bitmap of the characters below 64 for which
+   * {@link Character#isWhitespace(char)} returns {@code true}:
+   * U+0009 to U+000D, U+001C to U+001F and U+0020.
+   */
+  private static final long ASCII_WHITESPACE = 0x1_F000_3E00L;
+
+  /**
+   * The largest unsigned {@code long} that can be multiplied by a radix
+   * without overflow, indexed by radix.
+   */
+  private static final long[] UNSIGNED_LONG_LIMITS = unsignedLongLimits();
+
+  /**
+   * The value of the ASCII hex digits, indexed by char, {@code -1} for
+   * all other characters.
+   */
+  private static final byte[] HEX_DIGITS = hexDigits();
+
   private CharSequences() {
     throw new AssertionError("not instantiable");
   }
@@ -32,15 +56,53 @@ public final class CharSequences {
    * out of numbers between {@code 0} and {@code 9}. Empty sequences are
    * rejected as are ones with a leading {@code -}.</p>
    *
+   * @implNote no allocation is performed
    * @param charSequence the sequence to check
    * @return if the sequence is entirely made of of number
    * @throws NullPointerException if the char sequence is {@code null}
+   * @see CharClass#DIGIT
    */
   public static boolean isNumeric(CharSequence charSequence) {
     int length = charSequence.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.IS_NUMERIC, charSequence, length);
+    }
     if (length == 0) {
       return false;
     }
+    if ((charSequence instanceof CharSequenceBuffer) && ((CharSequenceBuffer) charSequence).isLatin1()) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.IS_NUMERIC);
+      }
+      // eight bytes at a time
+      return CharClass.DIGIT.mismatch(((CharSequenceBuffer) charSequence).latin1Array(), 0, length) == -1;
+    }
+    if ((charSequence instanceof Utf8CharSequence) && ((Utf8CharSequence) charSequence).isAsciiArray()) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.IS_NUMERIC);
+      }
+      Utf8CharSequence utf8 = (Utf8CharSequence) charSequence;
+      return CharClass.DIGIT.mismatch(utf8.array(), utf8.arrayOffset(), utf8.arrayOffset() + length) == -1;
+    }
+    if ((charSequence instanceof CharBuffer) && ((CharBuffer) charSequence).hasArray()) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.IS_NUMERIC);
+      }
+      CharBuffer buffer = (CharBuffer) charSequence;
+      char[] array = buffer.array();
+      int offset = buffer.arrayOffset() + buffer.position();
+      for (int i = offset; i < (offset + length); ++i) {
+        char c = array[i];
+        if ((c < '0') || (c > '9')) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.fallback(Operation.IS_NUMERIC);
+    }
+    // inline check, the CharClass#test call site is shared by all classes
     for (int i = 0; i < length; ++i) {
       char c = charSequence.charAt(i);
       if ((c < '0') || (c > '9')) {
@@ -75,12 +137,34 @@ public final class CharSequences {
     if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
       throw new IndexOutOfBoundsException();
     }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARSE_INT, charSequence, endIndex - beginIndex);
+    }
 
     int length = endIndex - beginIndex;
     if (length == 0) {
-      throw invalidDecimalNumber(charSequence, beginIndex, endIndex);
+      throw invalidInt(charSequence, beginIndex, endIndex);
+    }
+    if ((charSequence instanceof CharSequenceBuffer) && ((CharSequenceBuffer) charSequence).isLatin1()) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.PARSE_INT);
+      }
+      return parseLatin1Int(((CharSequenceBuffer) charSequence).latin1Array(), 0, charSequence, beginIndex, endIndex);
+    }
+    if ((charSequence instanceof Utf8CharSequence) && ((Utf8CharSequence) charSequence).isAsciiArray()) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.PARSE_INT);
+      }
+      Utf8CharSequence utf8 = (Utf8CharSequence) charSequence;
+      return parseLatin1Int(utf8.array(), utf8.arrayOffset(), charSequence, beginIndex, endIndex);
     }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.fallback(Operation.PARSE_INT);
+    }
+    return parseIntChars(charSequence, beginIndex, endIndex);
+  }
 
+  private static int parseIntChars(CharSequence charSequence, int beginIndex, int endIndex) {
     char first = charSequence.charAt(beginIndex);
     int start;
     boolean negative;
@@ -96,7 +180,7 @@ public final class CharSequences {
     }
 
     if ((endIndex - start) == 0) {
-      throw invalidDecimalNumber(charSequence, beginIndex, endIndex);
+      throw invalidInt(charSequence, beginIndex, endIndex);
     }
 
     int product = 0;
@@ -107,7 +191,7 @@ public final class CharSequences {
     for (int i = start; i < endIndex; ++i) {
       char c = charSequence.charAt(i);
       if ((c < '0') || (c > '9')) {
-        throw invalidDecimalNumber(charSequence, beginIndex, endIndex);
+        throw invalidInt(charSequence, beginIndex, endIndex);
       }
       int value = c - '0';
       try {
@@ -115,7 +199,7 @@ public final class CharSequences {
         // is equal or better than manual overflow checks for normal cases without overflow
         product = Math.subtractExact(Math.multiplyExact(product, 10), value);
       } catch (ArithmeticException e) {
-        throw invalidDecimalNumber(charSequence, beginIndex, endIndex);
+        throw invalidInt(charSequence, beginIndex, endIndex);
       }
     }
 
@@ -125,10 +209,9 @@ public final class CharSequences {
       try {
         return Math.negateExact(product);
       } catch (ArithmeticException e) {
-        throw invalidDecimalNumber(charSequence, beginIndex, endIndex);
+        throw invalidInt(charSequence, beginIndex, endIndex);
       }
     }
-
   }
 
   /**
@@ -193,70 +276,700 @@ public final class CharSequences {
    * @see Long#parseLong
    * @see #isNumeric(CharSequence)
    */
-  public static long parseLong(CharSequence charSequence, int beginIndex, int endIndex) {
-    if (charSequence == null) {
-      throw new NumberFormatException("null");
-    }
-    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
-      throw new IndexOutOfBoundsException();
+  public static long parseLong(CharSequence charSequence, int beginIndex, int endIndex) {
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARSE_LONG, charSequence, endIndex - beginIndex);
+    }
+    int length = endIndex - beginIndex;
+    if (length == 0) {
+      throw invalidLong(charSequence, beginIndex, endIndex);
+    }
+    if ((charSequence instanceof CharSequenceBuffer) && ((CharSequenceBuffer) charSequence).isLatin1()) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.PARSE_LONG);
+      }
+      return parseLatin1Long(((CharSequenceBuffer) charSequence).latin1Array(), 0, charSequence, beginIndex, endIndex);
+    }
+    if ((charSequence instanceof Utf8CharSequence) && ((Utf8CharSequence) charSequence).isAsciiArray()) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.PARSE_LONG);
+      }
+      Utf8CharSequence utf8 = (Utf8CharSequence) charSequence;
+      return parseLatin1Long(utf8.array(), utf8.arrayOffset(), charSequence, beginIndex, endIndex);
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.fallback(Operation.PARSE_LONG);
+    }
+    return parseLongChars(charSequence, beginIndex, endIndex);
+  }
+
+  private static long parseLongChars(CharSequence charSequence, int beginIndex, int endIndex) {
+    char first = charSequence.charAt(beginIndex);
+    int start;
+    boolean negative;
+    if (first == '-') {
+      negative = true;
+      start = beginIndex + 1;
+    } else if (first == '+') {
+      negative = false;
+      start = beginIndex + 1;
+    } else {
+      negative = false;
+      start = beginIndex;
+    }
+
+    if ((endIndex - start) == 0) {
+      throw invalidLong(charSequence, beginIndex, endIndex);
+    }
+
+    long product = 0;
+    // Long.MIN_VALUE does not have a positive representation but
+    // Long.MAX_VALUE has a negative representation
+    // so build negative numbers and negate those rather than build positive
+    // numbers and negate them
+    for (int i = start; i < endIndex; ++i) {
+      char c = charSequence.charAt(i);
+      if ((c < '0') || (c > '9')) {
+        throw invalidLong(charSequence, beginIndex, endIndex);
+      }
+      int value = c - '0';
+      try {
+        // JMH microbenchmarks have shown that performance of exact methods
+        // is equal or better than manual overflow checks for normal cases without overflow
+        // on Java 11+ use multiplyExact(JI)J
+        product = Math.subtractExact(Math.multiplyExact(product, 10L), value);
+      } catch (ArithmeticException e) {
+        throw invalidLong(charSequence, beginIndex, endIndex);
+      }
+    }
+
+    if (negative) {
+      return product;
+    } else {
+      try {
+        return Math.negateExact(product);
+      } catch (ArithmeticException e) {
+        throw invalidLong(charSequence, beginIndex, endIndex);
+      }
+    }
+  }
+
+  /**
+   * {@link #parseInt(CharSequence, int, int)} for the ISO-8859-1 bytes of
+   * a {@link CharSequenceBuffer} or the ASCII bytes of a
+   * {@link Utf8CharSequence}, avoids a {@code charAt} call per digit.
+   * The char at index {@code i} is the byte at {@code offset + i}.
+   */
+  private static int parseLatin1Int(byte[] array, int offset, CharSequence charSequence, int beginIndex, int endIndex) {
+    byte first = array[offset + beginIndex];
+    int start = ((first == '-') || (first == '+')) ? beginIndex + 1 : beginIndex;
+    if ((endIndex - start) == 0) {
+      throw invalidInt(charSequence, beginIndex, endIndex);
+    }
+    int product = 0;
+    // build negative numbers, see parseInt(CharSequence, int, int)
+    for (int i = start; i < endIndex; ++i) {
+      int value = array[offset + i] - '0';
+      if ((value < 0) || (value > 9)) {
+        throw invalidInt(charSequence, beginIndex, endIndex);
+      }
+      try {
+        product = Math.subtractExact(Math.multiplyExact(product, 10), value);
+      } catch (ArithmeticException e) {
+        throw invalidInt(charSequence, beginIndex, endIndex);
+      }
+    }
+    if (first == '-') {
+      return product;
+    } else {
+      try {
+        return Math.negateExact(product);
+      } catch (ArithmeticException e) {
+        throw invalidInt(charSequence, beginIndex, endIndex);
+      }
+    }
+  }
+
+  /**
+   * {@link #parseLong(CharSequence, int, int)} for the ISO-8859-1 bytes of
+   * a {@link CharSequenceBuffer} or the ASCII bytes of a
+   * {@link Utf8CharSequence}, avoids a {@code charAt} call per digit.
+   * The char at index {@code i} is the byte at {@code offset + i}.
+   */
+  private static long parseLatin1Long(byte[] array, int offset, CharSequence charSequence, int beginIndex, int endIndex) {
+    byte first = array[offset + beginIndex];
+    int start = ((first == '-') || (first == '+')) ? beginIndex + 1 : beginIndex;
+    if ((endIndex - start) == 0) {
+      throw invalidLong(charSequence, beginIndex, endIndex);
+    }
+    long product = 0;
+    // build negative numbers, see parseLong(CharSequence, int, int)
+    for (int i = start; i < endIndex; ++i) {
+      int value = array[offset + i] - '0';
+      if ((value < 0) || (value > 9)) {
+        throw invalidLong(charSequence, beginIndex, endIndex);
+      }
+      try {
+        product = Math.subtractExact(Math.multiplyExact(product, 10L), value);
+      } catch (ArithmeticException e) {
+        throw invalidLong(charSequence, beginIndex, endIndex);
+      }
+    }
+    if (first == '-') {
+      return product;
+    } else {
+      try {
+        return Math.negateExact(product);
+      } catch (ArithmeticException e) {
+        throw invalidLong(charSequence, beginIndex, endIndex);
+      }
+    }
+  }
+
+  private static NumberFormatException invalidInt(CharSequence charSequence, int beginIndex, int endIndex) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.PARSE_INT);
+    }
+    return invalidDecimalNumber(charSequence, beginIndex, endIndex);
+  }
+
+  private static NumberFormatException invalidLong(CharSequence charSequence, int beginIndex, int endIndex) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.PARSE_LONG);
+    }
+    return invalidDecimalNumber(charSequence, beginIndex, endIndex);
+  }
+
+  static NumberFormatException invalidDecimalNumber(CharSequence charSequence, int beginIndex, int endIndex) {
+    return new NumberFormatException("invalid decimal number " + charSequence.subSequence(beginIndex, endIndex));
+  }
+
+  /**
+   * Parses a given char sequence compatible to {@link Integer#parseInt(String, int)}.
+   *
+   * <p>Only ASCII digits and letters are accepted.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the {@code int}
+   *   representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @param radix the radix to be used while parsing
+   * @return the integer value represented by the argument in the specified radix
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable int or the radix is out of range
+   * @see Integer#parseInt(String, int)
+   */
+  public static int parseInt(CharSequence charSequence, int radix) {
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    return parseInt(charSequence, 0, charSequence.length(), radix);
+  }
+
+  /**
+   * Parses a given char sequence compatible to {@link Integer#parseInt(String, int)}.
+   *
+   * <p>Only ASCII digits and letters are accepted.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the {@code int}
+   *   representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @param radix the radix to be used while parsing
+   * @return the integer value represented by the argument in the specified radix
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable int or the radix is out of range
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see Integer#parseInt(String, int)
+   */
+  public static int parseInt(CharSequence charSequence, int beginIndex, int endIndex, int radix) {
+    if (radix == 10) {
+      return parseInt(charSequence, beginIndex, endIndex);
+    }
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    checkRadix(radix);
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARSE_INT, charSequence, endIndex - beginIndex);
+    }
+    if (endIndex == beginIndex) {
+      throw invalidInt(charSequence, beginIndex, endIndex, radix);
+    }
+
+    char first = charSequence.charAt(beginIndex);
+    boolean negative = first == '-';
+    int start = ((first == '-') || (first == '+')) ? beginIndex + 1 : beginIndex;
+    if ((endIndex - start) == 0) {
+      throw invalidInt(charSequence, beginIndex, endIndex, radix);
+    }
+
+    int product = 0;
+    // build negative numbers, see #parseInt(CharSequence, int, int)
+    for (int i = start; i < endIndex; ++i) {
+      int value = digit(charSequence.charAt(i), radix);
+      if (value < 0) {
+        throw invalidInt(charSequence, beginIndex, endIndex, radix);
+      }
+      try {
+        product = Math.subtractExact(Math.multiplyExact(product, radix), value);
+      } catch (ArithmeticException e) {
+        throw invalidInt(charSequence, beginIndex, endIndex, radix);
+      }
+    }
+
+    if (negative) {
+      return product;
+    } else {
+      try {
+        return Math.negateExact(product);
+      } catch (ArithmeticException e) {
+        throw invalidInt(charSequence, beginIndex, endIndex, radix);
+      }
+    }
+  }
+
+  /**
+   * Parses a given char sequence compatible to {@link Long#parseLong(String, int)}.
+   *
+   * <p>Only ASCII digits and letters are accepted.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the {@code long}
+   *   representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @param radix the radix to be used while parsing
+   * @return the long value represented by the argument in the specified radix
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable long or the radix is out of range
+   * @see Long#parseLong(String, int)
+   */
+  public static long parseLong(CharSequence charSequence, int radix) {
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    return parseLong(charSequence, 0, charSequence.length(), radix);
+  }
+
+  /**
+   * Parses a given char sequence compatible to {@link Long#parseLong(String, int)}.
+   *
+   * <p>Only ASCII digits and letters are accepted.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the {@code long}
+   *   representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @param radix the radix to be used while parsing
+   * @return the long value represented by the argument in the specified radix
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable long or the radix is out of range
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see Long#parseLong(String, int)
+   */
+  public static long parseLong(CharSequence charSequence, int beginIndex, int endIndex, int radix) {
+    if (radix == 10) {
+      return parseLong(charSequence, beginIndex, endIndex);
+    }
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    checkRadix(radix);
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARSE_LONG, charSequence, endIndex - beginIndex);
+    }
+    if (endIndex == beginIndex) {
+      throw invalidLong(charSequence, beginIndex, endIndex, radix);
+    }
+
+    char first = charSequence.charAt(beginIndex);
+    boolean negative = first == '-';
+    int start = ((first == '-') || (first == '+')) ? beginIndex + 1 : beginIndex;
+    if ((endIndex - start) == 0) {
+      throw invalidLong(charSequence, beginIndex, endIndex, radix);
+    }
+
+    long product = 0L;
+    // build negative numbers, see #parseLong(CharSequence, int, int)
+    for (int i = start; i < endIndex; ++i) {
+      int value = digit(charSequence.charAt(i), radix);
+      if (value < 0) {
+        throw invalidLong(charSequence, beginIndex, endIndex, radix);
+      }
+      try {
+        product = Math.subtractExact(Math.multiplyExact(product, (long) radix), value);
+      } catch (ArithmeticException e) {
+        throw invalidLong(charSequence, beginIndex, endIndex, radix);
+      }
+    }
+
+    if (negative) {
+      return product;
+    } else {
+      try {
+        return Math.negateExact(product);
+      } catch (ArithmeticException e) {
+        throw invalidLong(charSequence, beginIndex, endIndex, radix);
+      }
+    }
+  }
+
+  /**
+   * Parses a given char sequence compatible to {@link Integer#parseUnsignedInt(String)}.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the unsigned
+   *   {@code int} representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @return the unsigned integer value represented by the argument in decimal
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable unsigned int
+   * @see Integer#parseUnsignedInt(String)
+   */
+  public static int parseUnsignedInt(CharSequence charSequence) {
+    return parseUnsignedInt(charSequence, 10);
+  }
+
+  /**
+   * Parses a given char sequence compatible to {@link Integer#parseUnsignedInt(String, int)}.
+   *
+   * <p>Only ASCII digits and letters are accepted.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the unsigned
+   *   {@code int} representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @param radix the radix to be used while parsing
+   * @return the unsigned integer value represented by the argument in the specified radix
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable unsigned int or the radix is out of range
+   * @see Integer#parseUnsignedInt(String, int)
+   */
+  public static int parseUnsignedInt(CharSequence charSequence, int radix) {
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    return parseUnsignedInt(charSequence, 0, charSequence.length(), radix);
+  }
+
+  /**
+   * Parses a given char sequence compatible to {@link Integer#parseUnsignedInt(String, int)}.
+   *
+   * <p>Only ASCII digits and letters are accepted.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the unsigned
+   *   {@code int} representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @param radix the radix to be used while parsing
+   * @return the unsigned integer value represented by the argument in the specified radix
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable unsigned int or the radix is out of range
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see Integer#parseUnsignedInt(String, int)
+   */
+  public static int parseUnsignedInt(CharSequence charSequence, int beginIndex, int endIndex, int radix) {
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    checkRadix(radix);
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARSE_UNSIGNED, charSequence, endIndex - beginIndex);
+    }
+    int start = unsignedStart(charSequence, beginIndex, endIndex);
+    if (start == endIndex) {
+      throw invalidUnsigned(charSequence, beginIndex, endIndex, radix);
+    }
+
+    // the product can not overflow a long before exceeding the unsigned int range
+    long product = 0L;
+    for (int i = start; i < endIndex; ++i) {
+      int value = digit(charSequence.charAt(i), radix);
+      if (value < 0) {
+        throw invalidUnsigned(charSequence, beginIndex, endIndex, radix);
+      }
+      product = (product * radix) + value;
+      if (product > 0xFFFF_FFFFL) {
+        throw invalidUnsigned(charSequence, beginIndex, endIndex, radix);
+      }
+    }
+    return (int) product;
+  }
+
+  /**
+   * Parses a given char sequence compatible to {@link Long#parseUnsignedLong(String)}.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the unsigned
+   *   {@code long} representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @return the unsigned long value represented by the argument in decimal
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable unsigned long
+   * @see Long#parseUnsignedLong(String)
+   */
+  public static long parseUnsignedLong(CharSequence charSequence) {
+    return parseUnsignedLong(charSequence, 10);
+  }
+
+  /**
+   * Parses a given char sequence compatible to {@link Long#parseUnsignedLong(String, int)}.
+   *
+   * <p>Only ASCII digits and letters are accepted.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the unsigned
+   *   {@code long} representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @param radix the radix to be used while parsing
+   * @return the unsigned long value represented by the argument in the specified radix
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable unsigned long or the radix is out of range
+   * @see Long#parseUnsignedLong(String, int)
+   */
+  public static long parseUnsignedLong(CharSequence charSequence, int radix) {
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    return parseUnsignedLong(charSequence, 0, charSequence.length(), radix);
+  }
+
+  /**
+   * Parses a given char sequence compatible to {@link Long#parseUnsignedLong(String, int)}.
+   *
+   * <p>Only ASCII digits and letters are accepted.</p>
+   *
+   * @implNote no allocation is performed
+   * @implNote unlike {@link Long#parseUnsignedLong(String, int)} on Java 8
+   *           no {@link java.math.BigInteger} is used for overflow checks
+   * @param charSequence the {@code CharSequence} containing the unsigned
+   *   {@code long} representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @param radix the radix to be used while parsing
+   * @return the unsigned long value represented by the argument in the specified radix
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable unsigned long or the radix is out of range
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see Long#parseUnsignedLong(String, int)
+   */
+  public static long parseUnsignedLong(CharSequence charSequence, int beginIndex, int endIndex, int radix) {
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    checkRadix(radix);
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARSE_UNSIGNED, charSequence, endIndex - beginIndex);
+    }
+    int start = unsignedStart(charSequence, beginIndex, endIndex);
+    if (start == endIndex) {
+      throw invalidUnsigned(charSequence, beginIndex, endIndex, radix);
+    }
+
+    // the largest value that can be multiplied by radix without overflow
+    long limit = UNSIGNED_LONG_LIMITS[radix];
+    long product = 0L;
+    for (int i = start; i < endIndex; ++i) {
+      int value = digit(charSequence.charAt(i), radix);
+      if (value < 0) {
+        throw invalidUnsigned(charSequence, beginIndex, endIndex, radix);
+      }
+      if (Long.compareUnsigned(product, limit) > 0) {
+        throw invalidUnsigned(charSequence, beginIndex, endIndex, radix);
+      }
+      long multiplied = product * radix;
+      product = multiplied + value;
+      if (Long.compareUnsigned(product, multiplied) < 0) {
+        // carry
+        throw invalidUnsigned(charSequence, beginIndex, endIndex, radix);
+      }
+    }
+    return product;
+  }
+
+  /**
+   * Parses a given char sequence of hexadecimal digits into an unsigned
+   * {@code long}, compatible to {@link Long#parseUnsignedLong(String, int)}
+   * with a radix of 16. This is the inverse of {@link Long#toHexString(long)}.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the hexadecimal
+   *   representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @return the unsigned long value represented by the argument in hexadecimal
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable hexadecimal unsigned long
+   * @see Long#parseUnsignedLong(String, int)
+   */
+  public static long parseHexLong(CharSequence charSequence) {
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    return parseHexLong(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Parses a given char sequence of hexadecimal digits into an unsigned
+   * {@code long}, compatible to {@link Long#parseUnsignedLong(String, int)}
+   * with a radix of 16. This is the inverse of {@link Long#toHexString(long)}.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the {@code CharSequence} containing the hexadecimal
+   *   representation to be parsed, {@code null} will cause a
+   *   {@code NumberFormatException} to be thrown
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @return the unsigned long value represented by the argument in hexadecimal
+   * @throws NumberFormatException if the charSequence does not
+   *   contain a parsable hexadecimal unsigned long
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see Long#parseUnsignedLong(String, int)
+   */
+  public static long parseHexLong(CharSequence charSequence, int beginIndex, int endIndex) {
+    if (charSequence == null) {
+      throw new NumberFormatException("null");
+    }
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARSE_HEX_LONG, charSequence, endIndex - beginIndex);
+    }
+    int start = unsignedStart(charSequence, beginIndex, endIndex);
+    if (start == endIndex) {
+      throw invalidHexLong(charSequence, beginIndex, endIndex);
+    }
+    // leading zeros do not count towards the 16 digits
+    while ((start < (endIndex - 1)) && (charSequence.charAt(start) == '0')) {
+      start += 1;
+    }
+    if ((endIndex - start) > 16) {
+      throw invalidHexLong(charSequence, beginIndex, endIndex);
+    }
+
+    long value = 0L;
+    try {
+      for (int i = start; i < endIndex; ++i) {
+        value = (value << 4) | hexDigit(charSequence.charAt(i));
+      }
+    } catch (IllegalArgumentException e) {
+      throw invalidHexLong(charSequence, beginIndex, endIndex);
+    }
+    return value;
+  }
+
+  private static void checkRadix(int radix) {
+    if ((radix < Character.MIN_RADIX) || (radix > Character.MAX_RADIX)) {
+      throw new NumberFormatException("radix " + radix + " out of range");
+    }
+  }
+
+  private static int unsignedStart(CharSequence charSequence, int beginIndex, int endIndex) {
+    // a leading minus sign is rejected as an invalid digit
+    if ((beginIndex < endIndex) && (charSequence.charAt(beginIndex) == '+')) {
+      return beginIndex + 1;
+    }
+    return beginIndex;
+  }
+
+  /**
+   * Returns the value of an ASCII digit or letter in a radix.
+   *
+   * @param c the char to convert
+   * @param radix the radix, from 2 to 36
+   * @return the value of the digit, {@code -1} if it is not a digit in the radix
+   * @see Character#digit(char, int)
+   */
+  static int digit(char c, int radix) {
+    int value;
+    if ((c >= '0') && (c <= '9')) {
+      value = c - '0';
+    } else if ((c >= 'a') && (c <= 'z')) {
+      // (c - 'a') + 10
+      value = c - 87;
+    } else if ((c >= 'A') && (c <= 'Z')) {
+      // (c - 'A') + 10
+      value = c - 55;
+    } else {
+      return -1;
     }
-    int length = endIndex - beginIndex;
-    if (length == 0) {
-      throw invalidDecimalNumber(charSequence, beginIndex, endIndex);
+    return value < radix ? value : -1;
+  }
+
+  private static long[] unsignedLongLimits() {
+    long[] limits = new long[Character.MAX_RADIX + 1];
+    for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+      // Long.divideUnsigned(-1L, radix) without BigInteger on Java 8
+      long quotient = ((-1L >>> 1) / radix) << 1;
+      long remainder = -1L - (quotient * radix);
+      if (Long.compareUnsigned(remainder, radix) >= 0) {
+        quotient += 1;
+      }
+      limits[radix] = quotient;
     }
+    return limits;
+  }
 
-    char first = charSequence.charAt(beginIndex);
-    int start;
-    boolean negative;
-    if (first == '-') {
-      negative = true;
-      start = beginIndex + 1;
-    } else if (first == '+') {
-      negative = false;
-      start = beginIndex + 1;
-    } else {
-      negative = false;
-      start = beginIndex;
+  private static NumberFormatException invalidInt(CharSequence charSequence, int beginIndex, int endIndex, int radix) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.PARSE_INT);
     }
+    return invalidNumber(charSequence, beginIndex, endIndex, radix);
+  }
 
-    if ((endIndex - start) == 0) {
-      throw invalidDecimalNumber(charSequence, beginIndex, endIndex);
+  private static NumberFormatException invalidLong(CharSequence charSequence, int beginIndex, int endIndex, int radix) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.PARSE_LONG);
     }
+    return invalidNumber(charSequence, beginIndex, endIndex, radix);
+  }
 
-    long product = 0;
-    // Long.MIN_VALUE does not have a positive representation but
-    // Long.MAX_VALUE has a negative representation
-    // so build negative numbers and negate those rather than build positive
-    // numbers and negate them
-    for (int i = start; i < endIndex; ++i) {
-      char c = charSequence.charAt(i);
-      if ((c < '0') || (c > '9')) {
-        throw invalidDecimalNumber(charSequence, beginIndex, endIndex);
-      }
-      int value = c - '0';
-      try {
-        // JMH microbenchmarks have shown that performance of exact methods
-        // is equal or better than manual overflow checks for normal cases without overflow
-        // on Java 11+ use multiplyExact(JI)J
-        product = Math.subtractExact(Math.multiplyExact(product, 10L), value);
-      } catch (ArithmeticException e) {
-        throw invalidDecimalNumber(charSequence, beginIndex, endIndex);
-      }
+  private static NumberFormatException invalidUnsigned(CharSequence charSequence, int beginIndex, int endIndex, int radix) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.PARSE_UNSIGNED);
     }
+    return new NumberFormatException("invalid unsigned number " + charSequence.subSequence(beginIndex, endIndex) + " in radix " + radix);
+  }
 
-    if (negative) {
-      return product;
-    } else {
-      try {
-        return Math.negateExact(product);
-      } catch (ArithmeticException e) {
-        throw invalidDecimalNumber(charSequence, beginIndex, endIndex);
-      }
+  private static NumberFormatException invalidHexLong(CharSequence charSequence, int beginIndex, int endIndex) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.PARSE_HEX_LONG);
     }
+    return new NumberFormatException("invalid hexadecimal number " + charSequence.subSequence(beginIndex, endIndex));
   }
 
-  private static NumberFormatException invalidDecimalNumber(CharSequence charSequence, int beginIndex, int endIndex) {
-    return new NumberFormatException("invalid decimal number " + charSequence.subSequence(beginIndex, endIndex));
+  private static NumberFormatException invalidNumber(CharSequence charSequence, int beginIndex, int endIndex, int radix) {
+    return new NumberFormatException("invalid number " + charSequence.subSequence(beginIndex, endIndex) + " in radix " + radix);
   }
 
   /**
@@ -270,6 +983,18 @@ public final class CharSequences {
    * @see String#indexOf(int)
    */
   public static int indexOf(CharSequence charSequence, char c) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.INDEX_OF_CHAR, charSequence, charSequence.length());
+    }
+    if (charSequence instanceof SearchableCharSequence) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.INDEX_OF_CHAR);
+      }
+      return charSequence.length() == 0 ? -1 : ((SearchableCharSequence) charSequence).indexOf(c, 0, charSequence.length());
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.fallback(Operation.INDEX_OF_CHAR);
+    }
     int length = charSequence.length();
     for (int i = 0; i < length; ++i) {
       if (charSequence.charAt(i) == c) {
@@ -302,6 +1027,18 @@ public final class CharSequences {
     if (fromIndex < 0) {
       fromIndex = 0;
     }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.INDEX_OF_CHAR, charSequence, length - fromIndex);
+    }
+    if (charSequence instanceof SearchableCharSequence) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.INDEX_OF_CHAR);
+      }
+      return ((SearchableCharSequence) charSequence).indexOf(c, fromIndex, length);
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.fallback(Operation.INDEX_OF_CHAR);
+    }
     for (int i = fromIndex; i < length; ++i) {
       if (charSequence.charAt(i) == c) {
         return i;
@@ -310,6 +1047,34 @@ public final class CharSequences {
     return -1;
   }
 
+  /**
+   * Uninstrumented search for the first occurrence of a char in a range
+   * without bounds checks, does not look at chars outside of the range.
+   *
+   * @param charSequence the sequence within to search, not {@code null}
+   * @param c the {@code char} to search for
+   * @param fromIndex the inclusive index at which to start the search,
+   *        between {@code 0} and {@code toIndex}
+   * @param toIndex the exclusive index at which to end the search,
+   *        between {@code fromIndex} and the length of the sequence
+   * @return the index of the first occurrence of {@code c} in the range,
+   *         or {@code -1} if there is no such occurrence
+   */
+  static int indexOf(CharSequence charSequence, char c, int fromIndex, int toIndex) {
+    if (fromIndex >= toIndex) {
+      return -1;
+    }
+    if (charSequence instanceof SearchableCharSequence) {
+      return ((SearchableCharSequence) charSequence).indexOf(c, fromIndex, toIndex);
+    }
+    for (int i = fromIndex; i < toIndex; ++i) {
+      if (charSequence.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   /**
    * Searches for the last occurrence of a char within a sequence
    * that's compatible with {@link String#indexOf(int)}.
@@ -321,6 +1086,18 @@ public final class CharSequences {
    * @see String#indexOf(int)
    */
   public static int lastIndexOf(CharSequence charSequence, char c) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.LAST_INDEX_OF, charSequence, charSequence.length());
+    }
+    if (charSequence instanceof SearchableCharSequence) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.LAST_INDEX_OF);
+      }
+      return ((SearchableCharSequence) charSequence).lastIndexOf(c);
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.fallback(Operation.LAST_INDEX_OF);
+    }
     int length = charSequence.length();
     for (int i = length - 1; i >= 0; --i) {
       if (charSequence.charAt(i) == c) {
@@ -343,6 +1120,9 @@ public final class CharSequences {
    */
   public static int indexOf(CharSequence charSequence, String subSequence) {
     int sequenceLength = charSequence.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.INDEX_OF_STRING, charSequence, sequenceLength);
+    }
     int subSequenceLength = subSequence.length();
     charLoop : for (int i = 0; i <= (sequenceLength - subSequenceLength); ++i) {
       for (int j = 0; j < subSequenceLength; ++j) {
@@ -369,6 +1149,9 @@ public final class CharSequences {
    */
   public static CharSequence trim(CharSequence charSequence) {
     int length = charSequence.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.TRIM, charSequence, length);
+    }
     int start = 0;
 
     // scan from start to end
@@ -400,6 +1183,150 @@ public final class CharSequences {
     }
   }
 
+  /**
+   * Returns a sequence whose value is the given sequence, with any
+   * leading and trailing white space removed.
+   *
+   * <p>White space is defined by {@link Character#isWhitespace(char)}.</p>
+   *
+   * @implNote allocation avoided if the sequence does not start or end with white space
+   * @implNote allocation avoided if the sequence is just white space
+   * @implNote ASCII characters are checked without calling {@link Character#isWhitespace(char)}
+   * @param charSequence the sequence to strip, not {@code null}
+   * @return the stripped sequence
+   * @throws NullPointerException if the given sequence is null
+   * @see <a href="https://docs.oracle.com/en/java/javase/11/docs/api/java.base/java/lang/String.html#strip()">String#strip()</a>
+   */
+  public static CharSequence strip(CharSequence charSequence) {
+    int length = charSequence.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.STRIP, charSequence, length);
+    }
+    int start = stripStart(charSequence, length);
+    int end = stripEnd(charSequence, start, length);
+    return subSequenceOrSelf(charSequence, start, end, length);
+  }
+
+  /**
+   * Returns a sequence whose value is the given sequence, with any
+   * leading white space removed.
+   *
+   * <p>White space is defined by {@link Character#isWhitespace(char)}.</p>
+   *
+   * @implNote allocation avoided if the sequence does not start with white space
+   * @implNote allocation avoided if the sequence is just white space
+   * @implNote ASCII characters are checked without calling {@link Character#isWhitespace(char)}
+   * @param charSequence the sequence to strip, not {@code null}
+   * @return the stripped sequence
+   * @throws NullPointerException if the given sequence is null
+   * @see <a href="https://docs.oracle.com/en/java/javase/11/docs/api/java.base/java/lang/String.html#stripLeading()">String#stripLeading()</a>
+   */
+  public static CharSequence stripLeading(CharSequence charSequence) {
+    int length = charSequence.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.STRIP, charSequence, length);
+    }
+    int start = stripStart(charSequence, length);
+    return subSequenceOrSelf(charSequence, start, length, length);
+  }
+
+  /**
+   * Returns a sequence whose value is the given sequence, with any
+   * trailing white space removed.
+   *
+   * <p>White space is defined by {@link Character#isWhitespace(char)}.</p>
+   *
+   * @implNote allocation avoided if the sequence does not end with white space
+   * @implNote allocation avoided if the sequence is just white space
+   * @implNote ASCII characters are checked without calling {@link Character#isWhitespace(char)}
+   * @param charSequence the sequence to strip, not {@code null}
+   * @return the stripped sequence
+   * @throws NullPointerException if the given sequence is null
+   * @see <a href="https://docs.oracle.com/en/java/javase/11/docs/api/java.base/java/lang/String.html#stripTrailing()">String#stripTrailing()</a>
+   */
+  public static CharSequence stripTrailing(CharSequence charSequence) {
+    int length = charSequence.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.STRIP, charSequence, length);
+    }
+    int end = stripEnd(charSequence, 0, length);
+    return subSequenceOrSelf(charSequence, 0, end, length);
+  }
+
+  private static int stripStart(CharSequence charSequence, int length) {
+    int start = 0;
+    while ((start < length) && isWhitespace(charSequence.charAt(start))) {
+      start += 1;
+    }
+    return start;
+  }
+
+  private static int stripEnd(CharSequence charSequence, int start, int length) {
+    int end = length;
+    while ((end > start) && isWhitespace(charSequence.charAt(end - 1))) {
+      end -= 1;
+    }
+    return end;
+  }
+
+  /**
+   * Returns a sequence whose value is the given sequence, with any
+   * leading and trailing characters matching a predicate removed.
+   *
+   * <p>For example the following removes leading and trailing white
+   * space including no-break spaces:</p>
+   * <pre><code>
+   * CharSequences.trim(s, c -&gt; Character.isWhitespace(c) || Character.isSpaceChar(c));
+   * </code></pre>
+   *
+   * @implNote allocation avoided if the sequence does not start or end with a matching character
+   * @implNote allocation avoided if the sequence is just matching characters
+   * @param charSequence the sequence to trim, not {@code null}
+   * @param predicate the predicate for the characters to remove, not {@code null}
+   * @return the trimmed sequence
+   * @throws NullPointerException if the given sequence or predicate is null
+   * @see #trim(CharSequence)
+   */
+  public static CharSequence trim(CharSequence charSequence, CharPredicate predicate) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.TRIM, charSequence, charSequence.length());
+    }
+    int length = charSequence.length();
+    int start = 0;
+    while ((start < length) && predicate.test(charSequence.charAt(start))) {
+      start += 1;
+    }
+    int end = length;
+    while ((end > start) && predicate.test(charSequence.charAt(end - 1))) {
+      end -= 1;
+    }
+    return subSequenceOrSelf(charSequence, start, end, length);
+  }
+
+  private static CharSequence subSequenceOrSelf(CharSequence charSequence, int start, int end, int length) {
+    if ((start == 0) && (end == length)) {
+      return charSequence;
+    } else if (start == end) {
+      return "";
+    } else {
+      return charSequence.subSequence(start, end);
+    }
+  }
+
+  /**
+   * Determines if a character is white space according to
+   * {@link Character#isWhitespace(char)}.
+   */
+  static boolean isWhitespace(char c) {
+    if (c < 64) {
+      return ((ASCII_WHITESPACE >>> c) & 1L) != 0L;
+    }
+    if (c < 128) {
+      return false;
+    }
+    return Character.isWhitespace(c);
+  }
+
   /**
    * Splits the given CharSequence around matches of the given delimiter character.
    *
@@ -415,9 +1342,79 @@ public final class CharSequences {
    *         CharSequence around matches of the given delimiter character
    */
   public static Iterable<CharSequence> split(CharSequence charSequence, char delimiter) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.SPLIT, charSequence, charSequence.length());
+    }
     return new SubSequenceIterable(delimiter, charSequence);
   }
 
+  /**
+   * Returns a stream of the lines of the given CharSequence.
+   *
+   * <p>Lines are terminated by {@code \n}, {@code \r\n} or {@code \r}
+   * and do not include the line terminator. A line terminator at the end
+   * of the sequence does not start a new line, an empty sequence has no
+   * lines.</p>
+   *
+   * <p>The stream supports efficient parallel processing, it is split
+   * at line terminators.</p>
+   *
+   * @implNote the lines are lazily computed, no backing collection
+   *           is created
+   * @implNote allocation avoided for empty lines
+   * @param charSequence the CharSequence to split into lines, not {@code null}
+   * @return the lines of the given CharSequence
+   * @throws NullPointerException if the given sequence is null
+   * @see <a href="https://docs.oracle.com/en/java/javase/11/docs/api/java.base/java/lang/String.html#lines()">String#lines()</a>
+   * @see #lineCursor(CharSequence)
+   */
+  public static Stream<CharSequence> lines(CharSequence charSequence) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.LINES, charSequence, charSequence.length());
+    }
+    return StreamSupport.stream(new LineSpliterator(charSequence, 0, charSequence.length()), false);
+  }
+
+  /**
+   * Returns a cursor over the offsets of the lines of the given CharSequence.
+   *
+   * <p>Unlike {@link #lines(CharSequence)} lines are not materialized, this
+   * allows line oriented processing without any allocation.</p>
+   *
+   * @param charSequence the CharSequence to iterate over, not {@code null}
+   * @return a cursor positioned before the first line
+   * @throws NullPointerException if the given sequence is null
+   * @see #lines(CharSequence)
+   */
+  public static LineCursor lineCursor(CharSequence charSequence) {
+    return new LineCursor(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Returns the concatenation of the given sequences.
+   *
+   * <p>Unlike {@link StringBuilder} the characters are not copied, the
+   * returned sequence is a view over the given sequences. They must
+   * therefore not be modified while the returned sequence is in use.</p>
+   *
+   * @implNote {@link CharSequence#charAt(int)} remembers the last segment
+   *           accessed, sequential access is constant time, random access
+   *           is logarithmic in the number of sequences
+   * @implNote concatenating the result of this method again does not create
+   *           a nested structure but copies its segments, appending one
+   *           sequence at a time in a loop is therefore quadratic in the
+   *           number of sequences, collect them and concatenate them in
+   *           a single call instead
+   * @implNote {@link CharSequence#subSequence(int, int)} does not copy
+   * @param sequences the sequences to concatenate, not {@code null}
+   * @return the concatenation of the given sequences
+   * @throws NullPointerException if any of the sequences is {@code null}
+   * @throws IllegalArgumentException if the combined length is larger than {@link Integer#MAX_VALUE}
+   */
+  public static CharSequence concat(CharSequence... sequences) {
+    return CompositeCharSequence.concat(sequences);
+  }
+
   /**
    * Checks if a sequence starts with a
    * <a href="https://en.wikipedia.org/wiki/Byte_order_mark">byte order mark</a>.
@@ -463,6 +1460,9 @@ public final class CharSequences {
    */
   public static boolean startsWith(CharSequence charSequence, CharSequence prefix) {
     int sequenceLenth = charSequence.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.STARTS_WITH, charSequence, sequenceLenth);
+    }
     int prefixLenght = prefix.length();
     if (prefixLenght > sequenceLenth) {
       return false;
@@ -476,6 +1476,126 @@ public final class CharSequences {
     return true;
   }
 
+  /**
+   * Computes the number of bytes of the UTF-8 representation of a sequence.
+   *
+   * <p>Unpaired surrogates are counted as one byte since they are replaced
+   * with {@code '?'}, consistent with {@link String#getBytes(java.nio.charset.Charset)}.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence to measure, not {@code null}
+   * @return the number of bytes of the UTF-8 representation
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see #encodeUtf8(CharSequence, ByteBuffer)
+   */
+  public static long utf8Length(CharSequence charSequence) {
+    int length = charSequence.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.UTF8_LENGTH, charSequence, length);
+    }
+    int i = 0;
+    // ASCII fast path
+    while ((i < length) && (charSequence.charAt(i) < 0x80)) {
+      i += 1;
+    }
+    long byteLength = length;
+    while (i < length) {
+      char c = charSequence.charAt(i);
+      if (c >= 0x80) {
+        int encodedLength = Utf8.byteLength(Utf8.encode(c, charSequence, i, length));
+        int charLength = Utf8.charLength(encodedLength);
+        byteLength += encodedLength - charLength;
+        i += charLength;
+      } else {
+        i += 1;
+      }
+    }
+    return byteLength;
+  }
+
+  /**
+   * Encodes a sequence to UTF-8 into a buffer.
+   *
+   * <p>Encoding stops when the buffer does not have enough space for the
+   * next character. The return value can be passed to
+   * {@link #encodeUtf8(CharSequence, int, ByteBuffer)} to resume encoding.</p>
+   *
+   * <p>Unpaired surrogates are replaced with {@code '?'}, consistent with
+   * {@link String#getBytes(java.nio.charset.Charset)}.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence to encode, not {@code null}
+   * @param buffer the buffer to write to, not {@code null}
+   * @return the index of the first char that was not encoded,
+   *         the length of the sequence if all chars were encoded
+   * @throws NullPointerException if the sequence or the buffer is {@code null}
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read only
+   * @see #utf8Length(CharSequence)
+   */
+  public static int encodeUtf8(CharSequence charSequence, ByteBuffer buffer) {
+    return encodeUtf8(charSequence, 0, buffer);
+  }
+
+  /**
+   * Encodes a sequence starting at a given index to UTF-8 into a buffer.
+   *
+   * <p>Encoding stops when the buffer does not have enough space for the
+   * next character, a character is never written partially. As long as the
+   * buffer has at least four bytes remaining progress is guaranteed.</p>
+   *
+   * <p>Unpaired surrogates are replaced with {@code '?'}, consistent with
+   * {@link String#getBytes(java.nio.charset.Charset)}.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence to encode, not {@code null}
+   * @param beginIndex the index of the first char to encode
+   * @param buffer the buffer to write to, not {@code null}
+   * @return the index of the first char that was not encoded,
+   *         the length of the sequence if all chars were encoded
+   * @throws NullPointerException if the sequence or the buffer is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is negative or
+   *         bigger than the length of charSequence
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read only
+   * @see #utf8Length(CharSequence)
+   */
+  public static int encodeUtf8(CharSequence charSequence, int beginIndex, ByteBuffer buffer) {
+    int length = charSequence.length();
+    if ((beginIndex < 0) || (beginIndex > length)) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.ENCODE_UTF8, charSequence, length - beginIndex);
+    }
+    int i = beginIndex;
+    while (i < length) {
+      // ASCII fast path
+      int asciiEnd = i + Math.min(length - i, buffer.remaining());
+      char c = 0;
+      while ((i < asciiEnd) && ((c = charSequence.charAt(i)) < 0x80)) {
+        buffer.put((byte) c);
+        i += 1;
+      }
+      if (i == length) {
+        return i;
+      }
+      if (i == asciiEnd) {
+        // buffer full
+        return i;
+      }
+      int encoded = Utf8.encode(c, charSequence, i, length);
+      int byteLength = Utf8.byteLength(encoded);
+      if (buffer.remaining() < byteLength) {
+        return i;
+      }
+      for (int j = 0; j < byteLength; j++) {
+        buffer.put((byte) encoded);
+        encoded >>>= 8;
+      }
+      i += Utf8.charLength(byteLength);
+    }
+    return i;
+  }
+
   /**
    * Creates a UUID from a {@link CharSequence} like {@link UUID#fromString(String)}
    *
@@ -493,63 +1613,111 @@ public final class CharSequences {
    * @see UUID#toString()
    */
   public static UUID uuidFromCharSequence(CharSequence name) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.UUID_FROM_CHAR_SEQUENCE, name, name.length());
+    }
     if (name.length() != 36) {
       throw invalidUuid(name);
     }
-    if ((name.charAt(8) != '-') || (name.charAt(13) != '-') || (name.charAt(18) != '-') || (name.charAt(23) != '-')) {
+    if (!hasUuidDashes(name, 0)) {
       throw invalidUuid(name);
     }
-    long mostSigBits = 0L;
-    long leastSigBits = 0;
+    long mostSigBits;
+    long leastSigBits;
+    try {
+      mostSigBits = uuidMostSignificantBits(name, 0);
+      leastSigBits = uuidLeastSignificantBits(name, 0);
+    } catch (IllegalArgumentException e) {
+      // invalid hex digit
+      throw invalidUuid(name);
+    }
+
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  /**
+   * Checks the dashes of the 36 chars of a UUID string starting at an offset.
+   */
+  static boolean hasUuidDashes(CharSequence charSequence, int offset) {
+    return (charSequence.charAt(offset + 8) == '-') && (charSequence.charAt(offset + 13) == '-')
+        && (charSequence.charAt(offset + 18) == '-') && (charSequence.charAt(offset + 23) == '-');
+  }
 
-    // manually unroll the first loop, helps 10% to 20% on C2
+  /**
+   * Parses the most significant bits of a UUID string starting at an
+   * offset, the dashes have to be checked with
+   * {@link #hasUuidDashes(CharSequence, int)}.
+   *
+   * @throws IllegalArgumentException if a char is not a hex digit
+   */
+  static long uuidMostSignificantBits(CharSequence charSequence, int offset) {
+    long mostSigBits = 0L;
+    // manually unroll the loop, helps 10% to 20% on C2
     for (int i = 0; i < 8; ++i) {
-      long digit = hexDigit(name.charAt(i));
-      mostSigBits = (mostSigBits << 4) | digit;
+      mostSigBits = (mostSigBits << 4) | hexDigit(charSequence.charAt(offset + i));
     }
     for (int i = 9; i < 13; ++i) {
-      long digit = hexDigit(name.charAt(i));
-      mostSigBits = (mostSigBits << 4) | digit;
+      mostSigBits = (mostSigBits << 4) | hexDigit(charSequence.charAt(offset + i));
     }
     for (int i = 14; i < 18; ++i) {
-      long digit = hexDigit(name.charAt(i));
-      mostSigBits = (mostSigBits << 4) | digit;
+      mostSigBits = (mostSigBits << 4) | hexDigit(charSequence.charAt(offset + i));
     }
+    return mostSigBits;
+  }
 
-    // manually unroll the second loop, helps 10% to 20% on C2
+  /**
+   * Parses the least significant bits of a UUID string starting at an
+   * offset, the dashes have to be checked with
+   * {@link #hasUuidDashes(CharSequence, int)}.
+   *
+   * @throws IllegalArgumentException if a char is not a hex digit
+   */
+  static long uuidLeastSignificantBits(CharSequence charSequence, int offset) {
+    long leastSigBits = 0L;
+    // manually unroll the loop, helps 10% to 20% on C2
     for (int i = 19; i < 23; ++i) {
-      long digit = hexDigit(name.charAt(i));
-      leastSigBits = (leastSigBits << 4) | digit;
+      leastSigBits = (leastSigBits << 4) | hexDigit(charSequence.charAt(offset + i));
     }
     for (int i = 24; i < 36; ++i) {
-      long digit = hexDigit(name.charAt(i));
-      leastSigBits = (leastSigBits << 4) | digit;
+      leastSigBits = (leastSigBits << 4) | hexDigit(charSequence.charAt(offset + i));
     }
-
-    return new UUID(mostSigBits, leastSigBits);
+    return leastSigBits;
   }
 
   private static IllegalArgumentException invalidUuid(CharSequence name) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.UUID_FROM_CHAR_SEQUENCE);
+    }
     return new IllegalArgumentException("Invalid UUID string: " + name);
   }
 
   static long hexDigit(char c) {
-    if ((c >= '0') && (c <= '9')) {
-      return c - '0';
+    if (c < HEX_DIGITS.length) {
+      int digit = HEX_DIGITS[c];
+      if (digit >= 0) {
+        return digit;
+      }
     }
-    if ((c >= 'a') && (c <= 'f')) {
-      // manually constant fold to avoid running into inlining limits
-      // (c - 'a') + 10
-      // a = 97
-      return c - 87;
+    // keep the exception creation out of line, hexDigit has to stay below MaxInlineSize
+    throw invalidHexDigit();
+  }
+
+  private static byte[] hexDigits() {
+    byte[] digits = new byte[128];
+    Arrays.fill(digits, (byte) -1);
+    for (int i = 0; i < 10; i++) {
+      digits['0' + i] = (byte) i;
     }
-    if ((c >= 'A') && (c <= 'F')) {
-      // manually constant fold to avoid running into inlining limits
-      // (c - 'A') + 10
-      // A = 65
-      return c - 55;
+    for (int i = 0; i < 6; i++) {
+      digits['a' + i] = (byte) (10 + i);
+      digits['A' + i] = (byte) (10 + i);
     }
-    throw new IllegalArgumentException();
+    return digits;
+  }
+
+  private static IllegalArgumentException invalidHexDigit() {
+    // the failure is recorded by the caller
+    return new IllegalArgumentException();
   }
 
   static final class SubSequenceIterable implements Iterable<CharSequence> {
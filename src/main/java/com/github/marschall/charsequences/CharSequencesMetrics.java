@@ -0,0 +1,69 @@
+package com.github.marschall.charsequences;
+
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gives access to the optional instrumentation of this library.
+ *
+ * <p>Instrumentation is disabled by default and has no overhead when
+ * disabled. To enable it set the system property
+ * {@code com.github.marschall.charsequences.instrumentation} to
+ * {@code true} on startup, eg.</p>
+ * <pre><code>
+ * -Dcom.github.marschall.charsequences.instrumentation=true
+ * </code></pre>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see MetricsReporter
+ */
+public final class CharSequencesMetrics {
+
+  private CharSequencesMetrics() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Checks whether instrumentation is enabled.
+   *
+   * @return if instrumentation is enabled
+   */
+  public static boolean isEnabled() {
+    return Instrumentation.ENABLED;
+  }
+
+  /**
+   * Reports the current values of all counters.
+   *
+   * <p>If instrumentation is disabled all counters are zero.</p>
+   *
+   * @param reporter the reporter to which the counters are reported, not {@code null}
+   * @throws NullPointerException if the reporter is {@code null}
+   */
+  public static void report(MetricsReporter reporter) {
+    for (Operation operation : Operation.values()) {
+      String methodName = operation.methodName;
+      reporter.counter(methodName, "calls", operation.calls.sum());
+      reporter.counter(methodName, "length", operation.length.sum());
+      reporter.counter(methodName, "failures", operation.failures.sum());
+      reporter.counter(methodName, "fastPath", operation.fastPath.sum());
+      reporter.counter(methodName, "fallback", operation.fallback.sum());
+      for (Entry<Class<?>, LongAdder> entry : operation.dispatch.entrySet()) {
+        reporter.dispatch(methodName, entry.getKey(), entry.getValue().sum());
+      }
+    }
+  }
+
+  /**
+   * Resets all counters to zero.
+   *
+   * <p>Updates concurrent with the reset may or may not be lost.</p>
+   */
+  public static void reset() {
+    for (Operation operation : Operation.values()) {
+      operation.reset();
+    }
+  }
+
+}
@@ -0,0 +1,210 @@
+package com.github.marschall.charsequences;
+
+import java.util.Arrays;
+
+/**
+ * A {@link CharSequence} that is the concatenation of other sequences
+ * without copying them.
+ *
+ * <p>The segments are kept in a flat array together with their start
+ * offsets. Nested composites are flattened on construction so the
+ * structure never degenerates into a deep tree. {@link #charAt(int)}
+ * remembers the last segment accessed, sequential access is therefore
+ * constant time, random access is a binary search over the segments.</p>
+ *
+ * @see CharSequences#concat(CharSequence...)
+ */
+final class CompositeCharSequence implements SearchableCharSequence {
+
+  private final CharSequence[] segments;
+
+  /**
+   * {@code offsets[i]} is the start of {@code segments[i]},
+   * {@code offsets[segments.length]} is the length.
+   */
+  private final int[] offsets;
+
+  // racy, every value is valid, validated before use
+  private int lastSegment;
+
+  private CompositeCharSequence(CharSequence[] segments, int[] offsets) {
+    this.segments = segments;
+    this.offsets = offsets;
+    this.lastSegment = 0;
+  }
+
+  static CharSequence concat(CharSequence[] sequences) {
+    int segmentCount = 0;
+    for (CharSequence sequence : sequences) {
+      if (sequence instanceof CompositeCharSequence) {
+        segmentCount += ((CompositeCharSequence) sequence).segments.length;
+      } else if (sequence.length() > 0) {
+        segmentCount += 1;
+      }
+    }
+    if (segmentCount == 0) {
+      return "";
+    }
+    CharSequence[] segments = new CharSequence[segmentCount];
+    int[] offsets = new int[segmentCount + 1];
+    int segmentIndex = 0;
+    int offset = 0;
+    for (CharSequence sequence : sequences) {
+      if (sequence instanceof CompositeCharSequence) {
+        // flatten to keep the depth at one
+        for (CharSequence segment : ((CompositeCharSequence) sequence).segments) {
+          segments[segmentIndex] = segment;
+          offsets[segmentIndex] = offset;
+          offset = addLength(offset, segment.length());
+          segmentIndex += 1;
+        }
+      } else {
+        int length = sequence.length();
+        if (length > 0) {
+          segments[segmentIndex] = sequence;
+          offsets[segmentIndex] = offset;
+          offset = addLength(offset, length);
+          segmentIndex += 1;
+        }
+      }
+    }
+    offsets[segmentCount] = offset;
+    if (segmentCount == 1) {
+      return segments[0];
+    }
+    return new CompositeCharSequence(segments, offsets);
+  }
+
+  private static int addLength(int offset, int length) {
+    int sum = offset + length;
+    if (sum < 0) {
+      throw new IllegalArgumentException("concatenation too long");
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the index of the segment that contains the given index.
+   */
+  private int segmentOf(int index) {
+    int last = this.lastSegment;
+    if ((this.offsets[last] <= index) && (index < this.offsets[last + 1])) {
+      return last;
+    }
+    int segment = Arrays.binarySearch(this.offsets, 0, this.segments.length, index);
+    if (segment < 0) {
+      // insertion point - 1
+      segment = -segment - 2;
+    }
+    this.lastSegment = segment;
+    return segment;
+  }
+
+  @Override
+  public int length() {
+    return this.offsets[this.segments.length];
+  }
+
+  @Override
+  public char charAt(int index) {
+    if ((index < 0) || (index >= this.length())) {
+      throw new IndexOutOfBoundsException("index " + index + ", length " + this.length());
+    }
+    int segment = this.segmentOf(index);
+    return this.segments[segment].charAt(index - this.offsets[segment]);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote no characters are copied
+   */
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    int length = this.length();
+    if ((start < 0) || (end > length) || (start > end)) {
+      throw new IndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+    }
+    if (start == end) {
+      return "";
+    }
+    if ((start == 0) && (end == length)) {
+      return this;
+    }
+    int firstSegment = this.segmentOf(start);
+    int lastSegment = this.segmentOf(end - 1);
+    int firstStart = start - this.offsets[firstSegment];
+    if (firstSegment == lastSegment) {
+      return this.segments[firstSegment].subSequence(firstStart, end - this.offsets[firstSegment]);
+    }
+    int segmentCount = (lastSegment - firstSegment) + 1;
+    CharSequence[] subSegments = new CharSequence[segmentCount];
+    int[] subOffsets = new int[segmentCount + 1];
+    for (int i = 0; i < segmentCount; i++) {
+      subSegments[i] = this.segments[firstSegment + i];
+      subOffsets[i] = this.offsets[firstSegment + i] - start;
+    }
+    CharSequence first = subSegments[0];
+    if (firstStart > 0) {
+      subSegments[0] = first.subSequence(firstStart, first.length());
+      subOffsets[0] = 0;
+    }
+    CharSequence last = subSegments[segmentCount - 1];
+    int lastEnd = end - this.offsets[lastSegment];
+    if (lastEnd < last.length()) {
+      subSegments[segmentCount - 1] = last.subSequence(0, lastEnd);
+    }
+    subOffsets[segmentCount] = end - start;
+    return new CompositeCharSequence(subSegments, subOffsets);
+  }
+
+  @Override
+  public int indexOf(char c, int fromIndex, int toIndex) {
+    for (int segment = this.segmentOf(fromIndex); (segment < this.segments.length) && (this.offsets[segment] < toIndex); segment++) {
+      int segmentStart = this.offsets[segment];
+      CharSequence sequence = this.segments[segment];
+      int localFrom = Math.max(0, fromIndex - segmentStart);
+      int localTo = Math.min(sequence.length(), toIndex - segmentStart);
+      int localIndex = indexOf(sequence, c, localFrom, localTo);
+      if (localIndex != -1) {
+        return segmentStart + localIndex;
+      }
+    }
+    return -1;
+  }
+
+  private static int indexOf(CharSequence segment, char c, int fromIndex, int toIndex) {
+    if ((segment instanceof String) && (toIndex == segment.length())) {
+      // intrinsic
+      return ((String) segment).indexOf(c, fromIndex);
+    }
+    return CharSequences.indexOf(segment, c, fromIndex, toIndex);
+  }
+
+  @Override
+  public int lastIndexOf(char c) {
+    for (int segment = this.segments.length - 1; segment >= 0; segment--) {
+      CharSequence sequence = this.segments[segment];
+      int localIndex;
+      if (sequence instanceof String) {
+        localIndex = ((String) sequence).lastIndexOf(c);
+      } else {
+        localIndex = CharSequences.lastIndexOf(sequence, c);
+      }
+      if (localIndex != -1) {
+        return this.offsets[segment] + localIndex;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(this.length());
+    for (CharSequence segment : this.segments) {
+      builder.append(segment);
+    }
+    return builder.toString();
+  }
+
+}
@@ -0,0 +1,288 @@
+package com.github.marschall.charsequences;
+
+import java.util.Arrays;
+
+/**
+ * Computes the edit distance between two {@link CharSequence}s.
+ *
+ * <p>The <a href="https://en.wikipedia.org/wiki/Levenshtein_distance">Levenshtein distance</a>
+ * counts insertions, deletions and substitutions. The
+ * <a href="https://en.wikipedia.org/wiki/Damerau%E2%80%93Levenshtein_distance#Optimal_string_alignment_distance">Damerau
+ * distance</a> additionally counts transpositions of two adjacent chars.
+ * Chars are compared exactly, surrogate pairs are treated as two chars.</p>
+ *
+ * <p>When a maximum distance is given only the cells of the dynamic
+ * programming matrix that are at most the maximum distance from the
+ * diagonal are computed (the band of Ukkonen) and the computation stops
+ * as soon as the distance is known to be larger. If the shorter sequence
+ * is at most 64 chars long the Levenshtein distance is computed with the
+ * bit-parallel algorithm of Myers instead.</p>
+ *
+ * <p>The row buffers are reused between invocations, no allocation is
+ * performed once they are large enough for the inputs.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @see FuzzyMatcher
+ */
+public final class EditDistance {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final BitParallelPattern pattern;
+
+  private int[] row0;
+
+  private int[] row1;
+
+  private int[] row2;
+
+  /**
+   * Constructs a new {@link EditDistance}.
+   */
+  public EditDistance() {
+    this.pattern = new BitParallelPattern();
+    this.row0 = new int[INITIAL_CAPACITY];
+    this.row1 = new int[INITIAL_CAPACITY];
+    this.row2 = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Computes the Levenshtein distance between two sequences.
+   *
+   * @param a the first sequence, not {@code null}
+   * @param b the second sequence, not {@code null}
+   * @return the minimal number of insertions, deletions and substitutions
+   *         needed to change a into b
+   * @throws NullPointerException if either sequence is {@code null}
+   */
+  public int editDistance(CharSequence a, CharSequence b) {
+    return this.editDistance(a, b, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Computes the Levenshtein distance between two sequences if it is at
+   * most a given maximum.
+   *
+   * @implNote no allocation is performed once the row buffers are large enough
+   * @param a the first sequence, not {@code null}
+   * @param b the second sequence, not {@code null}
+   * @param maxDistance the maximum distance of interest
+   * @return the minimal number of insertions, deletions and substitutions
+   *         needed to change a into b, or {@code -1} if it is larger than
+   *         maxDistance
+   * @throws NullPointerException if either sequence is {@code null}
+   * @throws IllegalArgumentException if maxDistance is negative
+   */
+  public int editDistance(CharSequence a, CharSequence b, int maxDistance) {
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("negative maxDistance");
+    }
+    CharSequence shorter = a.length() <= b.length() ? a : b;
+    CharSequence longer = shorter == a ? b : a;
+    int shorterLength = shorter.length();
+    int longerLength = longer.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.EDIT_DISTANCE, longer, longerLength);
+    }
+    if ((longerLength - shorterLength) > maxDistance) {
+      return -1;
+    }
+    if (shorterLength == 0) {
+      return longerLength;
+    }
+    // the distance is never larger than the length of the longer sequence
+    int k = Math.min(maxDistance, longerLength);
+    if (shorterLength <= BitParallelPattern.MAXIMUM_LENGTH) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.EDIT_DISTANCE);
+      }
+      return this.myers(shorter, longer, k);
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.fallback(Operation.EDIT_DISTANCE);
+    }
+    return this.banded(shorter, longer, k, false);
+  }
+
+  /**
+   * Computes the Damerau distance between two sequences.
+   *
+   * @param a the first sequence, not {@code null}
+   * @param b the second sequence, not {@code null}
+   * @return the minimal number of insertions, deletions, substitutions
+   *         and transpositions of adjacent chars needed to change a into b
+   * @throws NullPointerException if either sequence is {@code null}
+   * @see #damerauDistance(CharSequence, CharSequence, int)
+   */
+  public int damerauDistance(CharSequence a, CharSequence b) {
+    return this.damerauDistance(a, b, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Computes the Damerau distance between two sequences if it is at most
+   * a given maximum.
+   *
+   * <p>This is the optimal string alignment distance, no substring is
+   * edited more than once. For example the distance between
+   * {@code "CA"} and {@code "ABC"} is 3, not 2.</p>
+   *
+   * @implNote no allocation is performed once the row buffers are large enough
+   * @param a the first sequence, not {@code null}
+   * @param b the second sequence, not {@code null}
+   * @param maxDistance the maximum distance of interest
+   * @return the minimal number of insertions, deletions, substitutions
+   *         and transpositions of adjacent chars needed to change a into b,
+   *         or {@code -1} if it is larger than maxDistance
+   * @throws NullPointerException if either sequence is {@code null}
+   * @throws IllegalArgumentException if maxDistance is negative
+   */
+  public int damerauDistance(CharSequence a, CharSequence b, int maxDistance) {
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("negative maxDistance");
+    }
+    CharSequence shorter = a.length() <= b.length() ? a : b;
+    CharSequence longer = shorter == a ? b : a;
+    int shorterLength = shorter.length();
+    int longerLength = longer.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.EDIT_DISTANCE, longer, longerLength);
+    }
+    if ((longerLength - shorterLength) > maxDistance) {
+      return -1;
+    }
+    if (shorterLength == 0) {
+      return longerLength;
+    }
+    return this.banded(shorter, longer, Math.min(maxDistance, longerLength), true);
+  }
+
+  /**
+   * Computes the Levenshtein distance with the bit-parallel algorithm of
+   * Myers in the formulation of Hyyr&ouml;.
+   *
+   * @param shorter the pattern, between 1 and 64 chars long
+   * @param longer the text, at least as long as the pattern
+   * @param k the maximum distance
+   */
+  private int myers(CharSequence shorter, CharSequence longer, int k) {
+    int patternLength = shorter.length();
+    int textLength = longer.length();
+    BitParallelPattern pattern = this.pattern;
+    pattern.set(shorter, 0, patternLength, false);
+    long last = 1L << (patternLength - 1);
+    // vertical positive and negative deltas
+    long pv = -1L;
+    long mv = 0L;
+    int score = patternLength;
+    for (int j = 0; j < textLength; j++) {
+      long eq = pattern.mask(longer.charAt(j));
+      long xv = eq | mv;
+      long xh = (((eq & pv) + pv) ^ pv) | eq;
+      long ph = mv | ~(xh | pv);
+      long mh = pv & xh;
+      if ((ph & last) != 0L) {
+        score += 1;
+      } else if ((mh & last) != 0L) {
+        score -= 1;
+      }
+      // the first row is 0, 1, 2, ... so the horizontal delta is always +1
+      ph = (ph << 1) | 1L;
+      mh <<= 1;
+      pv = mh | ~(xv | ph);
+      mv = ph & xv;
+      // the score can decrease by at most one per remaining char
+      if ((score - (textLength - j - 1)) > k) {
+        return -1;
+      }
+    }
+    return score <= k ? score : -1;
+  }
+
+  /**
+   * Computes the distance with dynamic programming restricted to a band
+   * around the diagonal.
+   *
+   * @param shorter the first sequence, not empty
+   * @param longer the second sequence, at least as long as the first
+   * @param k the maximum distance, at most the length of the longer sequence
+   * @param transpositions whether to count transpositions
+   */
+  private int banded(CharSequence shorter, CharSequence longer, int k, boolean transpositions) {
+    int n = shorter.length();
+    int m = longer.length();
+    this.ensureCapacity(n + 1);
+    // any value larger than k is equivalent, avoids overflow
+    int infinity = k + 1;
+    int[] previous = this.row0;
+    int[] current = this.row1;
+    int[] beforePrevious = this.row2;
+    // cells outside the band are never written and have to stay infinity
+    int boundary = Math.min(n, k);
+    for (int i = 0; i <= boundary; i++) {
+      previous[i] = i;
+    }
+    Arrays.fill(previous, boundary + 1, n + 1, infinity);
+    Arrays.fill(current, 0, n + 1, infinity);
+    if (transpositions) {
+      Arrays.fill(beforePrevious, 0, n + 1, infinity);
+    }
+    int previousMinimum = 0;
+    for (int j = 1; j <= m; j++) {
+      char c = longer.charAt(j - 1);
+      int from = Math.max(1, j - k);
+      int to = (n - j) <= k ? n : j + k;
+      int minimum;
+      if (from == 1) {
+        current[0] = Math.min(j, infinity);
+        minimum = current[0];
+      } else {
+        current[from - 1] = infinity;
+        minimum = infinity;
+      }
+      for (int i = from; i <= to; i++) {
+        char s = shorter.charAt(i - 1);
+        int distance;
+        if (s == c) {
+          distance = previous[i - 1];
+        } else {
+          distance = 1 + Math.min(Math.min(previous[i - 1], previous[i]), current[i - 1]);
+          if (transpositions && (i > 1) && (j > 1)
+                  && (s == longer.charAt(j - 2)) && (shorter.charAt(i - 2) == c)) {
+            distance = Math.min(distance, beforePrevious[i - 2] + 1);
+          }
+          distance = Math.min(distance, infinity);
+        }
+        current[i] = distance;
+        minimum = Math.min(minimum, distance);
+      }
+      // a transposition can reach back two rows
+      if ((minimum > k) && (!transpositions || (previousMinimum > k))) {
+        return -1;
+      }
+      previousMinimum = minimum;
+      if (transpositions) {
+        int[] recycled = beforePrevious;
+        beforePrevious = previous;
+        previous = current;
+        current = recycled;
+      } else {
+        int[] recycled = previous;
+        previous = current;
+        current = recycled;
+      }
+    }
+    int distance = previous[n];
+    return distance <= k ? distance : -1;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (this.row0.length < capacity) {
+      int newCapacity = Math.max(capacity, this.row0.length * 2);
+      this.row0 = new int[newCapacity];
+      this.row1 = new int[newCapacity];
+      this.row2 = new int[newCapacity];
+    }
+  }
+
+}
@@ -0,0 +1,447 @@
+package com.github.marschall.charsequences;
+
+import java.io.IOException;
+
+/**
+ * Escapes {@link CharSequence}s for JSON, CSV, HTML and XML while writing
+ * them to an {@link Appendable}, a {@link StringBuilder} or a
+ * {@code byte[]}.
+ *
+ * <p>Runs of chars that do not need escaping are appended in bulk.
+ * Whether a char needs escaping is decided with a lookup table, only
+ * ASCII chars are ever escaped. If a sequence does not need escaping at
+ * all, which can be checked with {@link #needsEscaping(CharSequence)},
+ * it is appended with a single call.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public final class Escaper {
+
+  private static final int TABLE_SIZE = 0x80;
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private static final Escaper JSON = new Escaper(jsonReplacements(), null);
+
+  private static final Escaper CSV = csvEscaper(',');
+
+  private static final Escaper HTML = new Escaper(htmlReplacements("&#39;"), null);
+
+  private static final Escaper XML = new Escaper(xmlReplacements(), null);
+
+  // the replacement of every ASCII char, null if the char is not replaced
+  private final String[] replacements;
+
+  // whether an ASCII char needs escaping, may differ from replacements for CSV
+  private final boolean[] triggers;
+
+  // whether the whole sequence has to be quoted if it needs escaping
+  private final boolean quote;
+
+  private Escaper(String[] replacements, boolean[] triggers) {
+    this.replacements = replacements;
+    if (triggers == null) {
+      this.triggers = new boolean[TABLE_SIZE];
+      for (int i = 0; i < TABLE_SIZE; i++) {
+        this.triggers[i] = replacements[i] != null;
+      }
+      this.quote = false;
+    } else {
+      this.triggers = triggers;
+      this.quote = true;
+    }
+  }
+
+  /**
+   * Returns an escaper for the contents of a JSON string as defined in
+   * <a href="https://tools.ietf.org/html/rfc8259#section-7">RFC 8259</a>.
+   *
+   * <p>{@code '"'}, {@code '\\'} and control chars are escaped, the
+   * surrounding quotes are not written.</p>
+   *
+   * @return the escaper, not {@code null}
+   */
+  public static Escaper json() {
+    return JSON;
+  }
+
+  /**
+   * Returns an escaper for a CSV field separated by {@code ','} as
+   * defined in <a href="https://tools.ietf.org/html/rfc4180">RFC 4180</a>.
+   *
+   * <p>A field containing the separator, {@code '"'}, {@code '\r'} or
+   * {@code '\n'} is enclosed in quotes and contained quotes are doubled.
+   * Other fields are written unchanged.</p>
+   *
+   * @return the escaper, not {@code null}
+   */
+  public static Escaper csv() {
+    return CSV;
+  }
+
+  /**
+   * Returns an escaper for a CSV field with a custom separator.
+   *
+   * @param separator the field separator, an ASCII char other than
+   *        {@code '"'}, {@code '\r'} and {@code '\n'}
+   * @return the escaper, not {@code null}
+   * @throws IllegalArgumentException if the separator is not supported
+   * @see #csv()
+   */
+  public static Escaper csv(char separator) {
+    if ((separator >= TABLE_SIZE) || (separator == '"') || (separator == '\r') || (separator == '\n')) {
+      throw new IllegalArgumentException("unsupported separator: " + separator);
+    }
+    if (separator == ',') {
+      return CSV;
+    }
+    return csvEscaper(separator);
+  }
+
+  /**
+   * Returns an escaper for HTML text and quoted attribute values.
+   *
+   * <p>{@code '&'}, {@code '<'}, {@code '>'}, {@code '"'} and {@code '\''}
+   * are replaced with entity references.</p>
+   *
+   * @return the escaper, not {@code null}
+   */
+  public static Escaper html() {
+    return HTML;
+  }
+
+  /**
+   * Returns an escaper for XML 1.0 text and quoted attribute values.
+   *
+   * <p>{@code '&'}, {@code '<'}, {@code '>'}, {@code '"'} and {@code '\''}
+   * are replaced with entity references. Control chars other than tab,
+   * line feed and carriage return are not allowed in XML 1.0 and are
+   * replaced with {@code U+FFFD}.</p>
+   *
+   * @return the escaper, not {@code null}
+   */
+  public static Escaper xml() {
+    return XML;
+  }
+
+  private static String[] jsonReplacements() {
+    String[] replacements = new String[TABLE_SIZE];
+    for (int i = 0; i < 0x20; i++) {
+      replacements[i] = "\\u00" + HEX_DIGITS[i >>> 4] + HEX_DIGITS[i & 0xF];
+    }
+    replacements['\b'] = "\\b";
+    replacements['\f'] = "\\f";
+    replacements['\n'] = "\\n";
+    replacements['\r'] = "\\r";
+    replacements['\t'] = "\\t";
+    replacements['"'] = "\\\"";
+    replacements['\\'] = "\\\\";
+    return replacements;
+  }
+
+  private static Escaper csvEscaper(char separator) {
+    String[] replacements = new String[TABLE_SIZE];
+    replacements['"'] = "\"\"";
+    boolean[] triggers = new boolean[TABLE_SIZE];
+    triggers['"'] = true;
+    triggers['\r'] = true;
+    triggers['\n'] = true;
+    triggers[separator] = true;
+    return new Escaper(replacements, triggers);
+  }
+
+  private static String[] htmlReplacements(String apostrophe) {
+    String[] replacements = new String[TABLE_SIZE];
+    replacements['&'] = "&amp;";
+    replacements['<'] = "&lt;";
+    replacements['>'] = "&gt;";
+    replacements['"'] = "&quot;";
+    replacements['\''] = apostrophe;
+    return replacements;
+  }
+
+  private static String[] xmlReplacements() {
+    String[] replacements = htmlReplacements("&apos;");
+    for (int i = 0; i < 0x20; i++) {
+      if ((i != '\t') && (i != '\n') && (i != '\r')) {
+        replacements[i] = "&#xFFFD;";
+      }
+    }
+    return replacements;
+  }
+
+  /**
+   * Checks whether a sequence needs escaping.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence to check, not {@code null}
+   * @return whether escaping changes the sequence
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public boolean needsEscaping(CharSequence charSequence) {
+    return this.indexOfTrigger(charSequence, 0, charSequence.length()) != -1;
+  }
+
+  /**
+   * Checks whether a range of a sequence needs escaping.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence containing the range to check, not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @return whether escaping changes the range
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public boolean needsEscaping(CharSequence charSequence, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    return this.indexOfTrigger(charSequence, beginIndex, endIndex) != -1;
+  }
+
+  private int indexOfTrigger(CharSequence charSequence, int beginIndex, int endIndex) {
+    boolean[] triggers = this.triggers;
+    for (int i = beginIndex; i < endIndex; i++) {
+      char c = charSequence.charAt(i);
+      if ((c < TABLE_SIZE) && triggers[c]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Escapes a sequence.
+   *
+   * @param charSequence the sequence to escape, not {@code null}
+   * @return the escaped sequence, the same content as charSequence if
+   *         it does not need escaping
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public String escape(CharSequence charSequence) {
+    if (!this.needsEscaping(charSequence)) {
+      return charSequence.toString();
+    }
+    return this.escape(charSequence, new StringBuilder(charSequence.length() + 16)).toString();
+  }
+
+  /**
+   * Escapes a sequence and appends it to a {@link StringBuilder}.
+   *
+   * @implNote no allocation is performed unless the builder has to grow
+   * @param charSequence the sequence to escape, not {@code null}
+   * @param builder the builder to append to, not {@code null}
+   * @return the builder
+   * @throws NullPointerException if the sequence or the builder is {@code null}
+   */
+  public StringBuilder escape(CharSequence charSequence, StringBuilder builder) {
+    return this.escape(charSequence, 0, charSequence.length(), builder);
+  }
+
+  /**
+   * Escapes a range of a sequence and appends it to a {@link StringBuilder}.
+   *
+   * @implNote no allocation is performed unless the builder has to grow
+   * @param charSequence the sequence containing the range to escape, not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @param builder the builder to append to, not {@code null}
+   * @return the builder
+   * @throws NullPointerException if the sequence or the builder is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public StringBuilder escape(CharSequence charSequence, int beginIndex, int endIndex, StringBuilder builder) {
+    try {
+      this.escapeTo(charSequence, beginIndex, endIndex, builder);
+    } catch (IOException e) {
+      // StringBuilder does not throw IOException
+      throw new AssertionError("StringBuilder threw IOException", e);
+    }
+    return builder;
+  }
+
+  /**
+   * Escapes a sequence and appends it to an {@link Appendable}.
+   *
+   * @param charSequence the sequence to escape, not {@code null}
+   * @param appendable the appendable to append to, not {@code null}
+   * @throws NullPointerException if the sequence or the appendable is {@code null}
+   * @throws IOException if the appendable throws an {@link IOException}
+   */
+  public void escape(CharSequence charSequence, Appendable appendable) throws IOException {
+    this.escape(charSequence, 0, charSequence.length(), appendable);
+  }
+
+  /**
+   * Escapes a range of a sequence and appends it to an {@link Appendable}.
+   *
+   * @param charSequence the sequence containing the range to escape, not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @param appendable the appendable to append to, not {@code null}
+   * @throws NullPointerException if the sequence or the appendable is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @throws IOException if the appendable throws an {@link IOException}
+   */
+  public void escape(CharSequence charSequence, int beginIndex, int endIndex, Appendable appendable) throws IOException {
+    this.escapeTo(charSequence, beginIndex, endIndex, appendable);
+  }
+
+  private void escapeTo(CharSequence charSequence, int beginIndex, int endIndex, Appendable appendable) throws IOException {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.ESCAPE, charSequence, endIndex - beginIndex);
+    }
+    int first = this.indexOfTrigger(charSequence, beginIndex, endIndex);
+    if (first == -1) {
+      if (Instrumentation.ENABLED) {
+        Instrumentation.fastPath(Operation.ESCAPE);
+      }
+      appendable.append(charSequence, beginIndex, endIndex);
+      return;
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.fallback(Operation.ESCAPE);
+    }
+    if (this.quote) {
+      appendable.append('"');
+    }
+    String[] replacements = this.replacements;
+    // the start of the run of chars that do not need to be replaced
+    int runStart = beginIndex;
+    for (int i = first; i < endIndex; i++) {
+      char c = charSequence.charAt(i);
+      if (c < TABLE_SIZE) {
+        String replacement = replacements[c];
+        if (replacement != null) {
+          if (runStart < i) {
+            appendable.append(charSequence, runStart, i);
+          }
+          appendable.append(replacement);
+          runStart = i + 1;
+        }
+      }
+    }
+    if (runStart < endIndex) {
+      appendable.append(charSequence, runStart, endIndex);
+    }
+    if (this.quote) {
+      appendable.append('"');
+    }
+  }
+
+  /**
+   * Computes the number of bytes of the UTF-8 representation of an escaped
+   * range of a sequence.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence containing the range to escape, not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @return the number of bytes {@link #escapeUtf8(CharSequence, int, int, byte[], int)}
+   *         will write
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public long escapedUtf8Length(CharSequence charSequence, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    String[] replacements = this.replacements;
+    boolean[] triggers = this.triggers;
+    boolean needsQuotes = false;
+    long byteLength = 0L;
+    int i = beginIndex;
+    while (i < endIndex) {
+      char c = charSequence.charAt(i);
+      if (c < TABLE_SIZE) {
+        String replacement = replacements[c];
+        byteLength += replacement != null ? replacement.length() : 1;
+        needsQuotes |= triggers[c];
+        i += 1;
+      } else {
+        int encodedLength = Utf8.byteLength(Utf8.encode(c, charSequence, i, endIndex));
+        byteLength += encodedLength;
+        i += Utf8.charLength(encodedLength);
+      }
+    }
+    if (this.quote && needsQuotes) {
+      byteLength += 2L;
+    }
+    return byteLength;
+  }
+
+  /**
+   * Escapes a range of a sequence and writes it encoded as UTF-8 into a
+   * {@code byte[]}.
+   *
+   * <p>Unpaired surrogates are replaced with {@code '?'}, consistent with
+   * {@link String#getBytes(java.nio.charset.Charset)}.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence containing the range to escape, not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @param destination the array to write to, not {@code null}, has to have
+   *        enough space for {@link #escapedUtf8Length(CharSequence, int, int)} bytes
+   * @param offset the index in destination at which to start writing
+   * @return the index in destination after the last byte written
+   * @throws NullPointerException if the sequence or the destination is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence,
+   *         or if destination is too small, in which case it may have been written partially
+   */
+  public int escapeUtf8(CharSequence charSequence, int beginIndex, int endIndex, byte[] destination, int offset) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if ((offset < 0) || (offset > destination.length)) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.ESCAPE, charSequence, endIndex - beginIndex);
+    }
+    boolean quoted = this.quote && (this.indexOfTrigger(charSequence, beginIndex, endIndex) != -1);
+    String[] replacements = this.replacements;
+    int position = offset;
+    if (quoted) {
+      destination[position++] = '"';
+    }
+    int i = beginIndex;
+    while (i < endIndex) {
+      char c = charSequence.charAt(i);
+      if (c < TABLE_SIZE) {
+        String replacement = replacements[c];
+        if (replacement == null) {
+          destination[position++] = (byte) c;
+        } else {
+          // all replacements are ASCII
+          for (int j = 0; j < replacement.length(); j++) {
+            destination[position++] = (byte) replacement.charAt(j);
+          }
+        }
+        i += 1;
+      } else {
+        int encoded = Utf8.encode(c, charSequence, i, endIndex);
+        int encodedLength = Utf8.byteLength(encoded);
+        for (int j = 0; j < encodedLength; j++) {
+          destination[position++] = (byte) encoded;
+          encoded >>>= 8;
+        }
+        i += Utf8.charLength(encodedLength);
+      }
+    }
+    if (quoted) {
+      destination[position++] = '"';
+    }
+    return position;
+  }
+
+}
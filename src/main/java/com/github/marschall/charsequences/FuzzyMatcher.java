@@ -0,0 +1,215 @@
+package com.github.marschall.charsequences;
+
+/**
+ * Searches a {@link CharSequence} for approximate occurrences of a
+ * pattern, occurrences with a Levenshtein distance of at most a given
+ * maximum.
+ *
+ * <p>Uses the bit-parallel algorithm of Myers, which processes one char
+ * of the text per step independent of the maximum distance. The pattern
+ * is limited to 64 chars.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see EditDistance
+ */
+public final class FuzzyMatcher {
+
+  // effectively immutable, only written in the constructor
+  private final BitParallelPattern forward;
+
+  private final BitParallelPattern reverse;
+
+  private final int patternLength;
+
+  private final int maxDistance;
+
+  private FuzzyMatcher(CharSequence pattern, int maxDistance) {
+    this.patternLength = pattern.length();
+    this.maxDistance = maxDistance;
+    this.forward = new BitParallelPattern();
+    this.forward.set(pattern, 0, this.patternLength, false);
+    this.reverse = new BitParallelPattern();
+    this.reverse.set(pattern, 0, this.patternLength, true);
+  }
+
+  /**
+   * Compiles a pattern.
+   *
+   * @param pattern the pattern to search for, not {@code null}, between
+   *        1 and 64 chars long
+   * @param maxDistance the maximum Levenshtein distance of an occurrence
+   *        to the pattern
+   * @return the compiled matcher, not {@code null}
+   * @throws NullPointerException if the pattern is {@code null}
+   * @throws IllegalArgumentException if the pattern is empty or longer than
+   *         64 chars or if maxDistance is negative
+   */
+  public static FuzzyMatcher compile(CharSequence pattern, int maxDistance) {
+    int length = pattern.length();
+    if ((length == 0) || (length > BitParallelPattern.MAXIMUM_LENGTH)) {
+      throw new IllegalArgumentException("pattern length has to be between 1 and "
+              + BitParallelPattern.MAXIMUM_LENGTH + " but was: " + length);
+    }
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("negative maxDistance");
+    }
+    return new FuzzyMatcher(pattern, maxDistance);
+  }
+
+  /**
+   * Returns the maximum distance of an occurrence to the pattern.
+   *
+   * @return the maximum distance
+   */
+  public int getMaxDistance() {
+    return this.maxDistance;
+  }
+
+  /**
+   * Checks whether a sequence contains an approximate occurrence of the
+   * pattern.
+   *
+   * @implNote no allocation is performed
+   * @param text the sequence to search, not {@code null}
+   * @return whether the text contains a substring with a distance of at
+   *         most the maximum distance to the pattern
+   * @throws NullPointerException if the text is {@code null}
+   */
+  public boolean isContainedIn(CharSequence text) {
+    return this.findEnd(text, 0, text.length()) != -1;
+  }
+
+  /**
+   * Searches a sequence for the first approximate occurrence of the pattern.
+   *
+   * @implNote no allocation is performed
+   * @param text the sequence to search, not {@code null}
+   * @return the exclusive end index of the first occurrence, or
+   *         {@code -1} if there is none
+   * @throws NullPointerException if the text is {@code null}
+   * @see #findEnd(CharSequence, int, int)
+   */
+  public int findEnd(CharSequence text) {
+    return this.findEnd(text, 0, text.length());
+  }
+
+  /**
+   * Searches a range of a sequence for the first approximate occurrence
+   * of the pattern.
+   *
+   * <p>The first occurrence is the one that ends first. Its end may be
+   * before the end of a closer match, for example with a maximum distance
+   * of 1 the first occurrence of {@code "hello"} in {@code "hello"} ends
+   * at 4. Use {@link #findStart(CharSequence, int, int)} to find the start
+   * of the occurrence.</p>
+   *
+   * @implNote no allocation is performed
+   * @param text the sequence containing the range to search, not {@code null}
+   * @param beginIndex the inclusive index at which to start searching
+   * @param endIndex the exclusive index at which to stop searching
+   * @return the exclusive end index of the first occurrence, or
+   *         {@code -1} if there is none
+   * @throws NullPointerException if the text is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of text
+   */
+  public int findEnd(CharSequence text, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > text.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.FUZZY_FIND, text, endIndex - beginIndex);
+    }
+    int k = this.maxDistance;
+    int score = this.patternLength;
+    if (score <= k) {
+      // deleting the whole pattern is good enough
+      return beginIndex;
+    }
+    BitParallelPattern pattern = this.forward;
+    long last = 1L << (this.patternLength - 1);
+    long pv = -1L;
+    long mv = 0L;
+    for (int j = beginIndex; j < endIndex; j++) {
+      long eq = pattern.mask(text.charAt(j));
+      long xv = eq | mv;
+      long xh = (((eq & pv) + pv) ^ pv) | eq;
+      long ph = mv | ~(xh | pv);
+      long mh = pv & xh;
+      if ((ph & last) != 0L) {
+        score += 1;
+      } else if ((mh & last) != 0L) {
+        score -= 1;
+      }
+      // the first row is 0, an occurrence can start anywhere
+      ph <<= 1;
+      mh <<= 1;
+      pv = mh | ~(xv | ph);
+      mv = ph & xv;
+      if (score <= k) {
+        return j + 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Finds the start of the closest approximate occurrence of the pattern
+   * that ends at a given index.
+   *
+   * <p>If several starts have the same minimal distance the one furthest
+   * from the end is returned.</p>
+   *
+   * @implNote no allocation is performed
+   * @param text the sequence containing the occurrence, not {@code null}
+   * @param beginIndex the inclusive index before which the occurrence
+   *        may not start
+   * @param end the exclusive end index of the occurrence, usually
+   *        returned by {@link #findEnd(CharSequence, int, int)}
+   * @return the inclusive start index of the occurrence, or {@code -1} if
+   *         there is no occurrence ending at the given index
+   * @throws NullPointerException if the text is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than end,
+   *         if beginIndex is negative or if end is bigger than the length of text
+   */
+  public int findStart(CharSequence text, int beginIndex, int end) {
+    if ((end < beginIndex) || (beginIndex < 0) || (end > text.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    int patternLength = this.patternLength;
+    int k = Math.min(this.maxDistance, patternLength);
+    BitParallelPattern pattern = this.reverse;
+    long last = 1L << (patternLength - 1);
+    long pv = -1L;
+    long mv = 0L;
+    int score = patternLength;
+    int bestScore = score;
+    int bestStart = end;
+    // an occurrence can not be longer than the pattern plus the maximum distance
+    int limit = Math.max(beginIndex, end - (patternLength + k));
+    for (int j = end - 1; j >= limit; j--) {
+      long eq = pattern.mask(text.charAt(j));
+      long xv = eq | mv;
+      long xh = (((eq & pv) + pv) ^ pv) | eq;
+      long ph = mv | ~(xh | pv);
+      long mh = pv & xh;
+      if ((ph & last) != 0L) {
+        score += 1;
+      } else if ((mh & last) != 0L) {
+        score -= 1;
+      }
+      // anchored at the end, every skipped char is an insertion
+      ph = (ph << 1) | 1L;
+      mh <<= 1;
+      pv = mh | ~(xv | ph);
+      mv = ph & xv;
+      if (score <= bestScore) {
+        bestScore = score;
+        bestStart = j;
+      }
+    }
+    return bestScore <= k ? bestStart : -1;
+  }
+
+}
@@ -0,0 +1,242 @@
+package com.github.marschall.charsequences;
+
+/**
+ * A compiled glob pattern that can be matched against a
+ * {@link CharSequence} or a range of it.
+ *
+ * <p>The following wildcards are supported:</p>
+ * <dl>
+ *  <dt>{@code *}</dt>
+ *  <dd>matches any number of chars, including none</dd>
+ *  <dt>{@code ?}</dt>
+ *  <dd>matches exactly one char</dd>
+ *  <dt>{@code \}</dt>
+ *  <dd>escapes the following char so that it is matched literally</dd>
+ * </dl>
+ * <p>All other chars are matched literally. Unlike file system globs
+ * there is no special handling of path separators and no character
+ * classes. {@code ?} matches a single {@code char}, a supplementary code
+ * point needs {@code ??}.</p>
+ *
+ * <p>The pattern is split at {@code *} into segments of fixed length.
+ * The first segment has to match at the start and the last segment at the
+ * end of the input. Each of the segments in between is matched at its
+ * leftmost occurrence after the previous one, which is always the best
+ * choice, so matching never backtracks and is linear in the length of the
+ * input for a given pattern. Occurrences are prefiltered by searching for
+ * a literal char of the segment, the search does not look beyond the end
+ * of the matched range.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public final class GlobPattern {
+
+  private final String glob;
+
+  /**
+   * The pattern without {@code *} and escapes, the chars of all segments.
+   */
+  private final char[] chars;
+
+  /**
+   * Whether the char at the same index in {@link #chars} is a {@code ?}.
+   */
+  private final boolean[] anyChar;
+
+  /**
+   * Index into {@link #chars} of the start of each segment, followed by
+   * the length of {@link #chars}.
+   */
+  private final int[] segmentStarts;
+
+  /**
+   * Offset in each segment of the first literal char, or {@code -1} if
+   * the segment consists only of {@code ?}.
+   */
+  private final int[] firstLiterals;
+
+  private GlobPattern(String glob, char[] chars, boolean[] anyChar, int[] segmentStarts, int[] firstLiterals) {
+    this.glob = glob;
+    this.chars = chars;
+    this.anyChar = anyChar;
+    this.segmentStarts = segmentStarts;
+    this.firstLiterals = firstLiterals;
+  }
+
+  /**
+   * Compiles a glob pattern.
+   *
+   * @param glob the glob pattern, not {@code null}
+   * @return the compiled pattern, not {@code null}
+   * @throws NullPointerException if the pattern is {@code null}
+   * @throws IllegalArgumentException if the pattern ends with an unescaped
+   *         {@code \}
+   */
+  public static GlobPattern compile(String glob) {
+    int length = glob.length();
+    char[] chars = new char[length];
+    boolean[] anyChar = new boolean[length];
+    // one more segment than there are stars
+    int[] segmentStarts = new int[length + 2];
+    int charCount = 0;
+    int segmentCount = 1;
+    for (int i = 0; i < length; i++) {
+      char c = glob.charAt(i);
+      if (c == '*') {
+        if ((segmentStarts[segmentCount - 1] != charCount) || (segmentCount == 1)) {
+          segmentStarts[segmentCount++] = charCount;
+        }
+        // else consecutive stars are the same as a single star
+      } else if (c == '?') {
+        anyChar[charCount] = true;
+        chars[charCount++] = c;
+      } else if (c == '\\') {
+        if (i == (length - 1)) {
+          throw new IllegalArgumentException("dangling escape at the end of: " + glob);
+        }
+        chars[charCount++] = glob.charAt(++i);
+      } else {
+        chars[charCount++] = c;
+      }
+    }
+    segmentStarts[segmentCount] = charCount;
+
+    int[] starts = new int[segmentCount + 1];
+    System.arraycopy(segmentStarts, 0, starts, 0, segmentCount + 1);
+    int[] firstLiterals = new int[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      firstLiterals[i] = -1;
+      for (int j = starts[i]; j < starts[i + 1]; j++) {
+        if (!anyChar[j]) {
+          firstLiterals[i] = j - starts[i];
+          break;
+        }
+      }
+    }
+    char[] trimmedChars = new char[charCount];
+    System.arraycopy(chars, 0, trimmedChars, 0, charCount);
+    boolean[] trimmedAnyChar = new boolean[charCount];
+    System.arraycopy(anyChar, 0, trimmedAnyChar, 0, charCount);
+    return new GlobPattern(glob, trimmedChars, trimmedAnyChar, starts, firstLiterals);
+  }
+
+  /**
+   * Checks whether a sequence matches this pattern.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence to match, not {@code null}
+   * @return whether the whole sequence matches this pattern
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see #matches(CharSequence, int, int)
+   */
+  public boolean matches(CharSequence charSequence) {
+    return this.matches(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Checks whether a range of a sequence matches this pattern.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence containing the range to match, not {@code null}
+   * @param beginIndex the inclusive index at which the range starts
+   * @param endIndex the exclusive index at which the range ends
+   * @return whether the whole range matches this pattern
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public boolean matches(CharSequence charSequence, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.GLOB_MATCH, charSequence, endIndex - beginIndex);
+    }
+    int[] starts = this.segmentStarts;
+    int lastSegment = starts.length - 2;
+    int length = endIndex - beginIndex;
+    if (lastSegment == 0) {
+      // no star
+      return (length == this.chars.length) && this.segmentMatches(0, charSequence, beginIndex);
+    }
+    if (length < this.chars.length) {
+      return false;
+    }
+    int prefixLength = starts[1];
+    int suffixLength = starts[lastSegment + 1] - starts[lastSegment];
+    if (!this.segmentMatches(0, charSequence, beginIndex)
+            || !this.segmentMatches(lastSegment, charSequence, endIndex - suffixLength)) {
+      return false;
+    }
+    int position = beginIndex + prefixLength;
+    int limit = endIndex - suffixLength;
+    for (int segment = 1; segment < lastSegment; segment++) {
+      int found = this.findSegment(segment, charSequence, position, limit);
+      if (found == -1) {
+        return false;
+      }
+      position = found + (starts[segment + 1] - starts[segment]);
+    }
+    return true;
+  }
+
+  /**
+   * Searches for the leftmost occurrence of a segment that ends
+   * before a limit.
+   */
+  private int findSegment(int segment, CharSequence charSequence, int fromIndex, int limit) {
+    int segmentStart = this.segmentStarts[segment];
+    int lastStart = limit - (this.segmentStarts[segment + 1] - segmentStart);
+    int literalOffset = this.firstLiterals[segment];
+    if (literalOffset == -1) {
+      // only ?, matches anywhere
+      return fromIndex <= lastStart ? fromIndex : -1;
+    }
+    char literal = this.chars[segmentStart + literalOffset];
+    int start = fromIndex;
+    while (start <= lastStart) {
+      // the literal of a match starting at lastStart is the last one that can be used
+      int literalIndex = CharSequences.indexOf(charSequence, literal, start + literalOffset, lastStart + literalOffset + 1);
+      if (literalIndex == -1) {
+        return -1;
+      }
+      start = literalIndex - literalOffset;
+      if (start > lastStart) {
+        return -1;
+      }
+      if (this.segmentMatches(segment, charSequence, start)) {
+        return start;
+      }
+      start += 1;
+    }
+    return -1;
+  }
+
+  private boolean segmentMatches(int segment, CharSequence charSequence, int index) {
+    char[] chars = this.chars;
+    boolean[] anyChar = this.anyChar;
+    int end = this.segmentStarts[segment + 1];
+    int offset = index - this.segmentStarts[segment];
+    for (int i = this.segmentStarts[segment]; i < end; i++) {
+      if (!anyChar[i] && (charSequence.charAt(i + offset) != chars[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the glob pattern this pattern was compiled from.
+   *
+   * @return the source of this pattern
+   */
+  public String pattern() {
+    return this.glob;
+  }
+
+  @Override
+  public String toString() {
+    return this.glob;
+  }
+
+}
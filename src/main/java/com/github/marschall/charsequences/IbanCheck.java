@@ -30,6 +30,9 @@ public final class IbanCheck {
    */
   public static boolean isValid(CharSequence s) {
     int length = s.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.IBAN_CHECK, s, length);
+    }
     int sum = 0;
     for (int i = 4; i < length; i++) {
       char c = s.charAt(i);
@@ -59,8 +62,15 @@ public final class IbanCheck {
       }
       return result;
     } else {
-      throw new IllegalArgumentException();
+      throw invalidCharacter();
+    }
+  }
+
+  private static IllegalArgumentException invalidCharacter() {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.IBAN_CHECK);
     }
+    return new IllegalArgumentException();
   }
 
 }
@@ -0,0 +1,55 @@
+package com.github.marschall.charsequences;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records calls, dispatch and failures of the {@link Operation}s.
+ *
+ * <p>Instrumentation is enabled by setting the system property
+ * {@value #PROPERTY_NAME} to {@code true} on startup. Call sites have to
+ * be guarded with {@link #ENABLED}:</p>
+ * <pre><code>
+ * if (Instrumentation.ENABLED) {
+ *   Instrumentation.call(Operation.PARSE_INT, charSequence, length);
+ * }
+ * </code></pre>
+ * <p>Since {@link #ENABLED} is a {@code static final} field the JIT
+ * removes the guarded code entirely when instrumentation is disabled.</p>
+ *
+ * @see CharSequencesMetrics
+ */
+final class Instrumentation {
+
+  static final String PROPERTY_NAME = "com.github.marschall.charsequences.instrumentation";
+
+  static final boolean ENABLED = Boolean.getBoolean(PROPERTY_NAME);
+
+  private Instrumentation() {
+    throw new AssertionError("not instantiable");
+  }
+
+  static void call(Operation operation, CharSequence charSequence, int length) {
+    operation.calls.increment();
+    operation.length.add(length);
+    Class<?> implementationClass = charSequence.getClass();
+    LongAdder counter = operation.dispatch.get(implementationClass);
+    if (counter == null) {
+      // avoid locking in computeIfAbsent on Java 8 if the class is already present
+      counter = operation.dispatch.computeIfAbsent(implementationClass, key -> new LongAdder());
+    }
+    counter.increment();
+  }
+
+  static void fastPath(Operation operation) {
+    operation.fastPath.increment();
+  }
+
+  static void fallback(Operation operation) {
+    operation.fallback.increment();
+  }
+
+  static void failure(Operation operation) {
+    operation.failures.increment();
+  }
+
+}
@@ -0,0 +1,587 @@
+package com.github.marschall.charsequences;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses fixed layout ISO-8601 dates and times from a {@link CharSequence}.
+ *
+ * <p>The supported formats are a subset of the ones supported by the
+ * {@code ISO_*} constants of {@link DateTimeFormatter}:</p>
+ * <ul>
+ *  <li>dates have the form {@code yyyy-MM-dd}, years have to have four
+ *  digits without a sign</li>
+ *  <li>times have the form {@code HH:mm}, {@code HH:mm:ss} or
+ *  {@code HH:mm:ss.SSSSSSSSS} with one to nine fraction digits</li>
+ *  <li>date and time are separated by {@code 'T'}</li>
+ *  <li>offsets have the form {@code Z}, {@code +HH:mm} or {@code +HH:mm:ss}</li>
+ * </ul>
+ * <p>{@code 'T'} and {@code 'Z'} are accepted in lower case as well.</p>
+ *
+ * <p>Unlike {@link DateTimeFormatter} no intermediate objects are
+ * created, the epoch methods perform no allocation at all.</p>
+ *
+ * @see DateTimeFormatter#ISO_LOCAL_DATE
+ * @see DateTimeFormatter#ISO_LOCAL_TIME
+ * @see DateTimeFormatter#ISO_LOCAL_DATE_TIME
+ * @see DateTimeFormatter#ISO_OFFSET_DATE_TIME
+ * @see DateTimeFormatter#ISO_INSTANT
+ */
+public final class Iso8601 {
+
+  private static final int DATE_LENGTH = "yyyy-MM-dd".length();
+
+  private static final int MINIMUM_TIME_LENGTH = "HH:mm".length();
+
+  private static final int MAXIMUM_TIME_LENGTH = "HH:mm:ss.SSSSSSSSS".length();
+
+  /**
+   * The number of days from year zero to 1970.
+   */
+  private static final long DAYS_0000_TO_1970 = 719_528L;
+
+  private static final int SECONDS_PER_DAY = 86_400;
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private static final int MAXIMUM_OFFSET_SECONDS = 18 * 60 * 60;
+
+  private Iso8601() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Parses a date in the form {@code yyyy-MM-dd}.
+   *
+   * @param charSequence the sequence to parse, not {@code null}
+   * @return the parsed date
+   * @throws DateTimeParseException if the sequence is not a valid date
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see DateTimeFormatter#ISO_LOCAL_DATE
+   */
+  public static LocalDate parseLocalDate(CharSequence charSequence) {
+    return parseLocalDate(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Parses a date in the form {@code yyyy-MM-dd} from a range of a sequence.
+   *
+   * @implNote only the {@link LocalDate} is allocated
+   * @param charSequence the sequence containing the date, not {@code null}
+   * @param beginIndex the inclusive index at which the date starts
+   * @param endIndex the exclusive index at which the date ends
+   * @return the parsed date
+   * @throws DateTimeParseException if the range is not a valid date
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see DateTimeFormatter#ISO_LOCAL_DATE
+   */
+  public static LocalDate parseLocalDate(CharSequence charSequence, int beginIndex, int endIndex) {
+    checkRange(charSequence, beginIndex, endIndex);
+    if ((endIndex - beginIndex) != DATE_LENGTH) {
+      throw invalidLength(charSequence, beginIndex, endIndex);
+    }
+    int date = parseDate(charSequence, beginIndex, beginIndex, endIndex);
+    return LocalDate.of(year(date), month(date), day(date));
+  }
+
+  /**
+   * Parses a time in the form {@code HH:mm}, {@code HH:mm:ss} or
+   * {@code HH:mm:ss.SSSSSSSSS}.
+   *
+   * @param charSequence the sequence to parse, not {@code null}
+   * @return the parsed time
+   * @throws DateTimeParseException if the sequence is not a valid time
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see DateTimeFormatter#ISO_LOCAL_TIME
+   */
+  public static LocalTime parseLocalTime(CharSequence charSequence) {
+    return parseLocalTime(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Parses a time in the form {@code HH:mm}, {@code HH:mm:ss} or
+   * {@code HH:mm:ss.SSSSSSSSS} from a range of a sequence.
+   *
+   * @implNote only the {@link LocalTime} is allocated
+   * @param charSequence the sequence containing the time, not {@code null}
+   * @param beginIndex the inclusive index at which the time starts
+   * @param endIndex the exclusive index at which the time ends
+   * @return the parsed time
+   * @throws DateTimeParseException if the range is not a valid time
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see DateTimeFormatter#ISO_LOCAL_TIME
+   */
+  public static LocalTime parseLocalTime(CharSequence charSequence, int beginIndex, int endIndex) {
+    checkRange(charSequence, beginIndex, endIndex);
+    return LocalTime.ofNanoOfDay(parseNanoOfDay(charSequence, beginIndex, endIndex, beginIndex, endIndex));
+  }
+
+  /**
+   * Parses a date and time in the form {@code yyyy-MM-ddTHH:mm:ss}.
+   *
+   * @param charSequence the sequence to parse, not {@code null}
+   * @return the parsed date and time
+   * @throws DateTimeParseException if the sequence is not a valid date and time
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see DateTimeFormatter#ISO_LOCAL_DATE_TIME
+   */
+  public static LocalDateTime parseLocalDateTime(CharSequence charSequence) {
+    return parseLocalDateTime(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Parses a date and time in the form {@code yyyy-MM-ddTHH:mm:ss} from a
+   * range of a sequence.
+   *
+   * @implNote only the {@link LocalDateTime} and its fields are allocated
+   * @param charSequence the sequence containing the date and time, not {@code null}
+   * @param beginIndex the inclusive index at which the date and time starts
+   * @param endIndex the exclusive index at which the date and time ends
+   * @return the parsed date and time
+   * @throws DateTimeParseException if the range is not a valid date and time
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see DateTimeFormatter#ISO_LOCAL_DATE_TIME
+   */
+  public static LocalDateTime parseLocalDateTime(CharSequence charSequence, int beginIndex, int endIndex) {
+    checkRange(charSequence, beginIndex, endIndex);
+    int date = parseDateAndSeparator(charSequence, beginIndex, endIndex);
+    long nanoOfDay = parseNanoOfDay(charSequence, beginIndex + DATE_LENGTH + 1, endIndex, beginIndex, endIndex);
+    return LocalDateTime.of(
+            LocalDate.of(year(date), month(date), day(date)),
+            LocalTime.ofNanoOfDay(nanoOfDay));
+  }
+
+  /**
+   * Parses a date and time with an offset in the form
+   * {@code yyyy-MM-ddTHH:mm:ss+HH:mm}.
+   *
+   * @param charSequence the sequence to parse, not {@code null}
+   * @return the parsed date and time
+   * @throws DateTimeParseException if the sequence is not a valid date and time with offset
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see DateTimeFormatter#ISO_OFFSET_DATE_TIME
+   */
+  public static OffsetDateTime parseOffsetDateTime(CharSequence charSequence) {
+    return parseOffsetDateTime(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Parses a date and time with an offset in the form
+   * {@code yyyy-MM-ddTHH:mm:ss+HH:mm} from a range of a sequence.
+   *
+   * @implNote only the {@link OffsetDateTime} and its fields are allocated
+   * @param charSequence the sequence containing the date and time, not {@code null}
+   * @param beginIndex the inclusive index at which the date and time starts
+   * @param endIndex the exclusive index at which the date and time ends
+   * @return the parsed date and time
+   * @throws DateTimeParseException if the range is not a valid date and time with offset
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see DateTimeFormatter#ISO_OFFSET_DATE_TIME
+   */
+  public static OffsetDateTime parseOffsetDateTime(CharSequence charSequence, int beginIndex, int endIndex) {
+    checkRange(charSequence, beginIndex, endIndex);
+    int date = parseDateAndSeparator(charSequence, beginIndex, endIndex);
+    int timeStart = beginIndex + DATE_LENGTH + 1;
+    int offsetStart = offsetStart(charSequence, timeStart, beginIndex, endIndex);
+    long nanoOfDay = parseNanoOfDay(charSequence, timeStart, offsetStart, beginIndex, endIndex);
+    int offsetSeconds = parseOffsetSeconds(charSequence, offsetStart, beginIndex, endIndex);
+    return OffsetDateTime.of(
+            LocalDateTime.of(LocalDate.of(year(date), month(date), day(date)), LocalTime.ofNanoOfDay(nanoOfDay)),
+            ZoneOffset.ofTotalSeconds(offsetSeconds));
+  }
+
+  /**
+   * Parses an instant in the form {@code yyyy-MM-ddTHH:mm:ssZ}, an offset
+   * other than {@code Z} is accepted as well.
+   *
+   * @param charSequence the sequence to parse, not {@code null}
+   * @return the parsed instant
+   * @throws DateTimeParseException if the sequence is not a valid instant
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see DateTimeFormatter#ISO_INSTANT
+   */
+  public static Instant parseInstant(CharSequence charSequence) {
+    return parseInstant(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Parses an instant in the form {@code yyyy-MM-ddTHH:mm:ssZ} from a range
+   * of a sequence, an offset other than {@code Z} is accepted as well.
+   *
+   * @implNote only the {@link Instant} is allocated
+   * @param charSequence the sequence containing the instant, not {@code null}
+   * @param beginIndex the inclusive index at which the instant starts
+   * @param endIndex the exclusive index at which the instant ends
+   * @return the parsed instant
+   * @throws DateTimeParseException if the range is not a valid instant
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see DateTimeFormatter#ISO_INSTANT
+   */
+  public static Instant parseInstant(CharSequence charSequence, int beginIndex, int endIndex) {
+    checkRange(charSequence, beginIndex, endIndex);
+    int date = parseDateAndSeparator(charSequence, beginIndex, endIndex);
+    int timeStart = beginIndex + DATE_LENGTH + 1;
+    int offsetStart = offsetStart(charSequence, timeStart, beginIndex, endIndex);
+    long nanoOfDay = parseNanoOfDay(charSequence, timeStart, offsetStart, beginIndex, endIndex);
+    int offsetSeconds = parseOffsetSeconds(charSequence, offsetStart, beginIndex, endIndex);
+    long epochSecond = epochSecond(date, nanoOfDay, offsetSeconds);
+    return Instant.ofEpochSecond(epochSecond, nanoOfDay % NANOS_PER_SECOND);
+  }
+
+  /**
+   * Parses an instant in the form {@code yyyy-MM-ddTHH:mm:ssZ} into
+   * milliseconds since the epoch, an offset other than {@code Z} is
+   * accepted as well.
+   *
+   * @param charSequence the sequence to parse, not {@code null}
+   * @return the milliseconds since 1970-01-01T00:00:00Z, fractions of
+   *         milliseconds are truncated
+   * @throws DateTimeParseException if the sequence is not a valid instant
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see Instant#toEpochMilli()
+   */
+  public static long parseEpochMilli(CharSequence charSequence) {
+    return parseEpochMilli(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Parses an instant in the form {@code yyyy-MM-ddTHH:mm:ssZ} from a range
+   * of a sequence into milliseconds since the epoch, an offset other than
+   * {@code Z} is accepted as well.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence containing the instant, not {@code null}
+   * @param beginIndex the inclusive index at which the instant starts
+   * @param endIndex the exclusive index at which the instant ends
+   * @return the milliseconds since 1970-01-01T00:00:00Z, fractions of
+   *         milliseconds are truncated
+   * @throws DateTimeParseException if the range is not a valid instant
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   * @see Instant#toEpochMilli()
+   */
+  public static long parseEpochMilli(CharSequence charSequence, int beginIndex, int endIndex) {
+    checkRange(charSequence, beginIndex, endIndex);
+    int date = parseDateAndSeparator(charSequence, beginIndex, endIndex);
+    int timeStart = beginIndex + DATE_LENGTH + 1;
+    int offsetStart = offsetStart(charSequence, timeStart, beginIndex, endIndex);
+    long nanoOfDay = parseNanoOfDay(charSequence, timeStart, offsetStart, beginIndex, endIndex);
+    int offsetSeconds = parseOffsetSeconds(charSequence, offsetStart, beginIndex, endIndex);
+    // years are limited to four digits, can not overflow
+    return (epochSecond(date, nanoOfDay, offsetSeconds) * 1_000L) + ((nanoOfDay % NANOS_PER_SECOND) / 1_000_000L);
+  }
+
+  /**
+   * Parses an instant in the form {@code yyyy-MM-ddTHH:mm:ssZ} into
+   * nanoseconds since the epoch, an offset other than {@code Z} is
+   * accepted as well.
+   *
+   * @param charSequence the sequence to parse, not {@code null}
+   * @return the nanoseconds since 1970-01-01T00:00:00Z
+   * @throws DateTimeParseException if the sequence is not a valid instant
+   *         or the instant is outside the range of a {@code long} in nanoseconds
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public static long parseEpochNano(CharSequence charSequence) {
+    return parseEpochNano(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Parses an instant in the form {@code yyyy-MM-ddTHH:mm:ssZ} from a range
+   * of a sequence into nanoseconds since the epoch, an offset other than
+   * {@code Z} is accepted as well.
+   *
+   * <p>Only instants between 1677-09-21T00:12:43.145224192Z and
+   * 2262-04-11T23:47:16.854775807Z can be represented.</p>
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence containing the instant, not {@code null}
+   * @param beginIndex the inclusive index at which the instant starts
+   * @param endIndex the exclusive index at which the instant ends
+   * @return the nanoseconds since 1970-01-01T00:00:00Z
+   * @throws DateTimeParseException if the range is not a valid instant
+   *         or the instant is outside the range of a {@code long} in nanoseconds
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public static long parseEpochNano(CharSequence charSequence, int beginIndex, int endIndex) {
+    checkRange(charSequence, beginIndex, endIndex);
+    int date = parseDateAndSeparator(charSequence, beginIndex, endIndex);
+    int timeStart = beginIndex + DATE_LENGTH + 1;
+    int offsetStart = offsetStart(charSequence, timeStart, beginIndex, endIndex);
+    long nanoOfDay = parseNanoOfDay(charSequence, timeStart, offsetStart, beginIndex, endIndex);
+    int offsetSeconds = parseOffsetSeconds(charSequence, offsetStart, beginIndex, endIndex);
+    long epochSecond = epochSecond(date, nanoOfDay, offsetSeconds);
+    long nanoOfSecond = nanoOfDay % NANOS_PER_SECOND;
+    try {
+      if ((epochSecond < 0L) && (nanoOfSecond > 0L)) {
+        // avoid overflow for Long.MIN_VALUE, same as Instant#toEpochMilli()
+        return Math.addExact(Math.multiplyExact(epochSecond + 1L, NANOS_PER_SECOND), nanoOfSecond - NANOS_PER_SECOND);
+      }
+      return Math.addExact(Math.multiplyExact(epochSecond, NANOS_PER_SECOND), nanoOfSecond);
+    } catch (ArithmeticException e) {
+      throw invalidValue(charSequence, beginIndex, endIndex, "instant exceeds epoch nanos");
+    }
+  }
+
+  private static void checkRange(CharSequence charSequence, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARSE_ISO_8601, charSequence, endIndex - beginIndex);
+    }
+  }
+
+  /**
+   * Parses a date followed by {@code 'T'}.
+   */
+  private static int parseDateAndSeparator(CharSequence charSequence, int beginIndex, int endIndex) {
+    // shortest is yyyy-MM-ddTHH:mm
+    if ((endIndex - beginIndex) < (DATE_LENGTH + 1 + MINIMUM_TIME_LENGTH)) {
+      throw invalidLength(charSequence, beginIndex, endIndex);
+    }
+    int date = parseDate(charSequence, beginIndex, beginIndex, endIndex);
+    char separator = charSequence.charAt(beginIndex + DATE_LENGTH);
+    if ((separator != 'T') && (separator != 't')) {
+      throw invalidCharacter(charSequence, beginIndex, endIndex, beginIndex + DATE_LENGTH);
+    }
+    return date;
+  }
+
+  /**
+   * Parses a date, the caller has to ensure the length.
+   *
+   * @return the date with the year in bits 9 and higher, the month in
+   *         bits 5 to 8 and the day in bits 0 to 4
+   */
+  private static int parseDate(CharSequence charSequence, int dateStart, int beginIndex, int endIndex) {
+    int year = (twoDigits(charSequence, dateStart, beginIndex, endIndex) * 100)
+            + twoDigits(charSequence, dateStart + 2, beginIndex, endIndex);
+    expect(charSequence, dateStart + 4, '-', beginIndex, endIndex);
+    int month = twoDigits(charSequence, dateStart + 5, beginIndex, endIndex);
+    expect(charSequence, dateStart + 7, '-', beginIndex, endIndex);
+    int day = twoDigits(charSequence, dateStart + 8, beginIndex, endIndex);
+    if ((month < 1) || (month > 12)) {
+      throw invalidValue(charSequence, beginIndex, endIndex, "invalid month " + month);
+    }
+    if ((day < 1) || (day > monthLength(year, month))) {
+      throw invalidValue(charSequence, beginIndex, endIndex, "invalid day of month " + day);
+    }
+    return (year << 9) | (month << 5) | day;
+  }
+
+  private static int year(int date) {
+    return date >>> 9;
+  }
+
+  private static int month(int date) {
+    return (date >>> 5) & 0b1111;
+  }
+
+  private static int day(int date) {
+    return date & 0b11111;
+  }
+
+  private static int monthLength(int year, int month) {
+    switch (month) {
+      case 2:
+        return isLeapYear(year) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  private static boolean isLeapYear(int year) {
+    return ((year & 3) == 0) && (((year % 100) != 0) || ((year % 400) == 0));
+  }
+
+  /**
+   * Parses a time.
+   *
+   * @return the nano of day
+   */
+  private static long parseNanoOfDay(CharSequence charSequence, int timeStart, int timeEnd, int beginIndex, int endIndex) {
+    int length = timeEnd - timeStart;
+    if ((length < MINIMUM_TIME_LENGTH) || (length > MAXIMUM_TIME_LENGTH) || (length == 6) || (length == 7) || (length == 9)) {
+      throw invalidLength(charSequence, beginIndex, endIndex);
+    }
+    int hour = twoDigits(charSequence, timeStart, beginIndex, endIndex);
+    expect(charSequence, timeStart + 2, ':', beginIndex, endIndex);
+    int minute = twoDigits(charSequence, timeStart + 3, beginIndex, endIndex);
+    if (hour > 23) {
+      throw invalidValue(charSequence, beginIndex, endIndex, "invalid hour " + hour);
+    }
+    if (minute > 59) {
+      throw invalidValue(charSequence, beginIndex, endIndex, "invalid minute " + minute);
+    }
+    int secondOfDay = (hour * 3600) + (minute * 60);
+    long nanoOfSecond = 0L;
+    if (length > MINIMUM_TIME_LENGTH) {
+      expect(charSequence, timeStart + 5, ':', beginIndex, endIndex);
+      int second = twoDigits(charSequence, timeStart + 6, beginIndex, endIndex);
+      if (second > 59) {
+        throw invalidValue(charSequence, beginIndex, endIndex, "invalid second " + second);
+      }
+      secondOfDay += second;
+      if (length > 8) {
+        expect(charSequence, timeStart + 8, '.', beginIndex, endIndex);
+        nanoOfSecond = parseFraction(charSequence, timeStart + 9, timeEnd, beginIndex, endIndex);
+      }
+    }
+    return (secondOfDay * NANOS_PER_SECOND) + nanoOfSecond;
+  }
+
+  private static long parseFraction(CharSequence charSequence, int fractionStart, int fractionEnd, int beginIndex, int endIndex) {
+    int fraction = 0;
+    for (int i = fractionStart; i < fractionEnd; i++) {
+      fraction = (fraction * 10) + digit(charSequence, i, beginIndex, endIndex);
+    }
+    // scale to nanoseconds
+    for (int i = fractionEnd - fractionStart; i < 9; i++) {
+      fraction *= 10;
+    }
+    return fraction;
+  }
+
+  /**
+   * Determines where the offset starts by looking at the end.
+   */
+  private static int offsetStart(CharSequence charSequence, int timeStart, int beginIndex, int endIndex) {
+    char last = charSequence.charAt(endIndex - 1);
+    if ((last == 'Z') || (last == 'z')) {
+      return endIndex - 1;
+    }
+    // +HH:mm
+    int offsetStart = endIndex - 6;
+    if ((offsetStart >= (timeStart + MINIMUM_TIME_LENGTH)) && isSign(charSequence.charAt(offsetStart))) {
+      return offsetStart;
+    }
+    // +HH:mm:ss
+    offsetStart = endIndex - 9;
+    if ((offsetStart >= (timeStart + MINIMUM_TIME_LENGTH)) && isSign(charSequence.charAt(offsetStart))) {
+      return offsetStart;
+    }
+    throw invalidValue(charSequence, beginIndex, endIndex, "missing offset");
+  }
+
+  private static boolean isSign(char c) {
+    return (c == '+') || (c == '-');
+  }
+
+  private static int parseOffsetSeconds(CharSequence charSequence, int offsetStart, int beginIndex, int endIndex) {
+    int length = endIndex - offsetStart;
+    if (length == 1) {
+      // Z
+      return 0;
+    }
+    int hours = twoDigits(charSequence, offsetStart + 1, beginIndex, endIndex);
+    expect(charSequence, offsetStart + 3, ':', beginIndex, endIndex);
+    int minutes = twoDigits(charSequence, offsetStart + 4, beginIndex, endIndex);
+    int seconds = 0;
+    if (length > 6) {
+      expect(charSequence, offsetStart + 6, ':', beginIndex, endIndex);
+      seconds = twoDigits(charSequence, offsetStart + 7, beginIndex, endIndex);
+    }
+    if ((minutes > 59) || (seconds > 59)) {
+      throw invalidValue(charSequence, beginIndex, endIndex, "invalid offset");
+    }
+    int totalSeconds = (hours * 3600) + (minutes * 60) + seconds;
+    if (totalSeconds > MAXIMUM_OFFSET_SECONDS) {
+      throw invalidValue(charSequence, beginIndex, endIndex, "invalid offset");
+    }
+    return charSequence.charAt(offsetStart) == '-' ? -totalSeconds : totalSeconds;
+  }
+
+  private static long epochSecond(int date, long nanoOfDay, int offsetSeconds) {
+    long epochDay = epochDay(year(date), month(date), day(date));
+    long secondOfDay = nanoOfDay / NANOS_PER_SECOND;
+    return ((epochDay * SECONDS_PER_DAY) + secondOfDay) - offsetSeconds;
+  }
+
+  /**
+   * Computes the epoch day for a year from 0 to 9999, same as
+   * {@link LocalDate#toEpochDay()}.
+   */
+  private static long epochDay(int year, int month, int day) {
+    long total = 365L * year;
+    total += ((year + 3) / 4) - ((year + 99) / 100) + ((year + 399) / 400);
+    total += ((367 * month) - 362) / 12;
+    total += day - 1;
+    if (month > 2) {
+      total -= isLeapYear(year) ? 1 : 2;
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+
+  private static int twoDigits(CharSequence charSequence, int index, int beginIndex, int endIndex) {
+    int tens = charSequence.charAt(index) - '0';
+    int ones = charSequence.charAt(index + 1) - '0';
+    if ((tens < 0) || (tens > 9)) {
+      throw invalidCharacter(charSequence, beginIndex, endIndex, index);
+    }
+    if ((ones < 0) || (ones > 9)) {
+      throw invalidCharacter(charSequence, beginIndex, endIndex, index + 1);
+    }
+    return (tens * 10) + ones;
+  }
+
+  private static int digit(CharSequence charSequence, int index, int beginIndex, int endIndex) {
+    int digit = charSequence.charAt(index) - '0';
+    if ((digit < 0) || (digit > 9)) {
+      throw invalidCharacter(charSequence, beginIndex, endIndex, index);
+    }
+    return digit;
+  }
+
+  private static void expect(CharSequence charSequence, int index, char expected, int beginIndex, int endIndex) {
+    if (charSequence.charAt(index) != expected) {
+      throw invalidCharacter(charSequence, beginIndex, endIndex, index);
+    }
+  }
+
+  private static DateTimeParseException invalidLength(CharSequence charSequence, int beginIndex, int endIndex) {
+    return invalidValue(charSequence, beginIndex, endIndex, "invalid length");
+  }
+
+  private static DateTimeParseException invalidCharacter(CharSequence charSequence, int beginIndex, int endIndex, int index) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.PARSE_ISO_8601);
+    }
+    CharSequence text = charSequence.subSequence(beginIndex, endIndex);
+    int errorIndex = index - beginIndex;
+    return new DateTimeParseException("Text '" + text + "' could not be parsed at index " + errorIndex, text, errorIndex);
+  }
+
+  private static DateTimeParseException invalidValue(CharSequence charSequence, int beginIndex, int endIndex, String reason) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.PARSE_ISO_8601);
+    }
+    CharSequence text = charSequence.subSequence(beginIndex, endIndex);
+    return new DateTimeParseException("Text '" + text + "' could not be parsed: " + reason, text, 0);
+  }
+
+}
@@ -0,0 +1,342 @@
+package com.github.marschall.charsequences;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps a fixed set of keywords to their index without allocation.
+ *
+ * <p>The keywords are placed into a table using a perfect hash function
+ * based on <a href="http://cmph.sourceforge.net/papers/esa09.pdf">hash,
+ * displace and compress</a>. The keywords are grouped into buckets, for
+ * every bucket a displacement is chosen at construction time so that no
+ * two keywords collide. A lookup therefore computes one hash and compares
+ * the input against at most one keyword.</p>
+ *
+ * <p>Instances are created using {@link #builder()} or
+ * {@link #forEnum(Class)}.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public final class KeywordMatcher {
+
+  private final String[] keywords;
+
+  private final int[] indices;
+
+  private final int[] displacements;
+
+  private final int slotMask;
+
+  private final int bucketMask;
+
+  private final boolean ignoreAsciiCase;
+
+  private final int minimumLength;
+
+  private final int maximumLength;
+
+  private KeywordMatcher(String[] keywords, int[] indices, int[] displacements, boolean ignoreAsciiCase,
+          int minimumLength, int maximumLength) {
+    this.keywords = keywords;
+    this.indices = indices;
+    this.displacements = displacements;
+    this.slotMask = keywords.length - 1;
+    this.bucketMask = displacements.length - 1;
+    this.ignoreAsciiCase = ignoreAsciiCase;
+    this.minimumLength = minimumLength;
+    this.maximumLength = maximumLength;
+  }
+
+  /**
+   * Creates a new builder.
+   *
+   * @return a new builder, not {@code null}
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Creates a matcher for the {@link Enum#name() names} of the constants
+   * of an enum. The index returned by the matcher is the
+   * {@link Enum#ordinal() ordinal} of the constant.
+   *
+   * @param <E> the enum type
+   * @param enumClass the enum class, not {@code null}
+   * @return the matcher, not {@code null}
+   * @see Enum#valueOf(Class, String)
+   */
+  public static <E extends Enum<E>> KeywordMatcher forEnum(Class<E> enumClass) {
+    Builder builder = builder();
+    for (E constant : enumClass.getEnumConstants()) {
+      builder.add(constant.name());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Looks up the index of a keyword.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence to look up, not {@code null}
+   * @return the index of the keyword in the order in which it was added,
+   *         {@code -1} if the sequence is not a keyword
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public int indexOf(CharSequence charSequence) {
+    return this.indexOf(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Looks up the index of a keyword in a range of a sequence.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence containing the range to look up, not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @return the index of the keyword in the order in which it was added,
+   *         {@code -1} if the range is not a keyword
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public int indexOf(CharSequence charSequence, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    int length = endIndex - beginIndex;
+    if ((length < this.minimumLength) || (length > this.maximumLength)) {
+      return -1;
+    }
+    long hash = hash(charSequence, beginIndex, endIndex, this.ignoreAsciiCase);
+    int displacement = this.displacements[bucket(hash) & this.bucketMask];
+    int slot = slot(hash, displacement) & this.slotMask;
+    String keyword = this.keywords[slot];
+    if ((keyword == null) || (keyword.length() != length)) {
+      return -1;
+    }
+    if (this.ignoreAsciiCase) {
+      for (int i = 0; i < length; i++) {
+        if (toLowerAscii(keyword.charAt(i)) != toLowerAscii(charSequence.charAt(beginIndex + i))) {
+          return -1;
+        }
+      }
+    } else {
+      for (int i = 0; i < length; i++) {
+        if (keyword.charAt(i) != charSequence.charAt(beginIndex + i)) {
+          return -1;
+        }
+      }
+    }
+    return this.indices[slot];
+  }
+
+  static long hash(CharSequence charSequence, int beginIndex, int endIndex, boolean ignoreAsciiCase) {
+    // FNV-1a
+    long hash = 0xcbf29ce484222325L;
+    if (ignoreAsciiCase) {
+      for (int i = beginIndex; i < endIndex; i++) {
+        hash = (hash ^ toLowerAscii(charSequence.charAt(i))) * 0x100000001b3L;
+      }
+    } else {
+      for (int i = beginIndex; i < endIndex; i++) {
+        hash = (hash ^ charSequence.charAt(i)) * 0x100000001b3L;
+      }
+    }
+    // murmur3 finalizer, FNV-1a has weak high bits
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  private static int bucket(long hash) {
+    return (int) (hash >>> 32);
+  }
+
+  private static int slot(long hash, int displacement) {
+    int slot = ((int) hash) ^ (displacement * 0x9e3779b9);
+    slot ^= slot >>> 16;
+    slot *= 0x85ebca6b;
+    slot ^= slot >>> 13;
+    return slot;
+  }
+
+  static char toLowerAscii(char c) {
+    if ((c >= 'A') && (c <= 'Z')) {
+      // 'a' - 'A' = 32
+      return (char) (c + 32);
+    }
+    return c;
+  }
+
+  /**
+   * Builds a {@link KeywordMatcher}.
+   *
+   * <p>This class is not thread-safe.</p>
+   */
+  public static final class Builder {
+
+    private static final int MAXIMUM_DISPLACEMENTS = 1 << 16;
+
+    private final List<String> keywords;
+
+    private boolean ignoreAsciiCase;
+
+    Builder() {
+      this.keywords = new ArrayList<>();
+      this.ignoreAsciiCase = false;
+    }
+
+    /**
+     * Adds a keyword. The index of the keyword is the number of keywords
+     * added before.
+     *
+     * @param keyword the keyword to add, not {@code null}
+     * @return this builder
+     * @throws NullPointerException if the keyword is {@code null}
+     */
+    public Builder add(CharSequence keyword) {
+      this.keywords.add(keyword.toString());
+      return this;
+    }
+
+    /**
+     * Matches keywords ignoring the case of ASCII letters. Non-ASCII
+     * characters are always compared exactly.
+     *
+     * @return this builder
+     */
+    public Builder ignoreAsciiCase() {
+      this.ignoreAsciiCase = true;
+      return this;
+    }
+
+    /**
+     * Creates the matcher.
+     *
+     * @return the matcher, not {@code null}
+     * @throws IllegalArgumentException if a keyword was added more than once
+     */
+    public KeywordMatcher build() {
+      int keywordCount = this.keywords.size();
+      int minimumLength = Integer.MAX_VALUE;
+      int maximumLength = Integer.MIN_VALUE;
+      long[] hashes = new long[keywordCount];
+      for (int i = 0; i < keywordCount; i++) {
+        String keyword = this.keywords.get(i);
+        minimumLength = Math.min(minimumLength, keyword.length());
+        maximumLength = Math.max(maximumLength, keyword.length());
+        hashes[i] = hash(keyword, 0, keyword.length(), this.ignoreAsciiCase);
+      }
+      // about four keywords per bucket
+      int bucketCount = powerOfTwoAtLeast(Math.max(1, keywordCount / 4));
+      // load factor of at most 0.8
+      int slotCount = powerOfTwoAtLeast(Math.max(1, keywordCount + (keywordCount / 4)));
+      int[][] buckets = this.buckets(hashes, bucketCount);
+      while (true) {
+        String[] table = new String[slotCount];
+        int[] indices = new int[slotCount];
+        int[] displacements = new int[bucketCount];
+        if (this.displace(buckets, hashes, table, indices, displacements)) {
+          return new KeywordMatcher(table, indices, displacements, this.ignoreAsciiCase, minimumLength, maximumLength);
+        }
+        if (slotCount >= (1 << 30)) {
+          throw new IllegalStateException("could not find a collision free hash");
+        }
+        slotCount <<= 1;
+      }
+    }
+
+    private int[][] buckets(long[] hashes, int bucketCount) {
+      int[] sizes = new int[bucketCount];
+      for (long hash : hashes) {
+        sizes[bucket(hash) & (bucketCount - 1)] += 1;
+      }
+      int[][] buckets = new int[bucketCount][];
+      for (int i = 0; i < bucketCount; i++) {
+        buckets[i] = new int[sizes[i]];
+      }
+      int[] fill = new int[bucketCount];
+      for (int i = 0; i < hashes.length; i++) {
+        int bucket = bucket(hashes[i]) & (bucketCount - 1);
+        buckets[bucket][fill[bucket]++] = i;
+      }
+      return buckets;
+    }
+
+    private boolean displace(int[][] buckets, long[] hashes, String[] table, int[] indices, int[] displacements) {
+      int mask = table.length - 1;
+      // place the largest buckets first while there is still space
+      Integer[] order = new Integer[buckets.length];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (a, b) -> Integer.compare(buckets[b].length, buckets[a].length));
+      int[] slots = new int[buckets.length > 0 ? buckets[order[0]].length : 0];
+      for (int bucket : order) {
+        int[] members = buckets[bucket];
+        if (members.length == 0) {
+          break;
+        }
+        boolean placed = false;
+        displacementLoop: for (int displacement = 0; displacement < MAXIMUM_DISPLACEMENTS; displacement++) {
+          for (int i = 0; i < members.length; i++) {
+            int slot = slot(hashes[members[i]], displacement) & mask;
+            if (table[slot] != null) {
+              continue displacementLoop;
+            }
+            for (int j = 0; j < i; j++) {
+              if (slots[j] == slot) {
+                if (this.isDuplicate(this.keywords.get(members[i]), this.keywords.get(members[j]))) {
+                  throw new IllegalArgumentException("duplicate keyword: " + this.keywords.get(members[i]));
+                }
+                continue displacementLoop;
+              }
+            }
+            slots[i] = slot;
+          }
+          for (int i = 0; i < members.length; i++) {
+            table[slots[i]] = this.keywords.get(members[i]);
+            indices[slots[i]] = members[i];
+          }
+          displacements[bucket] = displacement;
+          placed = true;
+          break;
+        }
+        if (!placed) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+      int highestOneBit = Integer.highestOneBit(value);
+      if (highestOneBit == value) {
+        return value;
+      }
+      return highestOneBit << 1;
+    }
+
+    private boolean isDuplicate(String existing, String keyword) {
+      if (this.ignoreAsciiCase) {
+        if (existing.length() != keyword.length()) {
+          return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+          if (toLowerAscii(existing.charAt(i)) != toLowerAscii(keyword.charAt(i))) {
+            return false;
+          }
+        }
+        return true;
+      } else {
+        return existing.equals(keyword);
+      }
+    }
+
+  }
+
+}
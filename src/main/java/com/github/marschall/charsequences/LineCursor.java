@@ -0,0 +1,141 @@
+package com.github.marschall.charsequences;
+
+/**
+ * Iterates over the lines of a {@link CharSequence} without allocation.
+ *
+ * <p>Lines are terminated by {@code \n}, {@code \r\n} or {@code \r}. The
+ * line terminators are not part of the lines. A line terminator at the end
+ * of the sequence does not start a new line, an empty sequence has no
+ * lines. This is consistent with
+ * <a href="https://docs.oracle.com/en/java/javase/11/docs/api/java.base/java/lang/String.html#lines()">String#lines()</a>.</p>
+ *
+ * <p>Typical usage looks like this:</p>
+ * <pre><code>
+ * LineCursor cursor = CharSequences.lineCursor(s);
+ * while (cursor.next()) {
+ *   int value = CharSequences.parseInt(s, cursor.lineStart(), cursor.lineEnd());
+ * }
+ * </code></pre>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @see CharSequences#lineCursor(CharSequence)
+ * @see CharSequences#lines(CharSequence)
+ */
+public final class LineCursor {
+
+  private final CharSequence charSequence;
+
+  private int position;
+
+  private int limit;
+
+  private int lineStart;
+
+  private int lineEnd;
+
+  LineCursor(CharSequence charSequence, int beginIndex, int endIndex) {
+    this.charSequence = charSequence;
+    this.position = beginIndex;
+    this.limit = endIndex;
+    this.lineStart = -1;
+    this.lineEnd = -1;
+  }
+
+  /**
+   * Advances to the next line.
+   *
+   * @implNote no allocation is performed
+   * @return {@code true} if the cursor is positioned on the next line,
+   *         {@code false} if there are no more lines
+   */
+  public boolean next() {
+    int start = this.position;
+    int end = this.limit;
+    if (start >= end) {
+      this.lineStart = -1;
+      this.lineEnd = -1;
+      return false;
+    }
+    CharSequence sequence = this.charSequence;
+    for (int i = start; i < end; i++) {
+      char c = sequence.charAt(i);
+      if (c == '\n') {
+        this.setLine(start, i, i + 1);
+        return true;
+      } else if (c == '\r') {
+        if (((i + 1) < end) && (sequence.charAt(i + 1) == '\n')) {
+          this.setLine(start, i, i + 2);
+        } else {
+          this.setLine(start, i, i + 1);
+        }
+        return true;
+      }
+    }
+    this.setLine(start, end, end);
+    return true;
+  }
+
+  private void setLine(int start, int end, int nextStart) {
+    this.lineStart = start;
+    this.lineEnd = end;
+    this.position = nextStart;
+  }
+
+  /**
+   * Returns the index of the first character of the current line.
+   *
+   * @return the inclusive start index of the current line in the sequence
+   * @throws IllegalStateException if the cursor is not positioned on a line
+   */
+  public int lineStart() {
+    this.checkPositioned();
+    return this.lineStart;
+  }
+
+  /**
+   * Returns the index after the last character of the current line. The
+   * line terminator is not included.
+   *
+   * @return the exclusive end index of the current line in the sequence
+   * @throws IllegalStateException if the cursor is not positioned on a line
+   */
+  public int lineEnd() {
+    this.checkPositioned();
+    return this.lineEnd;
+  }
+
+  /**
+   * Returns the current line as a subsequence.
+   *
+   * @implNote allocation avoided for empty lines
+   * @return the current line without the line terminator
+   * @throws IllegalStateException if the cursor is not positioned on a line
+   */
+  public CharSequence line() {
+    this.checkPositioned();
+    if (this.lineStart == this.lineEnd) {
+      return "";
+    }
+    return this.charSequence.subSequence(this.lineStart, this.lineEnd);
+  }
+
+  private void checkPositioned() {
+    if (this.lineStart == -1) {
+      throw new IllegalStateException("not positioned on a line");
+    }
+  }
+
+  int position() {
+    return this.position;
+  }
+
+  void position(int position) {
+    this.position = position;
+  }
+
+  int limit() {
+    return this.limit;
+  }
+
+}
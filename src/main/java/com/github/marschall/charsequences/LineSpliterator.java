@@ -0,0 +1,90 @@
+package com.github.marschall.charsequences;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} over the lines of a {@link CharSequence}.
+ *
+ * <p>Splits are always done after a line terminator so every line is
+ * reported by exactly one of the spliterators.</p>
+ *
+ * @see LineCursor
+ */
+final class LineSpliterator implements Spliterator<CharSequence> {
+
+  private final CharSequence charSequence;
+
+  private final LineCursor cursor;
+
+  LineSpliterator(CharSequence charSequence, int beginIndex, int endIndex) {
+    this.charSequence = charSequence;
+    this.cursor = new LineCursor(charSequence, beginIndex, endIndex);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super CharSequence> action) {
+    Objects.requireNonNull(action, "action");
+    if (!this.cursor.next()) {
+      return false;
+    }
+    action.accept(this.cursor.line());
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super CharSequence> action) {
+    Objects.requireNonNull(action, "action");
+    LineCursor lineCursor = this.cursor;
+    while (lineCursor.next()) {
+      action.accept(lineCursor.line());
+    }
+  }
+
+  @Override
+  public Spliterator<CharSequence> trySplit() {
+    int start = this.cursor.position();
+    int end = this.cursor.limit();
+    int middle = start + ((end - start) >>> 1);
+    int split = this.nextLineStart(middle, end);
+    if ((split <= start) || (split >= end)) {
+      return null;
+    }
+    // the prefix is returned, this keeps the encounter order
+    Spliterator<CharSequence> prefix = new LineSpliterator(this.charSequence, start, split);
+    this.cursor.position(split);
+    return prefix;
+  }
+
+  /**
+   * Returns the index after the first line terminator at or after the given index.
+   */
+  private int nextLineStart(int fromIndex, int end) {
+    CharSequence sequence = this.charSequence;
+    for (int i = fromIndex; i < end; i++) {
+      char c = sequence.charAt(i);
+      if (c == '\n') {
+        return i + 1;
+      } else if (c == '\r') {
+        if (((i + 1) < end) && (sequence.charAt(i + 1) == '\n')) {
+          return i + 2;
+        }
+        return i + 1;
+      }
+    }
+    return end;
+  }
+
+  @Override
+  public long estimateSize() {
+    // upper bound, every char could be a line terminator
+    return this.cursor.limit() - this.cursor.position();
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+
+}
@@ -38,6 +38,9 @@ public final class LuhnCheck {
    */
   public static boolean isValid(CharSequence s) {
     int length = s.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.LUHN_CHECK, s, length);
+    }
     boolean odd = (length & 1) == 1;
     int sum = odd ? oddLengthSum(s, length) : evenLengthSum(s, length);
     return sum == 0;
@@ -107,9 +110,16 @@ public final class LuhnCheck {
 
   static int toInt(char c) {
     if (c < '0' || c > '9') {
-      throw new IllegalArgumentException();
+      throw invalidDigit();
     }
     return c - '0';
   }
 
+  private static IllegalArgumentException invalidDigit() {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.LUHN_CHECK);
+    }
+    return new IllegalArgumentException();
+  }
+
 }
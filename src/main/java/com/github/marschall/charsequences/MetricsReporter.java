@@ -0,0 +1,49 @@
+package com.github.marschall.charsequences;
+
+/**
+ * Receives the values of the instrumentation counters.
+ *
+ * <p>Implement this interface to export the counters to a metrics
+ * library.</p>
+ *
+ * @see CharSequencesMetrics#report(MetricsReporter)
+ */
+public interface MetricsReporter {
+
+  /**
+   * Reports the value of a counter of a method.
+   *
+   * <p>The following metrics are reported for every method:</p>
+   * <dl>
+   *  <dt>{@code calls}</dt>
+   *  <dd>the number of invocations</dd>
+   *  <dt>{@code length}</dt>
+   *  <dd>the total number of chars passed in</dd>
+   *  <dt>{@code failures}</dt>
+   *  <dd>the number of exceptions created for invalid input</dd>
+   *  <dt>{@code fastPath}</dt>
+   *  <dd>the number of invocations that used an implementation specific fast path</dd>
+   *  <dt>{@code fallback}</dt>
+   *  <dd>the number of invocations that fell back to a generic {@link CharSequence#charAt(int)} loop</dd>
+   * </dl>
+   *
+   * @param methodName the name of the method, eg. {@code "CharSequences.parseInt"}
+   * @param metric the name of the metric
+   * @param value the current value of the counter
+   */
+  void counter(String methodName, String metric, long value);
+
+  /**
+   * Reports the number of invocations of a method with a given
+   * {@link CharSequence} implementation class.
+   *
+   * <p>Many different implementation classes for the same method point to
+   * a megamorphic call site.</p>
+   *
+   * @param methodName the name of the method, eg. {@code "CharSequences.parseInt"}
+   * @param implementationClass the class of the {@link CharSequence} passed in
+   * @param count the number of invocations
+   */
+  void dispatch(String methodName, Class<?> implementationClass, long count);
+
+}
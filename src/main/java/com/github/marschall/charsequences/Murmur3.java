@@ -0,0 +1,271 @@
+package com.github.marschall.charsequences;
+
+/**
+ * Computes the <a href="https://github.com/aappleby/smhasher/wiki/MurmurHash3">MurmurHash3</a>
+ * x64 128 bit hash of {@link CharSequence}s without encoding them to a
+ * {@code byte[]} first.
+ *
+ * <p>The result is the same as hashing the encoded bytes with the
+ * reference implementation {@code MurmurHash3_x64_128}. The 64 bit hash
+ * is the first half of the 128 bit hash. The hash is not cryptographic,
+ * it is intended for sharding, partitioning and deduplication.</p>
+ *
+ * <p>Chunked input can be hashed with a {@link Murmur3Hasher}.</p>
+ *
+ * @see Murmur3Hasher
+ */
+public final class Murmur3 {
+
+  static final long C1 = 0x87c37b91114253d5L;
+
+  static final long C2 = 0x4cf5ad432745937fL;
+
+  private Murmur3() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * The encoding in which a {@link CharSequence} is hashed.
+   */
+  public enum Encoding {
+
+    /**
+     * Every char is hashed as two bytes in little endian order, compatible
+     * with {@link java.nio.charset.StandardCharsets#UTF_16LE}. This is the
+     * fastest encoding.
+     *
+     * <p>Unpaired surrogates are hashed as they are.</p>
+     */
+    UTF_16LE,
+
+    /**
+     * The sequence is hashed as UTF-8, compatible with
+     * {@link java.nio.charset.StandardCharsets#UTF_8}. The hash of a
+     * sequence is the same as the hash of its UTF-8 encoded bytes,
+     * independent of whether they are a {@link String} or a
+     * {@code byte[]}.
+     *
+     * <p>Unpaired surrogates are hashed as {@code '?'}, consistent with
+     * {@link String#getBytes(java.nio.charset.Charset)}.</p>
+     */
+    UTF_8
+
+  }
+
+  /**
+   * Computes the 64 bit hash of a sequence encoded as
+   * {@link Encoding#UTF_16LE UTF-16LE} with a seed of {@code 0}.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence to hash, not {@code null}
+   * @return the first half of the 128 bit hash
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public static long hash64(CharSequence charSequence) {
+    return hash64(charSequence, 0, charSequence.length(), Encoding.UTF_16LE, 0);
+  }
+
+  /**
+   * Computes the 64 bit hash of a range of a sequence.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence containing the range to hash, not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @param encoding the encoding in which to hash, not {@code null}
+   * @param seed the seed, treated as unsigned
+   * @return the first half of the 128 bit hash
+   * @throws NullPointerException if the sequence or the encoding is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public static long hash64(CharSequence charSequence, int beginIndex, int endIndex, Encoding encoding, int seed) {
+    return hash(charSequence, beginIndex, endIndex, encoding, seed, null);
+  }
+
+  /**
+   * Computes the 128 bit hash of a range of a sequence.
+   *
+   * @implNote no allocation is performed
+   * @param charSequence the sequence containing the range to hash, not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @param encoding the encoding in which to hash, not {@code null}
+   * @param seed the seed, treated as unsigned
+   * @param destination the array into which to write the hash, the first
+   *        half at index 0, the second half at index 1, not {@code null}
+   * @throws NullPointerException if the sequence, the encoding or the destination is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence,
+   *         or if the destination has a length of less than 2
+   */
+  public static void hash128(CharSequence charSequence, int beginIndex, int endIndex, Encoding encoding, int seed, long[] destination) {
+    if (destination.length < 2) {
+      throw new IndexOutOfBoundsException();
+    }
+    hash(charSequence, beginIndex, endIndex, encoding, seed, destination);
+  }
+
+  private static long hash(CharSequence charSequence, int beginIndex, int endIndex, Encoding encoding, int seed, long[] destination) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.HASH, charSequence, endIndex - beginIndex);
+    }
+    switch (encoding) {
+      case UTF_16LE:
+        return hashUtf16(charSequence, beginIndex, endIndex, seed, destination);
+      case UTF_8:
+        return hashUtf8(charSequence, beginIndex, endIndex, seed, destination);
+      default:
+        throw new IllegalArgumentException("unknown encoding: " + encoding);
+    }
+  }
+
+  private static long hashUtf16(CharSequence charSequence, int beginIndex, int endIndex, int seed, long[] destination) {
+    long h1 = seed & 0xFFFFFFFFL;
+    long h2 = h1;
+    int i = beginIndex;
+    // eight chars per block
+    int blocksEnd = endIndex - ((endIndex - beginIndex) & 7);
+    while (i < blocksEnd) {
+      long k1 = chars(charSequence, i);
+      long k2 = chars(charSequence, i + 4);
+      i += 8;
+
+      h1 ^= mixK1(k1);
+      h1 = Long.rotateLeft(h1, 27) + h2;
+      h1 = (h1 * 5L) + 0x52dce729L;
+
+      h2 ^= mixK2(k2);
+      h2 = Long.rotateLeft(h2, 31) + h1;
+      h2 = (h2 * 5L) + 0x38495ab5L;
+    }
+    long k1 = 0L;
+    long k2 = 0L;
+    for (int shift = 0; i < endIndex; i++, shift += 16) {
+      long c = charSequence.charAt(i);
+      if (shift < 64) {
+        k1 |= c << shift;
+      } else {
+        k2 |= c << (shift - 64);
+      }
+    }
+    // mixing zero is a no-op, no need to check the tail length
+    h1 ^= mixK1(k1);
+    h2 ^= mixK2(k2);
+    return finish(h1, h2, ((long) (endIndex - beginIndex)) * 2L, destination);
+  }
+
+  private static long chars(CharSequence charSequence, int index) {
+    return charSequence.charAt(index)
+            | ((long) charSequence.charAt(index + 1) << 16)
+            | ((long) charSequence.charAt(index + 2) << 32)
+            | ((long) charSequence.charAt(index + 3) << 48);
+  }
+
+  private static long hashUtf8(CharSequence charSequence, int beginIndex, int endIndex, int seed, long[] destination) {
+    long h1 = seed & 0xFFFFFFFFL;
+    long h2 = h1;
+    // the bytes of the current block
+    long k1 = 0L;
+    long k2 = 0L;
+    // the number of bits in the current block
+    int position = 0;
+    long byteLength = 0L;
+    int i = beginIndex;
+    while (i < endIndex) {
+      char c = charSequence.charAt(i);
+      long value;
+      int bits;
+      if (c < 0x80) {
+        value = c;
+        bits = 8;
+        i += 1;
+      } else {
+        int encoded = Utf8.encode(c, charSequence, i, endIndex);
+        int encodedLength = Utf8.byteLength(encoded);
+        value = encoded & 0xFFFFFFFFL;
+        bits = encodedLength << 3;
+        i += Utf8.charLength(encodedLength);
+      }
+      byteLength += bits >>> 3;
+
+      if (position < 64) {
+        k1 |= value << position;
+        if ((position + bits) > 64) {
+          k2 |= value >>> (64 - position);
+        }
+      } else {
+        k2 |= value << (position - 64);
+      }
+      position += bits;
+      if (position >= 128) {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27) + h2;
+        h1 = (h1 * 5L) + 0x52dce729L;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31) + h1;
+        h2 = (h2 * 5L) + 0x38495ab5L;
+
+        position -= 128;
+        k1 = position == 0 ? 0L : value >>> (bits - position);
+        k2 = 0L;
+      }
+    }
+    h1 ^= mixK1(k1);
+    h2 ^= mixK2(k2);
+    return finish(h1, h2, byteLength, destination);
+  }
+
+  static long mixK1(long k1) {
+    long k = k1 * C1;
+    k = Long.rotateLeft(k, 31);
+    return k * C2;
+  }
+
+  static long mixK2(long k2) {
+    long k = k2 * C2;
+    k = Long.rotateLeft(k, 33);
+    return k * C1;
+  }
+
+  /**
+   * Finalizes the hash.
+   *
+   * @param destination where to write the 128 bit hash, or {@code null}
+   * @return the first half of the hash
+   */
+  static long finish(long h1, long h2, long byteLength, long[] destination) {
+    long f1 = h1 ^ byteLength;
+    long f2 = h2 ^ byteLength;
+
+    f1 += f2;
+    f2 += f1;
+
+    f1 = fmix64(f1);
+    f2 = fmix64(f2);
+
+    f1 += f2;
+    f2 += f1;
+
+    if (destination != null) {
+      destination[0] = f1;
+      destination[1] = f2;
+    }
+    return f1;
+  }
+
+  private static long fmix64(long k) {
+    long f = k;
+    f ^= f >>> 33;
+    f *= 0xff51afd7ed558ccdL;
+    f ^= f >>> 33;
+    f *= 0xc4ceb9fe1a85ec53L;
+    f ^= f >>> 33;
+    return f;
+  }
+
+}
@@ -0,0 +1,301 @@
+package com.github.marschall.charsequences;
+
+/**
+ * Computes the <a href="https://github.com/aappleby/smhasher/wiki/MurmurHash3">MurmurHash3</a>
+ * x64 128 bit hash of input that arrives in chunks.
+ *
+ * <p>The hash of the concatenated input is the same as the one computed
+ * by {@link Murmur3} regardless of how the input is split into chunks.
+ * Surrogate pairs may be split between two calls to
+ * {@link #putUtf8(CharSequence, int, int)}.</p>
+ *
+ * <p>A hasher can be {@linkplain #reset() reset} and reused, no
+ * allocation is performed after construction.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @see Murmur3
+ */
+public final class Murmur3Hasher {
+
+  private final int seed;
+
+  private long h1;
+
+  private long h2;
+
+  // the bytes of the current block, the first byte in the lowest bits of k1
+  private long k1;
+
+  private long k2;
+
+  // the number of bits in the current block, always a multiple of 8
+  private int position;
+
+  private long byteLength;
+
+  // a high surrogate at the end of the last UTF-8 chunk, or 0
+  private char pendingHighSurrogate;
+
+  /**
+   * Constructs a new {@link Murmur3Hasher} with a seed of {@code 0}.
+   */
+  public Murmur3Hasher() {
+    this(0);
+  }
+
+  /**
+   * Constructs a new {@link Murmur3Hasher}.
+   *
+   * @param seed the seed, treated as unsigned
+   */
+  public Murmur3Hasher(int seed) {
+    this.seed = seed;
+    this.reset();
+  }
+
+  /**
+   * Discards all input so that the hasher can be reused.
+   *
+   * @return this hasher
+   */
+  public Murmur3Hasher reset() {
+    this.h1 = this.seed & 0xFFFFFFFFL;
+    this.h2 = this.h1;
+    this.k1 = 0L;
+    this.k2 = 0L;
+    this.position = 0;
+    this.byteLength = 0L;
+    this.pendingHighSurrogate = 0;
+    return this;
+  }
+
+  /**
+   * Adds a byte.
+   *
+   * @param b the byte to add
+   * @return this hasher
+   */
+  public Murmur3Hasher putByte(byte b) {
+    this.flushPendingHighSurrogate();
+    this.update(b & 0xFFL, 8);
+    return this;
+  }
+
+  /**
+   * Adds a range of bytes.
+   *
+   * @param b the array containing the bytes to add, not {@code null}
+   * @param off the offset of the first byte to add
+   * @param len the number of bytes to add
+   * @return this hasher
+   * @throws NullPointerException if the array is {@code null}
+   * @throws IndexOutOfBoundsException if off or len is negative or
+   *         if off + len is bigger than the length of the array
+   */
+  public Murmur3Hasher putBytes(byte[] b, int off, int len) {
+    if ((off < 0) || (len < 0) || (len > (b.length - off))) {
+      throw new IndexOutOfBoundsException();
+    }
+    this.flushPendingHighSurrogate();
+    int end = off + len;
+    for (int i = off; i < end; i++) {
+      this.update(b[i] & 0xFFL, 8);
+    }
+    return this;
+  }
+
+  /**
+   * Adds a range of a sequence encoded as
+   * {@link Murmur3.Encoding#UTF_16LE UTF-16LE}.
+   *
+   * @param charSequence the sequence containing the range to add, not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @return this hasher
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public Murmur3Hasher putUtf16(CharSequence charSequence, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    this.flushPendingHighSurrogate();
+    for (int i = beginIndex; i < endIndex; i++) {
+      this.update(charSequence.charAt(i), 16);
+    }
+    return this;
+  }
+
+  /**
+   * Adds a sequence encoded as {@link Murmur3.Encoding#UTF_16LE UTF-16LE}.
+   *
+   * @param charSequence the sequence to add, not {@code null}
+   * @return this hasher
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public Murmur3Hasher putUtf16(CharSequence charSequence) {
+    return this.putUtf16(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Adds a range of a sequence encoded as {@link Murmur3.Encoding#UTF_8 UTF-8}.
+   *
+   * <p>A high surrogate at the end of the range is only encoded once
+   * the next input is known.</p>
+   *
+   * @param charSequence the sequence containing the range to add, not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @return this hasher
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public Murmur3Hasher putUtf8(CharSequence charSequence, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    int i = beginIndex;
+    if ((this.pendingHighSurrogate != 0) && (i < endIndex)) {
+      char low = charSequence.charAt(i);
+      if (Character.isLowSurrogate(low)) {
+        this.update(Utf8.encodeSurrogatePair(this.pendingHighSurrogate, low) & 0xFFFFFFFFL, 32);
+        this.pendingHighSurrogate = 0;
+        i += 1;
+      } else {
+        this.flushPendingHighSurrogate();
+      }
+    }
+    while (i < endIndex) {
+      char c = charSequence.charAt(i);
+      if (c < 0x80) {
+        this.update(c, 8);
+        i += 1;
+      } else if (Character.isHighSurrogate(c) && ((i + 1) == endIndex)) {
+        this.pendingHighSurrogate = c;
+        i += 1;
+      } else {
+        int encoded = Utf8.encode(c, charSequence, i, endIndex);
+        int encodedLength = Utf8.byteLength(encoded);
+        this.update(encoded & 0xFFFFFFFFL, encodedLength << 3);
+        i += Utf8.charLength(encodedLength);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Adds a sequence encoded as {@link Murmur3.Encoding#UTF_8 UTF-8}.
+   *
+   * @param charSequence the sequence to add, not {@code null}
+   * @return this hasher
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see #putUtf8(CharSequence, int, int)
+   */
+  public Murmur3Hasher putUtf8(CharSequence charSequence) {
+    return this.putUtf8(charSequence, 0, charSequence.length());
+  }
+
+  private void flushPendingHighSurrogate() {
+    if (this.pendingHighSurrogate != 0) {
+      this.update(Utf8.REPLACEMENT, 8);
+      this.pendingHighSurrogate = 0;
+    }
+  }
+
+  /**
+   * Adds up to 64 bits to the current block.
+   */
+  private void update(long value, int bits) {
+    this.byteLength += bits >>> 3;
+    int current = this.position;
+    if (current < 64) {
+      this.k1 |= value << current;
+      if ((current + bits) > 64) {
+        this.k2 |= value >>> (64 - current);
+      }
+    } else {
+      this.k2 |= value << (current - 64);
+    }
+    current += bits;
+    if (current >= 128) {
+      this.h1 ^= Murmur3.mixK1(this.k1);
+      this.h1 = Long.rotateLeft(this.h1, 27) + this.h2;
+      this.h1 = (this.h1 * 5L) + 0x52dce729L;
+
+      this.h2 ^= Murmur3.mixK2(this.k2);
+      this.h2 = Long.rotateLeft(this.h2, 31) + this.h1;
+      this.h2 = (this.h2 * 5L) + 0x38495ab5L;
+
+      current -= 128;
+      this.k1 = current == 0 ? 0L : value >>> (bits - current);
+      this.k2 = 0L;
+    }
+    this.position = current;
+  }
+
+  /**
+   * Returns the 64 bit hash of the input so far. More input can be added
+   * afterwards.
+   *
+   * <p>A pending high surrogate is hashed as {@code '?'}.</p>
+   *
+   * @return the first half of the 128 bit hash
+   */
+  public long hash64() {
+    return this.hash(null);
+  }
+
+  /**
+   * Computes the 128 bit hash of the input so far. More input can be added
+   * afterwards.
+   *
+   * <p>A pending high surrogate is hashed as {@code '?'}.</p>
+   *
+   * @param destination the array into which to write the hash, the first
+   *        half at index 0, the second half at index 1, not {@code null}
+   * @throws NullPointerException if the destination is {@code null}
+   * @throws IndexOutOfBoundsException if the destination has a length of less than 2
+   */
+  public void hash128(long[] destination) {
+    if (destination.length < 2) {
+      throw new IndexOutOfBoundsException();
+    }
+    this.hash(destination);
+  }
+
+  private long hash(long[] destination) {
+    long h1 = this.h1;
+    long h2 = this.h2;
+    long k1 = this.k1;
+    long k2 = this.k2;
+    long length = this.byteLength;
+    if (this.pendingHighSurrogate != 0) {
+      // the block can not be full, it would have been processed
+      int current = this.position;
+      if (current < 64) {
+        k1 |= (long) Utf8.REPLACEMENT << current;
+      } else {
+        k2 |= (long) Utf8.REPLACEMENT << (current - 64);
+      }
+      length += 1L;
+      if ((current + 8) == 128) {
+        h1 ^= Murmur3.mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27) + h2;
+        h1 = (h1 * 5L) + 0x52dce729L;
+
+        h2 ^= Murmur3.mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31) + h1;
+        h2 = (h2 * 5L) + 0x38495ab5L;
+        k1 = 0L;
+        k2 = 0L;
+      }
+    }
+    h1 ^= Murmur3.mixK1(k1);
+    h2 ^= Murmur3.mixK2(k2);
+    return Murmur3.finish(h1, h2, length, destination);
+  }
+
+}
@@ -0,0 +1,77 @@
+package com.github.marschall.charsequences;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The instrumented operations together with their counters.
+ *
+ * @see Instrumentation
+ */
+enum Operation {
+
+  IS_NUMERIC("CharSequences.isNumeric"),
+  PARSE_INT("CharSequences.parseInt"),
+  PARSE_LONG("CharSequences.parseLong"),
+  PARSE_UNSIGNED("CharSequences.parseUnsigned"),
+  PARSE_HEX_LONG("CharSequences.parseHexLong"),
+  INDEX_OF_CHAR("CharSequences.indexOf(char)"),
+  INDEX_OF_STRING("CharSequences.indexOf(String)"),
+  LAST_INDEX_OF("CharSequences.lastIndexOf"),
+  TRIM("CharSequences.trim"),
+  STRIP("CharSequences.strip"),
+  SPLIT("CharSequences.split"),
+  LINES("CharSequences.lines"),
+  STARTS_WITH("CharSequences.startsWith"),
+  COMPARE("CharSequenceComparators.compare"),
+  BINARY_SEARCH("CharSequenceComparators.binarySearch"),
+  UTF8_LENGTH("CharSequences.utf8Length"),
+  ENCODE_UTF8("CharSequences.encodeUtf8"),
+  HASH("Murmur3.hash"),
+  EDIT_DISTANCE("EditDistance.editDistance"),
+  FUZZY_FIND("FuzzyMatcher.findEnd"),
+  ESCAPE("Escaper.escape"),
+  GLOB_MATCH("GlobPattern.matches"),
+  CHAR_CLASS("CharClass.indexOfMismatch"),
+  PARALLEL_SCAN("ParallelScanner.scan"),
+  UUID_FROM_CHAR_SEQUENCE("CharSequences.uuidFromCharSequence"),
+  PARSE_ISO_8601("Iso8601.parse"),
+  RECORD_LAYOUT_PARSE("RecordLayout.parse"),
+  LUHN_CHECK("LuhnCheck.isValid"),
+  IBAN_CHECK("IbanCheck.isValid");
+
+  final String methodName;
+
+  final LongAdder calls;
+
+  final LongAdder length;
+
+  final LongAdder failures;
+
+  final LongAdder fastPath;
+
+  final LongAdder fallback;
+
+  final ConcurrentMap<Class<?>, LongAdder> dispatch;
+
+  Operation(String methodName) {
+    this.methodName = methodName;
+    this.calls = new LongAdder();
+    this.length = new LongAdder();
+    this.failures = new LongAdder();
+    this.fastPath = new LongAdder();
+    this.fallback = new LongAdder();
+    this.dispatch = new ConcurrentHashMap<>();
+  }
+
+  void reset() {
+    this.calls.reset();
+    this.length.reset();
+    this.failures.reset();
+    this.fastPath.reset();
+    this.fallback.reset();
+    this.dispatch.clear();
+  }
+
+}
@@ -0,0 +1,440 @@
+package com.github.marschall.charsequences;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scans large {@link CharSequence}s in parallel using fork/join.
+ *
+ * <p>The range to scan is split in halves until it is at most the
+ * threshold long, the chunks are scanned in parallel and their results
+ * combined. Ranges that are not longer than the threshold are scanned
+ * sequentially in the calling thread without allocation.</p>
+ *
+ * <p>The sequence must not be modified during a scan and
+ * {@link CharSequence#charAt(int)} has to be safe to call from several
+ * threads. This is the case for {@link String}, for {@link StringBuilder}
+ * and {@link java.nio.CharBuffer} as long as they are not modified and for
+ * {@link Utf8CharSequence}.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see CharSequences#indexOf(CharSequence, char)
+ */
+public final class ParallelScanner {
+
+  /**
+   * The default threshold, scanning this many chars takes a few
+   * microseconds, long enough to make up for scheduling a task.
+   */
+  public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+  private final ForkJoinPool pool;
+
+  private final int threshold;
+
+  /**
+   * Constructs a new {@link ParallelScanner} using the
+   * {@link ForkJoinPool#commonPool() common pool} and the
+   * {@link #DEFAULT_THRESHOLD default threshold}.
+   */
+  public ParallelScanner() {
+    this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs a new {@link ParallelScanner}.
+   *
+   * @param pool the pool in which to run the scans, not {@code null}
+   * @param threshold the length up to which a range is scanned
+   *        sequentially, has to be positive
+   * @throws NullPointerException if the pool is {@code null}
+   * @throws IllegalArgumentException if the threshold is not positive
+   */
+  public ParallelScanner(ForkJoinPool pool, int threshold) {
+    Objects.requireNonNull(pool, "pool");
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("threshold has to be positive but was: " + threshold);
+    }
+    this.pool = pool;
+    this.threshold = threshold;
+  }
+
+  /**
+   * Returns the length up to which a range is scanned sequentially.
+   *
+   * @return the threshold
+   */
+  public int getThreshold() {
+    return this.threshold;
+  }
+
+  /**
+   * Counts the occurrences of a char in a sequence.
+   *
+   * @param charSequence the sequence to scan, not {@code null}
+   * @param c the char to count
+   * @return the number of occurrences of c
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public long countOf(CharSequence charSequence, char c) {
+    return this.countOf(charSequence, 0, charSequence.length(), c);
+  }
+
+  /**
+   * Counts the occurrences of a char in a range of a sequence.
+   *
+   * @param charSequence the sequence containing the range to scan, not {@code null}
+   * @param beginIndex the inclusive index at which to start scanning
+   * @param endIndex the exclusive index at which to stop scanning
+   * @param c the char to count
+   * @return the number of occurrences of c
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public long countOf(CharSequence charSequence, int beginIndex, int endIndex, char c) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARALLEL_SCAN, charSequence, endIndex - beginIndex);
+    }
+    if ((endIndex - beginIndex) <= this.threshold) {
+      return scanCount(charSequence, beginIndex, endIndex, c);
+    }
+    return this.pool.invoke(new CountTask(charSequence, beginIndex, endIndex, this.threshold, c));
+  }
+
+  /**
+   * Searches for the first occurrence of a char in a sequence.
+   *
+   * <p>Chunks after an occurrence that has already been found are
+   * skipped.</p>
+   *
+   * @param charSequence the sequence to scan, not {@code null}
+   * @param c the char to search for
+   * @return the index of the first occurrence of c, or {@code -1} if
+   *         there is no such occurrence
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see CharSequences#indexOf(CharSequence, char)
+   */
+  public int indexOf(CharSequence charSequence, char c) {
+    return this.indexOf(charSequence, 0, charSequence.length(), c);
+  }
+
+  /**
+   * Searches for the first occurrence of a char in a range of a sequence.
+   *
+   * <p>Chunks after an occurrence that has already been found are
+   * skipped.</p>
+   *
+   * @param charSequence the sequence containing the range to scan, not {@code null}
+   * @param beginIndex the inclusive index at which to start scanning
+   * @param endIndex the exclusive index at which to stop scanning
+   * @param c the char to search for
+   * @return the index of the first occurrence of c, or {@code -1} if
+   *         there is no such occurrence in the range
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public int indexOf(CharSequence charSequence, int beginIndex, int endIndex, char c) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARALLEL_SCAN, charSequence, endIndex - beginIndex);
+    }
+    if ((endIndex - beginIndex) <= this.threshold) {
+      return scanIndexOf(charSequence, beginIndex, endIndex, c);
+    }
+    AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+    this.pool.invoke(new IndexOfTask(charSequence, beginIndex, endIndex, this.threshold, c, found));
+    int index = found.get();
+    return index == Integer.MAX_VALUE ? -1 : index;
+  }
+
+  /**
+   * Counts the occurrences of every char in a sequence.
+   *
+   * <p>The count of a char is added to the element of the histogram at
+   * the index of the char. Chars that are not smaller than the length
+   * of the histogram are not counted, a histogram of length 256 counts
+   * only ISO-8859-1 chars.</p>
+   *
+   * <p>Every chunk counts into its own histogram, chunks are therefore at
+   * least four times as long as the histogram.</p>
+   *
+   * @param charSequence the sequence to scan, not {@code null}
+   * @param histogram the counts to add to, at most 65536 elements
+   *        long, not {@code null}
+   * @return the number of chars that were not counted because they
+   *         are too large for the histogram
+   * @throws NullPointerException if the sequence or the histogram is {@code null}
+   * @throws IllegalArgumentException if the histogram is longer than 65536
+   */
+  public long charHistogram(CharSequence charSequence, long[] histogram) {
+    if (histogram.length > (Character.MAX_VALUE + 1)) {
+      throw new IllegalArgumentException("histogram longer than 65536");
+    }
+    int length = charSequence.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARALLEL_SCAN, charSequence, length);
+    }
+    // every chunk allocates its own histogram, make sure it is small compared to the chunk
+    int chunkThreshold = Math.max(this.threshold, histogram.length * 4);
+    if (length <= chunkThreshold) {
+      return scanHistogram(charSequence, 0, length, histogram);
+    }
+    return this.pool.invoke(new HistogramTask(charSequence, 0, length, chunkThreshold, histogram));
+  }
+
+  /**
+   * Counts the lines of a sequence.
+   *
+   * <p>Lines are terminated by {@code \n}, {@code \r\n} or {@code \r}. A
+   * line terminator at the end of the sequence does not start a new line,
+   * an empty sequence has no lines. A {@code \r\n} split between two
+   * chunks is counted once.</p>
+   *
+   * @param charSequence the sequence to scan, not {@code null}
+   * @return the number of lines, the same as the number of lines of
+   *         {@link CharSequences#lines(CharSequence)}
+   * @throws NullPointerException if the sequence is {@code null}
+   * @see LineCursor
+   */
+  public long countLines(CharSequence charSequence) {
+    int length = charSequence.length();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.PARALLEL_SCAN, charSequence, length);
+    }
+    if (length == 0) {
+      return 0L;
+    }
+    long terminators;
+    if (length <= this.threshold) {
+      terminators = countLineTerminators(charSequence, 0, length);
+    } else {
+      terminators = this.pool.invoke(new LineTask(charSequence, 0, length, this.threshold));
+    }
+    char last = charSequence.charAt(length - 1);
+    boolean lastLineTerminated = (last == '\n') || (last == '\r');
+    return lastLineTerminated ? terminators : terminators + 1L;
+  }
+
+  static long scanCount(CharSequence charSequence, int beginIndex, int endIndex, char c) {
+    long count = 0L;
+    for (int i = beginIndex; i < endIndex; i++) {
+      if (charSequence.charAt(i) == c) {
+        count += 1L;
+      }
+    }
+    return count;
+  }
+
+  static int scanIndexOf(CharSequence charSequence, int beginIndex, int endIndex, char c) {
+    for (int i = beginIndex; i < endIndex; i++) {
+      if (charSequence.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static long scanHistogram(CharSequence charSequence, int beginIndex, int endIndex, long[] histogram) {
+    long notCounted = 0L;
+    int length = histogram.length;
+    for (int i = beginIndex; i < endIndex; i++) {
+      char c = charSequence.charAt(i);
+      if (c < length) {
+        histogram[c] += 1L;
+      } else {
+        notCounted += 1L;
+      }
+    }
+    return notCounted;
+  }
+
+  /**
+   * Counts the {@code \n} and the {@code \r} not followed by {@code \n}.
+   * The char after endIndex is looked at so that a {@code \r\n} split
+   * between two chunks is counted by the chunk containing the
+   * {@code \n}.
+   */
+  static long countLineTerminators(CharSequence charSequence, int beginIndex, int endIndex) {
+    long count = 0L;
+    int length = charSequence.length();
+    for (int i = beginIndex; i < endIndex; i++) {
+      char c = charSequence.charAt(i);
+      if (c == '\n') {
+        count += 1L;
+      } else if ((c == '\r') && (((i + 1) == length) || (charSequence.charAt(i + 1) != '\n'))) {
+        count += 1L;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Splits a range in halves until it is at most the threshold long and
+   * adds up the results of the chunks.
+   */
+  abstract static class ScanTask extends RecursiveTask<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    final CharSequence charSequence;
+
+    final int beginIndex;
+
+    final int endIndex;
+
+    final int threshold;
+
+    ScanTask(CharSequence charSequence, int beginIndex, int endIndex, int threshold) {
+      this.charSequence = charSequence;
+      this.beginIndex = beginIndex;
+      this.endIndex = endIndex;
+      this.threshold = threshold;
+    }
+
+    abstract long scan(int from, int to);
+
+    abstract ScanTask subTask(int from, int to);
+
+    @Override
+    protected Long compute() {
+      return this.computeRange(this.beginIndex, this.endIndex);
+    }
+
+    private long computeRange(int from, int to) {
+      if ((to - from) <= this.threshold) {
+        return this.scan(from, to);
+      }
+      int middle = (from + to) >>> 1;
+      ScanTask upper = this.subTask(middle, to);
+      upper.fork();
+      long lower = this.computeRange(from, middle);
+      return lower + upper.join();
+    }
+
+  }
+
+  static final class CountTask extends ScanTask {
+
+    private static final long serialVersionUID = 1L;
+
+    private final char c;
+
+    CountTask(CharSequence charSequence, int beginIndex, int endIndex, int threshold, char c) {
+      super(charSequence, beginIndex, endIndex, threshold);
+      this.c = c;
+    }
+
+    @Override
+    long scan(int from, int to) {
+      return scanCount(this.charSequence, from, to, this.c);
+    }
+
+    @Override
+    ScanTask subTask(int from, int to) {
+      return new CountTask(this.charSequence, from, to, this.threshold, this.c);
+    }
+
+  }
+
+  static final class IndexOfTask extends ScanTask {
+
+    private static final long serialVersionUID = 1L;
+
+    private final char c;
+
+    /**
+     * The smallest index found so far, {@link Integer#MAX_VALUE} if
+     * there is none.
+     */
+    private final AtomicInteger found;
+
+    IndexOfTask(CharSequence charSequence, int beginIndex, int endIndex, int threshold, char c, AtomicInteger found) {
+      super(charSequence, beginIndex, endIndex, threshold);
+      this.c = c;
+      this.found = found;
+    }
+
+    @Override
+    long scan(int from, int to) {
+      if (from > this.found.get()) {
+        // an earlier occurrence has already been found
+        return 0L;
+      }
+      int index = scanIndexOf(this.charSequence, from, to, this.c);
+      if (index != -1) {
+        int current = this.found.get();
+        while ((index < current) && !this.found.compareAndSet(current, index)) {
+          current = this.found.get();
+        }
+      }
+      return 0L;
+    }
+
+    @Override
+    ScanTask subTask(int from, int to) {
+      return new IndexOfTask(this.charSequence, from, to, this.threshold, this.c, this.found);
+    }
+
+  }
+
+  static final class HistogramTask extends ScanTask {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long[] histogram;
+
+    HistogramTask(CharSequence charSequence, int beginIndex, int endIndex, int threshold, long[] histogram) {
+      super(charSequence, beginIndex, endIndex, threshold);
+      this.histogram = histogram;
+    }
+
+    @Override
+    long scan(int from, int to) {
+      long[] local = new long[this.histogram.length];
+      long notCounted = scanHistogram(this.charSequence, from, to, local);
+      synchronized (this.histogram) {
+        for (int i = 0; i < local.length; i++) {
+          this.histogram[i] += local[i];
+        }
+      }
+      return notCounted;
+    }
+
+    @Override
+    ScanTask subTask(int from, int to) {
+      return new HistogramTask(this.charSequence, from, to, this.threshold, this.histogram);
+    }
+
+  }
+
+  static final class LineTask extends ScanTask {
+
+    private static final long serialVersionUID = 1L;
+
+    LineTask(CharSequence charSequence, int beginIndex, int endIndex, int threshold) {
+      super(charSequence, beginIndex, endIndex, threshold);
+    }
+
+    @Override
+    long scan(int from, int to) {
+      return countLineTerminators(this.charSequence, from, to);
+    }
+
+    @Override
+    ScanTask subTask(int from, int to) {
+      return new LineTask(this.charSequence, from, to, this.threshold);
+    }
+
+  }
+
+}
@@ -0,0 +1,884 @@
+package com.github.marschall.charsequences;
+
+import java.math.BigDecimal;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Parses fixed-width records into typed fields without allocation.
+ *
+ * <p>The fields are declared using {@link #builder()} with their
+ * character offsets within a record. The declarations are compiled into
+ * flat descriptor arrays, parsing a record is a single loop over these
+ * arrays that stores the values into a reusable {@link Row}.</p>
+ *
+ * <p>Numeric fields may be padded with spaces on either side. Text
+ * fields are trimmed, only the offsets of the trimmed text are stored.</p>
+ *
+ * <pre><code>
+ * RecordLayout layout = RecordLayout.builder()
+ *     .intField("id", 0, 8)
+ *     .decimalField("amount", 8, 20, 2)
+ *     .textField("name", 20, 50)
+ *     .recordLength(51) // including the line separator
+ *     .build();
+ * int amount = layout.fieldIndex("amount");
+ * layout.parseAll(mappedByteBuffer, layout.newRow(), row -&gt; total += row.getUnscaledValue(amount));
+ * </code></pre>
+ *
+ * <p>This class is thread-safe, {@link Row} is not.</p>
+ */
+public final class RecordLayout {
+
+  private static final byte INT = 0;
+
+  private static final byte LONG = 1;
+
+  private static final byte DECIMAL = 2;
+
+  private static final byte UUID_TYPE = 3;
+
+  private static final byte TEXT = 4;
+
+  private static final byte LUHN = 5;
+
+  private static final byte IBAN = 6;
+
+  private static final int UUID_LENGTH = 36;
+
+  private static final int MAXIMUM_SCALE = 18;
+
+  private final String[] names;
+
+  private final byte[] types;
+
+  private final int[] beginIndices;
+
+  private final int[] endIndices;
+
+  // the scale for decimal fields, unused otherwise
+  private final int[] scales;
+
+  // the index into Row#values for numeric fields, UUIDs use two slots
+  private final int[] slots;
+
+  private final int slotCount;
+
+  private final int dataLength;
+
+  private final int recordLength;
+
+  private RecordLayout(String[] names, byte[] types, int[] beginIndices, int[] endIndices, int[] scales,
+          int[] slots, int slotCount, int dataLength, int recordLength) {
+    this.names = names;
+    this.types = types;
+    this.beginIndices = beginIndices;
+    this.endIndices = endIndices;
+    this.scales = scales;
+    this.slots = slots;
+    this.slotCount = slotCount;
+    this.dataLength = dataLength;
+    this.recordLength = recordLength;
+  }
+
+  /**
+   * Creates a new builder.
+   *
+   * @return a new builder, not {@code null}
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Creates a new row to parse records into. A row can be reused for any
+   * number of records but not be shared between threads.
+   *
+   * @return a new row, not {@code null}
+   */
+  public Row newRow() {
+    return new Row(this);
+  }
+
+  /**
+   * Looks up the index of a field. The index should be looked up once
+   * and then used for accessing the values of a {@link Row}.
+   *
+   * @param name the name of the field, not {@code null}
+   * @return the index of the field in the order in which it was added
+   * @throws IllegalArgumentException if there is no field with the given name
+   */
+  public int fieldIndex(String name) {
+    for (int i = 0; i < this.names.length; i++) {
+      if (this.names[i].equals(name)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("unknown field: " + name);
+  }
+
+  /**
+   * Returns the number of fields.
+   *
+   * @return the number of fields
+   */
+  public int fieldCount() {
+    return this.names.length;
+  }
+
+  /**
+   * Returns the distance between the start of two consecutive records.
+   *
+   * @return the record length, includes any separator
+   */
+  public int recordLength() {
+    return this.recordLength;
+  }
+
+  /**
+   * Parses a record into a row.
+   *
+   * @implNote no allocation is performed unless the record is invalid
+   * @param charSequence the sequence containing the record, not {@code null}
+   * @param offset the index of the first character of the record
+   * @param row the row into which to parse, not {@code null}, has to be
+   *        created by this layout
+   * @throws NullPointerException if the sequence or row is {@code null}
+   * @throws IndexOutOfBoundsException if the offset is negative or the
+   *         sequence is too short to contain all fields
+   * @throws IllegalArgumentException if a field is invalid or the row was
+   *         created by a different layout
+   */
+  public void parse(CharSequence charSequence, int offset, Row row) {
+    if ((offset < 0) || (offset > (charSequence.length() - this.dataLength))) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (row.layout != this) {
+      throw new IllegalArgumentException("row created by a different layout");
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.call(Operation.RECORD_LAYOUT_PARSE, charSequence, this.dataLength);
+    }
+    row.record = charSequence;
+    long[] values = row.values;
+    int[] starts = row.starts;
+    int[] ends = row.ends;
+    for (int i = 0; i < this.types.length; i++) {
+      int begin = offset + this.beginIndices[i];
+      int end = offset + this.endIndices[i];
+      try {
+        switch (this.types[i]) {
+          case INT: {
+            int start = skipSpaces(charSequence, begin, end);
+            values[this.slots[i]] = CharSequences.parseInt(charSequence, start, skipTrailingSpaces(charSequence, start, end));
+            break;
+          }
+          case LONG: {
+            int start = skipSpaces(charSequence, begin, end);
+            values[this.slots[i]] = CharSequences.parseLong(charSequence, start, skipTrailingSpaces(charSequence, start, end));
+            break;
+          }
+          case DECIMAL: {
+            int start = skipSpaces(charSequence, begin, end);
+            values[this.slots[i]] = parseDecimal(charSequence, start, skipTrailingSpaces(charSequence, start, end), this.scales[i]);
+            break;
+          }
+          case UUID_TYPE:
+            parseUuid(charSequence, begin, values, this.slots[i]);
+            break;
+          case TEXT:
+          case LUHN:
+          case IBAN: {
+            int start = skipWhitespace(charSequence, begin, end);
+            int stop = skipTrailingWhitespace(charSequence, start, end);
+            starts[i] = start;
+            ends[i] = stop;
+            if (this.types[i] == LUHN) {
+              if ((start == stop) || !LuhnCheck.isValid(row.window(start, stop))) {
+                throw new IllegalArgumentException("failed Luhn check");
+              }
+            } else if (this.types[i] == IBAN) {
+              if (((stop - start) < 5) || !IbanCheck.isValid(row.window(start, stop))) {
+                throw new IllegalArgumentException("failed IBAN check");
+              }
+            }
+            break;
+          }
+          default:
+            throw new IllegalStateException("unknown type: " + this.types[i]);
+        }
+      } catch (IllegalArgumentException e) {
+        throw invalidField(i, offset, e);
+      }
+    }
+  }
+
+  /**
+   * Parses consecutive records and passes each of them to a consumer.
+   *
+   * <p>Records start every {@link #recordLength()} characters, the last
+   * record only has to be long enough to contain all fields. Any
+   * remaining characters are ignored.</p>
+   *
+   * @implNote no allocation is performed unless a record is invalid
+   * @param charSequence the sequence containing the records, not {@code null}
+   * @param row the row into which to parse, not {@code null}, is passed
+   *        to the consumer after each record
+   * @param consumer the consumer to pass the row to, not {@code null},
+   *        must not keep a reference to the row
+   * @return the number of records parsed
+   * @throws NullPointerException if any argument is {@code null}
+   * @throws IllegalArgumentException if a field is invalid or the row was
+   *         created by a different layout
+   */
+  public int parseAll(CharSequence charSequence, Row row, Consumer<? super Row> consumer) {
+    int length = charSequence.length();
+    int count = 0;
+    for (int offset = 0; offset <= (length - this.dataLength); offset += this.recordLength) {
+      this.parse(charSequence, offset, row);
+      consumer.accept(row);
+      count += 1;
+      if (offset > (length - this.recordLength)) {
+        // avoid overflow of offset
+        break;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Parses consecutive records from a buffer of single byte encoded
+   * characters and passes each of them to a consumer.
+   *
+   * <p>The bytes from the position to the limit of the buffer are
+   * interpreted as ISO-8859-1, one byte per character. This also covers
+   * ASCII, offsets are therefore byte offsets. The bytes are not copied
+   * which makes this method suitable for a
+   * {@link java.nio.MappedByteBuffer}.</p>
+   *
+   * <p>After the call the position of the buffer is after the last
+   * record parsed, or the limit if the last record is not followed by a
+   * separator.</p>
+   *
+   * <p>The {@link Row#getRecord() record} of the row is a view of the
+   * buffer and only valid during the call.</p>
+   *
+   * @implNote no allocation is performed per record unless a record is invalid
+   * @param buffer the buffer containing the records, not {@code null}
+   * @param row the row into which to parse, not {@code null}, is passed
+   *        to the consumer after each record
+   * @param consumer the consumer to pass the row to, not {@code null},
+   *        must not keep a reference to the row
+   * @return the number of records parsed
+   * @throws NullPointerException if any argument is {@code null}
+   * @throws IllegalArgumentException if a field is invalid or the row was
+   *         created by a different layout
+   * @see #parseAll(CharSequence, Row, Consumer)
+   */
+  public int parseAll(ByteBuffer buffer, Row row, Consumer<? super Row> consumer) {
+    int position = buffer.position();
+    int remaining = buffer.limit() - position;
+    int count = this.parseAll(new Latin1CharSequence(buffer, position, remaining), row, consumer);
+    long consumed = Math.min((long) count * this.recordLength, remaining);
+    // cast for Java 8 compatibility, ByteBuffer#position(int) is covariant in Java 9+
+    ((Buffer) buffer).position(position + (int) consumed);
+    return count;
+  }
+
+  private static int skipSpaces(CharSequence charSequence, int begin, int end) {
+    int start = begin;
+    while ((start < end) && (charSequence.charAt(start) == ' ')) {
+      start += 1;
+    }
+    return start;
+  }
+
+  private static int skipTrailingSpaces(CharSequence charSequence, int start, int end) {
+    int stop = end;
+    while ((stop > start) && (charSequence.charAt(stop - 1) == ' ')) {
+      stop -= 1;
+    }
+    return stop;
+  }
+
+  private static int skipWhitespace(CharSequence charSequence, int begin, int end) {
+    int start = begin;
+    // same as String#trim()
+    while ((start < end) && (charSequence.charAt(start) <= ' ')) {
+      start += 1;
+    }
+    return start;
+  }
+
+  private static int skipTrailingWhitespace(CharSequence charSequence, int start, int end) {
+    int stop = end;
+    while ((stop > start) && (charSequence.charAt(stop - 1) <= ' ')) {
+      stop -= 1;
+    }
+    return stop;
+  }
+
+  static long parseDecimal(CharSequence charSequence, int beginIndex, int endIndex, int scale) {
+    if (beginIndex == endIndex) {
+      throw CharSequences.invalidDecimalNumber(charSequence, beginIndex, endIndex);
+    }
+    char first = charSequence.charAt(beginIndex);
+    boolean negative = first == '-';
+    int start = ((first == '-') || (first == '+')) ? beginIndex + 1 : beginIndex;
+    // -1 until the decimal point has been seen
+    int fractionDigits = -1;
+    boolean hasDigits = false;
+    long product = 0L;
+    try {
+      // build negative numbers, see CharSequences#parseLong
+      for (int i = start; i < endIndex; i++) {
+        char c = charSequence.charAt(i);
+        if ((c == '.') && (fractionDigits < 0)) {
+          fractionDigits = 0;
+          continue;
+        }
+        if ((c < '0') || (c > '9')) {
+          throw CharSequences.invalidDecimalNumber(charSequence, beginIndex, endIndex);
+        }
+        if (fractionDigits >= 0) {
+          fractionDigits += 1;
+          if (fractionDigits > scale) {
+            throw CharSequences.invalidDecimalNumber(charSequence, beginIndex, endIndex);
+          }
+        }
+        product = Math.subtractExact(Math.multiplyExact(product, 10L), c - '0');
+        hasDigits = true;
+      }
+      if (!hasDigits) {
+        throw CharSequences.invalidDecimalNumber(charSequence, beginIndex, endIndex);
+      }
+      for (int i = Math.max(fractionDigits, 0); i < scale; i++) {
+        product = Math.multiplyExact(product, 10L);
+      }
+      return negative ? product : Math.negateExact(product);
+    } catch (ArithmeticException e) {
+      throw CharSequences.invalidDecimalNumber(charSequence, beginIndex, endIndex);
+    }
+  }
+
+  private static void parseUuid(CharSequence charSequence, int begin, long[] values, int slot) {
+    if (!CharSequences.hasUuidDashes(charSequence, begin)) {
+      throw new IllegalArgumentException("invalid UUID");
+    }
+    values[slot] = CharSequences.uuidMostSignificantBits(charSequence, begin);
+    values[slot + 1] = CharSequences.uuidLeastSignificantBits(charSequence, begin);
+  }
+
+  private IllegalArgumentException invalidField(int field, int offset, IllegalArgumentException cause) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.failure(Operation.RECORD_LAYOUT_PARSE);
+    }
+    return new IllegalArgumentException("invalid field: " + this.names[field] + " in record at index: " + offset, cause);
+  }
+
+  int slot(int field, byte type) {
+    if (this.types[field] != type) {
+      throw new IllegalArgumentException("field " + this.names[field] + " has a different type");
+    }
+    return this.slots[field];
+  }
+
+  void checkText(int field) {
+    byte type = this.types[field];
+    if ((type != TEXT) && (type != LUHN) && (type != IBAN)) {
+      throw new IllegalArgumentException("field " + this.names[field] + " is not a text field");
+    }
+  }
+
+  /**
+   * Holds the values of a parsed record.
+   *
+   * <p>Numeric values are stored as primitives, text fields as offsets
+   * into the {@link #getRecord() record}. The values are only valid until
+   * the next record is parsed into the row.</p>
+   *
+   * <p>This class is not thread-safe.</p>
+   */
+  public static final class Row {
+
+    final RecordLayout layout;
+
+    final long[] values;
+
+    final int[] starts;
+
+    final int[] ends;
+
+    private final Window window;
+
+    CharSequence record;
+
+    Row(RecordLayout layout) {
+      this.layout = layout;
+      this.values = new long[layout.slotCount];
+      this.starts = new int[layout.names.length];
+      this.ends = new int[layout.names.length];
+      this.window = new Window();
+      this.record = CharSequences.EMPTY;
+    }
+
+    CharSequence window(int beginIndex, int endIndex) {
+      this.window.set(this.record, beginIndex, endIndex);
+      return this.window;
+    }
+
+    /**
+     * Returns the sequence the last record was parsed from.
+     *
+     * @return the sequence containing the record, not {@code null}
+     * @see #getTextStart(int)
+     * @see #getTextEnd(int)
+     */
+    public CharSequence getRecord() {
+      return this.record;
+    }
+
+    /**
+     * Returns the value of an {@code int} field.
+     *
+     * @param field the index of the field
+     * @return the value of the field
+     * @throws IllegalArgumentException if the field is not an {@code int} field
+     * @see RecordLayout#fieldIndex(String)
+     */
+    public int getInt(int field) {
+      return (int) this.values[this.layout.slot(field, INT)];
+    }
+
+    /**
+     * Returns the value of a {@code long} field.
+     *
+     * @param field the index of the field
+     * @return the value of the field
+     * @throws IllegalArgumentException if the field is not a {@code long} field
+     * @see RecordLayout#fieldIndex(String)
+     */
+    public long getLong(int field) {
+      return this.values[this.layout.slot(field, LONG)];
+    }
+
+    /**
+     * Returns the unscaled value of a decimal field.
+     *
+     * @param field the index of the field
+     * @return the value of the field multiplied by ten to the power of the scale
+     * @throws IllegalArgumentException if the field is not a decimal field
+     * @see BigDecimal#unscaledValue()
+     */
+    public long getUnscaledValue(int field) {
+      return this.values[this.layout.slot(field, DECIMAL)];
+    }
+
+    /**
+     * Returns the value of a decimal field.
+     *
+     * @param field the index of the field
+     * @return the value of the field, not {@code null}
+     * @throws IllegalArgumentException if the field is not a decimal field
+     * @see #getUnscaledValue(int)
+     */
+    public BigDecimal getDecimal(int field) {
+      return BigDecimal.valueOf(this.getUnscaledValue(field), this.layout.scales[field]);
+    }
+
+    /**
+     * Returns the most significant bits of a UUID field.
+     *
+     * @param field the index of the field
+     * @return the most significant bits of the UUID
+     * @throws IllegalArgumentException if the field is not a UUID field
+     * @see UUID#getMostSignificantBits()
+     */
+    public long getUuidMostSignificantBits(int field) {
+      return this.values[this.layout.slot(field, UUID_TYPE)];
+    }
+
+    /**
+     * Returns the least significant bits of a UUID field.
+     *
+     * @param field the index of the field
+     * @return the least significant bits of the UUID
+     * @throws IllegalArgumentException if the field is not a UUID field
+     * @see UUID#getLeastSignificantBits()
+     */
+    public long getUuidLeastSignificantBits(int field) {
+      return this.values[this.layout.slot(field, UUID_TYPE) + 1];
+    }
+
+    /**
+     * Returns the value of a UUID field.
+     *
+     * @param field the index of the field
+     * @return the value of the field, not {@code null}
+     * @throws IllegalArgumentException if the field is not a UUID field
+     */
+    public UUID getUuid(int field) {
+      int slot = this.layout.slot(field, UUID_TYPE);
+      return new UUID(this.values[slot], this.values[slot + 1]);
+    }
+
+    /**
+     * Returns the index of the first character of a trimmed text field
+     * in the {@link #getRecord() record}.
+     *
+     * @param field the index of the field
+     * @return the inclusive start index
+     * @throws IllegalArgumentException if the field is not a text field
+     */
+    public int getTextStart(int field) {
+      this.layout.checkText(field);
+      return this.starts[field];
+    }
+
+    /**
+     * Returns the index after the last character of a trimmed text field
+     * in the {@link #getRecord() record}.
+     *
+     * @param field the index of the field
+     * @return the exclusive end index
+     * @throws IllegalArgumentException if the field is not a text field
+     */
+    public int getTextEnd(int field) {
+      this.layout.checkText(field);
+      return this.ends[field];
+    }
+
+    /**
+     * Returns the value of a trimmed text field.
+     *
+     * <p>This allocates a new sequence, use {@link #getTextStart(int)}
+     * and {@link #getTextEnd(int)} to avoid allocation.</p>
+     *
+     * @param field the index of the field
+     * @return the value of the field, not {@code null}
+     * @throws IllegalArgumentException if the field is not a text field
+     */
+    public CharSequence getText(int field) {
+      this.layout.checkText(field);
+      return this.record.subSequence(this.starts[field], this.ends[field]);
+    }
+
+  }
+
+  /**
+   * A reusable view of a range of the current record, used for the
+   * validation of Luhn and IBAN fields.
+   */
+  static final class Window implements CharSequence {
+
+    private CharSequence charSequence;
+
+    private int offset;
+
+    private int length;
+
+    void set(CharSequence charSequence, int beginIndex, int endIndex) {
+      this.charSequence = charSequence;
+      this.offset = beginIndex;
+      this.length = endIndex - beginIndex;
+    }
+
+    @Override
+    public int length() {
+      return this.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if ((index < 0) || (index >= this.length)) {
+        throw new IndexOutOfBoundsException();
+      }
+      return this.charSequence.charAt(this.offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if ((end < start) || (start < 0) || (end > this.length)) {
+        throw new IndexOutOfBoundsException();
+      }
+      return this.charSequence.subSequence(this.offset + start, this.offset + end);
+    }
+
+    @Override
+    public String toString() {
+      return this.charSequence.subSequence(this.offset, this.offset + this.length).toString();
+    }
+
+  }
+
+  /**
+   * A {@link CharSequence} view of ISO-8859-1 encoded bytes in a
+   * {@link ByteBuffer}, independent of the position of the buffer.
+   */
+  static final class Latin1CharSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+
+    private final int offset;
+
+    private final int length;
+
+    Latin1CharSequence(ByteBuffer buffer, int offset, int length) {
+      this.buffer = buffer;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return this.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if ((index < 0) || (index >= this.length)) {
+        throw new IndexOutOfBoundsException();
+      }
+      return (char) (this.buffer.get(this.offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if ((end < start) || (start < 0) || (end > this.length)) {
+        throw new IndexOutOfBoundsException();
+      }
+      return this.toString(start, end);
+    }
+
+    private String toString(int start, int end) {
+      char[] chars = new char[end - start];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = (char) (this.buffer.get(this.offset + start + i) & 0xFF);
+      }
+      return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+      return this.toString(0, this.length);
+    }
+
+  }
+
+  /**
+   * Builds a {@link RecordLayout}.
+   *
+   * <p>This class is not thread-safe.</p>
+   */
+  public static final class Builder {
+
+    private final List<Field> fields;
+
+    private final Map<String, Field> fieldsByName;
+
+    private int recordLength;
+
+    Builder() {
+      this.fields = new ArrayList<>();
+      this.fieldsByName = new HashMap<>();
+      this.recordLength = -1;
+    }
+
+    /**
+     * Adds an {@code int} field, see {@link CharSequences#parseInt(CharSequence, int, int)}.
+     *
+     * @param name the name of the field, not {@code null}
+     * @param beginIndex the inclusive index within the record at which the field starts
+     * @param endIndex the exclusive index within the record at which the field ends
+     * @return this builder
+     * @throws IllegalArgumentException if the name is already used or the indices are invalid
+     */
+    public Builder intField(String name, int beginIndex, int endIndex) {
+      return this.add(name, INT, beginIndex, endIndex, 0);
+    }
+
+    /**
+     * Adds a {@code long} field, see {@link CharSequences#parseLong(CharSequence, int, int)}.
+     *
+     * @param name the name of the field, not {@code null}
+     * @param beginIndex the inclusive index within the record at which the field starts
+     * @param endIndex the exclusive index within the record at which the field ends
+     * @return this builder
+     * @throws IllegalArgumentException if the name is already used or the indices are invalid
+     */
+    public Builder longField(String name, int beginIndex, int endIndex) {
+      return this.add(name, LONG, beginIndex, endIndex, 0);
+    }
+
+    /**
+     * Adds a decimal field with a fixed scale. The value is stored as a
+     * {@code long} multiplied by ten to the power of the scale. The
+     * decimal point is optional, the number of fraction digits must not
+     * exceed the scale.
+     *
+     * @param name the name of the field, not {@code null}
+     * @param beginIndex the inclusive index within the record at which the field starts
+     * @param endIndex the exclusive index within the record at which the field ends
+     * @param scale the number of fraction digits, from 0 to 18
+     * @return this builder
+     * @throws IllegalArgumentException if the name is already used, the
+     *         indices are invalid or the scale is out of range
+     */
+    public Builder decimalField(String name, int beginIndex, int endIndex, int scale) {
+      if ((scale < 0) || (scale > MAXIMUM_SCALE)) {
+        throw new IllegalArgumentException("scale must be from 0 to " + MAXIMUM_SCALE);
+      }
+      return this.add(name, DECIMAL, beginIndex, endIndex, scale);
+    }
+
+    /**
+     * Adds a UUID field, see {@link CharSequences#uuidFromCharSequence(CharSequence)}.
+     *
+     * @param name the name of the field, not {@code null}
+     * @param beginIndex the inclusive index within the record at which
+     *        the field starts, the field is 36 characters long
+     * @return this builder
+     * @throws IllegalArgumentException if the name is already used or the index is invalid
+     */
+    public Builder uuidField(String name, int beginIndex) {
+      return this.add(name, UUID_TYPE, beginIndex, beginIndex + UUID_LENGTH, 0);
+    }
+
+    /**
+     * Adds a text field, leading and trailing whitespace is removed like
+     * {@link String#trim()}, every char up to and including {@code ' '}
+     * is whitespace, including tabs and control chars.
+     *
+     * @param name the name of the field, not {@code null}
+     * @param beginIndex the inclusive index within the record at which the field starts
+     * @param endIndex the exclusive index within the record at which the field ends
+     * @return this builder
+     * @throws IllegalArgumentException if the name is already used or the indices are invalid
+     */
+    public Builder textField(String name, int beginIndex, int endIndex) {
+      return this.add(name, TEXT, beginIndex, endIndex, 0);
+    }
+
+    /**
+     * Adds a trimmed text field that has to pass {@link LuhnCheck#isValid(CharSequence)}.
+     *
+     * @param name the name of the field, not {@code null}
+     * @param beginIndex the inclusive index within the record at which the field starts
+     * @param endIndex the exclusive index within the record at which the field ends
+     * @return this builder
+     * @throws IllegalArgumentException if the name is already used or the indices are invalid
+     */
+    public Builder luhnField(String name, int beginIndex, int endIndex) {
+      return this.add(name, LUHN, beginIndex, endIndex, 0);
+    }
+
+    /**
+     * Adds a trimmed text field that has to pass {@link IbanCheck#isValid(CharSequence)}.
+     *
+     * @param name the name of the field, not {@code null}
+     * @param beginIndex the inclusive index within the record at which the field starts
+     * @param endIndex the exclusive index within the record at which the field ends
+     * @return this builder
+     * @throws IllegalArgumentException if the name is already used or the indices are invalid
+     */
+    public Builder ibanField(String name, int beginIndex, int endIndex) {
+      return this.add(name, IBAN, beginIndex, endIndex, 0);
+    }
+
+    /**
+     * Sets the distance between the start of two consecutive records,
+     * including any separator. Defaults to the end of the last field.
+     *
+     * @param recordLength the record length
+     * @return this builder
+     */
+    public Builder recordLength(int recordLength) {
+      this.recordLength = recordLength;
+      return this;
+    }
+
+    private Builder add(String name, byte type, int beginIndex, int endIndex, int scale) {
+      if ((beginIndex < 0) || (endIndex <= beginIndex)) {
+        throw new IllegalArgumentException("invalid indices for field: " + name);
+      }
+      Field field = new Field(name, type, beginIndex, endIndex, scale);
+      if (this.fieldsByName.putIfAbsent(name, field) != null) {
+        throw new IllegalArgumentException("duplicate field: " + name);
+      }
+      this.fields.add(field);
+      return this;
+    }
+
+    /**
+     * Creates the layout.
+     *
+     * @return the layout, not {@code null}
+     * @throws IllegalStateException if no field was added or the record
+     *         length is smaller than the end of the last field
+     */
+    public RecordLayout build() {
+      int fieldCount = this.fields.size();
+      if (fieldCount == 0) {
+        throw new IllegalStateException("no fields");
+      }
+      String[] names = new String[fieldCount];
+      byte[] types = new byte[fieldCount];
+      int[] beginIndices = new int[fieldCount];
+      int[] endIndices = new int[fieldCount];
+      int[] scales = new int[fieldCount];
+      int[] slots = new int[fieldCount];
+      int slotCount = 0;
+      int dataLength = 0;
+      for (int i = 0; i < fieldCount; i++) {
+        Field field = this.fields.get(i);
+        names[i] = field.name;
+        types[i] = field.type;
+        beginIndices[i] = field.beginIndex;
+        endIndices[i] = field.endIndex;
+        scales[i] = field.scale;
+        if (field.type <= UUID_TYPE) {
+          slots[i] = slotCount;
+          slotCount += field.type == UUID_TYPE ? 2 : 1;
+        } else {
+          slots[i] = -1;
+        }
+        dataLength = Math.max(dataLength, field.endIndex);
+      }
+      int recordLength = this.recordLength == -1 ? dataLength : this.recordLength;
+      if (recordLength < dataLength) {
+        throw new IllegalStateException("record length must be at least " + dataLength);
+      }
+      return new RecordLayout(names, types, beginIndices, endIndices, scales, slots, slotCount, dataLength, recordLength);
+    }
+
+  }
+
+  static final class Field {
+
+    final String name;
+
+    final byte type;
+
+    final int beginIndex;
+
+    final int endIndex;
+
+    final int scale;
+
+    Field(String name, byte type, int beginIndex, int endIndex, int scale) {
+      this.name = name;
+      this.type = type;
+      this.beginIndex = beginIndex;
+      this.endIndex = endIndex;
+      this.scale = scale;
+    }
+
+  }
+
+}
@@ -0,0 +1,34 @@
+package com.github.marschall.charsequences;
+
+/**
+ * Implemented by the sequences of this library that can search for a
+ * {@code char} faster than a {@link CharSequence#charAt(int)} loop.
+ *
+ * <p>{@link CharSequences} checks for this interface and delegates to it.</p>
+ */
+interface SearchableCharSequence extends CharSequence {
+
+  /**
+   * Searches for the first occurrence of a char in a range.
+   *
+   * @param c the {@code char} to search for
+   * @param fromIndex the inclusive index at which to start the search,
+   *        between {@code 0} inclusive and {@code toIndex} exclusive
+   * @param toIndex the exclusive index at which to end the search,
+   *        between {@code fromIndex} and {@link #length()}
+   * @return the index of the first occurrence of {@code c} at or after
+   *         {@code fromIndex} and before {@code toIndex}, or {@code -1}
+   *         if there is no such occurrence
+   */
+  int indexOf(char c, int fromIndex, int toIndex);
+
+  /**
+   * Searches for the last occurrence of a char.
+   *
+   * @param c the {@code char} to search for
+   * @return the index of the last occurrence of {@code c}, or {@code -1}
+   *         if there is no such occurrence
+   */
+  int lastIndexOf(char c);
+
+}
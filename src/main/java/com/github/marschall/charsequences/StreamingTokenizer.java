@@ -0,0 +1,364 @@
+package com.github.marschall.charsequences;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+/**
+ * Splits a stream of chars into tokens without reading the whole stream
+ * into memory.
+ *
+ * <p>The stream is split into lines, lines are split at a delimiter.
+ * Lines are terminated by {@code \n}, {@code \r\n} or {@code \r}, a line
+ * terminator at the end of the stream does not start a new line. Within
+ * a line tokens are split like {@link CharSequences#split(CharSequence, char)},
+ * {@code "a,,b,"} results in the tokens {@code "a"}, {@code ""}, {@code "b"}
+ * and {@code ""}. An empty line is a single empty token.</p>
+ *
+ * <p>Chars are read into a buffer that is reused for the whole stream. A
+ * token that is split between two reads is moved to the start of the
+ * buffer, the buffer only grows if a single token does not fit into it.
+ * The current token is a view on the buffer that is only valid until the
+ * next call to {@link #next()}, it can be passed to the parse methods of
+ * {@link CharSequences}. Typical usage looks like this:</p>
+ * <pre><code>
+ * try (StreamingTokenizer tokenizer = new StreamingTokenizer(reader, ',')) {
+ *   while (tokenizer.next()) {
+ *     total += CharSequences.parseLong(tokenizer.token());
+ *   }
+ * }
+ * </code></pre>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @see LineCursor
+ */
+public final class StreamingTokenizer implements Closeable {
+
+  static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private final Reader reader;
+
+  private final char delimiter;
+
+  private final Token token;
+
+  private char[] buffer;
+
+  // number of valid chars in the buffer
+  private int limit;
+
+  // start of the next token
+  private int position;
+
+  private boolean endOfStream;
+
+  // the previous token ended with the delimiter, there is one more token
+  private boolean afterDelimiter;
+
+  private int tokenStart;
+
+  private int tokenEnd;
+
+  private boolean endOfLine;
+
+  // line of the next token
+  private long nextLineNumber;
+
+  private long lineNumber;
+
+  /**
+   * Constructs a new {@link StreamingTokenizer} reading from a
+   * {@link Reader}.
+   *
+   * @param reader the reader to read from, not {@code null}
+   * @param delimiter the char at which lines are split into tokens,
+   *        not a line terminator
+   * @throws NullPointerException if the reader is {@code null}
+   * @throws IllegalArgumentException if the delimiter is {@code \n} or {@code \r}
+   */
+  public StreamingTokenizer(Reader reader, char delimiter) {
+    this(reader, delimiter, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Constructs a new {@link StreamingTokenizer} reading from a
+   * {@link Reader} with a given initial buffer size.
+   *
+   * @param reader the reader to read from, not {@code null}
+   * @param delimiter the char at which lines are split into tokens,
+   *        not a line terminator
+   * @param bufferSize the initial size of the buffer in chars, has to be
+   *        positive
+   * @throws NullPointerException if the reader is {@code null}
+   * @throws IllegalArgumentException if the delimiter is {@code \n} or
+   *         {@code \r} or if the buffer size is not positive
+   */
+  public StreamingTokenizer(Reader reader, char delimiter, int bufferSize) {
+    Objects.requireNonNull(reader, "reader");
+    if ((delimiter == '\n') || (delimiter == '\r')) {
+      throw new IllegalArgumentException("line terminator as delimiter");
+    }
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("buffer size has to be positive but was: " + bufferSize);
+    }
+    this.reader = reader;
+    this.delimiter = delimiter;
+    this.buffer = new char[bufferSize];
+    this.token = new Token();
+    this.tokenStart = -1;
+    this.tokenEnd = -1;
+    this.nextLineNumber = 1L;
+    this.lineNumber = -1L;
+  }
+
+  /**
+   * Constructs a new {@link StreamingTokenizer} decoding an
+   * {@link InputStream}.
+   *
+   * @param inputStream the stream to read from, not {@code null}
+   * @param charset the encoding of the stream, not {@code null}
+   * @param delimiter the char at which lines are split into tokens,
+   *        not a line terminator
+   * @throws NullPointerException if the stream or the charset is {@code null}
+   * @throws IllegalArgumentException if the delimiter is {@code \n} or {@code \r}
+   */
+  public StreamingTokenizer(InputStream inputStream, Charset charset, char delimiter) {
+    this(new InputStreamReader(inputStream, charset), delimiter);
+  }
+
+  /**
+   * Constructs a new {@link StreamingTokenizer} decoding a
+   * {@link ReadableByteChannel}.
+   *
+   * @param channel the channel to read from, not {@code null}
+   * @param charset the encoding of the channel, not {@code null}
+   * @param delimiter the char at which lines are split into tokens,
+   *        not a line terminator
+   * @throws NullPointerException if the channel or the charset is {@code null}
+   * @throws IllegalArgumentException if the delimiter is {@code \n} or {@code \r}
+   */
+  public StreamingTokenizer(ReadableByteChannel channel, Charset charset, char delimiter) {
+    this(Channels.newReader(Objects.requireNonNull(channel, "channel"), charset.newDecoder(), -1), delimiter);
+  }
+
+  /**
+   * Advances to the next token, reading from the stream if necessary.
+   *
+   * @implNote no allocation is performed unless the buffer has to grow
+   * @return {@code true} if the tokenizer is positioned on the next token,
+   *         {@code false} if there are no more tokens
+   * @throws IOException if reading from the stream fails
+   */
+  public boolean next() throws IOException {
+    int scan = this.position;
+    while (true) {
+      char[] chars = this.buffer;
+      int end = this.limit;
+      char delimiter = this.delimiter;
+      for (; scan < end; scan++) {
+        char c = chars[scan];
+        if (c == delimiter) {
+          this.setToken(scan, false, scan + 1);
+          return true;
+        } else if (c == '\n') {
+          this.setToken(scan, true, scan + 1);
+          return true;
+        } else if (c == '\r') {
+          if ((scan + 1) < end) {
+            this.setToken(scan, true, chars[scan + 1] == '\n' ? scan + 2 : scan + 1);
+            return true;
+          } else if (this.endOfStream) {
+            this.setToken(scan, true, scan + 1);
+            return true;
+          }
+          // have to read the next char to know whether it is \r\n
+          break;
+        }
+      }
+      if (this.endOfStream) {
+        if ((this.position < end) || this.afterDelimiter) {
+          this.setToken(end, true, end);
+          return true;
+        }
+        this.tokenStart = -1;
+        this.tokenEnd = -1;
+        this.lineNumber = -1L;
+        return false;
+      }
+      scan -= this.position;
+      this.fill();
+    }
+  }
+
+  private void setToken(int end, boolean endOfLine, int nextPosition) {
+    this.tokenStart = this.position;
+    this.tokenEnd = end;
+    this.endOfLine = endOfLine;
+    this.afterDelimiter = !endOfLine;
+    this.lineNumber = this.nextLineNumber;
+    if (endOfLine) {
+      this.nextLineNumber += 1L;
+    }
+    this.position = nextPosition;
+  }
+
+  /**
+   * Moves the unfinished token to the start of the buffer, grows the
+   * buffer if it is full and reads more chars.
+   */
+  private void fill() throws IOException {
+    int remaining = this.limit - this.position;
+    if (this.position > 0) {
+      System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+    } else if (remaining == this.buffer.length) {
+      char[] newBuffer = new char[this.buffer.length * 2];
+      System.arraycopy(this.buffer, 0, newBuffer, 0, remaining);
+      this.buffer = newBuffer;
+    }
+    this.position = 0;
+    this.limit = remaining;
+    // the previous token is no longer valid
+    this.tokenStart = -1;
+    this.tokenEnd = -1;
+    int read;
+    do {
+      read = this.reader.read(this.buffer, remaining, this.buffer.length - remaining);
+    } while (read == 0);
+    if (read == -1) {
+      this.endOfStream = true;
+    } else {
+      this.limit += read;
+    }
+  }
+
+  /**
+   * Returns the current token.
+   *
+   * <p>The returned sequence is a view on the internal buffer, it is only
+   * valid until the next call to {@link #next()}. The same instance is
+   * returned for every token. {@link CharSequence#toString()} and
+   * {@link CharSequence#subSequence(int, int)} return copies.</p>
+   *
+   * @implNote no allocation is performed
+   * @return the current token, without the delimiter or line terminator
+   * @throws IllegalStateException if the tokenizer is not positioned on a token
+   */
+  public CharSequence token() {
+    this.checkPositioned();
+    return this.token;
+  }
+
+  /**
+   * Returns whether the current token is the last one of its line.
+   *
+   * @return whether the current token was terminated by a line terminator
+   *         or the end of the stream
+   * @throws IllegalStateException if the tokenizer is not positioned on a token
+   */
+  public boolean isEndOfLine() {
+    this.checkPositioned();
+    return this.endOfLine;
+  }
+
+  /**
+   * Returns the line number of the current token.
+   *
+   * @return the line number of the current token, starting at 1
+   * @throws IllegalStateException if the tokenizer is not positioned on a token
+   */
+  public long getLineNumber() {
+    this.checkPositioned();
+    return this.lineNumber;
+  }
+
+  private void checkPositioned() {
+    if (this.lineNumber == -1L) {
+      throw new IllegalStateException("not positioned on a token");
+    }
+  }
+
+  /**
+   * Closes the underlying reader, stream or channel.
+   *
+   * @throws IOException if closing fails
+   */
+  @Override
+  public void close() throws IOException {
+    this.reader.close();
+  }
+
+  /**
+   * The view on the current token.
+   */
+  final class Token implements SearchableCharSequence {
+
+    private int start() {
+      if (StreamingTokenizer.this.tokenStart == -1) {
+        throw new IllegalStateException("token no longer valid");
+      }
+      return StreamingTokenizer.this.tokenStart;
+    }
+
+    @Override
+    public int length() {
+      return StreamingTokenizer.this.tokenEnd - this.start();
+    }
+
+    @Override
+    public char charAt(int index) {
+      int start = this.start();
+      if ((index < 0) || (index >= (StreamingTokenizer.this.tokenEnd - start))) {
+        throw new IndexOutOfBoundsException();
+      }
+      return StreamingTokenizer.this.buffer[start + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      int tokenStart = this.start();
+      if ((end < start) || (start < 0) || (end > (StreamingTokenizer.this.tokenEnd - tokenStart))) {
+        throw new IndexOutOfBoundsException();
+      }
+      return new String(StreamingTokenizer.this.buffer, tokenStart + start, end - start);
+    }
+
+    @Override
+    public int indexOf(char c, int fromIndex, int toIndex) {
+      int start = this.start();
+      char[] chars = StreamingTokenizer.this.buffer;
+      for (int i = start + fromIndex; i < (start + toIndex); i++) {
+        if (chars[i] == c) {
+          return i - start;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public int lastIndexOf(char c) {
+      int start = this.start();
+      char[] chars = StreamingTokenizer.this.buffer;
+      for (int i = StreamingTokenizer.this.tokenEnd - 1; i >= start; i--) {
+        if (chars[i] == c) {
+          return i - start;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public String toString() {
+      int start = this.start();
+      return new String(StreamingTokenizer.this.buffer, start, StreamingTokenizer.this.tokenEnd - start);
+    }
+
+  }
+
+}
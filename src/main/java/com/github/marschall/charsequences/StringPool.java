@@ -0,0 +1,212 @@
+package com.github.marschall.charsequences;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of canonical {@link String} instances for recurring
+ * tokens.
+ *
+ * <p>Given a range of a {@link CharSequence} the pool returns a shared
+ * {@link String} with the same content. A new {@link String} is only
+ * created if the pool does not yet contain one with the same content.</p>
+ *
+ * <p>The pool is organized as a set associative cache with four entries
+ * per bucket. Lookups are lock-free, a full bucket evicts an entry using
+ * the <a href="https://en.wikipedia.org/wiki/Page_replacement_algorithm#Clock">CLOCK</a>
+ * policy.</p>
+ *
+ * <p>Canonicalization is best effort. Since the pool is bounded an entry
+ * may be evicted and two threads missing on the same content at the same
+ * time may both create a new {@link String}. Comparing canonicalized
+ * tokens by reference is therefore only safe if a reference mismatch is
+ * followed by a content comparison.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public final class StringPool {
+
+  private static final int WAYS = 4;
+
+  private static final int MAXIMUM_BUCKETS = 1 << 28;
+
+  private final AtomicReferenceArray<String> table;
+
+  // CLOCK reference bits, updated without synchronization
+  // a lost update only affects the eviction decision, never correctness
+  private final byte[] referenced;
+
+  // CLOCK hand per bucket, updated without synchronization
+  private final byte[] hands;
+
+  private final int mask;
+
+  private final LongAdder hits;
+
+  private final LongAdder misses;
+
+  /**
+   * Creates a new pool.
+   *
+   * @param capacity the minimum number of strings the pool can hold,
+   *        will be rounded up to the next power of two
+   * @throws IllegalArgumentException if capacity is not positive
+   */
+  public StringPool(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    int buckets = bucketCount(capacity);
+    this.table = new AtomicReferenceArray<>(buckets * WAYS);
+    this.referenced = new byte[buckets * WAYS];
+    this.hands = new byte[buckets];
+    this.mask = buckets - 1;
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+  }
+
+  private static int bucketCount(int capacity) {
+    int buckets = (capacity + (WAYS - 1)) / WAYS;
+    if (buckets >= MAXIMUM_BUCKETS) {
+      return MAXIMUM_BUCKETS;
+    }
+    int highestOneBit = Integer.highestOneBit(buckets);
+    if (highestOneBit == buckets) {
+      return buckets;
+    }
+    return highestOneBit << 1;
+  }
+
+  /**
+   * Returns a canonical {@link String} with the same content as the given
+   * sequence.
+   *
+   * @implNote no allocation is performed if the content is already in the pool
+   * @param charSequence the sequence to canonicalize, not {@code null}
+   * @return a {@link String} with the same content as {@code charSequence}
+   * @throws NullPointerException if the sequence is {@code null}
+   */
+  public String canonicalize(CharSequence charSequence) {
+    return this.canonicalize(charSequence, 0, charSequence.length());
+  }
+
+  /**
+   * Returns a canonical {@link String} with the same content as the given
+   * range of a sequence.
+   *
+   * @implNote no allocation is performed if the content is already in the pool
+   * @param charSequence the sequence containing the range to canonicalize,
+   *        not {@code null}
+   * @param beginIndex the inclusive index at which to start
+   * @param endIndex the exclusive index at which to end
+   * @return a {@link String} with the same content as the range
+   * @throws NullPointerException if the sequence is {@code null}
+   * @throws IndexOutOfBoundsException if beginIndex is less than endIndex,
+   *         if beginIndex is negative or if endIndex is bigger than the length of charSequence
+   */
+  public String canonicalize(CharSequence charSequence, int beginIndex, int endIndex) {
+    if ((endIndex < beginIndex) || (beginIndex < 0) || (endIndex > charSequence.length())) {
+      throw new IndexOutOfBoundsException();
+    }
+    int hash = hash(charSequence, beginIndex, endIndex);
+    int bucket = spread(hash) & this.mask;
+    int firstSlot = bucket * WAYS;
+    for (int i = 0; i < WAYS; i++) {
+      int slot = firstSlot + i;
+      String candidate = this.table.get(slot);
+      if ((candidate != null) && (candidate.hashCode() == hash)
+              && contentEquals(candidate, charSequence, beginIndex, endIndex)) {
+        this.referenced[slot] = 1;
+        this.hits.increment();
+        return candidate;
+      }
+    }
+    this.misses.increment();
+    String value = charSequence.subSequence(beginIndex, endIndex).toString();
+    this.table.set(this.victim(bucket), value);
+    return value;
+  }
+
+  private int victim(int bucket) {
+    int firstSlot = bucket * WAYS;
+    for (int i = 0; i < WAYS; i++) {
+      int slot = firstSlot + i;
+      if (this.table.get(slot) == null) {
+        this.referenced[slot] = 0;
+        return slot;
+      }
+    }
+    // CLOCK, give every referenced entry a second chance
+    // terminates after at most two rounds
+    int hand = this.hands[bucket];
+    while (true) {
+      int slot = firstSlot + hand;
+      hand = (hand + 1) & (WAYS - 1);
+      if (this.referenced[slot] == 0) {
+        this.hands[bucket] = (byte) hand;
+        return slot;
+      }
+      this.referenced[slot] = 0;
+    }
+  }
+
+  /**
+   * Computes the hash of a range compatible with {@link String#hashCode()}.
+   */
+  private static int hash(CharSequence charSequence, int beginIndex, int endIndex) {
+    if ((beginIndex == 0) && (charSequence instanceof String) && (endIndex == charSequence.length())) {
+      // cached
+      return charSequence.hashCode();
+    }
+    int hash = 0;
+    for (int i = beginIndex; i < endIndex; i++) {
+      hash = (31 * hash) + charSequence.charAt(i);
+    }
+    return hash;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private static boolean contentEquals(String candidate, CharSequence charSequence, int beginIndex, int endIndex) {
+    int length = endIndex - beginIndex;
+    if (candidate.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (candidate.charAt(i) != charSequence.charAt(beginIndex + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of lookups that found an existing entry.
+   *
+   * @return the number of hits since the creation of this pool
+   */
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Returns the number of lookups that had to create a new entry.
+   *
+   * @return the number of misses since the creation of this pool
+   */
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Returns the maximum number of entries in this pool.
+   *
+   * @return the maximum number of entries
+   */
+  public int capacity() {
+    return this.table.length();
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.github.marschall.charsequences;
+
+/**
+ * UTF-8 encoding primitives shared by the encoders.
+ *
+ * <p>Unpaired surrogates are replaced with {@code '?'}, consistent with
+ * {@link String#getBytes(java.nio.charset.Charset)}.</p>
+ */
+final class Utf8 {
+
+  static final byte REPLACEMENT = '?';
+
+  private Utf8() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Encodes the non-ASCII character at the given index.
+   *
+   * @param c the character at {@code index}, has to be non-ASCII
+   * @param charSequence the sequence containing the character
+   * @param index the index of the character
+   * @param length the length of the sequence
+   * @return the encoded bytes, the first byte in the lowest eight bits,
+   *         use {@link #byteLength(int)} for the number of bytes
+   */
+  static int encode(char c, CharSequence charSequence, int index, int length) {
+    if (c < 0x800) {
+      return (0xC0 | (c >>> 6))
+              | ((0x80 | (c & 0x3F)) << 8);
+    }
+    if (Character.isSurrogate(c)) {
+      if (Character.isHighSurrogate(c) && ((index + 1) < length)) {
+        char low = charSequence.charAt(index + 1);
+        if (Character.isLowSurrogate(low)) {
+          return encodeSurrogatePair(c, low);
+        }
+      }
+      return REPLACEMENT;
+    }
+    return (0xE0 | (c >>> 12))
+            | ((0x80 | ((c >>> 6) & 0x3F)) << 8)
+            | ((0x80 | (c & 0x3F)) << 16);
+  }
+
+  /**
+   * Encodes a surrogate pair.
+   *
+   * @param high the high surrogate
+   * @param low the low surrogate
+   * @return the four encoded bytes, the first byte in the lowest eight bits
+   */
+  static int encodeSurrogatePair(char high, char low) {
+    int codePoint = Character.toCodePoint(high, low);
+    return (0xF0 | (codePoint >>> 18))
+            | ((0x80 | ((codePoint >>> 12) & 0x3F)) << 8)
+            | ((0x80 | ((codePoint >>> 6) & 0x3F)) << 16)
+            | ((0x80 | (codePoint & 0x3F)) << 24);
+  }
+
+  /**
+   * Returns the number of bytes of an encoded character.
+   *
+   * @param encoded the return value of {@link #encode(char, CharSequence, int, int)}
+   * @return the number of bytes, between 1 and 4
+   */
+  static int byteLength(int encoded) {
+    int lead = encoded & 0xFF;
+    if (lead < 0x80) {
+      return 1;
+    } else if (lead < 0xE0) {
+      return 2;
+    } else if (lead < 0xF0) {
+      return 3;
+    } else {
+      return 4;
+    }
+  }
+
+  /**
+   * Returns the number of chars consumed by an encoded character.
+   *
+   * @param byteLength the return value of {@link #byteLength(int)}
+   * @return the number of chars, 2 for a surrogate pair, 1 otherwise
+   */
+  static int charLength(int byteLength) {
+    return byteLength == 4 ? 2 : 1;
+  }
+
+}
@@ -0,0 +1,480 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A {@link CharSequence} view of UTF-8 encoded bytes.
+ *
+ * <p>The bytes are decoded on demand. Whether the content is pure ASCII is
+ * detected once, in which case {@link #charAt(int)} is a single byte
+ * access. Otherwise a sparse index from char offsets to byte offsets is
+ * built lazily, {@link #charAt(int)} then decodes at most
+ * {@value #STRIDE} characters.</p>
+ *
+ * <p>If the content is pure ASCII and backed by an array
+ * {@link CharSequences#parseInt(CharSequence, int, int)},
+ * {@link CharSequences#parseLong(CharSequence, int, int)} and
+ * {@link CharSequences#isNumeric(CharSequence)} read the bytes directly.
+ * Otherwise they fall back to {@link #charAt(int)}.</p>
+ *
+ * <p>Malformed input is replaced with {@code U+FFFD}, one replacement
+ * character per invalid byte.</p>
+ *
+ * <p>The bytes are not copied, they must not be modified while the
+ * sequence is in use.</p>
+ *
+ * <p>This class is thread-safe as long as the bytes are not modified.</p>
+ */
+public final class Utf8CharSequence implements SearchableCharSequence {
+
+  /**
+   * Number of chars between two entries of the index.
+   */
+  static final int STRIDE = 64;
+
+  private static final char REPLACEMENT = '\uFFFD';
+
+  private static final byte UNKNOWN = 0;
+
+  private static final byte ASCII = 1;
+
+  private static final byte NOT_ASCII = 2;
+
+  private final byte[] array;
+
+  private final ByteBuffer buffer;
+
+  private final int offset;
+
+  private final int byteLength;
+
+  // racy single check, computing the value more than once is harmless
+  private byte ascii;
+
+  // racy single check, Index is immutable and safely published through final fields
+  private Index index;
+
+  private Utf8CharSequence(byte[] array, ByteBuffer buffer, int offset, int byteLength, byte ascii) {
+    this.array = array;
+    this.buffer = buffer;
+    this.offset = offset;
+    this.byteLength = byteLength;
+    this.ascii = ascii;
+  }
+
+  /**
+   * Creates a sequence backed by a byte array.
+   *
+   * @param array the UTF-8 encoded bytes, not {@code null}
+   * @return the sequence
+   * @throws NullPointerException if the array is {@code null}
+   */
+  public static Utf8CharSequence wrap(byte[] array) {
+    return wrap(array, 0, array.length);
+  }
+
+  /**
+   * Creates a sequence backed by a range of a byte array.
+   *
+   * @param array the UTF-8 encoded bytes, not {@code null}
+   * @param offset the index of the first byte
+   * @param length the number of bytes
+   * @return the sequence
+   * @throws NullPointerException if the array is {@code null}
+   * @throws IndexOutOfBoundsException if offset or length are negative
+   *         or offset + length is bigger than the length of the array
+   */
+  public static Utf8CharSequence wrap(byte[] array, int offset, int length) {
+    Objects.requireNonNull(array, "array");
+    if ((offset < 0) || (length < 0) || (length > (array.length - offset))) {
+      throw new IndexOutOfBoundsException();
+    }
+    return new Utf8CharSequence(array, null, offset, length, UNKNOWN);
+  }
+
+  /**
+   * Creates a sequence backed by the remaining bytes of a buffer.
+   *
+   * <p>The position and limit of the buffer are not changed and later
+   * changes to them do not affect the sequence.</p>
+   *
+   * @param buffer the UTF-8 encoded bytes between position and limit,
+   *        not {@code null}
+   * @return the sequence
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  public static Utf8CharSequence wrap(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return new Utf8CharSequence(buffer.array(), null, buffer.arrayOffset() + buffer.position(), buffer.remaining(), UNKNOWN);
+    }
+    return new Utf8CharSequence(null, buffer.duplicate(), buffer.position(), buffer.remaining(), UNKNOWN);
+  }
+
+  private byte byteAt(int byteIndex) {
+    if (this.array != null) {
+      return this.array[this.offset + byteIndex];
+    }
+    return this.buffer.get(this.offset + byteIndex);
+  }
+
+  /**
+   * Checks if the content is entirely ASCII.
+   *
+   * @return if every byte is an ASCII character
+   */
+  public boolean isAscii() {
+    byte value = this.ascii;
+    if (value == UNKNOWN) {
+      value = this.computeAscii();
+      this.ascii = value;
+    }
+    return value == ASCII;
+  }
+
+  /**
+   * Checks if the content is entirely ASCII and backed by an array, in
+   * this case the char at index {@code i} is the byte at
+   * {@code arrayOffset() + i} of {@link #array()}.
+   */
+  boolean isAsciiArray() {
+    return (this.array != null) && this.isAscii();
+  }
+
+  byte[] array() {
+    return this.array;
+  }
+
+  int arrayOffset() {
+    return this.offset;
+  }
+
+  private byte computeAscii() {
+    if (this.array != null) {
+      int index = CharClass.ASCII.mismatch(this.array, this.offset, this.offset + this.byteLength);
+      return index == -1 ? ASCII : NOT_ASCII;
+    }
+    for (int i = 0; i < this.byteLength; i++) {
+      if (this.byteAt(i) < 0) {
+        return NOT_ASCII;
+      }
+    }
+    return ASCII;
+  }
+
+  private Index index() {
+    Index value = this.index;
+    if (value == null) {
+      value = this.computeIndex();
+      this.index = value;
+    }
+    return value;
+  }
+
+  private Index computeIndex() {
+    long[] samples = new long[(this.byteLength / STRIDE) + 1];
+    int sampleCount = 0;
+    int charIndex = 0;
+    int bytePosition = 0;
+    while (bytePosition < this.byteLength) {
+      int decoded = this.decode(bytePosition);
+      int charCount = charCount(decoded);
+      // the next sample is inside this code point
+      int nextSample = sampleCount * STRIDE;
+      if (nextSample < (charIndex + charCount)) {
+        int lowHalf = nextSample - charIndex;
+        samples[sampleCount++] = (((long) bytePosition) << 1) | lowHalf;
+      }
+      charIndex += charCount;
+      bytePosition += byteCount(decoded);
+    }
+    return new Index(charIndex, samples);
+  }
+
+  /**
+   * Decodes the code point at the given byte position.
+   *
+   * @return the code point in the lower 24 bits and the number of bytes
+   *         in the upper 8 bits
+   */
+  private int decode(int bytePosition) {
+    int b0 = this.byteAt(bytePosition) & 0xFF;
+    if (b0 < 0x80) {
+      return (1 << 24) | b0;
+    }
+    int remaining = this.byteLength - bytePosition;
+    if ((b0 >= 0xC2) && (b0 <= 0xDF)) {
+      if (remaining >= 2) {
+        int b1 = this.byteAt(bytePosition + 1);
+        if (isContinuation(b1)) {
+          return (2 << 24) | ((b0 & 0x1F) << 6) | (b1 & 0x3F);
+        }
+      }
+    } else if ((b0 >= 0xE0) && (b0 <= 0xEF)) {
+      if (remaining >= 3) {
+        int b1 = this.byteAt(bytePosition + 1);
+        int b2 = this.byteAt(bytePosition + 2);
+        if (isContinuation(b1) && isContinuation(b2)) {
+          int codePoint = ((b0 & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F);
+          if ((codePoint >= 0x800) && !Character.isSurrogate((char) codePoint)) {
+            return (3 << 24) | codePoint;
+          }
+        }
+      }
+    } else if ((b0 >= 0xF0) && (b0 <= 0xF4)) {
+      if (remaining >= 4) {
+        int b1 = this.byteAt(bytePosition + 1);
+        int b2 = this.byteAt(bytePosition + 2);
+        int b3 = this.byteAt(bytePosition + 3);
+        if (isContinuation(b1) && isContinuation(b2) && isContinuation(b3)) {
+          int codePoint = ((b0 & 0x07) << 18) | ((b1 & 0x3F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F);
+          if ((codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) && (codePoint <= Character.MAX_CODE_POINT)) {
+            return (4 << 24) | codePoint;
+          }
+        }
+      }
+    }
+    return (1 << 24) | REPLACEMENT;
+  }
+
+  private static boolean isContinuation(int b) {
+    return (b & 0xC0) == 0x80;
+  }
+
+  private static int codePoint(int decoded) {
+    return decoded & 0xFFFFFF;
+  }
+
+  private static int byteCount(int decoded) {
+    return decoded >>> 24;
+  }
+
+  private static int charCount(int decoded) {
+    return byteCount(decoded) == 4 ? 2 : 1;
+  }
+
+  private static char charOf(int decoded, int half) {
+    int codePoint = codePoint(decoded);
+    if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+      return (char) codePoint;
+    }
+    return half == 0 ? Character.highSurrogate(codePoint) : Character.lowSurrogate(codePoint);
+  }
+
+  /**
+   * Returns the position of the code point containing a char.
+   *
+   * @return the byte position shifted left by one, the lowest bit is set
+   *         if the char is the low surrogate of the code point
+   */
+  private long position(Index charIndex, int index) {
+    long sample = charIndex.samples[index / STRIDE];
+    int bytePosition = (int) (sample >>> 1);
+    int charPosition = ((index / STRIDE) * STRIDE) - (int) (sample & 1L);
+    while (true) {
+      int decoded = this.decode(bytePosition);
+      int charCount = charCount(decoded);
+      if ((charPosition + charCount) > index) {
+        return (((long) bytePosition) << 1) | (index - charPosition);
+      }
+      charPosition += charCount;
+      bytePosition += byteCount(decoded);
+    }
+  }
+
+  @Override
+  public int length() {
+    if (this.isAscii()) {
+      return this.byteLength;
+    }
+    return this.index().length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (this.isAscii()) {
+      if ((index < 0) || (index >= this.byteLength)) {
+        throw new IndexOutOfBoundsException("index " + index + ", length " + this.byteLength);
+      }
+      return (char) this.byteAt(index);
+    }
+    Index charIndex = this.index();
+    if ((index < 0) || (index >= charIndex.length)) {
+      throw new IndexOutOfBoundsException("index " + index + ", length " + charIndex.length);
+    }
+    long position = this.position(charIndex, index);
+    return charOf(this.decode((int) (position >>> 1)), (int) (position & 1L));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote no bytes are copied unless a boundary is inside a surrogate pair
+   */
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    int length = this.length();
+    if ((start < 0) || (end > length) || (start > end)) {
+      throw new IndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+    }
+    if ((start == 0) && (end == length)) {
+      return this;
+    }
+    if (this.isAscii()) {
+      return new Utf8CharSequence(this.array, this.buffer, this.offset + start, end - start, ASCII);
+    }
+    Index charIndex = this.index();
+    long startPosition = start == length ? (((long) this.byteLength) << 1) : this.position(charIndex, start);
+    long endPosition = end == length ? (((long) this.byteLength) << 1) : this.position(charIndex, end);
+    if (((startPosition & 1L) != 0L) || ((endPosition & 1L) != 0L)) {
+      // a boundary splits a surrogate pair and can not be represented in UTF-8
+      return this.toString().substring(start, end);
+    }
+    int startByte = (int) (startPosition >>> 1);
+    int endByte = (int) (endPosition >>> 1);
+    return new Utf8CharSequence(this.array, this.buffer, this.offset + startByte, endByte - startByte, UNKNOWN);
+  }
+
+  /**
+   * Searches for the first occurrence of a char in a range of this
+   * sequence, compatible with {@link String#indexOf(int, int)} limited
+   * to {@code toIndex}.
+   *
+   * @implNote no allocation is performed
+   * @param c the {@code char} to search for
+   * @param fromIndex the inclusive index at which to start the search,
+   *        if it is negative it is treated as {@code 0}
+   * @param toIndex the exclusive index at which to end the search,
+   *        if it is larger than the length it is treated as the length
+   * @return the index of the first occurrence of {@code c} at or after
+   *         {@code fromIndex} and before {@code toIndex}, or {@code -1}
+   *         if there is no such occurrence or the range is empty
+   */
+  @Override
+  public int indexOf(char c, int fromIndex, int toIndex) {
+    int from = Math.max(fromIndex, 0);
+    int to = Math.min(toIndex, this.length());
+    if (from >= to) {
+      return -1;
+    }
+    if (this.isAscii()) {
+      if (c >= 0x80) {
+        return -1;
+      }
+      byte b = (byte) c;
+      for (int i = from; i < to; i++) {
+        if (this.byteAt(i) == b) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    // decode sequentially instead of looking up every char in the index
+    long position = this.position(this.index(), from);
+    int bytePosition = (int) (position >>> 1);
+    int charPosition = from - (int) (position & 1L);
+    while ((bytePosition < this.byteLength) && (charPosition < to)) {
+      int decoded = this.decode(bytePosition);
+      int charCount = charCount(decoded);
+      for (int half = 0; half < charCount; half++) {
+        int charIndex = charPosition + half;
+        if ((charIndex >= from) && (charIndex < to) && (charOf(decoded, half) == c)) {
+          return charPosition + half;
+        }
+      }
+      charPosition += charCount;
+      bytePosition += byteCount(decoded);
+    }
+    return -1;
+  }
+
+  /**
+   * Searches for the last occurrence of a char in this sequence,
+   * compatible with {@link String#lastIndexOf(int)}.
+   *
+   * @implNote no allocation is performed
+   * @param c the {@code char} to search for
+   * @return the index of the last occurrence of {@code c}, or {@code -1}
+   *         if there is no such occurrence
+   */
+  @Override
+  public int lastIndexOf(char c) {
+    if (this.isAscii()) {
+      if (c >= 0x80) {
+        return -1;
+      }
+      byte b = (byte) c;
+      for (int i = this.byteLength - 1; i >= 0; i--) {
+        if (this.byteAt(i) == b) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    int lastIndex = -1;
+    int charPosition = 0;
+    int bytePosition = 0;
+    while (bytePosition < this.byteLength) {
+      int decoded = this.decode(bytePosition);
+      int charCount = charCount(decoded);
+      for (int half = 0; half < charCount; half++) {
+        if (charOf(decoded, half) == c) {
+          lastIndex = charPosition + half;
+        }
+      }
+      charPosition += charCount;
+      bytePosition += byteCount(decoded);
+    }
+    return lastIndex;
+  }
+
+  @Override
+  public String toString() {
+    if (this.isAscii()) {
+      if (this.array != null) {
+        return new String(this.array, this.offset, this.byteLength, ISO_8859_1);
+      }
+      byte[] bytes = new byte[this.byteLength];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = this.byteAt(i);
+      }
+      return new String(bytes, ISO_8859_1);
+    }
+    char[] chars = new char[this.length()];
+    int charPosition = 0;
+    int bytePosition = 0;
+    while (bytePosition < this.byteLength) {
+      int decoded = this.decode(bytePosition);
+      int charCount = charCount(decoded);
+      for (int half = 0; half < charCount; half++) {
+        chars[charPosition++] = charOf(decoded, half);
+      }
+      bytePosition += byteCount(decoded);
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Sparse index from char offsets to byte offsets.
+   */
+  static final class Index {
+
+    final int length;
+
+    /**
+     * For every multiple of {@link Utf8CharSequence#STRIDE} chars the
+     * byte position of the code point containing the char shifted left
+     * by one, the lowest bit is set if the char is a low surrogate.
+     */
+    final long[] samples;
+
+    Index(int length, long[] samples) {
+      this.length = length;
+      this.samples = samples;
+    }
+
+  }
+
+}
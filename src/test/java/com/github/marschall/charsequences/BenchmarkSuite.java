@@ -0,0 +1,56 @@
+package com.github.marschall.charsequences;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link CharSequencesBenchmark} and {@link ParseAndCheckBenchmark}
+ * with the allocation profiler and writes the results as JSON to
+ * {@code target/jmh-result.json}.
+ *
+ * <p>All JMH command line options are supported and take precedence,
+ * eg. {@code -p type=STRING -p length=64 -prof perfnorm}.</p>
+ */
+public final class BenchmarkSuite {
+
+  private BenchmarkSuite() {
+    throw new AssertionError("not instantiable");
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    run(".*(CharSequencesBenchmark|ParseAndCheckBenchmark).*", args);
+  }
+
+  static void run(String defaultInclude, String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    ChainedOptionsBuilder builder = new OptionsBuilder()
+            .parent(commandLine)
+            .addProfiler(GCProfiler.class);
+    if (commandLine.getIncludes().isEmpty()) {
+      builder.include(defaultInclude);
+    }
+    if (!commandLine.getWarmupIterations().hasValue()) {
+      builder.warmupIterations(10);
+    }
+    if (!commandLine.getMeasurementIterations().hasValue()) {
+      builder.measurementIterations(10);
+    }
+    if (!commandLine.getForkCount().hasValue()) {
+      builder.forks(10);
+    }
+    if (!commandLine.getResultFormat().hasValue()) {
+      builder.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLine.getResult().hasValue()) {
+      builder.result("target/jmh-result.json");
+    }
+    new Runner(builder.build()).run();
+  }
+
+}
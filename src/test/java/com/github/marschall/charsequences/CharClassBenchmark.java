@@ -0,0 +1,129 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares {@link CharClass} to loops checking one char or byte at a time
+ * and {@link Character#digit(char, int)} for short, medium and long inputs.
+ *
+ * <p>All inputs are in the class so that the whole input is checked. The
+ * hex digits are random so that branches on the ranges mispredict.</p>
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class CharClassBenchmark {
+
+  private static final int INPUT_COUNT = CharSequencesBenchmark.INPUT_COUNT;
+
+  private static final String HEX_DIGITS = "0123456789abcdefABCDEF";
+
+  @Param
+  public CharSequenceType type;
+
+  @Param({"8", "64", "1024"})
+  public int length;
+
+  private CharSequence[] digits;
+
+  private CharSequence[] hex;
+
+  private byte[][] ascii;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*CharClassBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(INPUT_COUNT);
+    this.digits = new CharSequence[INPUT_COUNT];
+    this.hex = new CharSequence[INPUT_COUNT];
+    this.ascii = new byte[INPUT_COUNT][];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      this.digits[i] = this.type.wrap(CharSequencesBenchmark.randomDigits(random, this.length));
+      char[] hexChars = new char[this.length];
+      for (int j = 0; j < hexChars.length; j++) {
+        hexChars[j] = HEX_DIGITS.charAt(random.nextInt(HEX_DIGITS.length()));
+      }
+      this.hex[i] = this.type.wrap(new String(hexChars));
+      this.ascii[i] = CharSequencesBenchmark.randomText(random, this.length).getBytes(ISO_8859_1);
+    }
+    this.index = 0;
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public boolean digitCharClass() {
+    return CharClass.DIGIT.matchesAll(this.digits[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean digitLoop() {
+    CharSequence sequence = this.digits[this.nextIndex()];
+    for (int i = 0; i < sequence.length(); i++) {
+      char c = sequence.charAt(i);
+      if ((c < '0') || (c > '9')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Benchmark
+  public boolean hexCharClass() {
+    return CharClass.HEX_DIGIT.matchesAll(this.hex[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean hexCharacterDigit() {
+    CharSequence sequence = this.hex[this.nextIndex()];
+    for (int i = 0; i < sequence.length(); i++) {
+      if (Character.digit(sequence.charAt(i), 16) == -1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Benchmark
+  public int asciiBytesCharClass() {
+    byte[] bytes = this.ascii[this.nextIndex()];
+    return CharClass.ASCII.indexOfMismatch(bytes, 0, bytes.length);
+  }
+
+  @Benchmark
+  public int asciiBytesLoop() {
+    byte[] bytes = this.ascii[this.nextIndex()];
+    for (int i = 0; i < bytes.length; i++) {
+      if (bytes[i] < 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+}
@@ -0,0 +1,115 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.CharBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class CharClassTest {
+
+  @Test
+  public void test() {
+    for (int i = 0; i <= Character.MAX_VALUE; i++) {
+      char c = (char) i;
+      assertEquals(c < 0x80, CharClass.ASCII.test(c));
+      assertEquals((c >= '0') && (c <= '9'), CharClass.DIGIT.test(c));
+      assertEquals(Character.digit(c, 16) != -1 && c < 0x80, CharClass.HEX_DIGIT.test(c));
+      assertEquals(Character.isLetterOrDigit(c) && c < 0x80, CharClass.ALPHANUMERIC.test(c));
+      assertEquals(Character.isUpperCase(c) && c < 0x80, CharClass.UPPER_CASE.test(c));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void matchesAll(CharSequenceType type) {
+    assertTrue(CharClass.DIGIT.matchesAll(type.wrap("")));
+    assertTrue(CharClass.DIGIT.matchesAll(type.wrap("0123456789")));
+    assertFalse(CharClass.DIGIT.matchesAll(type.wrap("01234/6789")));
+    assertTrue(CharClass.HEX_DIGIT.matchesAll(type.wrap("0123456789abcdefABCDEF")));
+    assertFalse(CharClass.HEX_DIGIT.matchesAll(type.wrap("0123456789abcdefABCDEFG")));
+    assertTrue(CharClass.ALPHANUMERIC.matchesAll(type.wrap("azAZ09azAZ09")));
+    assertFalse(CharClass.ALPHANUMERIC.matchesAll(type.wrap("azAZ09@zAZ09")));
+    assertTrue(CharClass.UPPER_CASE.matchesAll(type.wrap("ABCDEFGHIJKLMNOPQRSTUVWXYZ")));
+    assertFalse(CharClass.UPPER_CASE.matchesAll(type.wrap("ABCDEFGHIJKLMNOPQRSTUVWXYz")));
+    assertTrue(CharClass.ASCII.matchesAll(type.wrap("plain ascii text\u007F")));
+    assertFalse(CharClass.ASCII.matchesAll(type.wrap("plain ascii text\u00E4")));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void indexOfMismatch(CharSequenceType type) {
+    // every char of the alphabet is in at least one class and out of one
+    String alphabet = "09afAFgzGZ/:@[`{\u0080\u0130\u0660\uFF10";
+    Random random = new Random(type.ordinal());
+    for (int i = 0; i < 2_000; i++) {
+      StringBuilder builder = new StringBuilder();
+      CharClass charClass = CharClass.values()[random.nextInt(CharClass.values().length)];
+      int length = random.nextInt(40);
+      for (int j = 0; j < length; j++) {
+        char c;
+        do {
+          c = alphabet.charAt(random.nextInt(alphabet.length()));
+          // mostly in the class so that the mismatch is late
+        } while (!charClass.test(c) && (random.nextInt(16) != 0));
+        builder.append(c);
+      }
+      String s = builder.toString();
+      int beginIndex = length == 0 ? 0 : random.nextInt(length);
+      int expected = naiveMismatch(charClass, s, beginIndex, length);
+      assertEquals(expected, charClass.indexOfMismatch(type.wrap(s), beginIndex, length), s);
+      assertEquals(expected, charClass.indexOfMismatch(s.toCharArray(), beginIndex, length), s);
+      if (s.chars().allMatch(c -> c <= 0xFF)) {
+        assertEquals(expected, charClass.indexOfMismatch(s.getBytes(ISO_8859_1), beginIndex, length), s);
+      }
+    }
+  }
+
+  @Test
+  public void bytes() {
+    byte[] bytes = "0123456789\u00E4".getBytes(ISO_8859_1);
+    assertEquals(-1, CharClass.DIGIT.indexOfMismatch(bytes, 0, 10));
+    assertEquals(10, CharClass.DIGIT.indexOfMismatch(bytes, 0, 11));
+    assertEquals(10, CharClass.ASCII.indexOfMismatch(bytes, 2, 11));
+    assertEquals(-1, CharClass.ASCII.indexOfMismatch(bytes, 10, 10));
+  }
+
+  @Test
+  public void slicedCharBuffer() {
+    CharBuffer buffer = CharBuffer.wrap("xx0123456789a".toCharArray());
+    buffer.position(2);
+    CharBuffer slice = buffer.slice();
+    assertEquals(10, CharClass.DIGIT.indexOfMismatch(slice, 0, slice.length()));
+    assertEquals(-1, CharClass.DIGIT.indexOfMismatch(slice, 1, 10));
+  }
+
+  @Test
+  public void predicate() {
+    assertEquals("ABC", CharSequences.trim("09ABC12", CharClass.DIGIT).toString());
+  }
+
+  @Test
+  public void invalidRanges() {
+    assertThrows(IndexOutOfBoundsException.class, () -> CharClass.DIGIT.indexOfMismatch("123", 2, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> CharClass.DIGIT.indexOfMismatch("123", -1, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> CharClass.DIGIT.indexOfMismatch(new char[3], 0, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> CharClass.DIGIT.indexOfMismatch(new byte[3], 0, 4));
+  }
+
+  private static int naiveMismatch(CharClass charClass, String s, int beginIndex, int endIndex) {
+    for (int i = beginIndex; i < endIndex; i++) {
+      if (!charClass.test(s.charAt(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+}
@@ -0,0 +1,120 @@
+package com.github.marschall.charsequences;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares {@link CharSequenceBuffer} to a reused {@link StringBuilder}
+ * as scratch space for formatting and parsing ASCII messages.
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class CharSequenceBufferBenchmark {
+
+  private static final int INPUT_COUNT = CharSequencesBenchmark.INPUT_COUNT;
+
+  private static final String KEY = "order=";
+
+  private long[] ids;
+
+  private int[] quantities;
+
+  private String[] digits;
+
+  private CharSequenceBuffer buffer;
+
+  private StringBuilder builder;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*CharSequenceBufferBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(INPUT_COUNT);
+    this.ids = new long[INPUT_COUNT];
+    this.quantities = new int[INPUT_COUNT];
+    this.digits = new String[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      this.ids[i] = random.nextLong();
+      this.quantities[i] = random.nextInt(10_000);
+      this.digits[i] = CharSequencesBenchmark.randomDigits(random, 1 + random.nextInt(18));
+    }
+    this.buffer = new CharSequenceBuffer();
+    this.builder = new StringBuilder();
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public int bufferAppend() {
+    int i = this.nextIndex();
+    return this.buffer.clear().append(KEY).append(this.ids[i]).append(',').append(this.quantities[i]).length();
+  }
+
+  @Benchmark
+  public int builderAppend() {
+    int i = this.nextIndex();
+    StringBuilder sequence = this.builder;
+    sequence.setLength(0);
+    return sequence.append(KEY).append(this.ids[i]).append(',').append(this.quantities[i]).length();
+  }
+
+  @Benchmark
+  public String bufferToString() {
+    int i = this.nextIndex();
+    return this.buffer.clear().append(KEY).append(this.ids[i]).append(',').append(this.quantities[i]).toString();
+  }
+
+  @Benchmark
+  public String builderToString() {
+    int i = this.nextIndex();
+    StringBuilder sequence = this.builder;
+    sequence.setLength(0);
+    return sequence.append(KEY).append(this.ids[i]).append(',').append(this.quantities[i]).toString();
+  }
+
+  @Benchmark
+  public long bufferParseLong() {
+    return this.buffer.clear().append(this.digits[this.nextIndex()]).parseLong();
+  }
+
+  @Benchmark
+  public long builderParseLong() {
+    StringBuilder sequence = this.builder;
+    sequence.setLength(0);
+    return CharSequences.parseLong(sequence.append(this.digits[this.nextIndex()]));
+  }
+
+  @Benchmark
+  public int bufferAppendString() {
+    return this.buffer.clear().append(this.digits[this.nextIndex()]).length();
+  }
+
+  @Benchmark
+  public int builderAppendString() {
+    StringBuilder sequence = this.builder;
+    sequence.setLength(0);
+    return sequence.append(this.digits[this.nextIndex()]).length();
+  }
+
+}
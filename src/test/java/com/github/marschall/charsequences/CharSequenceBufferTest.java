@@ -0,0 +1,181 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class CharSequenceBufferTest {
+
+  private static final String ALPHABET = "ab1-\u00E4\u00FF\u0100\u20AC";
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void agreesWithStringBuilder(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    // start without capacity so that every append has to grow
+    CharSequenceBuffer buffer = new CharSequenceBuffer(0);
+    for (int i = 0; i < 500; i++) {
+      buffer.clear();
+      assertTrue(buffer.isLatin1());
+      StringBuilder expected = new StringBuilder();
+      int appends = random.nextInt(8);
+      for (int j = 0; j < appends; j++) {
+        switch (random.nextInt(5)) {
+          case 0:
+            char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            buffer.append(c);
+            expected.append(c);
+            break;
+          case 1:
+            int intValue = random.nextInt();
+            buffer.append(intValue);
+            expected.append(intValue);
+            break;
+          case 2:
+            long longValue = random.nextLong() >> random.nextInt(64);
+            buffer.append(longValue);
+            expected.append(longValue);
+            break;
+          case 3:
+            String s = randomString(random);
+            buffer.append(type.wrap(s));
+            expected.append(s);
+            break;
+          default:
+            String range = randomString(random);
+            int beginIndex = random.nextInt(range.length() + 1);
+            int endIndex = beginIndex + random.nextInt(range.length() - beginIndex + 1);
+            buffer.append(type.wrap(range), beginIndex, endIndex);
+            expected.append(range, beginIndex, endIndex);
+            break;
+        }
+      }
+      String message = expected.toString();
+      assertEquals(expected.toString(), buffer.toString(), message);
+      assertEquals(expected.length(), buffer.length(), message);
+      assertEquals(expected.chars().allMatch(c -> c <= 0xFF), buffer.isLatin1(), message);
+      for (int j = 0; j < expected.length(); j++) {
+        assertEquals(expected.charAt(j), buffer.charAt(j), message);
+      }
+      for (int j = 0; j < ALPHABET.length(); j++) {
+        char c = ALPHABET.charAt(j);
+        assertEquals(expected.indexOf(String.valueOf(c)), CharSequences.indexOf(buffer, c), message);
+        assertEquals(expected.lastIndexOf(String.valueOf(c)), CharSequences.lastIndexOf(buffer, c), message);
+      }
+    }
+  }
+
+  @Test
+  public void appendNumbers() {
+    CharSequenceBuffer buffer = new CharSequenceBuffer();
+    long[] values = {0L, 9L, 10L, -1L, 99L, 100L, Integer.MIN_VALUE, Integer.MAX_VALUE,
+        999_999_999_999_999_999L, 1_000_000_000_000_000_000L, Long.MIN_VALUE, Long.MAX_VALUE};
+    for (long value : values) {
+      buffer.clear().append(value);
+      assertEquals(Long.toString(value), buffer.toString());
+      assertEquals(Long.toString(value).length(), CharSequenceBuffer.decimalLength(value));
+      assertEquals(value, buffer.parseLong());
+    }
+    buffer.clear().append(Integer.MIN_VALUE);
+    assertEquals(Integer.MIN_VALUE, buffer.parseInt());
+    // after inflation
+    buffer.clear().append('\u20AC').append(-42).append(42L);
+    assertEquals("\u20AC-4242", buffer.toString());
+  }
+
+  @Test
+  public void parse() {
+    CharSequenceBuffer buffer = new CharSequenceBuffer();
+    assertEquals(-123, buffer.append("-123").parseInt());
+    assertEquals(123L, buffer.clear().append("+123").parseLong());
+    assertEquals(45, CharSequences.parseInt(buffer.clear().append("12345"), 3, 5));
+    assertThrows(NumberFormatException.class, () -> buffer.clear().parseInt());
+    assertThrows(NumberFormatException.class, () -> buffer.clear().append('-').parseInt());
+    assertThrows(NumberFormatException.class, () -> buffer.clear().append("1\u00E4").parseLong());
+    assertThrows(NumberFormatException.class, () -> buffer.clear().append("2147483648").parseInt());
+    assertThrows(NumberFormatException.class, () -> buffer.clear().append("9223372036854775808").parseLong());
+    assertThrows(NumberFormatException.class, () -> buffer.clear().append("1\u20AC").parseLong());
+  }
+
+  @Test
+  public void reuse() {
+    CharSequenceBuffer buffer = new CharSequenceBuffer(4);
+    buffer.append("\u20AC1234");
+    assertFalse(buffer.isLatin1());
+    byte[] bytes = buffer.latin1Array();
+    buffer.clear().append("1234");
+    assertTrue(buffer.isLatin1());
+    assertSame(bytes, buffer.latin1Array());
+    assertEquals(1234, buffer.parseInt());
+    assertTrue(CharSequences.isNumeric(buffer));
+    assertEquals(-1, CharClass.DIGIT.indexOfMismatch(buffer, 0, 4));
+    assertEquals(4, CharClass.DIGIT.indexOfMismatch(buffer.append('\u00FF'), 0, 5));
+  }
+
+  @Test
+  public void copies() throws IOException {
+    CharSequenceBuffer buffer = new CharSequenceBuffer().append("abc\u00E4");
+    CharSequence subSequence = buffer.subSequence(1, 4);
+    buffer.clear().append("xyz");
+    assertEquals("bc\u00E4", subSequence);
+
+    buffer.append(buffer).append((CharSequence) null);
+    assertEquals("xyzxyznull", buffer.toString());
+
+    char[] chars = new char[5];
+    buffer.getChars(1, 4, chars, 2);
+    assertArrayEquals(new char[] {0, 0, 'y', 'z', 'x'}, chars);
+
+    char[] read = new char[16];
+    try (Reader reader = new CharSequenceReader(buffer.append('\u20AC'))) {
+      assertEquals(11, reader.read(read));
+    }
+    assertEquals("xyzxyznull\u20AC", new String(read, 0, 11));
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new CharSequenceBuffer(-1));
+    CharSequenceBuffer buffer = new CharSequenceBuffer().append("abc");
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.charAt(3));
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.charAt(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.subSequence(2, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.append("abc", 1, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.getChars(0, 3, new char[2], 0));
+    assertEquals("abc", buffer.toString());
+  }
+
+  @Test
+  public void indexOfOutOfRange() {
+    for (String s : new String[] {"abab", "ab\u20ACab"}) {
+      CharSequenceBuffer buffer = new CharSequenceBuffer().append(s);
+      assertEquals(0, buffer.indexOf('a', -1, s.length()));
+      assertEquals(s.length() - 1, buffer.indexOf('b', s.length() - 1, s.length() + 1));
+      assertEquals(-1, buffer.indexOf('a', s.length(), s.length() + 1));
+      assertEquals(-1, buffer.indexOf('a', 2, 1));
+      assertEquals(-1, buffer.indexOf('a', Integer.MIN_VALUE, 0));
+      assertEquals(s.length() - 2, buffer.lastIndexOf('a'));
+    }
+  }
+
+  private static String randomString(Random random) {
+    int length = random.nextInt(20);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+    }
+    return builder.toString();
+  }
+
+}
@@ -0,0 +1,109 @@
+package com.github.marschall.charsequences;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares {@link CharSequenceComparators} to converting the sequences
+ * to {@link String}s first.
+ *
+ * <p>The keys share long common prefixes, which is where tracking the
+ * common prefix in the binary search helps most.</p>
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class CharSequenceComparatorsBenchmark {
+
+  private static final int INPUT_COUNT = CharSequencesBenchmark.INPUT_COUNT;
+
+  private static final int KEY_COUNT = 4096;
+
+  @Param
+  public CharSequenceType type;
+
+  private CharSequence[] sorted;
+
+  private String[] sortedStrings;
+
+  private CharSequence[] keys;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*CharSequenceComparatorsBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(INPUT_COUNT);
+    this.sortedStrings = new String[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; i++) {
+      this.sortedStrings[i] = "com.github.marschall.charsequences." + CharSequencesBenchmark.randomText(random, 4 + random.nextInt(16));
+    }
+    Arrays.sort(this.sortedStrings);
+    this.sorted = new CharSequence[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; i++) {
+      this.sorted[i] = this.type.wrap(this.sortedStrings[i]);
+    }
+    this.keys = new CharSequence[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      this.keys[i] = this.type.wrap(this.sortedStrings[random.nextInt(KEY_COUNT)]);
+    }
+    this.index = 0;
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public int compare() {
+    int current = this.nextIndex();
+    return CharSequenceComparators.compare(this.keys[current], this.keys[(current + 1) & (INPUT_COUNT - 1)]);
+  }
+
+  @Benchmark
+  public int compareToString() {
+    int current = this.nextIndex();
+    return this.keys[current].toString().compareTo(this.keys[(current + 1) & (INPUT_COUNT - 1)].toString());
+  }
+
+  @Benchmark
+  public int compareNatural() {
+    int current = this.nextIndex();
+    return CharSequenceComparators.natural().compare(this.keys[current], this.keys[(current + 1) & (INPUT_COUNT - 1)]);
+  }
+
+  @Benchmark
+  public int binarySearch() {
+    return CharSequenceComparators.binarySearch(this.sorted, this.keys[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public int binarySearchComparator() {
+    return Arrays.binarySearch(this.sorted, this.keys[this.nextIndex()], CharSequenceComparators.lexicographic());
+  }
+
+  @Benchmark
+  public int binarySearchToString() {
+    return Arrays.binarySearch(this.sortedStrings, this.keys[this.nextIndex()].toString());
+  }
+
+}
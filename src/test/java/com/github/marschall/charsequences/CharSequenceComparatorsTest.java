@@ -0,0 +1,170 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class CharSequenceComparatorsTest {
+
+  private static final String ALPHABET = "aAbB0129\u00E4\u00C4\u20AC";
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void compare(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    for (int i = 0; i < 10_000; i++) {
+      String a = randomString(random);
+      String b = randomString(random);
+      int expected = Integer.signum(a.compareTo(b));
+      assertEquals(expected, Integer.signum(CharSequenceComparators.compare(type.wrap(a), type.wrap(b))), a + " " + b);
+      assertEquals(expected, Integer.signum(CharSequenceComparators.compare(a, type.wrap(b))), a + " " + b);
+      assertEquals(expected, Integer.signum(CharSequenceComparators.lexicographic().compare(type.wrap(a), b)), a + " " + b);
+    }
+  }
+
+  @Test
+  public void compareEdgeCases() {
+    assertEquals(0, CharSequenceComparators.compare("", new StringBuilder()));
+    assertEquals(-1, Integer.signum(CharSequenceComparators.compare("", new StringBuilder("a"))));
+    assertEquals(1, Integer.signum(CharSequenceComparators.compare(new StringBuilder("ab"), "a")));
+    // compared by code unit like String#compareTo, not by code point
+    assertEquals(-1, Integer.signum(CharSequenceComparators.compare(new StringBuilder("\uD83D\uDE00"), "\uFFFF")));
+    assertThrows(NullPointerException.class, () -> CharSequenceComparators.compare(null, "a"));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void ignoringAsciiCase(CharSequenceType type) {
+    Comparator<CharSequence> comparator = CharSequenceComparators.ignoringAsciiCase();
+    assertEquals(0, comparator.compare(type.wrap("Hello World"), "hELLO wORLD"));
+    assertEquals(-1, Integer.signum(comparator.compare(type.wrap("abc"), "ABD")));
+    assertEquals(1, Integer.signum(comparator.compare(type.wrap("ABCD"), "abc")));
+    // letters are compared in lower case, '_' is between 'Z' and 'a'
+    assertEquals(1, Integer.signum(comparator.compare(type.wrap("A"), "_")));
+    // only ASCII is folded
+    assertEquals(1, Integer.signum(comparator.compare(type.wrap("\u00E4"), "\u00C4")));
+
+    Random random = new Random(type.ordinal());
+    for (int i = 0; i < 10_000; i++) {
+      String a = randomAsciiString(random);
+      String b = randomAsciiString(random);
+      assertEquals(Integer.signum(String.CASE_INSENSITIVE_ORDER.compare(a, b)),
+              Integer.signum(comparator.compare(type.wrap(a), type.wrap(b))), a + " " + b);
+    }
+  }
+
+  @Test
+  public void natural() {
+    String[] expected = {"", "0", "00", "1", "01", "2", "9", "10", "010", "99", "100",
+        "a", "a1", "a1b", "a01b", "a2", "a2b", "a10", "a10b", "b", "file1.txt", "file9.txt", "file10.txt",
+        "file10a.txt", "file12345678901234567890.txt", "file12345678901234567891.txt", "file99999999999999999999999.txt"};
+    String[] shuffled = expected.clone();
+    Collections.shuffle(Arrays.asList(shuffled), new Random(0L));
+    Arrays.sort(shuffled, CharSequenceComparators.natural());
+    assertEquals(Arrays.asList(expected), Arrays.asList(shuffled));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void naturalIsConsistent(CharSequenceType type) {
+    Comparator<CharSequence> comparator = CharSequenceComparators.natural();
+    Random random = new Random(type.ordinal());
+    for (int i = 0; i < 10_000; i++) {
+      String a = randomString(random);
+      String b = randomString(random);
+      int ab = comparator.compare(type.wrap(a), b);
+      int ba = comparator.compare(b, type.wrap(a));
+      assertEquals(Integer.signum(ab), -Integer.signum(ba), a + " " + b);
+      assertEquals(a.equals(b), ab == 0, a + " " + b);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void binarySearch(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    for (int size = 0; size < 50; size++) {
+      String[] strings = new String[size];
+      for (int i = 0; i < size; i++) {
+        strings[i] = randomString(random);
+      }
+      Arrays.sort(strings);
+      CharSequence[] sorted = new CharSequence[size];
+      for (int i = 0; i < size; i++) {
+        sorted[i] = type.wrap(strings[i]);
+      }
+      for (int i = 0; i < 100; i++) {
+        String key = (size > 0) && random.nextBoolean() ? strings[random.nextInt(size)] : randomString(random);
+        int expected = Arrays.binarySearch(strings, key);
+        int actual = CharSequenceComparators.binarySearch(sorted, type.wrap(key));
+        if (expected >= 0) {
+          // duplicates may be found at a different index
+          assertEquals(key, sorted[actual].toString());
+        } else {
+          assertEquals(expected, actual, key);
+        }
+        assertEquals(actual, CharSequenceComparators.binarySearch(sorted, type.wrap("[" + key + "]"), 1, key.length() + 1));
+      }
+    }
+  }
+
+  @Test
+  public void binarySearchSharedPrefixes() {
+    CharSequence[] sorted = {"prefix", "prefix-a", "prefix-aa", "prefix-ab", "prefix-b", "prefix-ba", "prefixa"};
+    for (int i = 0; i < sorted.length; i++) {
+      assertEquals(i, CharSequenceComparators.binarySearch(sorted, new StringBuilder(sorted[i])));
+    }
+    assertEquals(-1, CharSequenceComparators.binarySearch(sorted, "pref"));
+    assertEquals(-4, CharSequenceComparators.binarySearch(sorted, "prefix-aaa"));
+    assertEquals(-7, CharSequenceComparators.binarySearch(sorted, "prefix-c"));
+    assertEquals(-8, CharSequenceComparators.binarySearch(sorted, "prefixb"));
+    assertThrows(IndexOutOfBoundsException.class, () -> CharSequenceComparators.binarySearch(sorted, "prefix", 2, 7));
+  }
+
+  @Test
+  public void serialization() throws IOException, ClassNotFoundException {
+    for (Comparator<CharSequence> comparator : Arrays.asList(CharSequenceComparators.lexicographic(),
+            CharSequenceComparators.ignoringAsciiCase(), CharSequenceComparators.natural())) {
+      ByteArrayOutputStream bos = new ByteArrayOutputStream();
+      try (ObjectOutputStream stream = new ObjectOutputStream(bos)) {
+        stream.writeObject(comparator);
+      }
+      try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+        assertSame(comparator, stream.readObject());
+      }
+    }
+  }
+
+  private static String randomString(Random random) {
+    int length = random.nextInt(8);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+    }
+    return builder.toString();
+  }
+
+  private static String randomAsciiString(Random random) {
+    int length = random.nextInt(8);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append((char) (' ' + random.nextInt(95)));
+    }
+    return builder.toString();
+  }
+
+}
@@ -0,0 +1,171 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class CharSequenceReaderTest {
+
+  private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+  public static List<CharSequence> sequences() {
+    CharBuffer direct = ByteBuffer.allocateDirect(CONTENT.length() * 2).asCharBuffer();
+    direct.put(CONTENT);
+    direct.flip();
+    CharBuffer offset = CharBuffer.wrap("--" + CONTENT + "--");
+    offset.position(2);
+    offset.limit(2 + CONTENT.length());
+    return Arrays.asList(
+            CONTENT,
+            new StringBuilder(CONTENT),
+            new StringBuffer(CONTENT),
+            CharBuffer.wrap(CONTENT.toCharArray()),
+            CharBuffer.wrap(CONTENT),
+            direct,
+            offset,
+            new WrappingCharSequence(CONTENT));
+  }
+
+  @ParameterizedTest
+  @MethodSource("sequences")
+  public void readSingleChars(CharSequence sequence) throws IOException {
+    StringBuilder result = new StringBuilder();
+    try (Reader reader = new CharSequenceReader(sequence)) {
+      int c;
+      while ((c = reader.read()) != -1) {
+        result.append((char) c);
+      }
+      assertEquals(-1, reader.read());
+    }
+    assertEquals(CONTENT, result.toString());
+  }
+
+  @ParameterizedTest
+  @MethodSource("sequences")
+  public void readBulk(CharSequence sequence) throws IOException {
+    for (int bufferSize = 1; bufferSize < 8; bufferSize++) {
+      StringBuilder result = new StringBuilder();
+      char[] buffer = new char[bufferSize + 2];
+      try (Reader reader = new CharSequenceReader(sequence)) {
+        int read;
+        while ((read = reader.read(buffer, 1, bufferSize)) != -1) {
+          result.append(buffer, 1, read);
+        }
+      }
+      assertEquals(CONTENT, result.toString());
+    }
+    // position of buffers is unchanged
+    assertEquals(CONTENT, sequence.toString());
+  }
+
+  @ParameterizedTest
+  @MethodSource("sequences")
+  public void readCharBuffer(CharSequence sequence) throws IOException {
+    for (CharBuffer target : Arrays.asList(CharBuffer.allocate(7), ByteBuffer.allocateDirect(14).asCharBuffer())) {
+      StringBuilder result = new StringBuilder();
+      try (Reader reader = new CharSequenceReader(sequence)) {
+        while (reader.read(target) != -1) {
+          target.flip();
+          result.append(target);
+          target.clear();
+        }
+      }
+      assertEquals(CONTENT, result.toString());
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("sequences")
+  public void skipMarkReset(CharSequence sequence) throws IOException {
+    try (Reader reader = new CharSequenceReader(sequence)) {
+      assertTrue(reader.markSupported());
+      assertEquals(10L, reader.skip(10L));
+      reader.mark(1);
+      assertEquals('a', reader.read());
+      assertEquals(CONTENT.length() - 11, reader.skip(Long.MAX_VALUE));
+      assertEquals(0L, reader.skip(1L));
+      assertEquals(-1, reader.read());
+      reader.reset();
+      assertEquals('a', reader.read());
+      assertThrows(IllegalArgumentException.class, () -> reader.skip(-1L));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("sequences")
+  public void transferTo(CharSequence sequence) throws IOException {
+    StringWriter writer = new StringWriter();
+    try (CharSequenceReader reader = new CharSequenceReader(sequence)) {
+      assertEquals('0', reader.read());
+      assertEquals(CONTENT.length() - 1, reader.transferTo(writer));
+      assertEquals(-1, reader.read());
+      assertEquals(0L, reader.transferTo(writer));
+    }
+    assertEquals(CONTENT.substring(1), writer.toString());
+  }
+
+  @Test
+  public void closed() throws IOException {
+    Reader reader = new CharSequenceReader(CONTENT);
+    reader.close();
+    assertThrows(IOException.class, reader::read);
+    assertThrows(IOException.class, () -> reader.read(new char[1], 0, 1));
+    assertThrows(IOException.class, reader::ready);
+    assertThrows(IOException.class, reader::reset);
+    assertThrows(IOException.class, () -> reader.skip(1L));
+  }
+
+  @Test
+  public void invalidArguments() throws IOException {
+    try (Reader reader = new CharSequenceReader(CONTENT)) {
+      assertThrows(NullPointerException.class, () -> reader.read((char[]) null, 0, 1));
+      assertThrows(IndexOutOfBoundsException.class, () -> reader.read(new char[1], -1, 1));
+      assertThrows(IndexOutOfBoundsException.class, () -> reader.read(new char[1], 0, 2));
+      assertEquals(0, reader.read(new char[1], 0, 0));
+    }
+    assertThrows(NullPointerException.class, () -> new CharSequenceReader(null));
+  }
+
+  static final class WrappingCharSequence implements CharSequence {
+
+    private final CharSequence delegate;
+
+    WrappingCharSequence(CharSequence delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public int length() {
+      return this.delegate.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      return this.delegate.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return new WrappingCharSequence(this.delegate.subSequence(start, end));
+    }
+
+    @Override
+    public String toString() {
+      return this.delegate.toString();
+    }
+
+  }
+
+}
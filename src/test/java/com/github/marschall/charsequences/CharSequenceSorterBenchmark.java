@@ -0,0 +1,92 @@
+package com.github.marschall.charsequences;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares {@link CharSequenceSorter} to {@link Arrays#sort(Object[], java.util.Comparator)}
+ * with {@link CharSequenceComparators#lexicographic()}.
+ *
+ * <p>The keys look like identifiers and share long common prefixes,
+ * which a comparison sort compares again and again.</p>
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class CharSequenceSorterBenchmark {
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  @Param
+  public CharSequenceType type;
+
+  private CharSequence[] unsorted;
+
+  private CharSequence[] array;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*CharSequenceSorterBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(this.size);
+    String[] packages = {"com.github.marschall.charsequences.", "com.github.marschall.", "org.openjdk.jmh.annotations."};
+    this.unsorted = new CharSequence[this.size];
+    for (int i = 0; i < this.size; i++) {
+      String identifier = packages[random.nextInt(packages.length)] + CharSequencesBenchmark.randomText(random, 4 + random.nextInt(16));
+      this.unsorted[i] = this.type.wrap(identifier);
+    }
+    this.array = new CharSequence[this.size];
+  }
+
+  private CharSequence[] copy() {
+    CharSequence[] array = this.array;
+    System.arraycopy(this.unsorted, 0, array, 0, array.length);
+    return array;
+  }
+
+  @Benchmark
+  public CharSequence[] sort() {
+    CharSequence[] array = this.copy();
+    CharSequenceSorter.sort(array);
+    return array;
+  }
+
+  @Benchmark
+  public CharSequence[] arraysSort() {
+    CharSequence[] array = this.copy();
+    Arrays.sort(array, CharSequenceComparators.lexicographic());
+    return array;
+  }
+
+  @Benchmark
+  public CharSequence[] parallelSort() {
+    CharSequence[] array = this.copy();
+    CharSequenceSorter.parallelSort(array);
+    return array;
+  }
+
+  @Benchmark
+  public CharSequence[] arraysParallelSort() {
+    CharSequence[] array = this.copy();
+    Arrays.parallelSort(array, CharSequenceComparators.lexicographic());
+    return array;
+  }
+
+}
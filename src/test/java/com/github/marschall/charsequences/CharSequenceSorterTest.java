@@ -0,0 +1,202 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class CharSequenceSorterTest {
+
+  private static final String ALPHABET = "aAbB0129\u00E4\u00C4\u20AC\uD83D\uDE00";
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void sort(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    for (int size : new int[] {0, 1, 2, 15, 16, 17, 100, 1_000, 10_000}) {
+      String[] strings = randomStrings(random, size);
+      CharSequence[] actual = wrap(type, strings);
+      CharSequenceSorter.sort(actual);
+      Arrays.sort(strings);
+      assertArrayEquals(strings, toStrings(actual));
+    }
+  }
+
+  @Test
+  public void sortSharedPrefixes() {
+    String[] expected = {"", "", "prefix", "prefix", "prefix-a", "prefix-aa", "prefix-ab",
+        "prefix-b", "prefix-ba", "prefixa", "prefixa\uFFFF"};
+    for (int seed = 0; seed < 10; seed++) {
+      CharSequence[] actual = shuffled(expected, seed);
+      CharSequenceSorter.sort(actual);
+      assertArrayEquals(expected, toStrings(actual));
+    }
+  }
+
+  @Test
+  public void sortDuplicates() {
+    // all keys equal or long common prefixes exercise the equal partition
+    CharSequence[] actual = new CharSequence[1_000];
+    Random random = new Random(0L);
+    for (int i = 0; i < actual.length; i++) {
+      actual[i] = new StringBuilder("com.github.marschall.charsequences.").append(random.nextInt(3));
+    }
+    String[] expected = toStrings(actual);
+    Arrays.sort(expected);
+    CharSequenceSorter.sort(actual);
+    assertArrayEquals(expected, toStrings(actual));
+  }
+
+  @Test
+  public void sortRange() {
+    Random random = new Random(0L);
+    String[] strings = randomStrings(random, 200);
+    CharSequence[] actual = strings.clone();
+    CharSequenceSorter.sort(actual, 50, 150);
+    Arrays.sort(strings, 50, 150);
+    assertArrayEquals(strings, toStrings(actual));
+
+    assertThrows(IllegalArgumentException.class, () -> CharSequenceSorter.sort(actual, 2, 1));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> CharSequenceSorter.sort(actual, -1, 1));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> CharSequenceSorter.sort(actual, 0, 201));
+    assertThrows(NullPointerException.class, () -> CharSequenceSorter.sort(new CharSequence[] {"a", null}));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parallelSort(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    for (int size : new int[] {0, 100, 100_000}) {
+      String[] strings = randomStrings(random, size);
+      CharSequence[] actual = wrap(type, strings);
+      CharSequenceSorter.parallelSort(actual);
+      Arrays.sort(strings);
+      assertArrayEquals(strings, toStrings(actual));
+    }
+  }
+
+  @Test
+  public void keyExtractor() {
+    Random random = new Random(0L);
+    Entry[] actual = new Entry[1_000];
+    for (int i = 0; i < actual.length; i++) {
+      String record = randomString(random);
+      actual[i] = new Entry("[" + record + "]", 1, record.length() + 1);
+    }
+    Entry[] expected = actual.clone();
+    Arrays.sort(expected, Comparator.comparing(Entry::key));
+
+    CharSequenceSorter.sort(actual, Entry.KEY_EXTRACTOR);
+    assertEquals(Arrays.asList(keys(expected)), Arrays.asList(keys(actual)));
+
+    Collections.shuffle(Arrays.asList(actual), random);
+    CharSequenceSorter.parallelSort(actual, Entry.KEY_EXTRACTOR);
+    assertEquals(Arrays.asList(keys(expected)), Arrays.asList(keys(actual)));
+  }
+
+  @Test
+  public void rangeKeyExtractor() {
+    // records shorter than the range are truncated
+    CharSequence[] records = {"0003ccc", "0001bbb", "0002aaa", "0004bb", "01"};
+    CharSequenceSorter.sort(records, CharSequenceSorter.KeyExtractor.range(4, 7));
+    assertArrayEquals(new String[] {"01", "0002aaa", "0004bb", "0001bbb", "0003ccc"}, toStrings(records));
+
+    assertThrows(IllegalArgumentException.class, () -> CharSequenceSorter.KeyExtractor.range(-1, 1));
+    assertThrows(IllegalArgumentException.class, () -> CharSequenceSorter.KeyExtractor.range(2, 1));
+  }
+
+  private static String[] keys(Entry[] entries) {
+    String[] keys = new String[entries.length];
+    for (int i = 0; i < entries.length; i++) {
+      keys[i] = entries[i].key();
+    }
+    return keys;
+  }
+
+  private static CharSequence[] shuffled(String[] strings, long seed) {
+    CharSequence[] shuffled = strings.clone();
+    Collections.shuffle(Arrays.asList(shuffled), new Random(seed));
+    return shuffled;
+  }
+
+  private static CharSequence[] wrap(CharSequenceType type, String[] strings) {
+    CharSequence[] wrapped = new CharSequence[strings.length];
+    for (int i = 0; i < strings.length; i++) {
+      wrapped[i] = type.wrap(strings[i]);
+    }
+    return wrapped;
+  }
+
+  private static String[] toStrings(CharSequence[] sequences) {
+    String[] strings = new String[sequences.length];
+    for (int i = 0; i < sequences.length; i++) {
+      strings[i] = sequences[i].toString();
+    }
+    return strings;
+  }
+
+  private static String[] randomStrings(Random random, int size) {
+    String[] strings = new String[size];
+    for (int i = 0; i < size; i++) {
+      strings[i] = randomString(random);
+    }
+    return strings;
+  }
+
+  private static String randomString(Random random) {
+    int length = random.nextInt(12);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+    }
+    return builder.toString();
+  }
+
+  static final class Entry {
+
+    static final CharSequenceSorter.KeyExtractor<Entry> KEY_EXTRACTOR = new CharSequenceSorter.KeyExtractor<Entry>() {
+
+      @Override
+      public CharSequence sequence(Entry element) {
+        return element.record;
+      }
+
+      @Override
+      public int beginIndex(Entry element) {
+        return element.beginIndex;
+      }
+
+      @Override
+      public int endIndex(Entry element) {
+        return element.endIndex;
+      }
+
+    };
+
+    private final String record;
+
+    private final int beginIndex;
+
+    private final int endIndex;
+
+    Entry(String record, int beginIndex, int endIndex) {
+      this.record = record;
+      this.beginIndex = beginIndex;
+      this.endIndex = endIndex;
+    }
+
+    String key() {
+      return this.record.substring(this.beginIndex, this.endIndex);
+    }
+
+  }
+
+}
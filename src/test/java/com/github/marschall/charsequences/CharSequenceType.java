@@ -0,0 +1,124 @@
+package com.github.marschall.charsequences;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * The {@link CharSequence} implementations benchmarks and tests run against.
+ */
+public enum CharSequenceType {
+
+  STRING {
+
+    @Override
+    CharSequence wrap(String s) {
+      return s;
+    }
+
+  },
+
+  STRING_BUILDER {
+
+    @Override
+    CharSequence wrap(String s) {
+      return new StringBuilder(s);
+    }
+
+  },
+
+  HEAP_CHAR_BUFFER {
+
+    @Override
+    CharSequence wrap(String s) {
+      return CharBuffer.wrap(s.toCharArray());
+    }
+
+  },
+
+  DIRECT_CHAR_BUFFER {
+
+    @Override
+    CharSequence wrap(String s) {
+      CharBuffer buffer = ByteBuffer.allocateDirect(s.length() * 2).asCharBuffer();
+      buffer.put(s);
+      // cast for Java 8 compatibility, CharBuffer#flip() is covariant in Java 9+
+      ((Buffer) buffer).flip();
+      return buffer;
+    }
+
+  },
+
+  CUSTOM {
+
+    @Override
+    CharSequence wrap(String s) {
+      return new ArrayCharSequence(s.toCharArray(), 0, s.length());
+    }
+
+  },
+
+  CHAR_SEQUENCE_BUFFER {
+
+    @Override
+    CharSequence wrap(String s) {
+      return new CharSequenceBuffer(s.length()).append(s);
+    }
+
+  };
+
+  /**
+   * Creates a sequence of this type with the given content.
+   *
+   * @param s the content
+   * @return a sequence of this type with the same chars as {@code s}
+   */
+  abstract CharSequence wrap(String s);
+
+  /**
+   * A {@link CharSequence} not known to the library, forces the generic
+   * {@link CharSequence#charAt(int)} paths.
+   */
+  static final class ArrayCharSequence implements CharSequence {
+
+    private final char[] chars;
+
+    private final int offset;
+
+    private final int length;
+
+    ArrayCharSequence(char[] chars, int offset, int length) {
+      this.chars = chars;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return this.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if ((index < 0) || (index >= this.length)) {
+        throw new IndexOutOfBoundsException();
+      }
+      return this.chars[this.offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if ((start < 0) || (end > this.length) || (start > end)) {
+        throw new IndexOutOfBoundsException();
+      }
+      return new ArrayCharSequence(this.chars, this.offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+      return new String(this.chars, this.offset, this.length);
+    }
+
+  }
+
+}
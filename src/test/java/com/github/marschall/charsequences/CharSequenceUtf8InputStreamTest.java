@@ -0,0 +1,189 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class CharSequenceUtf8InputStreamTest {
+
+  public static List<String> inputs() {
+    return Arrays.asList(
+            "",
+            "a",
+            "abc",
+            "ä",
+            "aäb",
+            "€",
+            "a€b",
+            "💩",
+            "a💩b",
+            // unpaired surrogates
+            "\uD83D",
+            "\uDCA9",
+            "a\uD83Db",
+            "a\uDCA9b",
+            "\uDCA9\uD83D",
+            "0123456789ä€💩abcdefghijklmnopqrstuvwxyzä€💩");
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void readSingleBytes(String input) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (InputStream stream = new CharSequenceUtf8InputStream(new StringBuilder(input))) {
+      int b;
+      while ((b = stream.read()) != -1) {
+        bos.write(b);
+      }
+      assertEquals(-1, stream.read());
+    }
+    assertArrayEquals(input.getBytes(UTF_8), bos.toByteArray());
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void readBulk(String input) throws IOException {
+    byte[] expected = input.getBytes(UTF_8);
+    for (int bufferSize = 1; bufferSize < 8; bufferSize++) {
+      ByteArrayOutputStream bos = new ByteArrayOutputStream();
+      byte[] buffer = new byte[bufferSize + 2];
+      try (InputStream stream = new CharSequenceUtf8InputStream(input)) {
+        int read;
+        while ((read = stream.read(buffer, 1, bufferSize)) != -1) {
+          assertTrue(read > 0);
+          bos.write(buffer, 1, read);
+        }
+      }
+      assertArrayEquals(expected, bos.toByteArray(), "buffer size: " + bufferSize);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void transferTo(String input) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (CharSequenceUtf8InputStream stream = new CharSequenceUtf8InputStream(input)) {
+      assertEquals(input.getBytes(UTF_8).length, stream.transferTo(bos));
+    }
+    assertArrayEquals(input.getBytes(UTF_8), bos.toByteArray());
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void skip(String input) throws IOException {
+    byte[] expected = input.getBytes(UTF_8);
+    for (int toSkip = 0; toSkip <= expected.length; toSkip++) {
+      try (InputStream stream = new CharSequenceUtf8InputStream(input)) {
+        assertEquals(toSkip, stream.skip(toSkip));
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        int b;
+        while ((b = stream.read()) != -1) {
+          bos.write(b);
+        }
+        assertArrayEquals(Arrays.copyOfRange(expected, toSkip, expected.length), bos.toByteArray());
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void markReset(String input) throws IOException {
+    byte[] expected = input.getBytes(UTF_8);
+    for (int markPosition = 0; markPosition <= expected.length; markPosition++) {
+      try (InputStream stream = new CharSequenceUtf8InputStream(input)) {
+        assertTrue(stream.markSupported());
+        for (int i = 0; i < markPosition; i++) {
+          stream.read();
+        }
+        stream.mark(0);
+        stream.skip(expected.length);
+        stream.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        int b;
+        while ((b = stream.read()) != -1) {
+          bos.write(b);
+        }
+        assertArrayEquals(Arrays.copyOfRange(expected, markPosition, expected.length), bos.toByteArray());
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void utf8Length(String input) {
+    assertEquals(input.getBytes(UTF_8).length, CharSequences.utf8Length(input));
+    assertEquals(input.getBytes(UTF_8).length, CharSequences.utf8Length(new StringBuilder(input)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void encodeUtf8(String input) {
+    byte[] expected = input.getBytes(UTF_8);
+    ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+    assertEquals(input.length(), CharSequences.encodeUtf8(input, buffer));
+    assertArrayEquals(expected, buffer.array());
+
+    for (int chunkSize = 4; chunkSize < 8; chunkSize++) {
+      ByteArrayOutputStream bos = new ByteArrayOutputStream();
+      ByteBuffer chunk = ByteBuffer.allocateDirect(chunkSize);
+      int index = 0;
+      while (index < input.length()) {
+        index = CharSequences.encodeUtf8(input, index, chunk);
+        chunk.flip();
+        while (chunk.hasRemaining()) {
+          bos.write(chunk.get());
+        }
+        chunk.clear();
+      }
+      assertArrayEquals(expected, bos.toByteArray(), "chunk size: " + chunkSize);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void available(String input) throws IOException {
+    try (InputStream stream = new CharSequenceUtf8InputStream(input)) {
+      int remaining = input.getBytes(UTF_8).length;
+      while (remaining > 0) {
+        assertTrue(stream.available() <= remaining);
+        assertTrue(stream.available() > 0);
+        stream.read();
+        remaining -= 1;
+      }
+      assertEquals(0, stream.available());
+    }
+  }
+
+  @Test
+  public void closed() throws IOException {
+    InputStream stream = new CharSequenceUtf8InputStream("abc");
+    stream.close();
+    assertThrows(IOException.class, stream::read);
+    assertThrows(IOException.class, () -> stream.read(new byte[1], 0, 1));
+    assertThrows(IOException.class, stream::available);
+  }
+
+  @Test
+  public void invalidArguments() {
+    InputStream stream = new CharSequenceUtf8InputStream("abc");
+    assertThrows(NullPointerException.class, () -> stream.read(null, 0, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> stream.read(new byte[1], -1, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> stream.read(new byte[1], 0, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> CharSequences.encodeUtf8("abc", 4, ByteBuffer.allocate(1)));
+    assertThrows(NullPointerException.class, () -> new CharSequenceUtf8InputStream(null));
+  }
+
+}
@@ -0,0 +1,269 @@
+package com.github.marschall.charsequences;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Benchmarks the searching, trimming, splitting and encoding methods of
+ * {@link CharSequences} over all {@link CharSequenceType}s.
+ *
+ * <p>Every invocation uses the next of {@value #INPUT_COUNT} randomly
+ * generated inputs so that the JIT can not constant fold the input.</p>
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class CharSequencesBenchmark {
+
+  static final int INPUT_COUNT = 64;
+
+  private static final CharPredicate IS_SPACE_OR_TAB = c -> (c == ' ') || (c == '\t');
+
+  @Param
+  public CharSequenceType type;
+
+  @Param({"8", "64", "1024"})
+  public int length;
+
+  private CharSequence[] texts;
+
+  private CharSequence[] padded;
+
+  private CharSequence[] nonAscii;
+
+  private CharSequence[] numeric;
+
+  private CharSequence[] withBom;
+
+  private CharSequence[] prefixes;
+
+  private String[] needles;
+
+  private ByteBuffer buffer;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*CharSequencesBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(this.length);
+    this.texts = new CharSequence[INPUT_COUNT];
+    this.padded = new CharSequence[INPUT_COUNT];
+    this.nonAscii = new CharSequence[INPUT_COUNT];
+    this.numeric = new CharSequence[INPUT_COUNT];
+    this.withBom = new CharSequence[INPUT_COUNT];
+    this.prefixes = new CharSequence[INPUT_COUNT];
+    this.needles = new String[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      String text = randomText(random, this.length);
+      this.texts[i] = this.type.wrap(text);
+      this.padded[i] = this.type.wrap(pad(random, text));
+      this.nonAscii[i] = this.type.wrap(randomNonAscii(random, this.length));
+      this.numeric[i] = this.type.wrap(randomDigits(random, this.length));
+      this.withBom[i] = this.type.wrap('\uFEFF' + text);
+      this.prefixes[i] = this.type.wrap(text.substring(0, Math.min(4, text.length())));
+      // a needle close to the end
+      this.needles[i] = text.substring(text.length() - Math.min(3, text.length()));
+    }
+    this.buffer = ByteBuffer.allocate(this.length * 3);
+    this.index = 0;
+  }
+
+  /**
+   * Lower case letters with a comma every eight chars, a new line every
+   * 32 chars and a single {@code 'z'} at a random position.
+   */
+  static String randomText(Random random, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      if ((i % 32) == 31) {
+        chars[i] = '\n';
+      } else if ((i % 8) == 7) {
+        chars[i] = ',';
+      } else {
+        chars[i] = (char) ('a' + random.nextInt(25));
+      }
+    }
+    chars[random.nextInt(length)] = 'z';
+    return new String(chars);
+  }
+
+  private static String pad(Random random, String text) {
+    StringBuilder buffer = new StringBuilder(text.length() + 6);
+    for (int i = random.nextInt(4); i > 0; i--) {
+      buffer.append(' ');
+    }
+    buffer.append(text);
+    for (int i = random.nextInt(4); i > 0; i--) {
+      buffer.append(' ');
+    }
+    return buffer.toString();
+  }
+
+  private static String randomNonAscii(Random random, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      switch (random.nextInt(8)) {
+        case 0:
+          chars[i] = '\u00E9'; // two bytes
+          break;
+        case 1:
+          chars[i] = '\u20AC'; // three bytes
+          break;
+        default:
+          chars[i] = (char) ('a' + random.nextInt(26));
+          break;
+      }
+    }
+    return new String(chars);
+  }
+
+  static String randomDigits(Random random, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) ('0' + random.nextInt(10));
+    }
+    return new String(chars);
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public boolean isNumeric() {
+    return CharSequences.isNumeric(this.numeric[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public int indexOfChar() {
+    return CharSequences.indexOf(this.texts[this.nextIndex()], 'z');
+  }
+
+  @Benchmark
+  public int indexOfCharFromIndex() {
+    return CharSequences.indexOf(this.texts[this.nextIndex()], ',', this.length / 2);
+  }
+
+  @Benchmark
+  public int lastIndexOf() {
+    return CharSequences.lastIndexOf(this.texts[this.nextIndex()], 'z');
+  }
+
+  @Benchmark
+  public int indexOfString() {
+    int i = this.nextIndex();
+    return CharSequences.indexOf(this.texts[i], this.needles[i]);
+  }
+
+  @Benchmark
+  public CharSequence trim() {
+    return CharSequences.trim(this.padded[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public CharSequence trimPredicate() {
+    return CharSequences.trim(this.padded[this.nextIndex()], IS_SPACE_OR_TAB);
+  }
+
+  @Benchmark
+  public CharSequence strip() {
+    return CharSequences.strip(this.padded[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public CharSequence stripLeading() {
+    return CharSequences.stripLeading(this.padded[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public CharSequence stripTrailing() {
+    return CharSequences.stripTrailing(this.padded[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public void split(Blackhole blackhole) {
+    for (CharSequence token : CharSequences.split(this.texts[this.nextIndex()], ',')) {
+      blackhole.consume(token);
+    }
+  }
+
+  @Benchmark
+  public void lines(Blackhole blackhole) {
+    CharSequences.lines(this.texts[this.nextIndex()]).forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public int lineCursor() {
+    LineCursor cursor = CharSequences.lineCursor(this.texts[this.nextIndex()]);
+    int sum = 0;
+    while (cursor.next()) {
+      sum += cursor.lineEnd() - cursor.lineStart();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public char concat() {
+    int i = this.nextIndex();
+    CharSequence concatenated = CharSequences.concat(this.texts[i], this.padded[i]);
+    return concatenated.charAt(concatenated.length() - 1);
+  }
+
+  @Benchmark
+  public boolean startsWithBom() {
+    return CharSequences.startsWithBom(this.withBom[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public CharSequence removeLeadingBom() {
+    return CharSequences.removeLeadingBom(this.withBom[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean startsWith() {
+    int i = this.nextIndex();
+    return CharSequences.startsWith(this.texts[i], this.prefixes[i]);
+  }
+
+  @Benchmark
+  public long utf8Length() {
+    return CharSequences.utf8Length(this.nonAscii[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public int encodeUtf8() {
+    // cast for Java 8 compatibility, ByteBuffer#clear() is covariant in Java 9+
+    ((Buffer) this.buffer).clear();
+    return CharSequences.encodeUtf8(this.nonAscii[this.nextIndex()], this.buffer);
+  }
+
+  @Benchmark
+  public int encodeUtf8Ascii() {
+    // cast for Java 8 compatibility, ByteBuffer#clear() is covariant in Java 9+
+    ((Buffer) this.buffer).clear();
+    return CharSequences.encodeUtf8(this.texts[this.nextIndex()], 0, this.buffer);
+  }
+
+}
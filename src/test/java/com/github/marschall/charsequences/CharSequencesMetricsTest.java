@@ -0,0 +1,191 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.URISyntaxException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class CharSequencesMetricsTest {
+
+  @AfterEach
+  public void tearDown() {
+    CharSequencesMetrics.reset();
+  }
+
+  @Test
+  public void disabledByDefault() {
+    assertFalse(CharSequencesMetrics.isEnabled());
+
+    CharSequences.parseInt("123");
+    CharSequences.indexOf(new StringBuilder("abc"), 'b');
+
+    RecordingReporter reporter = new RecordingReporter();
+    CharSequencesMetrics.report(reporter);
+    assertEquals(0L, reporter.counter("CharSequences.parseInt", "calls"));
+    assertEquals(0L, reporter.counter("CharSequences.indexOf(char)", "calls"));
+    assertEquals(0, reporter.dispatch.size());
+  }
+
+  @Test
+  public void report() {
+    Instrumentation.call(Operation.PARSE_INT, "123", 3);
+    Instrumentation.call(Operation.PARSE_INT, new StringBuilder("-1"), 2);
+    Instrumentation.call(Operation.PARSE_INT, "4", 1);
+    Instrumentation.failure(Operation.PARSE_INT);
+    Instrumentation.call(Operation.INDEX_OF_CHAR, CharBuffer.wrap("abcd"), 4);
+    Instrumentation.fastPath(Operation.INDEX_OF_CHAR);
+    Instrumentation.fallback(Operation.INDEX_OF_CHAR);
+    Instrumentation.fallback(Operation.INDEX_OF_CHAR);
+
+    RecordingReporter reporter = new RecordingReporter();
+    CharSequencesMetrics.report(reporter);
+
+    assertEquals(3L, reporter.counter("CharSequences.parseInt", "calls"));
+    assertEquals(6L, reporter.counter("CharSequences.parseInt", "length"));
+    assertEquals(1L, reporter.counter("CharSequences.parseInt", "failures"));
+    assertEquals(0L, reporter.counter("CharSequences.parseInt", "fastPath"));
+    assertEquals(2L, reporter.dispatch("CharSequences.parseInt", String.class));
+    assertEquals(1L, reporter.dispatch("CharSequences.parseInt", StringBuilder.class));
+
+    assertEquals(1L, reporter.counter("CharSequences.indexOf(char)", "calls"));
+    assertEquals(4L, reporter.counter("CharSequences.indexOf(char)", "length"));
+    assertEquals(1L, reporter.counter("CharSequences.indexOf(char)", "fastPath"));
+    assertEquals(2L, reporter.counter("CharSequences.indexOf(char)", "fallback"));
+    assertEquals(1L, reporter.dispatch("CharSequences.indexOf(char)", CharBuffer.wrap("").getClass()));
+
+    assertEquals(0L, reporter.counter("LuhnCheck.isValid", "calls"));
+  }
+
+  @Test
+  public void reset() {
+    Instrumentation.call(Operation.LUHN_CHECK, "79927398713", 11);
+    Instrumentation.failure(Operation.LUHN_CHECK);
+
+    CharSequencesMetrics.reset();
+
+    RecordingReporter reporter = new RecordingReporter();
+    CharSequencesMetrics.report(reporter);
+    assertEquals(0L, reporter.counter("LuhnCheck.isValid", "calls"));
+    assertEquals(0L, reporter.counter("LuhnCheck.isValid", "length"));
+    assertEquals(0L, reporter.counter("LuhnCheck.isValid", "failures"));
+    assertEquals(0, reporter.dispatch.size());
+  }
+
+  @Test
+  public void enabled() throws IOException, InterruptedException, URISyntaxException {
+    // Instrumentation.ENABLED is static final, needs a JVM with the property set
+    RecordingReporter reporter = runDriver();
+
+    assertEquals(12L, reporter.counter("CharSequences.parseInt", "calls"));
+    assertEquals(36L, reporter.counter("CharSequences.parseInt", "length"));
+    assertEquals(6L, reporter.counter("CharSequences.parseInt", "failures"));
+    // only the ISO-8859-1 CharSequenceBuffer is parsed from the array
+    assertEquals(2L, reporter.counter("CharSequences.parseInt", "fastPath"));
+    assertEquals(10L, reporter.counter("CharSequences.parseInt", "fallback"));
+
+    assertEquals(6L, reporter.counter("CharSequences.parseLong", "calls"));
+    assertEquals(30L, reporter.counter("CharSequences.parseLong", "length"));
+    assertEquals(0L, reporter.counter("CharSequences.parseLong", "failures"));
+    // only the ISO-8859-1 CharSequenceBuffer is parsed from the array
+    assertEquals(1L, reporter.counter("CharSequences.parseLong", "fastPath"));
+    assertEquals(5L, reporter.counter("CharSequences.parseLong", "fallback"));
+
+    assertEquals(6L, reporter.counter("CharSequences.indexOf(char)", "calls"));
+    assertEquals(18L, reporter.counter("CharSequences.indexOf(char)", "length"));
+    // only CharSequenceBuffer implements SearchableCharSequence
+    assertEquals(1L, reporter.counter("CharSequences.indexOf(char)", "fastPath"));
+    assertEquals(5L, reporter.counter("CharSequences.indexOf(char)", "fallback"));
+
+    assertEquals(12L, reporter.counter("CharSequences.isNumeric", "calls"));
+    assertEquals(36L, reporter.counter("CharSequences.isNumeric", "length"));
+    // the heap CharBuffer and the ISO-8859-1 CharSequenceBuffer are checked on the array
+    assertEquals(4L, reporter.counter("CharSequences.isNumeric", "fastPath"));
+    assertEquals(8L, reporter.counter("CharSequences.isNumeric", "fallback"));
+
+    for (CharSequenceType type : CharSequenceType.values()) {
+      Class<?> implementationClass = type.wrap("").getClass();
+      assertEquals(2L, reporter.dispatch("CharSequences.parseInt", implementationClass), type.name());
+      assertEquals(1L, reporter.dispatch("CharSequences.parseLong", implementationClass), type.name());
+      assertEquals(1L, reporter.dispatch("CharSequences.indexOf(char)", implementationClass), type.name());
+      assertEquals(2L, reporter.dispatch("CharSequences.isNumeric", implementationClass), type.name());
+    }
+    assertEquals(0L, reporter.counter("LuhnCheck.isValid", "calls"));
+  }
+
+  private static RecordingReporter runDriver() throws IOException, InterruptedException, URISyntaxException {
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    // surefire runs without forking, java.class.path is not the test class path
+    String classPath = codeSource(CharSequences.class) + File.pathSeparator + codeSource(InstrumentationDriver.class);
+    Process process = new ProcessBuilder(java,
+            "-D" + Instrumentation.PROPERTY_NAME + "=true",
+            "-cp", classPath,
+            InstrumentationDriver.class.getName())
+            .redirectError(Redirect.INHERIT)
+            .start();
+    RecordingReporter reporter = new RecordingReporter();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] fields = line.split("\t");
+        Map<String, Long> values = fields[0].equals("counter") ? reporter.counters : reporter.dispatch;
+        values.put(fields[1] + ' ' + fields[2], Long.parseLong(fields[3]));
+      }
+    }
+    if (!process.waitFor(1L, TimeUnit.MINUTES)) {
+      process.destroyForcibly();
+      throw new AssertionError("driver did not finish");
+    }
+    assertEquals(0, process.exitValue(), "driver exit value");
+    return reporter;
+  }
+
+  private static String codeSource(Class<?> clazz) throws URISyntaxException {
+    return Paths.get(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+  }
+
+  static final class RecordingReporter implements MetricsReporter {
+
+    final Map<String, Long> counters = new HashMap<>();
+
+    final Map<String, Long> dispatch = new HashMap<>();
+
+    @Override
+    public void counter(String methodName, String metric, long value) {
+      this.counters.put(methodName + ' ' + metric, value);
+    }
+
+    @Override
+    public void dispatch(String methodName, Class<?> implementationClass, long count) {
+      this.dispatch.put(methodName + ' ' + implementationClass.getName(), count);
+    }
+
+    long counter(String methodName, String metric) {
+      Long value = this.counters.get(methodName + ' ' + metric);
+      if (value == null) {
+        throw new AssertionError("no counter " + metric + " for " + methodName);
+      }
+      return value;
+    }
+
+    long dispatch(String methodName, Class<?> implementationClass) {
+      Long value = this.dispatch.get(methodName + ' ' + implementationClass.getName());
+      return value != null ? value : 0L;
+    }
+
+  }
+
+}
@@ -1,5 +1,7 @@
 package com.github.marschall.charsequences;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
@@ -18,11 +20,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -33,6 +38,15 @@ public class CharSequencesTest {
   @Test
   public void isNumeric() {
     assertTrue(CharSequences.isNumeric("00123456789"));
+    // array fast paths
+    assertTrue(CharSequences.isNumeric(CharBuffer.wrap("00123456789".toCharArray())));
+    assertFalse(CharSequences.isNumeric(CharBuffer.wrap("0012345678a".toCharArray())));
+    // position and array offset
+    assertTrue(CharSequences.isNumeric(CharBuffer.wrap("a123b".toCharArray(), 1, 3)));
+    assertTrue(CharSequences.isNumeric(CharBuffer.wrap("a123b".toCharArray(), 1, 3).slice()));
+    assertFalse(CharSequences.isNumeric(CharBuffer.wrap("a123b".toCharArray(), 1, 4)));
+    assertTrue(CharSequences.isNumeric(new CharSequenceBuffer().append("00123456789")));
+    assertFalse(CharSequences.isNumeric(new CharSequenceBuffer().append("00123456789\u00B2")));
   }
 
   @Test
@@ -194,6 +208,191 @@ public class CharSequencesTest {
     assertInvalidLongArgument("1234567890", 1, 11);
   }
 
+  @Test
+  public void parseIntRadix() {
+    assertParseInt(0, "0", 2);
+    assertParseInt(-5, "-101", 2);
+    assertParseInt(255, "ff", 16);
+    assertParseInt(255, "+FF", 16);
+    assertParseInt(-255, "-Ff", 16);
+    assertParseInt(Integer.MAX_VALUE, "7fffffff", 16);
+    assertParseInt(Integer.MIN_VALUE, "-80000000", 16);
+    assertParseInt(Integer.MAX_VALUE, Integer.toString(Integer.MAX_VALUE, 36), 36);
+    assertParseInt(Integer.MIN_VALUE, Integer.toString(Integer.MIN_VALUE, 36), 36);
+    assertParseInt(1295, "zz", 36);
+    assertParseInt(-42, "-42", 10);
+    assertEquals(0xab, CharSequences.parseInt("x=ab;", 2, 4, 16));
+  }
+
+  @Test
+  public void invalidIntRadix() {
+    for (String invalid : new String[] {"", "+", "-", "--1", "12", "2", "-2", " 1", "1 "}) {
+      assertInvalidInt(invalid, 2);
+    }
+    for (String invalid : new String[] {"g", "0x10", "80000000", "-80000001", "1ffffffff"}) {
+      assertInvalidInt(invalid, 16);
+    }
+    assertInvalidInt("{", 36);
+    // accepted by the JDK, only ASCII digits are supported
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseInt("\u0661", 16));
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseInt("1", 1));
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseInt("1", 37));
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseInt(null, 16));
+    assertThrows(IndexOutOfBoundsException.class, () -> CharSequences.parseInt("ff", 1, 3, 16));
+  }
+
+  @Test
+  public void parseLongRadix() {
+    assertParseLong(0L, "0", 2);
+    assertParseLong(Long.MAX_VALUE, Long.toString(Long.MAX_VALUE, 2), 2);
+    assertParseLong(Long.MIN_VALUE, Long.toString(Long.MIN_VALUE, 2), 2);
+    assertParseLong(Long.MAX_VALUE, "7fffffffffffffff", 16);
+    assertParseLong(Long.MIN_VALUE, "-8000000000000000", 16);
+    assertParseLong(Long.MAX_VALUE, Long.toString(Long.MAX_VALUE, 36), 36);
+    assertParseLong(Long.MIN_VALUE, Long.toString(Long.MIN_VALUE, 36), 36);
+    assertEquals(0xabL, CharSequences.parseLong("x=ab;", 2, 4, 16));
+  }
+
+  @Test
+  public void invalidLongRadix() {
+    for (String invalid : new String[] {"", "+", "-", "g", "8000000000000000", "-8000000000000001", "10000000000000000"}) {
+      assertInvalidLong(invalid, 16);
+    }
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseLong("1", 1));
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseLong("1", 37));
+  }
+
+  @Test
+  public void parseUnsignedInt() {
+    assertParseUnsignedInt(0, "0", 10);
+    assertParseUnsignedInt(0, "+0", 10);
+    assertParseUnsignedInt(-1, "4294967295", 10);
+    assertParseUnsignedInt(Integer.MIN_VALUE, "2147483648", 10);
+    assertParseUnsignedInt(-1, "0004294967295", 10);
+    assertParseUnsignedInt(-1, "ffffffff", 16);
+    assertParseUnsignedInt(-1, Integer.toUnsignedString(-1, 36), 36);
+    assertEquals(-1, CharSequences.parseUnsignedInt("4294967295"));
+    assertEquals(0xff, CharSequences.parseUnsignedInt("x=ff;", 2, 4, 16));
+  }
+
+  @Test
+  public void invalidUnsignedInt() {
+    for (String invalid : new String[] {"", "+", "-", "-0", "-1", "4294967296", "42949672950", "1a"}) {
+      assertInvalidUnsignedInt(invalid, 10);
+    }
+    assertInvalidUnsignedInt("100000000", 16);
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseUnsignedInt(null));
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseUnsignedInt("1", 37));
+  }
+
+  @Test
+  public void parseUnsignedLong() {
+    assertParseUnsignedLong(0L, "0", 10);
+    assertParseUnsignedLong(-1L, "18446744073709551615", 10);
+    assertParseUnsignedLong(Long.MIN_VALUE, "9223372036854775808", 10);
+    assertParseUnsignedLong(-1L, "00018446744073709551615", 10);
+    assertParseUnsignedLong(-1L, "ffffffffffffffff", 16);
+    for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+      assertParseUnsignedLong(-1L, Long.toUnsignedString(-1L, radix), radix);
+      assertParseUnsignedLong(Long.MIN_VALUE, Long.toUnsignedString(Long.MIN_VALUE, radix), radix);
+      assertParseUnsignedLong(0x1234_5678_9abc_def0L, Long.toUnsignedString(0x1234_5678_9abc_def0L, radix), radix);
+    }
+    assertEquals(-1L, CharSequences.parseUnsignedLong("18446744073709551615"));
+  }
+
+  @Test
+  public void invalidUnsignedLong() {
+    for (String invalid : new String[] {"", "+", "-", "-0", "18446744073709551616", "18446744073709551620", "184467440737095516150"}) {
+      assertInvalidUnsignedLong(invalid, 10);
+    }
+    for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+      // 2^64
+      String tooLarge = new BigInteger("18446744073709551616").toString(radix);
+      assertInvalidUnsignedLong(tooLarge, radix);
+    }
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseUnsignedLong(null));
+  }
+
+  @Test
+  public void parseHexLong() {
+    assertParseHexLong(0L, "0");
+    assertParseHexLong(0L, "+0000000000000000000");
+    assertParseHexLong(0xabcdefL, "AbCdEf");
+    assertParseHexLong(-1L, "ffffffffffffffff");
+    assertParseHexLong(-1L, "0000ffffffffffffffff");
+    assertParseHexLong(Long.MIN_VALUE, "8000000000000000");
+    assertParseHexLong(0x0123_4567_89ab_cdefL, "0123456789abcdef");
+    assertEquals(0xcafeL, CharSequences.parseHexLong("id=cafe;", 3, 7));
+  }
+
+  @Test
+  public void invalidHexLong() {
+    for (String invalid : new String[] {"", "+", "-", "-1", "0x1", "g", "1 ", "10000000000000000", "fffffffffffffffff"}) {
+      NumberFormatException exception = assertThrows(NumberFormatException.class,
+              () -> CharSequences.parseHexLong(invalid), "should be invalid \"" + invalid + "\"");
+      assertThat(exception.getMessage(), containsString(invalid));
+      assertThrows(NumberFormatException.class, () -> Long.parseUnsignedLong(invalid, 16));
+    }
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseHexLong(null));
+    assertThrows(IndexOutOfBoundsException.class, () -> CharSequences.parseHexLong("ff", 0, 3));
+  }
+
+  private static void assertParseInt(int expected, String s, int radix) {
+    assertEquals(expected, CharSequences.parseInt(s, radix));
+    assertEquals(expected, CharSequences.parseInt(new StringBuilder(s), radix));
+    assertEquals(expected, Integer.parseInt(s, radix));
+  }
+
+  private static void assertInvalidInt(String s, int radix) {
+    NumberFormatException exception = assertThrows(NumberFormatException.class,
+            () -> CharSequences.parseInt(s, radix), "should be invalid \"" + s + "\"");
+    assertThat(exception.getMessage(), containsString(s));
+    assertThrows(NumberFormatException.class, () -> Integer.parseInt(s, radix));
+  }
+
+  private static void assertParseLong(long expected, String s, int radix) {
+    assertEquals(expected, CharSequences.parseLong(s, radix));
+    assertEquals(expected, CharSequences.parseLong(new StringBuilder(s), radix));
+    assertEquals(expected, Long.parseLong(s, radix));
+  }
+
+  private static void assertInvalidLong(String s, int radix) {
+    NumberFormatException exception = assertThrows(NumberFormatException.class,
+            () -> CharSequences.parseLong(s, radix), "should be invalid \"" + s + "\"");
+    assertThat(exception.getMessage(), containsString(s));
+    assertThrows(NumberFormatException.class, () -> Long.parseLong(s, radix));
+  }
+
+  private static void assertParseUnsignedInt(int expected, String s, int radix) {
+    assertEquals(expected, CharSequences.parseUnsignedInt(s, radix));
+    assertEquals(expected, Integer.parseUnsignedInt(s, radix));
+  }
+
+  private static void assertInvalidUnsignedInt(String s, int radix) {
+    NumberFormatException exception = assertThrows(NumberFormatException.class,
+            () -> CharSequences.parseUnsignedInt(s, radix), "should be invalid \"" + s + "\"");
+    assertThat(exception.getMessage(), containsString(s));
+    assertThrows(NumberFormatException.class, () -> Integer.parseUnsignedInt(s, radix));
+  }
+
+  private static void assertParseUnsignedLong(long expected, String s, int radix) {
+    assertEquals(expected, CharSequences.parseUnsignedLong(s, radix), s);
+    assertEquals(expected, Long.parseUnsignedLong(s, radix), s);
+  }
+
+  private static void assertInvalidUnsignedLong(String s, int radix) {
+    NumberFormatException exception = assertThrows(NumberFormatException.class,
+            () -> CharSequences.parseUnsignedLong(s, radix), "should be invalid \"" + s + "\" in radix " + radix);
+    assertThat(exception.getMessage(), containsString(s));
+    assertThrows(NumberFormatException.class, () -> Long.parseUnsignedLong(s, radix));
+  }
+
+  private static void assertParseHexLong(long expected, String s) {
+    assertEquals(expected, CharSequences.parseHexLong(s));
+    assertEquals(expected, CharSequences.parseHexLong(new StringBuilder(s)));
+    assertEquals(expected, Long.parseUnsignedLong(s, 16));
+  }
+
   private static void assertParseInt(int expected, CharSequence charSequence) {
     assertEquals(expected, CharSequences.parseInt(charSequence));
     assertEquals(expected, Integer.parseInt(charSequence.toString()));
@@ -282,6 +481,27 @@ public class CharSequencesTest {
     assertEquals(CharSequences.indexOf("a", 'b', -1), "a".indexOf('b', -1));
   }
 
+  @Test
+  public void indexOfCharRange() {
+    String s = "ab\u00E4\uD83D\uDE00bab";
+    List<CharSequence> sequences = Arrays.asList(s, new StringBuilder(s),
+        Utf8CharSequence.wrap(s.getBytes(UTF_8)),
+        Utf8CharSequence.wrap("abab".getBytes(US_ASCII)),
+        CharSequences.concat("ab", "\u00E4\uD83D", "\uDE00bab"),
+        new CharSequenceBuffer().append(s));
+    for (CharSequence sequence : sequences) {
+      String string = sequence.toString();
+      for (char c : new char[] {'a', 'b', '\u00E4', '\uDE00'}) {
+        for (int from = 0; from <= string.length(); from++) {
+          for (int to = from; to <= string.length(); to++) {
+            int index = string.substring(from, to).indexOf(c);
+            assertEquals(index == -1 ? -1 : index + from, CharSequences.indexOf(sequence, c, from, to), string + " " + from + " " + to);
+          }
+        }
+      }
+    }
+  }
+
   @Test
   public void lastIndexOf() {
     assertEquals(-1, CharSequences.lastIndexOf("aaa", 'b'));
@@ -379,6 +599,61 @@ public class CharSequencesTest {
     assertEquals(expected, CharSequences.trim(charSequence).toString());
   }
 
+  @Test
+  public void isWhitespace() {
+    for (int i = Character.MIN_VALUE; i <= Character.MAX_VALUE; i++) {
+      char c = (char) i;
+      assertEquals(Character.isWhitespace(c), CharSequences.isWhitespace(c), "U+" + Integer.toHexString(i));
+    }
+  }
+
+  @Test
+  public void strip() {
+    assertStrip("", "", "", "");
+    assertStrip("", "", "", " \t");
+    assertStrip("a", "a", "a", "a");
+    assertStrip("a", "a \n", "\t a", "\t a \n");
+    assertStrip("a b", "a b\u2003", "\u2003a b", "\u2003a b\u2003");
+    // no-break space is not white space
+    assertStrip("\u00A0a", "\u00A0a", "\u00A0a", "\u00A0a");
+
+    assertThrows(NullPointerException.class, () -> CharSequences.strip(null), "null should not be allowed");
+    assertThrows(NullPointerException.class, () -> CharSequences.stripLeading(null), "null should not be allowed");
+    assertThrows(NullPointerException.class, () -> CharSequences.stripTrailing(null), "null should not be allowed");
+  }
+
+  private static void assertStrip(String expected, String expectedLeading, String expectedTrailing, String s) {
+    assertEquals(expected, CharSequences.strip(s).toString());
+    assertEquals(expectedLeading, CharSequences.stripLeading(s).toString());
+    assertEquals(expectedTrailing, CharSequences.stripTrailing(s).toString());
+    StringBuilder builder = new StringBuilder(s);
+    assertEquals(expected, CharSequences.strip(builder).toString());
+    assertEquals(expectedLeading, CharSequences.stripLeading(builder).toString());
+    assertEquals(expectedTrailing, CharSequences.stripTrailing(builder).toString());
+  }
+
+  @Test
+  public void stripNoAllocation() {
+    StringBuilder builder = new StringBuilder("a");
+    assertSame(builder, CharSequences.strip(builder));
+    assertSame(builder, CharSequences.stripLeading(builder));
+    assertSame(builder, CharSequences.stripTrailing(builder));
+    assertSame(builder, CharSequences.trim(builder, c -> c == '0'));
+  }
+
+  @Test
+  public void trimPredicate() {
+    CharPredicate zero = c -> c == '0';
+    assertEquals("", CharSequences.trim("", zero).toString());
+    assertEquals("", CharSequences.trim("000", zero).toString());
+    assertEquals("1", CharSequences.trim("0010", zero).toString());
+    assertEquals("101", CharSequences.trim("101", zero).toString());
+    assertEquals("a", CharSequences.trim("\u00A0a\u00A0", c -> Character.isWhitespace(c) || Character.isSpaceChar(c)).toString());
+
+    assertThrows(NullPointerException.class, () -> CharSequences.trim(null, zero), "null should not be allowed");
+    assertThrows(NullPointerException.class, () -> CharSequences.trim("0", null), "null should not be allowed");
+  }
+
   @Test
   public void split() {
     assertEquals(Collections.singletonList("a"), split("a", ','));
@@ -397,6 +672,106 @@ public class CharSequencesTest {
     return result;
   }
 
+  @Test
+  public void lines() {
+    assertLines(Collections.emptyList(), "");
+    assertLines(Collections.singletonList(""), "\n");
+    assertLines(Collections.singletonList(""), "\r\n");
+    assertLines(Arrays.asList("", ""), "\n\r");
+    assertLines(Collections.singletonList("a"), "a");
+    assertLines(Collections.singletonList("a"), "a\n");
+    assertLines(Arrays.asList("a", "b", "c", "d"), "a\nb\r\nc\rd");
+    assertLines(Arrays.asList("a", "", "b"), "a\n\nb\r\n");
+    assertLines(Arrays.asList("a", "", "b"), "a\r\rb\r");
+  }
+
+  private static void assertLines(List<String> expected, CharSequence charSequence) {
+    List<String> actual = new ArrayList<>();
+    CharSequences.lines(charSequence).forEach(line -> actual.add(line.toString()));
+    assertEquals(expected, actual);
+
+    actual.clear();
+    LineCursor cursor = CharSequences.lineCursor(charSequence);
+    while (cursor.next()) {
+      actual.add(charSequence.subSequence(cursor.lineStart(), cursor.lineEnd()).toString());
+    }
+    assertEquals(expected, actual);
+    assertThrows(IllegalStateException.class, cursor::lineStart);
+  }
+
+  @Test
+  public void parallelLines() {
+    StringBuilder buffer = new StringBuilder();
+    List<String> expected = new ArrayList<>();
+    String[] terminators = {"\n", "\r\n", "\r"};
+    for (int i = 0; i < 10_000; i++) {
+      String line = Integer.toString(i);
+      expected.add(line);
+      buffer.append(line).append(terminators[i % terminators.length]);
+    }
+    List<String> actual = CharSequences.lines(buffer)
+            .parallel()
+            .map(CharSequence::toString)
+            .collect(Collectors.toList());
+    assertEquals(expected, actual);
+    assertEquals(expected.size(), CharSequences.lines(buffer).parallel().count());
+  }
+
+  @Test
+  public void concat() {
+    assertEquals("", CharSequences.concat().toString());
+    assertEquals("", CharSequences.concat("", new StringBuilder()).toString());
+    StringBuilder single = new StringBuilder("a");
+    assertSame(single, CharSequences.concat("", single, ""));
+
+    CharSequence concatenated = CharSequences.concat("ab", new StringBuilder("cde"), "", CharBuffer.wrap("f"), "gh");
+    String expected = "abcdefgh";
+    assertEquals(expected.length(), concatenated.length());
+    assertEquals(expected, concatenated.toString());
+    for (int i = 0; i < expected.length(); i++) {
+      assertEquals(expected.charAt(i), concatenated.charAt(i));
+    }
+    for (int i = expected.length() - 1; i >= 0; i--) {
+      assertEquals(expected.charAt(i), concatenated.charAt(i));
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> concatenated.charAt(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> concatenated.charAt(expected.length()));
+
+    for (int start = 0; start <= expected.length(); start++) {
+      for (int end = start; end <= expected.length(); end++) {
+        CharSequence subSequence = concatenated.subSequence(start, end);
+        assertEquals(expected.substring(start, end), subSequence.toString());
+        for (int i = 0; i < subSequence.length(); i++) {
+          assertEquals(expected.charAt(start + i), subSequence.charAt(i));
+        }
+      }
+    }
+
+    for (char c = 'a'; c <= 'i'; c++) {
+      assertEquals(expected.indexOf(c), CharSequences.indexOf(concatenated, c));
+      assertEquals(expected.lastIndexOf(c), CharSequences.lastIndexOf(concatenated, c));
+      for (int from = -1; from <= expected.length(); from++) {
+        assertEquals(expected.indexOf(c, from), CharSequences.indexOf(concatenated, c, from));
+      }
+    }
+    assertTrue(CharSequences.startsWith(concatenated, "abcd"));
+    assertEquals(3, CharSequences.indexOf(concatenated, "def"));
+  }
+
+  @Test
+  public void concatNested() {
+    CharSequence nested = "";
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      String segment = Integer.toString(i);
+      nested = CharSequences.concat(nested, segment);
+      expected.append(segment);
+    }
+    assertEquals(expected.toString(), nested.toString());
+    assertEquals(expected.lastIndexOf("9"), CharSequences.lastIndexOf(nested, '9'));
+    assertThrows(NullPointerException.class, () -> CharSequences.concat("a", null));
+  }
+
   @Test
   public void uuidFromCharSequence() {
     String s = "ba226cf7-d156-4b18-a78a-094736208cc9";
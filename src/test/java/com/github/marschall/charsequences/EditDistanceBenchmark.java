@@ -0,0 +1,129 @@
+package com.github.marschall.charsequences;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares {@link EditDistance} and {@link FuzzyMatcher} to a textbook
+ * implementation that converts the sequences to {@link String}s and
+ * allocates the full matrix.
+ *
+ * <p>Names are short enough for the bit-parallel algorithm, references
+ * are longer than 64 chars and use the band.</p>
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class EditDistanceBenchmark {
+
+  private static final int INPUT_COUNT = CharSequencesBenchmark.INPUT_COUNT;
+
+  private static final int MAX_DISTANCE = 3;
+
+  @Param
+  public CharSequenceType type;
+
+  private CharSequence[] names;
+
+  private CharSequence[] references;
+
+  private CharSequence[] texts;
+
+  private EditDistance editDistance;
+
+  private FuzzyMatcher matcher;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*EditDistanceBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(INPUT_COUNT);
+    this.names = new CharSequence[INPUT_COUNT];
+    this.references = new CharSequence[INPUT_COUNT];
+    this.texts = new CharSequence[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      this.names[i] = this.type.wrap(CharSequencesBenchmark.randomText(random, 12 + random.nextInt(12)));
+      this.references[i] = this.type.wrap(CharSequencesBenchmark.randomText(random, 80 + random.nextInt(40)));
+      this.texts[i] = this.type.wrap(CharSequencesBenchmark.randomText(random, 200) + "Mustr" + CharSequencesBenchmark.randomText(random, 20));
+    }
+    this.editDistance = new EditDistance();
+    this.matcher = FuzzyMatcher.compile("Muster", 1);
+    this.index = 0;
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public int editDistanceName() {
+    int current = this.nextIndex();
+    return this.editDistance.editDistance(this.names[current], this.names[(current + 1) & (INPUT_COUNT - 1)], MAX_DISTANCE);
+  }
+
+  @Benchmark
+  public int editDistanceNameFullMatrix() {
+    int current = this.nextIndex();
+    return fullMatrix(this.names[current].toString(), this.names[(current + 1) & (INPUT_COUNT - 1)].toString());
+  }
+
+  @Benchmark
+  public int editDistanceReference() {
+    int current = this.nextIndex();
+    return this.editDistance.editDistance(this.references[current], this.references[(current + 1) & (INPUT_COUNT - 1)], MAX_DISTANCE);
+  }
+
+  @Benchmark
+  public int damerauDistanceReference() {
+    int current = this.nextIndex();
+    return this.editDistance.damerauDistance(this.references[current], this.references[(current + 1) & (INPUT_COUNT - 1)], MAX_DISTANCE);
+  }
+
+  @Benchmark
+  public int editDistanceReferenceFullMatrix() {
+    int current = this.nextIndex();
+    return fullMatrix(this.references[current].toString(), this.references[(current + 1) & (INPUT_COUNT - 1)].toString());
+  }
+
+  @Benchmark
+  public int fuzzyFindEnd() {
+    return this.matcher.findEnd(this.texts[this.nextIndex()]);
+  }
+
+  private static int fullMatrix(String a, String b) {
+    int[][] d = new int[a.length() + 1][b.length() + 1];
+    for (int i = 0; i <= a.length(); i++) {
+      d[i][0] = i;
+    }
+    for (int j = 0; j <= b.length(); j++) {
+      d[0][j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      for (int j = 1; j <= b.length(); j++) {
+        int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+        d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+      }
+    }
+    return d[a.length()][b.length()];
+  }
+
+}
@@ -0,0 +1,160 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class EditDistanceTest {
+
+  private static final String ALPHABET = "abcAB\u00E4\u20AC";
+
+  @Test
+  public void knownValues() {
+    EditDistance editDistance = new EditDistance();
+    assertEquals(0, editDistance.editDistance("", ""));
+    assertEquals(3, editDistance.editDistance("", "abc"));
+    assertEquals(3, editDistance.editDistance("kitten", "sitting"));
+    assertEquals(3, editDistance.editDistance(new StringBuilder("sitting"), "kitten"));
+    assertEquals(-1, editDistance.editDistance("kitten", "sitting", 2));
+    assertEquals(3, editDistance.editDistance("kitten", "sitting", 3));
+    assertEquals(-1, editDistance.editDistance("a", "abcd", 2));
+
+    assertEquals(2, editDistance.editDistance("ab", "ba"));
+    assertEquals(1, editDistance.damerauDistance("ab", "ba"));
+    assertEquals(1, editDistance.damerauDistance("Meier", "Meirer"));
+    assertEquals(1, editDistance.damerauDistance("CH93 0076", "CH39 0076"));
+    // optimal string alignment, not the unrestricted Damerau distance
+    assertEquals(3, editDistance.damerauDistance("CA", "ABC"));
+    assertEquals(-1, editDistance.damerauDistance("CA", "ABC", 2));
+  }
+
+  @Test
+  public void invalidArguments() {
+    EditDistance editDistance = new EditDistance();
+    assertThrows(IllegalArgumentException.class, () -> editDistance.editDistance("a", "b", -1));
+    assertThrows(IllegalArgumentException.class, () -> editDistance.damerauDistance("a", "b", -1));
+    assertThrows(NullPointerException.class, () -> editDistance.editDistance(null, "b"));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void editDistance(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    EditDistance editDistance = new EditDistance();
+    for (int i = 0; i < 2_000; i++) {
+      // long enough to use both Myers and the band
+      String a = randomString(random, 100);
+      String b = mutate(random, a);
+      int expected = levenshtein(a, b);
+      assertEquals(expected, editDistance.editDistance(type.wrap(a), type.wrap(b)), a + " " + b);
+      for (int maxDistance = 0; maxDistance < 8; maxDistance++) {
+        assertEquals(expected <= maxDistance ? expected : -1,
+                editDistance.editDistance(type.wrap(a), type.wrap(b), maxDistance), a + " " + b + " " + maxDistance);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void damerauDistance(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    EditDistance editDistance = new EditDistance();
+    for (int i = 0; i < 2_000; i++) {
+      String a = randomString(random, 100);
+      String b = mutate(random, a);
+      int expected = optimalStringAlignment(a, b);
+      assertEquals(expected, editDistance.damerauDistance(type.wrap(a), type.wrap(b)), a + " " + b);
+      for (int maxDistance = 0; maxDistance < 8; maxDistance++) {
+        assertEquals(expected <= maxDistance ? expected : -1,
+                editDistance.damerauDistance(type.wrap(a), type.wrap(b), maxDistance), a + " " + b + " " + maxDistance);
+      }
+    }
+  }
+
+  static String randomString(Random random, int maxLength) {
+    int length = random.nextInt(maxLength);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Applies a few random edits, including transpositions, so that the
+   * distances are mostly small.
+   */
+  static String mutate(Random random, String s) {
+    StringBuilder builder = new StringBuilder(s);
+    int edits = random.nextInt(6);
+    for (int i = 0; i < edits; i++) {
+      int index = builder.length() == 0 ? 0 : random.nextInt(builder.length());
+      char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+      switch (random.nextInt(4)) {
+        case 0:
+          builder.insert(index, c);
+          break;
+        case 1:
+          if (index < builder.length()) {
+            builder.deleteCharAt(index);
+          }
+          break;
+        case 2:
+          if (index < builder.length()) {
+            builder.setCharAt(index, c);
+          }
+          break;
+        default:
+          if ((index + 1) < builder.length()) {
+            char first = builder.charAt(index);
+            builder.setCharAt(index, builder.charAt(index + 1));
+            builder.setCharAt(index + 1, first);
+          }
+      }
+    }
+    return builder.toString();
+  }
+
+  static int levenshtein(String a, String b) {
+    int[][] d = new int[a.length() + 1][b.length() + 1];
+    for (int i = 0; i <= a.length(); i++) {
+      d[i][0] = i;
+    }
+    for (int j = 0; j <= b.length(); j++) {
+      d[0][j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      for (int j = 1; j <= b.length(); j++) {
+        int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+        d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+      }
+    }
+    return d[a.length()][b.length()];
+  }
+
+  private static int optimalStringAlignment(String a, String b) {
+    int[][] d = new int[a.length() + 1][b.length() + 1];
+    for (int i = 0; i <= a.length(); i++) {
+      d[i][0] = i;
+    }
+    for (int j = 0; j <= b.length(); j++) {
+      d[0][j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      for (int j = 1; j <= b.length(); j++) {
+        int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+        d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+        if ((i > 1) && (j > 1) && (a.charAt(i - 1) == b.charAt(j - 2)) && (a.charAt(i - 2) == b.charAt(j - 1))) {
+          d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + cost);
+        }
+      }
+    }
+    return d[a.length()][b.length()];
+  }
+
+}
@@ -0,0 +1,109 @@
+package com.github.marschall.charsequences;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares {@link Escaper} to converting the sequence to a
+ * {@link String} and escaping it with {@link String#replace(CharSequence, CharSequence)}.
+ *
+ * <p>Half of the values do not need escaping.</p>
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class EscaperBenchmark {
+
+  private static final int INPUT_COUNT = CharSequencesBenchmark.INPUT_COUNT;
+
+  @Param
+  public CharSequenceType type;
+
+  private CharSequence[] values;
+
+  private StringBuilder builder;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*EscaperBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(INPUT_COUNT);
+    this.values = new CharSequence[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      // randomText contains ',' and '\n'
+      String value = CharSequencesBenchmark.randomText(random, 8 + random.nextInt(56));
+      if ((i & 1) == 0) {
+        value = value.replace(',', ' ').replace('\n', ' ');
+      } else {
+        value = value + " \"quoted\"";
+      }
+      this.values[i] = this.type.wrap(value);
+    }
+    this.builder = new StringBuilder(256);
+    this.index = 0;
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public int json() {
+    StringBuilder builder = this.builder;
+    builder.setLength(0);
+    return Escaper.json().escape(this.values[this.nextIndex()], builder).length();
+  }
+
+  @Benchmark
+  public int jsonReplace() {
+    StringBuilder builder = this.builder;
+    builder.setLength(0);
+    String escaped = this.values[this.nextIndex()].toString()
+        .replace("\\", "\\\\")
+        .replace("\"", "\\\"")
+        .replace("\n", "\\n")
+        .replace("\r", "\\r")
+        .replace("\t", "\\t");
+    return builder.append(escaped).length();
+  }
+
+  @Benchmark
+  public int csv() {
+    StringBuilder builder = this.builder;
+    builder.setLength(0);
+    return Escaper.csv().escape(this.values[this.nextIndex()], builder).length();
+  }
+
+  @Benchmark
+  public int csvReplace() {
+    StringBuilder builder = this.builder;
+    builder.setLength(0);
+    String value = this.values[this.nextIndex()].toString();
+    if ((value.indexOf(',') != -1) || (value.indexOf('"') != -1) || (value.indexOf('\n') != -1) || (value.indexOf('\r') != -1)) {
+      builder.append('"').append(value.replace("\"", "\"\"")).append('"');
+    } else {
+      builder.append(value);
+    }
+    return builder.length();
+  }
+
+}
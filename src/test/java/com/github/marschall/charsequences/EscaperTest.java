@@ -0,0 +1,121 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class EscaperTest {
+
+  private static final String ALPHABET = "aZ09 ,;\"'\\&<>\t\r\n\u0000\u001F\u007F\u00E4\u20AC\uD83D\uDE00";
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void json(CharSequenceType type) {
+    Escaper escaper = Escaper.json();
+    assertEquals("plain text", escaper.escape(type.wrap("plain text")));
+    assertEquals("say \\\"hi\\\"\\n\\tC:\\\\temp\\u0000\\u001f\u007F\u00E4",
+            escaper.escape(type.wrap("say \"hi\"\n\tC:\\temp\u0000\u001F\u007F\u00E4")));
+    assertEquals("\\b\\f\\r", escaper.escape(type.wrap("\b\f\r")));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void csv(CharSequenceType type) {
+    Escaper escaper = Escaper.csv();
+    assertEquals("plain text", escaper.escape(type.wrap("plain text")));
+    assertEquals("\"a,b\"", escaper.escape(type.wrap("a,b")));
+    assertEquals("\"say \"\"hi\"\"\"", escaper.escape(type.wrap("say \"hi\"")));
+    assertEquals("\"line\r\nbreak\"", escaper.escape(type.wrap("line\r\nbreak")));
+    assertEquals("a,b", Escaper.csv(';').escape(type.wrap("a,b")));
+    assertEquals("\"a;b\"", Escaper.csv(';').escape(type.wrap("a;b")));
+    assertSame(Escaper.csv(), Escaper.csv(','));
+    assertThrows(IllegalArgumentException.class, () -> Escaper.csv('"'));
+    assertThrows(IllegalArgumentException.class, () -> Escaper.csv('\n'));
+    assertThrows(IllegalArgumentException.class, () -> Escaper.csv('\u00A7'));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void html(CharSequenceType type) {
+    Escaper escaper = Escaper.html();
+    assertEquals("&lt;a href=&quot;x&quot;&gt;Tom &amp; Jerry&#39;s&lt;/a&gt;",
+            escaper.escape(type.wrap("<a href=\"x\">Tom & Jerry's</a>")));
+    assertEquals("\u0000\u00E4", escaper.escape(type.wrap("\u0000\u00E4")));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void xml(CharSequenceType type) {
+    Escaper escaper = Escaper.xml();
+    assertEquals("&lt;a b=&quot;x&quot;&gt;Tom &amp; Jerry&apos;s&lt;/a&gt;",
+            escaper.escape(type.wrap("<a b=\"x\">Tom & Jerry's</a>")));
+    assertEquals("\t\r\n&#xFFFD;\u00E4", escaper.escape(type.wrap("\t\r\n\u0000\u00E4")));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void needsEscaping(CharSequenceType type) {
+    assertFalse(Escaper.json().needsEscaping(type.wrap("plain text, \u00E4")));
+    assertTrue(Escaper.json().needsEscaping(type.wrap("a\"b")));
+    assertTrue(Escaper.csv().needsEscaping(type.wrap("a,b")));
+    assertFalse(Escaper.csv().needsEscaping(type.wrap("a,b"), 2, 3));
+    assertFalse(Escaper.html().needsEscaping(type.wrap("")));
+    assertThrows(IndexOutOfBoundsException.class, () -> Escaper.json().needsEscaping(type.wrap("abc"), 2, 4));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void outputsAgree(CharSequenceType type) throws IOException {
+    Random random = new Random(type.ordinal());
+    for (Escaper escaper : Arrays.asList(Escaper.json(), Escaper.csv(), Escaper.html(), Escaper.xml())) {
+      for (int i = 0; i < 500; i++) {
+        String s = randomString(random);
+        CharSequence wrapped = type.wrap("[" + s + "]");
+        String expected = escaper.escape(s);
+
+        StringBuilder builder = new StringBuilder("prefix");
+        assertSame(builder, escaper.escape(wrapped, 1, s.length() + 1, builder));
+        assertEquals("prefix" + expected, builder.toString());
+
+        StringWriter writer = new StringWriter();
+        escaper.escape(wrapped, 1, s.length() + 1, writer);
+        assertEquals(expected, writer.toString());
+
+        byte[] expectedBytes = expected.getBytes(UTF_8);
+        assertEquals(expectedBytes.length, escaper.escapedUtf8Length(wrapped, 1, s.length() + 1));
+        byte[] destination = new byte[expectedBytes.length + 3];
+        assertEquals(expectedBytes.length + 2, escaper.escapeUtf8(wrapped, 1, s.length() + 1, destination, 2));
+        assertArrayEquals(expectedBytes, Arrays.copyOfRange(destination, 2, expectedBytes.length + 2));
+      }
+    }
+  }
+
+  @Test
+  public void escapeUtf8TooSmall() {
+    assertThrows(IndexOutOfBoundsException.class, () -> Escaper.json().escapeUtf8("a\"b", 0, 3, new byte[3], 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> Escaper.json().escapeUtf8("a", 0, 1, new byte[3], 4));
+  }
+
+  private static String randomString(Random random) {
+    int length = random.nextInt(20);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+    }
+    return builder.toString();
+  }
+
+}
@@ -0,0 +1,100 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class FuzzyMatcherTest {
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void knownValues(CharSequenceType type) {
+    FuzzyMatcher matcher = FuzzyMatcher.compile("Muster", 1);
+    CharSequence text = type.wrap("Herr Hans Mustr, Zurich");
+    assertTrue(matcher.isContainedIn(text));
+    int end = matcher.findEnd(text);
+    assertEquals(15, end);
+    assertEquals(10, matcher.findStart(text, 0, end));
+    assertEquals(-1, matcher.findEnd(text, 11, text.length()));
+    assertFalse(matcher.isContainedIn(type.wrap("Herr Hans Mste")));
+
+    // the first occurrence ends as soon as the distance is small enough
+    assertEquals(4, FuzzyMatcher.compile("hello", 1).findEnd(type.wrap("hello")));
+    assertEquals(0, FuzzyMatcher.compile("hello", 1).findStart(type.wrap("hello"), 0, 4));
+    // deleting the whole pattern is within the distance
+    assertEquals(2, FuzzyMatcher.compile("ab", 2).findEnd(type.wrap("xyz"), 2, 3));
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> FuzzyMatcher.compile("", 1));
+    assertThrows(IllegalArgumentException.class, () -> FuzzyMatcher.compile("a", -1));
+    StringBuilder tooLong = new StringBuilder();
+    for (int i = 0; i < 65; i++) {
+      tooLong.append('a');
+    }
+    assertThrows(IllegalArgumentException.class, () -> FuzzyMatcher.compile(tooLong, 1));
+    assertEquals(1, FuzzyMatcher.compile(tooLong.substring(1), 1).getMaxDistance());
+
+    FuzzyMatcher matcher = FuzzyMatcher.compile("a", 0);
+    assertThrows(IndexOutOfBoundsException.class, () -> matcher.findEnd("abc", 2, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> matcher.findEnd("abc", 0, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> matcher.findStart("abc", -1, 1));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void findEnd(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    for (int i = 0; i < 1_000; i++) {
+      String pattern = EditDistanceTest.randomString(random, 10);
+      if (pattern.isEmpty()) {
+        continue;
+      }
+      int maxDistance = random.nextInt(3);
+      String text = EditDistanceTest.randomString(random, 20) + EditDistanceTest.mutate(random, pattern)
+          + EditDistanceTest.randomString(random, 20);
+      FuzzyMatcher matcher = FuzzyMatcher.compile(pattern, maxDistance);
+      int expectedEnd = naiveFindEnd(pattern, maxDistance, text);
+      int end = matcher.findEnd(type.wrap(text));
+      assertEquals(expectedEnd, end, pattern + " " + text);
+      if (end != -1) {
+        int start = matcher.findStart(type.wrap(text), 0, end);
+        assertEquals(naiveFindStart(pattern, text, end), start, pattern + " " + text);
+        assertTrue(EditDistanceTest.levenshtein(pattern, text.substring(start, end)) <= maxDistance);
+      }
+    }
+  }
+
+  private static int naiveFindEnd(String pattern, int maxDistance, String text) {
+    for (int end = 0; end <= text.length(); end++) {
+      for (int start = 0; start <= end; start++) {
+        if (EditDistanceTest.levenshtein(pattern, text.substring(start, end)) <= maxDistance) {
+          return end;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static int naiveFindStart(String pattern, String text, int end) {
+    int bestStart = end;
+    int bestDistance = pattern.length();
+    for (int start = end - 1; start >= 0; start--) {
+      int distance = EditDistanceTest.levenshtein(pattern, text.substring(start, end));
+      if (distance <= bestDistance) {
+        bestDistance = distance;
+        bestStart = start;
+      }
+    }
+    return bestStart;
+  }
+
+}
@@ -0,0 +1,80 @@
+package com.github.marschall.charsequences;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares {@link GlobPattern} to the equivalent regular expression
+ * with {@code Pattern.matcher(cs).matches()}.
+ *
+ * <p>Half of the topic names match.</p>
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class GlobPatternBenchmark {
+
+  private static final int INPUT_COUNT = CharSequencesBenchmark.INPUT_COUNT;
+
+  private static final String GLOB = "orders.*.eu-?";
+
+  @Param
+  public CharSequenceType type;
+
+  private CharSequence[] values;
+
+  private GlobPattern glob;
+
+  private Pattern regex;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*GlobPatternBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(INPUT_COUNT);
+    this.values = new CharSequence[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      String middle = CharSequencesBenchmark.randomText(random, 8 + random.nextInt(24));
+      String region = (i & 1) == 0 ? ".eu-" : ".us-";
+      this.values[i] = this.type.wrap("orders." + middle + region + random.nextInt(10));
+    }
+    this.glob = GlobPattern.compile(GLOB);
+    this.regex = Pattern.compile("orders\\..*\\.eu-.", Pattern.DOTALL);
+    this.index = 0;
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public boolean glob() {
+    return this.glob.matches(this.values[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean regex() {
+    return this.regex.matcher(this.values[this.nextIndex()]).matches();
+  }
+
+}
@@ -0,0 +1,184 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class GlobPatternTest {
+
+  private static final String ALPHABET = "ab.\u00E4";
+
+  private static final String GLOB_ALPHABET = "ab.\u00E4*?";
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void knownValues(CharSequenceType type) {
+    GlobPattern pattern = GlobPattern.compile("orders.*.eu-?");
+    assertTrue(pattern.matches(type.wrap("orders.2024.eu-1")));
+    assertTrue(pattern.matches(type.wrap("orders..eu-1")));
+    assertTrue(pattern.matches(type.wrap("orders.a.eu-1.eu-2")));
+    assertFalse(pattern.matches(type.wrap("orders.2024.eu-12")));
+    assertFalse(pattern.matches(type.wrap("orders.2024.us-1")));
+    assertFalse(pattern.matches(type.wrap("orders.eu-1")));
+
+    assertTrue(GlobPattern.compile("").matches(type.wrap("")));
+    assertFalse(GlobPattern.compile("").matches(type.wrap("a")));
+    assertTrue(GlobPattern.compile("*").matches(type.wrap("")));
+    assertTrue(GlobPattern.compile("**").matches(type.wrap("abc")));
+    assertTrue(GlobPattern.compile("a*b*c").matches(type.wrap("abc")));
+    assertFalse(GlobPattern.compile("a*b*c").matches(type.wrap("acb")));
+    assertTrue(GlobPattern.compile("*??*").matches(type.wrap("ab")));
+    assertFalse(GlobPattern.compile("*??*").matches(type.wrap("a")));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void escapes(CharSequenceType type) {
+    GlobPattern pattern = GlobPattern.compile("\\*\\?\\\\*");
+    assertTrue(pattern.matches(type.wrap("*?\\")));
+    assertTrue(pattern.matches(type.wrap("*?\\rest")));
+    assertFalse(pattern.matches(type.wrap("a?\\")));
+    assertFalse(pattern.matches(type.wrap("*a\\")));
+    assertThrows(IllegalArgumentException.class, () -> GlobPattern.compile("abc\\"));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void range(CharSequenceType type) {
+    CharSequence sequence = type.wrap("key=orders.1.eu-2;");
+    GlobPattern pattern = GlobPattern.compile("orders.*.eu-?");
+    assertTrue(pattern.matches(sequence, 4, 17));
+    assertFalse(pattern.matches(sequence, 4, 18));
+    assertFalse(pattern.matches(sequence, 4, 16));
+    assertTrue(GlobPattern.compile("*.eu").matches(sequence, 4, 15));
+    // the middle segment only occurs after the range
+    assertFalse(GlobPattern.compile("o*;*").matches(sequence, 4, 17));
+    assertThrows(IndexOutOfBoundsException.class, () -> pattern.matches(sequence, 5, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> pattern.matches(sequence, -1, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> pattern.matches(sequence, 4, 19));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void rangeOfLargeSequence(CharSequenceType type) {
+    StringBuilder builder = new StringBuilder("id=a-b.c;");
+    for (int i = 0; i < 100_000; i++) {
+      builder.append('x');
+    }
+    builder.append("-.");
+    String s = builder.toString();
+    CharSequence sequence = type.wrap(s);
+    assertTrue(GlobPattern.compile("a*-*.c").matches(sequence, 3, 8));
+    // the middle segments only occur far after the range
+    assertFalse(GlobPattern.compile("a*x*c").matches(sequence, 3, 8));
+    assertFalse(GlobPattern.compile("a*-.*").matches(sequence, 3, 8));
+  }
+
+  @Test
+  public void doesNotSearchPastRange() {
+    StringBuilder builder = new StringBuilder("id=a-b.c;");
+    for (int i = 0; i < 1_000; i++) {
+      builder.append('x');
+    }
+    builder.append("-.");
+    CharSequence bounded = new BoundedCharSequence(builder.toString(), 8);
+    assertTrue(GlobPattern.compile("a*-*.c").matches(bounded, 3, 8));
+    assertFalse(GlobPattern.compile("a*x*c").matches(bounded, 3, 8));
+    assertFalse(GlobPattern.compile("a*-.*").matches(bounded, 3, 8));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void agreesWithRegex(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    for (int i = 0; i < 5_000; i++) {
+      String glob = randomString(random, GLOB_ALPHABET, 8);
+      String input = randomString(random, ALPHABET, 12);
+      Pattern regex = toRegex(glob);
+      GlobPattern pattern = GlobPattern.compile(glob);
+      assertEquals(regex.matcher(input).matches(), pattern.matches(type.wrap(input)), glob + " " + input);
+      assertEquals(regex.matcher(input).matches(), pattern.matches(type.wrap("b" + input + "a"), 1, input.length() + 1), glob + " " + input);
+    }
+  }
+
+  @Test
+  public void pattern() {
+    assertEquals("a*b", GlobPattern.compile("a*b").pattern());
+    assertEquals("a*b", GlobPattern.compile("a*b").toString());
+  }
+
+  static Pattern toRegex(String glob) {
+    StringBuilder regex = new StringBuilder();
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      if (c == '*') {
+        regex.append(".*");
+      } else if (c == '?') {
+        regex.append('.');
+      } else {
+        if (c == '\\') {
+          c = glob.charAt(++i);
+        }
+        regex.append(Pattern.quote(Character.toString(c)));
+      }
+    }
+    return Pattern.compile(regex.toString(), Pattern.DOTALL);
+  }
+
+  /**
+   * Fails when a char at or after a given index is read.
+   */
+  static final class BoundedCharSequence implements CharSequence {
+
+    private final String s;
+
+    private final int bound;
+
+    BoundedCharSequence(String s, int bound) {
+      this.s = s;
+      this.bound = bound;
+    }
+
+    @Override
+    public int length() {
+      return this.s.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index >= this.bound) {
+        throw new AssertionError("read at " + index + " past " + this.bound);
+      }
+      return this.s.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+      return this.s;
+    }
+
+  }
+
+  private static String randomString(Random random, String alphabet, int maxLength) {
+    int length = random.nextInt(maxLength);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return builder.toString();
+  }
+
+}
@@ -0,0 +1,150 @@
+package com.github.marschall.charsequences;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls the hot methods often enough to be compiled by C2. Run with
+ * {@code -XX:+UnlockDiagnosticVMOptions -XX:+LogCompilation} to analyze
+ * the inlining decisions.
+ *
+ * @see InliningTest
+ * @see ParseUuidCompilation
+ */
+public class InliningDriver {
+
+  private static final String[] NUMBERS = {"1", "-12", "+123", "2147483647", "-2147483648", "42"};
+
+  private static final String[] UUIDS = {
+      "ba226cf7-d156-4b18-a78a-094736208cc9",
+      "123e4567-e89b-12d3-a456-426655440000",
+      "00112233-4455-6677-8899-aabbccddeeff",
+      "e2a578f6-8fce-47b4-9a66-c7be263fe0b1",
+      };
+
+  private static final String[] TEXTS = {
+      "  padded  ",
+      "first line\nsecond line\r\nthird line",
+      "Gr\u00FC\u00DFe, 10 \u20AC",
+      "plain ascii text without anything special",
+      };
+
+  private static final String[] CREDIT_CARD_NUMBERS = {"79927398713", "4111111111111111", "5500005555555559"};
+
+  private static final String[] IBANS = {"CH9300762011623852957", "GB82WEST12345698765432", "DE89370400440532013000"};
+
+  private static final String[] TIMESTAMPS = {"2020-02-29T13:37:05.123Z", "1999-12-31T23:59:59+01:00", "2038-01-19T03:14:07.999999999-05:00"};
+
+  private static final KeywordMatcher MATCHER = KeywordMatcher.forEnum(TimeUnit.class);
+
+  private static final CharSequence[] SORTED_KEYWORDS = sortedKeywords();
+
+  private final CharSequence[] numbers;
+
+  private final CharSequence[] uuids;
+
+  private final CharSequence[] texts;
+
+  private final CharSequence[] creditCardNumbers;
+
+  private final CharSequence[] ibans;
+
+  private final CharSequence[] keywords;
+
+  private final CharSequence[] timestamps;
+
+  private final ByteBuffer buffer;
+
+  InliningDriver() {
+    this.numbers = wrap(NUMBERS);
+    this.uuids = wrap(UUIDS);
+    this.texts = wrap(TEXTS);
+    this.creditCardNumbers = wrap(CREDIT_CARD_NUMBERS);
+    this.ibans = wrap(IBANS);
+    String[] keywords = new String[TimeUnit.values().length];
+    for (int i = 0; i < keywords.length; i++) {
+      keywords[i] = TimeUnit.values()[i].name();
+    }
+    this.keywords = wrap(keywords);
+    this.timestamps = wrap(TIMESTAMPS);
+    this.buffer = ByteBuffer.allocate(128);
+  }
+
+  private static CharSequence[] sortedKeywords() {
+    CharSequence[] keywords = new CharSequence[TimeUnit.values().length];
+    for (int i = 0; i < keywords.length; i++) {
+      keywords[i] = TimeUnit.values()[i].name();
+    }
+    Arrays.sort(keywords, CharSequenceComparators.lexicographic());
+    return keywords;
+  }
+
+  /**
+   * Alternates between {@link String} and {@link StringBuilder} so that
+   * the call sites are not monomorphic.
+   */
+  private static CharSequence[] wrap(String[] strings) {
+    CharSequence[] sequences = new CharSequence[strings.length * 2];
+    for (int i = 0; i < strings.length; i++) {
+      sequences[i * 2] = strings[i];
+      sequences[(i * 2) + 1] = new StringBuilder(strings[i]);
+    }
+    return sequences;
+  }
+
+  long run(int count) {
+    long result = 0L;
+    for (int i = 0; i < count; i++) {
+      CharSequence number = this.numbers[i % this.numbers.length];
+      result += CharSequences.parseInt(number);
+      result += CharSequences.parseLong(number, 0, number.length());
+      result += CharSequences.isNumeric(number) ? 1 : 0;
+      result += CharSequences.parseUnsignedLong(number, number.charAt(0) == '-' ? 1 : 0, number.length(), 16);
+      result += CharSequences.parseHexLong(number, number.charAt(0) == '-' ? 1 : 0, number.length());
+
+      result += CharSequences.uuidFromCharSequence(this.uuids[i % this.uuids.length]).getLeastSignificantBits();
+
+      CharSequence text = this.texts[i % this.texts.length];
+      result += CharSequences.indexOf(text, 'e');
+      result += CharSequences.indexOf(text, 'e', 3);
+      result += CharSequences.lastIndexOf(text, 'e');
+      result += CharSequences.trim(text).length();
+      result += CharSequences.strip(text).length();
+      result += CharSequences.startsWith(text, "first") ? 1 : 0;
+      CharSequence other = this.texts[(i + 1) % this.texts.length];
+      result += CharSequenceComparators.compare(text, other);
+      result += CharSequenceComparators.natural().compare(text, other);
+      result += CharSequences.utf8Length(text);
+      // cast for Java 8 compatibility, ByteBuffer#clear() is covariant in Java 9+
+      ((Buffer) this.buffer).clear();
+      result += CharSequences.encodeUtf8(text, this.buffer);
+      LineCursor cursor = CharSequences.lineCursor(text);
+      while (cursor.next()) {
+        result += cursor.lineEnd();
+      }
+
+      result += LuhnCheck.isValid(this.creditCardNumbers[i % this.creditCardNumbers.length]) ? 1 : 0;
+      result += IbanCheck.isValid(this.ibans[i % this.ibans.length]) ? 1 : 0;
+      result += MATCHER.indexOf(this.keywords[i % this.keywords.length]);
+      result += CharSequenceComparators.binarySearch(SORTED_KEYWORDS, this.keywords[i % this.keywords.length]);
+      result += Iso8601.parseEpochMilli(this.timestamps[i % this.timestamps.length]);
+    }
+    return result;
+  }
+
+  public static void main(String[] args) {
+    int count;
+    if (args.length == 1) {
+      count = Integer.parseInt(args[0]);
+    } else {
+      count = 1_000_000;
+    }
+    long result = new InliningDriver().run(count);
+    if (result == 1L) {
+      System.out.println(result);
+    }
+  }
+
+}
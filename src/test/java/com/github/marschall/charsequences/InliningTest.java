@@ -0,0 +1,372 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.VMOption;
+
+/**
+ * Verifies the hot methods stay within the inlining limits of HotSpot.
+ *
+ * <p>{@link #bytecodeSize()} checks the bytecode size of every method of
+ * the hot classes against {@code FreqInlineSize}, and of the small helpers
+ * against {@code MaxInlineSize}. {@link #inliningDecisions()} runs
+ * {@link InliningDriver} in a child JVM with {@code -XX:+LogCompilation}
+ * and checks the inlining decisions of C2.</p>
+ *
+ * <p>A report of the inlining decisions is written to
+ * {@code target/inlining-report.txt}.</p>
+ */
+public class InliningTest {
+
+  private static final String PACKAGE_PREFIX = CharSequences.class.getPackage().getName() + '.';
+
+  /**
+   * The classes whose methods are called in hot loops, every method has
+   * to be below {@code FreqInlineSize}.
+   */
+  private static final List<Class<?>> HOT_CLASSES = Arrays.asList(
+          CharSequences.class, LuhnCheck.class, IbanCheck.class, Utf8.class,
+          KeywordMatcher.class, LineCursor.class, StringPool.class, Iso8601.class,
+          CharSequenceComparators.class);
+
+  /**
+   * Helpers that may be called from cold call sites, have to be below
+   * {@code MaxInlineSize}.
+   */
+  private static final Set<String> SMALL_HELPERS = new TreeSet<>(Arrays.asList(
+          "CharSequences.subSequenceOrSelf",
+          "CharSequences.hexDigit",
+          "CharSequences.stripStart",
+          "CharSequences.stripEnd",
+          "KeywordMatcher.toLowerAscii",
+          "KeywordMatcher.slot",
+          "LuhnCheck.toInt",
+          "Utf8.byteLength",
+          "Utf8.charLength"));
+
+  private static final Pattern KLASS = Pattern.compile("<klass id='(\\d+)' name='([^']+)'");
+
+  private static final Pattern METHOD = Pattern.compile("<method id='(\\d+)' holder='(\\d+)' name='([^']+)'.* bytes='(\\d+)'");
+
+  private static final Pattern CALL = Pattern.compile("<call method='(\\d+)'");
+
+  private static final Pattern INLINE_DECISION = Pattern.compile("<inline_(fail|success) reason='([^']+)'");
+
+  @Test
+  public void bytecodeSize() throws IOException {
+    int freqInlineSize = vmOption("FreqInlineSize", 325);
+    int maxInlineSize = vmOption("MaxInlineSize", 35);
+    List<String> violations = new ArrayList<>();
+    Set<String> helpersFound = new TreeSet<>();
+    for (Class<?> hotClass : HOT_CLASSES) {
+      for (Entry<String, Integer> entry : codeLengths(hotClass).entrySet()) {
+        String methodName = hotClass.getSimpleName() + '.' + entry.getKey();
+        int codeLength = entry.getValue();
+        if (SMALL_HELPERS.contains(methodName)) {
+          helpersFound.add(methodName);
+          if (codeLength > maxInlineSize) {
+            violations.add(methodName + " has " + codeLength + " bytes, MaxInlineSize is " + maxInlineSize);
+          }
+        } else if (codeLength > freqInlineSize) {
+          violations.add(methodName + " has " + codeLength + " bytes, FreqInlineSize is " + freqInlineSize);
+        }
+      }
+    }
+    assertTrue(helpersFound.equals(SMALL_HELPERS), "helpers not found, found only: " + helpersFound);
+    assertTrue(violations.isEmpty(), String.join(System.lineSeparator(), violations));
+  }
+
+  @Test
+  public void inliningDecisions() throws IOException, InterruptedException, URISyntaxException {
+    assumeTrue(isHotSpot(), "not HotSpot C2");
+    Path logFile = Files.createTempFile("inlining", ".log");
+    try {
+      runDriver(logFile);
+      Map<String, InliningDecisions> decisions = parseLog(logFile);
+      writeReport(decisions);
+
+      List<String> violations = new ArrayList<>();
+      for (InliningDecisions decision : decisions.values()) {
+        String methodName = decision.methodName;
+        for (String reason : decision.failures) {
+          if (reason.equals("hot method too big")) {
+            violations.add(methodName + " (" + decision.bytes + " bytes) not inlined at a hot call site: " + reason);
+          } else if (SMALL_HELPERS.contains(methodName) && reason.equals("too big")) {
+            violations.add(methodName + " (" + decision.bytes + " bytes) not inlined: " + reason);
+          }
+        }
+      }
+      assertTrue(!decisions.isEmpty(), "no inlining decisions found");
+      assertTrue(violations.isEmpty(), String.join(System.lineSeparator(), violations));
+    } finally {
+      Files.delete(logFile);
+    }
+  }
+
+  private static boolean isHotSpot() {
+    String vmName = System.getProperty("java.vm.name", "");
+    if (!(vmName.contains("HotSpot") || vmName.contains("OpenJDK"))) {
+      return false;
+    }
+    // Graal as JIT does not use the C2 inlining heuristics
+    for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+      if (argument.equals("-XX:+UseJVMCICompiler")) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int vmOption(String name, int defaultValue) {
+    HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+    if (bean == null) {
+      return defaultValue;
+    }
+    try {
+      VMOption option = bean.getVMOption(name);
+      return Integer.parseInt(option.getValue());
+    } catch (IllegalArgumentException e) {
+      // unknown option or not an int
+      return defaultValue;
+    }
+  }
+
+  private static void runDriver(Path logFile) throws IOException, InterruptedException, URISyntaxException {
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    // surefire runs without forking, java.class.path is not the test class path
+    String classPath = codeSource(CharSequences.class) + File.pathSeparator + codeSource(InliningDriver.class);
+    Process process = new ProcessBuilder(java,
+            "-XX:+UnlockDiagnosticVMOptions",
+            "-XX:+LogCompilation",
+            "-XX:LogFile=" + logFile,
+            "-cp", classPath,
+            InliningDriver.class.getName())
+            .redirectErrorStream(true)
+            .redirectOutput(Redirect.INHERIT)
+            .start();
+    if (!process.waitFor(2L, TimeUnit.MINUTES)) {
+      process.destroyForcibly();
+      throw new AssertionError("driver did not finish");
+    }
+    assumeTrue(process.exitValue() == 0, "-XX:+LogCompilation not supported");
+  }
+
+  private static String codeSource(Class<?> clazz) throws URISyntaxException {
+    return Paths.get(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+  }
+
+  /**
+   * Parses the inlining decisions of the C2 compilations from a
+   * {@code -XX:+LogCompilation} log.
+   */
+  static Map<String, InliningDecisions> parseLog(Path logFile) throws IOException {
+    Map<String, InliningDecisions> decisions = new TreeMap<>();
+    // ids are only valid within a task
+    Map<String, String> klasses = new HashMap<>();
+    Map<String, String[]> methods = new HashMap<>();
+    boolean inC2Task = false;
+    String calledMethodId = null;
+    try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("<task ")) {
+          // tiered C1 tasks have a level below 4, C2 tasks no level
+          inC2Task = !line.contains(" level='") || line.contains(" level='4'");
+          klasses.clear();
+          methods.clear();
+          calledMethodId = null;
+        } else if (line.startsWith("</task>")) {
+          inC2Task = false;
+        } else if (inC2Task) {
+          Matcher matcher;
+          if ((matcher = KLASS.matcher(line)).lookingAt()) {
+            klasses.put(matcher.group(1), matcher.group(2));
+          } else if ((matcher = METHOD.matcher(line)).lookingAt()) {
+            methods.put(matcher.group(1), new String[] {matcher.group(2), matcher.group(3), matcher.group(4)});
+          } else if ((matcher = CALL.matcher(line)).lookingAt()) {
+            calledMethodId = matcher.group(1);
+          } else if (((matcher = INLINE_DECISION.matcher(line)).lookingAt()) && (calledMethodId != null)) {
+            String[] method = methods.get(calledMethodId);
+            String holder = method != null ? klasses.get(method[0]) : null;
+            if ((holder != null) && holder.startsWith(PACKAGE_PREFIX)) {
+              String simpleName = holder.substring(PACKAGE_PREFIX.length());
+              if (!simpleName.startsWith("InliningDriver")) {
+                String methodName = simpleName + '.' + unescape(method[1]);
+                InliningDecisions decision = decisions.computeIfAbsent(methodName, InliningDecisions::new);
+                // overloads are reported with the largest size
+                decision.bytes = Math.max(decision.bytes, Integer.parseInt(method[2]));
+                String reason = unescape(matcher.group(2));
+                if (matcher.group(1).equals("success")) {
+                  decision.successes += 1;
+                } else {
+                  decision.failures.add(reason);
+                }
+              }
+            }
+            calledMethodId = null;
+          }
+        }
+      }
+    }
+    return decisions;
+  }
+
+  private static String unescape(String attribute) {
+    return attribute.replace("&apos;", "'").replace("&lt;", "<").replace("&gt;", ">");
+  }
+
+  private static void writeReport(Map<String, InliningDecisions> decisions) throws IOException {
+    Path target = Paths.get("target");
+    if (!Files.isDirectory(target)) {
+      return;
+    }
+    List<String> lines = new ArrayList<>();
+    for (InliningDecisions decision : decisions.values()) {
+      lines.add(decision.methodName + " bytes=" + decision.bytes
+              + " inlined=" + decision.successes
+              + " failures=" + decision.failures);
+    }
+    Files.write(target.resolve("inlining-report.txt"), lines, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads the code lengths of all methods of a class from its class file.
+   *
+   * @return the code lengths indexed by method name, overloads are reported
+   *         with the largest code length
+   */
+  static Map<String, Integer> codeLengths(Class<?> clazz) throws IOException {
+    Map<String, Integer> codeLengths = new LinkedHashMap<>();
+    try (InputStream stream = clazz.getResourceAsStream(clazz.getSimpleName() + ".class");
+         DataInputStream input = new DataInputStream(stream)) {
+      input.readInt(); // magic
+      input.readUnsignedShort(); // minor version
+      input.readUnsignedShort(); // major version
+      int constantPoolCount = input.readUnsignedShort();
+      String[] utf8Constants = new String[constantPoolCount];
+      for (int i = 1; i < constantPoolCount; i++) {
+        int tag = input.readUnsignedByte();
+        switch (tag) {
+          case 1: // Utf8
+            utf8Constants[i] = input.readUTF();
+            break;
+          case 3: // Integer
+          case 4: // Float
+          case 9: // Fieldref
+          case 10: // Methodref
+          case 11: // InterfaceMethodref
+          case 12: // NameAndType
+          case 17: // Dynamic
+          case 18: // InvokeDynamic
+            input.skipBytes(4);
+            break;
+          case 5: // Long
+          case 6: // Double
+            input.skipBytes(8);
+            // takes two entries
+            i += 1;
+            break;
+          case 7: // Class
+          case 8: // String
+          case 16: // MethodType
+          case 19: // Module
+          case 20: // Package
+            input.skipBytes(2);
+            break;
+          case 15: // MethodHandle
+            input.skipBytes(3);
+            break;
+          default:
+            throw new IOException("unknown constant pool tag: " + tag);
+        }
+      }
+      input.readUnsignedShort(); // access flags
+      input.readUnsignedShort(); // this class
+      input.readUnsignedShort(); // super class
+      input.skipBytes(input.readUnsignedShort() * 2); // interfaces
+      int fieldCount = input.readUnsignedShort();
+      for (int i = 0; i < fieldCount; i++) {
+        input.skipBytes(6); // access flags, name, descriptor
+        skipAttributes(input);
+      }
+      int methodCount = input.readUnsignedShort();
+      for (int i = 0; i < methodCount; i++) {
+        input.readUnsignedShort(); // access flags
+        String name = utf8Constants[input.readUnsignedShort()];
+        input.readUnsignedShort(); // descriptor
+        int attributeCount = input.readUnsignedShort();
+        for (int j = 0; j < attributeCount; j++) {
+          String attributeName = utf8Constants[input.readUnsignedShort()];
+          int attributeLength = input.readInt();
+          if (attributeName.equals("Code")) {
+            input.skipBytes(4); // max stack, max locals
+            int codeLength = input.readInt();
+            codeLengths.merge(name, codeLength, Math::max);
+            input.skipBytes(attributeLength - 8);
+          } else {
+            input.skipBytes(attributeLength);
+          }
+        }
+      }
+    }
+    return codeLengths;
+  }
+
+  private static void skipAttributes(DataInputStream input) throws IOException {
+    int attributeCount = input.readUnsignedShort();
+    for (int i = 0; i < attributeCount; i++) {
+      input.readUnsignedShort(); // name
+      input.skipBytes(input.readInt());
+    }
+  }
+
+  static final class InliningDecisions {
+
+    final String methodName;
+
+    int bytes;
+
+    int successes;
+
+    final Set<String> failures;
+
+    InliningDecisions(String methodName) {
+      this.methodName = methodName;
+      this.bytes = 0;
+      this.successes = 0;
+      this.failures = new TreeSet<>();
+    }
+
+  }
+
+}
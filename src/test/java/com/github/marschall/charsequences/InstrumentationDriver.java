@@ -0,0 +1,52 @@
+package com.github.marschall.charsequences;
+
+/**
+ * Calls the instrumented methods once for every {@link CharSequenceType}
+ * and prints the counters to standard out. Has to be run with the system
+ * property {@value Instrumentation#PROPERTY_NAME} set to {@code true}.
+ *
+ * <p>Every line is either
+ * {@code counter <method name> <metric> <value>} or
+ * {@code dispatch <method name> <class name> <count>} separated by tabs.</p>
+ *
+ * @see CharSequencesMetricsTest
+ */
+public class InstrumentationDriver {
+
+  static void run() {
+    for (CharSequenceType type : CharSequenceType.values()) {
+      CharSequences.parseInt(type.wrap("123"));
+      try {
+        CharSequences.parseInt(type.wrap("12x"));
+        throw new AssertionError("invalid int parsed");
+      } catch (NumberFormatException e) {
+        // recorded as failure
+      }
+      CharSequences.parseLong(type.wrap("-4567"));
+      CharSequences.indexOf(type.wrap("abc"), 'c');
+      CharSequences.isNumeric(type.wrap("123"));
+      CharSequences.isNumeric(type.wrap("12x"));
+    }
+  }
+
+  public static void main(String[] args) {
+    if (!CharSequencesMetrics.isEnabled()) {
+      throw new IllegalStateException(Instrumentation.PROPERTY_NAME + " not set");
+    }
+    run();
+    CharSequencesMetrics.report(new MetricsReporter() {
+
+      @Override
+      public void counter(String methodName, String metric, long value) {
+        System.out.println("counter\t" + methodName + '\t' + metric + '\t' + value);
+      }
+
+      @Override
+      public void dispatch(String methodName, Class<?> implementationClass, long count) {
+        System.out.println("dispatch\t" + methodName + '\t' + implementationClass.getName() + '\t' + count);
+      }
+
+    });
+  }
+
+}
@@ -0,0 +1,145 @@
+package com.github.marschall.charsequences;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares {@link Iso8601} to the {@link DateTimeFormatter} constants of
+ * the JDK over all {@link CharSequenceType}s.
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class Iso8601Benchmark {
+
+  private static final int INPUT_COUNT = CharSequencesBenchmark.INPUT_COUNT;
+
+  @Param
+  public CharSequenceType type;
+
+  private CharSequence[] dates;
+
+  private CharSequence[] dateTimes;
+
+  private CharSequence[] offsetDateTimes;
+
+  private CharSequence[] instants;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*Iso8601Benchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(INPUT_COUNT);
+    this.dates = new CharSequence[INPUT_COUNT];
+    this.dateTimes = new CharSequence[INPUT_COUNT];
+    this.offsetDateTimes = new CharSequence[INPUT_COUNT];
+    this.instants = new CharSequence[INPUT_COUNT];
+    long min = LocalDate.of(1900, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    long max = LocalDate.of(2100, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      long epochSecond = min + (long) (random.nextDouble() * (max - min));
+      // mix of second, milli, micro and nano precision
+      int nanos = random.nextInt(1_000_000_000);
+      switch (random.nextInt(4)) {
+        case 0:
+          nanos = 0;
+          break;
+        case 1:
+          nanos -= nanos % 1_000_000;
+          break;
+        case 2:
+          nanos -= nanos % 1_000;
+          break;
+        default:
+          break;
+      }
+      ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(18 * 4 * 2 + 1) - (18 * 4)) * 15 * 60);
+      OffsetDateTime dateTime = Instant.ofEpochSecond(epochSecond, nanos).atOffset(offset);
+      this.dates[i] = this.type.wrap(DateTimeFormatter.ISO_LOCAL_DATE.format(dateTime));
+      this.dateTimes[i] = this.type.wrap(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+      this.offsetDateTimes[i] = this.type.wrap(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(dateTime));
+      this.instants[i] = this.type.wrap(DateTimeFormatter.ISO_INSTANT.format(dateTime));
+    }
+    this.index = 0;
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public LocalDate parseLocalDateIso8601() {
+    return Iso8601.parseLocalDate(this.dates[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public LocalDate parseLocalDateFormatter() {
+    return DateTimeFormatter.ISO_LOCAL_DATE.parse(this.dates[this.nextIndex()], LocalDate::from);
+  }
+
+  @Benchmark
+  public LocalDateTime parseLocalDateTimeIso8601() {
+    return Iso8601.parseLocalDateTime(this.dateTimes[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public LocalDateTime parseLocalDateTimeFormatter() {
+    return DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse(this.dateTimes[this.nextIndex()], LocalDateTime::from);
+  }
+
+  @Benchmark
+  public OffsetDateTime parseOffsetDateTimeIso8601() {
+    return Iso8601.parseOffsetDateTime(this.offsetDateTimes[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public OffsetDateTime parseOffsetDateTimeFormatter() {
+    return DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(this.offsetDateTimes[this.nextIndex()], OffsetDateTime::from);
+  }
+
+  @Benchmark
+  public Instant parseInstantIso8601() {
+    return Iso8601.parseInstant(this.instants[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public Instant parseInstantFormatter() {
+    return DateTimeFormatter.ISO_INSTANT.parse(this.instants[this.nextIndex()], Instant::from);
+  }
+
+  @Benchmark
+  public long parseEpochMilliIso8601() {
+    return Iso8601.parseEpochMilli(this.offsetDateTimes[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public long parseEpochMilliFormatter() {
+    return DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(this.offsetDateTimes[this.nextIndex()], Instant::from).toEpochMilli();
+  }
+
+}
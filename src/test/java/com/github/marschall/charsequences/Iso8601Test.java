@@ -0,0 +1,162 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class Iso8601Test {
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseLocalDate(CharSequenceType type) {
+    assertEquals(LocalDate.of(2020, 2, 29), Iso8601.parseLocalDate(type.wrap("2020-02-29")));
+    assertEquals(LocalDate.of(1, 1, 1), Iso8601.parseLocalDate(type.wrap("0001-01-01")));
+    assertEquals(LocalDate.of(9999, 12, 31), Iso8601.parseLocalDate(type.wrap("9999-12-31")));
+    assertEquals(LocalDate.of(1999, 7, 8), Iso8601.parseLocalDate(type.wrap("date=1999-07-08;"), 5, 15));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "2020-1-01", "2020-01-1", "20200101", "2020/01/01", "2020-01-01T",
+      "2020-13-01", "2020-00-01", "2020-01-00", "2020-01-32", "2019-02-29", "1900-02-29", "2020-04-31",
+      "+2020-01-01", "2020-0a-01", "2020-01-0\u0660"})
+  public void parseLocalDateInvalid(String invalid) {
+    assertThrows(DateTimeParseException.class, () -> Iso8601.parseLocalDate(invalid));
+    // make sure the JDK agrees
+    assertThrows(DateTimeParseException.class, () -> LocalDate.parse(invalid));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseLocalTime(CharSequenceType type) {
+    assertEquals(LocalTime.of(23, 59), Iso8601.parseLocalTime(type.wrap("23:59")));
+    assertEquals(LocalTime.of(0, 0, 1), Iso8601.parseLocalTime(type.wrap("00:00:01")));
+    assertEquals(LocalTime.of(12, 34, 56, 100_000_000), Iso8601.parseLocalTime(type.wrap("12:34:56.1")));
+    assertEquals(LocalTime.of(12, 34, 56, 123_456_789), Iso8601.parseLocalTime(type.wrap("12:34:56.123456789")));
+    assertEquals(LocalTime.of(12, 34, 56, 120_000), Iso8601.parseLocalTime(type.wrap("12:34:56.00012")));
+    assertEquals(LocalTime.of(8, 15), Iso8601.parseLocalTime(type.wrap("at 08:15."), 3, 8));
+    // accepted by the JDK
+    assertThrows(DateTimeParseException.class, () -> Iso8601.parseLocalTime(type.wrap("12:00:00.")));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "1:00", "24:00", "12:60", "12:00:60", "12:00:", "12:00:0", "12:00:00.1234567890", "12:00:00,1", "12-00", "12:00Z"})
+  public void parseLocalTimeInvalid(String invalid) {
+    assertThrows(DateTimeParseException.class, () -> Iso8601.parseLocalTime(invalid));
+    assertThrows(DateTimeParseException.class, () -> LocalTime.parse(invalid));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseLocalDateTime(CharSequenceType type) {
+    assertEquals(LocalDateTime.of(2020, 2, 29, 13, 37), Iso8601.parseLocalDateTime(type.wrap("2020-02-29T13:37")));
+    assertEquals(LocalDateTime.of(2020, 2, 29, 13, 37, 1, 1), Iso8601.parseLocalDateTime(type.wrap("2020-02-29t13:37:01.000000001")));
+    assertThrows(DateTimeParseException.class, () -> Iso8601.parseLocalDateTime(type.wrap("2020-02-29 13:37")));
+    assertThrows(DateTimeParseException.class, () -> Iso8601.parseLocalDateTime(type.wrap("2020-02-29T13")));
+    assertThrows(DateTimeParseException.class, () -> Iso8601.parseLocalDateTime(type.wrap("2020-02-29T13:37Z")));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseOffsetDateTime(CharSequenceType type) {
+    assertEquals(OffsetDateTime.of(2020, 2, 29, 13, 37, 0, 0, ZoneOffset.UTC),
+            Iso8601.parseOffsetDateTime(type.wrap("2020-02-29T13:37Z")));
+    assertEquals(OffsetDateTime.of(2020, 2, 29, 13, 37, 5, 0, ZoneOffset.ofHours(-5)),
+            Iso8601.parseOffsetDateTime(type.wrap("2020-02-29T13:37:05-05:00")));
+    assertEquals(OffsetDateTime.of(2020, 2, 29, 13, 37, 5, 500_000_000, ZoneOffset.ofHoursMinutesSeconds(5, 30, 15)),
+            Iso8601.parseOffsetDateTime(type.wrap("2020-02-29T13:37:05.5+05:30:15")));
+    assertEquals(OffsetDateTime.of(2020, 2, 29, 13, 37, 5, 0, ZoneOffset.ofHours(18)),
+            Iso8601.parseOffsetDateTime(type.wrap("2020-02-29T13:37:05+18:00")));
+    // offsets without minutes are accepted by the JDK
+    assertThrows(DateTimeParseException.class, () -> Iso8601.parseOffsetDateTime(type.wrap("2020-02-29T13:37+01")));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2020-02-29T13:37", "2020-02-29T13:37+0100", "2020-02-29T13:37+19:00",
+      "2020-02-29T13:37+01:60", "2020-02-29T13:37:00+01:00:60", "2020-02-29T13:37+01:00Z", "2020-02-29T+01:00"})
+  public void parseOffsetDateTimeInvalid(String invalid) {
+    assertThrows(DateTimeParseException.class, () -> Iso8601.parseOffsetDateTime(invalid));
+    assertThrows(DateTimeParseException.class, () -> OffsetDateTime.parse(invalid));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseInstant(CharSequenceType type) {
+    assertEquals(Instant.EPOCH, Iso8601.parseInstant(type.wrap("1970-01-01T00:00:00Z")));
+    assertEquals(Instant.parse("2020-02-29T12:37:05.123Z"), Iso8601.parseInstant(type.wrap("2020-02-29T13:37:05.123+01:00")));
+    assertEquals(Instant.parse("1969-12-31T23:59:59.999999999Z"), Iso8601.parseInstant(type.wrap("1969-12-31T23:59:59.999999999Z")));
+    assertEquals(Instant.parse("0000-01-01T00:00:00Z"), Iso8601.parseInstant(type.wrap("0000-01-01T00:00:00Z")));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseEpochMilli(CharSequenceType type) {
+    assertEquals(0L, Iso8601.parseEpochMilli(type.wrap("1970-01-01T00:00Z")));
+    assertEquals(Instant.parse("2020-02-29T13:37:05.123Z").toEpochMilli(),
+            Iso8601.parseEpochMilli(type.wrap("2020-02-29T13:37:05.123456Z")));
+    assertEquals(Instant.parse("1969-12-31T23:59:59.999Z").toEpochMilli(),
+            Iso8601.parseEpochMilli(type.wrap("1969-12-31T23:59:59.999999Z")));
+    assertEquals(-1L, Iso8601.parseEpochMilli(type.wrap("1969-12-31T23:59:59.999Z")));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseEpochNano(CharSequenceType type) {
+    assertEquals(1L, Iso8601.parseEpochNano(type.wrap("1970-01-01T00:00:00.000000001Z")));
+    assertEquals(-1L, Iso8601.parseEpochNano(type.wrap("1969-12-31T23:59:59.999999999Z")));
+    assertEquals(Long.MAX_VALUE, Iso8601.parseEpochNano(type.wrap("2262-04-11T23:47:16.854775807Z")));
+    assertEquals(Long.MIN_VALUE, Iso8601.parseEpochNano(type.wrap("1677-09-21T00:12:43.145224192Z")));
+    assertThrows(DateTimeParseException.class, () -> Iso8601.parseEpochNano(type.wrap("2262-04-11T23:47:16.854775808Z")));
+    assertThrows(DateTimeParseException.class, () -> Iso8601.parseEpochNano(type.wrap("1677-09-21T00:12:43.145224191Z")));
+  }
+
+  @Test
+  public void randomInstants() {
+    Random random = new Random(8601L);
+    long min = Instant.parse("0000-01-01T00:00:00Z").getEpochSecond();
+    long max = Instant.parse("9999-12-31T23:59:59Z").getEpochSecond();
+    for (int i = 0; i < 10_000; i++) {
+      long epochSecond = min + (long) (random.nextDouble() * (max - min));
+      int nanos = random.nextInt(1_000_000_000);
+      ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(18 * 4 * 2 + 1) - (18 * 4)) * 15 * 60);
+      OffsetDateTime expected = Instant.ofEpochSecond(epochSecond, nanos).atOffset(offset);
+      if (expected.getYear() > 9999 || expected.getYear() < 0) {
+        continue;
+      }
+      String formatted = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(expected);
+      assertEquals(expected, Iso8601.parseOffsetDateTime(formatted), formatted);
+      assertEquals(expected.toInstant(), Iso8601.parseInstant(formatted), formatted);
+      assertEquals(expected.toInstant().toEpochMilli(), Iso8601.parseEpochMilli(formatted), formatted);
+      assertEquals(expected.toLocalDateTime(), Iso8601.parseLocalDateTime(formatted, 0, formatted.length() - offset.getId().length()));
+    }
+  }
+
+  @Test
+  public void errorIndex() {
+    DateTimeParseException exception = assertThrows(DateTimeParseException.class,
+        () -> Iso8601.parseLocalDate("date=2020-0x-01;", 5, 15));
+    assertEquals(6, exception.getErrorIndex());
+    assertEquals("2020-0x-01", exception.getParsedString());
+  }
+
+  @Test
+  public void invalidRange() {
+    assertThrows(IndexOutOfBoundsException.class, () -> Iso8601.parseLocalDate("2020-01-01", -1, 10));
+    assertThrows(IndexOutOfBoundsException.class, () -> Iso8601.parseLocalDate("2020-01-01", 0, 11));
+    assertThrows(IndexOutOfBoundsException.class, () -> Iso8601.parseLocalDate("2020-01-01", 5, 4));
+  }
+
+}
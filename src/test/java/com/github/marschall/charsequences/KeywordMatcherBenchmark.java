@@ -0,0 +1,81 @@
+package com.github.marschall.charsequences;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class KeywordMatcherBenchmark {
+
+  private static final KeywordMatcher MATCHER = KeywordMatcher.forEnum(TimeUnit.class);
+
+  private static final Map<String, TimeUnit> MAP = new HashMap<>();
+
+  static {
+    for (TimeUnit timeUnit : TimeUnit.values()) {
+      MAP.put(timeUnit.name(), timeUnit);
+    }
+  }
+
+  private static final TimeUnit[] VALUES = TimeUnit.values();
+
+  private CharSequence[] inputs;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+            .include(".*KeywordMatcherBenchmark.*")
+            .warmupIterations(10)
+            .measurementIterations(10)
+            .forks(10)
+            .build();
+    new Runner(options).run();
+  }
+
+  @Setup
+  public void setUp() {
+    this.inputs = new CharSequence[VALUES.length];
+    for (int i = 0; i < VALUES.length; i++) {
+      // not a String to force a copy in the JDK versions
+      this.inputs[i] = new StringBuilder(VALUES[i].name());
+    }
+    this.index = 0;
+  }
+
+  private CharSequence nextInput() {
+    int current = this.index;
+    this.index = (current + 1) % this.inputs.length;
+    return this.inputs[current];
+  }
+
+  @Benchmark
+  public TimeUnit keywordMatcher() {
+    return VALUES[MATCHER.indexOf(this.nextInput())];
+  }
+
+  @Benchmark
+  public TimeUnit hashMap() {
+    return MAP.get(this.nextInput().toString());
+  }
+
+  @Benchmark
+  public TimeUnit valueOf() {
+    return TimeUnit.valueOf(this.nextInput().toString());
+  }
+
+}
@@ -0,0 +1,98 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.DayOfWeek;
+import java.time.Month;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class KeywordMatcherTest {
+
+  @Test
+  public void forEnum() {
+    KeywordMatcher matcher = KeywordMatcher.forEnum(TimeUnit.class);
+    for (TimeUnit timeUnit : TimeUnit.values()) {
+      assertEquals(timeUnit.ordinal(), matcher.indexOf(timeUnit.name()));
+      assertEquals(timeUnit.ordinal(), matcher.indexOf(new StringBuilder(timeUnit.name())));
+    }
+    assertEquals(-1, matcher.indexOf("seconds"));
+    assertEquals(-1, matcher.indexOf(""));
+    assertEquals(-1, matcher.indexOf("SECONDSS"));
+  }
+
+  @Test
+  public void range() {
+    KeywordMatcher matcher = KeywordMatcher.forEnum(DayOfWeek.class);
+    assertEquals(DayOfWeek.FRIDAY.ordinal(), matcher.indexOf("1,FRIDAY,2", 2, 8));
+    assertEquals(-1, matcher.indexOf("1,FRIDAY,2", 2, 9));
+    assertThrows(IndexOutOfBoundsException.class, () -> matcher.indexOf("FRIDAY", -1, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> matcher.indexOf("FRIDAY", 2, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> matcher.indexOf("FRIDAY", 1, 7));
+  }
+
+  @Test
+  public void ignoreAsciiCase() {
+    KeywordMatcher matcher = KeywordMatcher.builder()
+            .add("Limit")
+            .add("MARKET")
+            .add("stop")
+            .ignoreAsciiCase()
+            .build();
+    assertEquals(0, matcher.indexOf("limit"));
+    assertEquals(0, matcher.indexOf("LIMIT"));
+    assertEquals(1, matcher.indexOf("Market"));
+    assertEquals(2, matcher.indexOf("STOP"));
+    assertEquals(-1, matcher.indexOf("STOPP"));
+    assertEquals(-1, matcher.indexOf("st0p"));
+  }
+
+  @Test
+  public void manyKeywords() {
+    Set<Currency> currencies = Currency.getAvailableCurrencies();
+    KeywordMatcher.Builder builder = KeywordMatcher.builder();
+    String[] codes = new String[currencies.size()];
+    int i = 0;
+    for (Currency currency : currencies) {
+      codes[i] = currency.getCurrencyCode();
+      builder.add(codes[i]);
+      i += 1;
+    }
+    KeywordMatcher matcher = builder.build();
+    for (int j = 0; j < codes.length; j++) {
+      assertEquals(j, matcher.indexOf(codes[j]));
+    }
+    Set<String> codeSet = new HashSet<>();
+    for (String code : codes) {
+      codeSet.add(code);
+    }
+    for (char c = 'A'; c <= 'Z'; c++) {
+      String candidate = "X" + c + "Z";
+      if (!codeSet.contains(candidate)) {
+        assertEquals(-1, matcher.indexOf(candidate));
+      }
+    }
+  }
+
+  @Test
+  public void empty() {
+    KeywordMatcher matcher = KeywordMatcher.builder().build();
+    assertEquals(-1, matcher.indexOf("a"));
+    assertEquals(-1, matcher.indexOf(""));
+  }
+
+  @Test
+  public void duplicates() {
+    assertThrows(IllegalArgumentException.class, () -> KeywordMatcher.builder().add("a").add("a").build());
+    assertThrows(IllegalArgumentException.class,
+            () -> KeywordMatcher.builder().add("a").add("A").ignoreAsciiCase().build());
+    assertEquals(1, KeywordMatcher.builder().add("a").add("A").build().indexOf("A"));
+    assertEquals(Month.MAY.ordinal(), KeywordMatcher.forEnum(Month.class).indexOf("MAY"));
+  }
+
+}
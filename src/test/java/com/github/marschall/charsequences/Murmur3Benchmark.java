@@ -0,0 +1,89 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares hashing with {@link Murmur3} to {@link String#hashCode()}
+ * and to encoding the sequence to a {@code byte[]} first.
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class Murmur3Benchmark {
+
+  private static final int INPUT_COUNT = CharSequencesBenchmark.INPUT_COUNT;
+
+  @Param
+  public CharSequenceType type;
+
+  private CharSequence[] tokens;
+
+  private Murmur3Hasher hasher;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*Murmur3Benchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(INPUT_COUNT);
+    this.tokens = new CharSequence[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      this.tokens[i] = this.type.wrap(CharSequencesBenchmark.randomText(random, 8 + random.nextInt(56)));
+    }
+    this.hasher = new Murmur3Hasher();
+    this.index = 0;
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public long hash64Utf16() {
+    return Murmur3.hash64(this.tokens[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public long hash64Utf8() {
+    CharSequence token = this.tokens[this.nextIndex()];
+    return Murmur3.hash64(token, 0, token.length(), Murmur3.Encoding.UTF_8, 0);
+  }
+
+  @Benchmark
+  public long hasherUtf8() {
+    return this.hasher.reset().putUtf8(this.tokens[this.nextIndex()]).hash64();
+  }
+
+  @Benchmark
+  public long hasherBytes() {
+    byte[] bytes = this.tokens[this.nextIndex()].toString().getBytes(UTF_8);
+    return this.hasher.reset().putBytes(bytes, 0, bytes.length).hash64();
+  }
+
+  @Benchmark
+  public int stringHashCode() {
+    return this.tokens[this.nextIndex()].toString().hashCode();
+  }
+
+}
@@ -0,0 +1,236 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.github.marschall.charsequences.Murmur3.Encoding;
+
+public class Murmur3Test {
+
+  private static final String ALPHABET = "aZ09 \u00E4\u00C4\u20AC\uD83D\uDE00\uD83D";
+
+  @Test
+  public void knownValues() {
+    long[] hash = new long[2];
+    Murmur3.hash128("", 0, 0, Encoding.UTF_8, 0, hash);
+    assertArrayEquals(new long[] {0L, 0L}, hash);
+
+    // Guava Hashing.murmur3_128().hashString(..., UTF_8) returns 6c1b07bc7bbc4be347939ac4a93c437a
+    String fox = "The quick brown fox jumps over the lazy dog";
+    Murmur3.hash128(fox, 0, fox.length(), Encoding.UTF_8, 0, hash);
+    assertEquals("6c1b07bc7bbc4be347939ac4a93c437a", toHex(hash));
+    assertArrayEquals(reference(fox.getBytes(UTF_8), 0), hash);
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void hashUtf16(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    long[] hash = new long[2];
+    for (int i = 0; i < 1_000; i++) {
+      String s = randomString(random);
+      int seed = random.nextInt();
+      long[] expected = reference(codeUnits(s), seed);
+      Murmur3.hash128(type.wrap(s), 0, s.length(), Encoding.UTF_16LE, seed, hash);
+      assertArrayEquals(expected, hash, s);
+      assertEquals(expected[0], Murmur3.hash64(type.wrap(s), 0, s.length(), Encoding.UTF_16LE, seed), s);
+      assertEquals(expected[0], Murmur3.hash64(type.wrap("[" + s + "]"), 1, s.length() + 1, Encoding.UTF_16LE, seed), s);
+    }
+    assertEquals(reference(codeUnits("abc"), 0)[0], Murmur3.hash64(type.wrap("abc")));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void hashUtf8(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    long[] hash = new long[2];
+    for (int i = 0; i < 1_000; i++) {
+      String s = randomString(random);
+      int seed = random.nextInt();
+      long[] expected = reference(s.getBytes(UTF_8), seed);
+      Murmur3.hash128(type.wrap(s), 0, s.length(), Encoding.UTF_8, seed, hash);
+      assertArrayEquals(expected, hash, s);
+      assertEquals(expected[0], Murmur3.hash64(type.wrap("[" + s + "]"), 1, s.length() + 1, Encoding.UTF_8, seed), s);
+    }
+  }
+
+  @Test
+  public void hashUnpairedSurrogates() {
+    // a surrogate pair split by the range is hashed like a substring
+    String s = "a\uD83D\uDE00";
+    assertEquals(reference(s.substring(0, 2).getBytes(UTF_8), 0)[0], Murmur3.hash64(s, 0, 2, Encoding.UTF_8, 0));
+    assertEquals(reference(s.substring(2).getBytes(UTF_8), 0)[0], Murmur3.hash64(s, 2, 3, Encoding.UTF_8, 0));
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThrows(IndexOutOfBoundsException.class, () -> Murmur3.hash64("abc", 2, 1, Encoding.UTF_8, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> Murmur3.hash64("abc", -1, 1, Encoding.UTF_8, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> Murmur3.hash64("abc", 0, 4, Encoding.UTF_16LE, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> Murmur3.hash128("abc", 0, 3, Encoding.UTF_16LE, 0, new long[1]));
+    assertThrows(NullPointerException.class, () -> Murmur3.hash64("abc", 0, 3, null, 0));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void hasherChunks(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    Murmur3Hasher hasher = new Murmur3Hasher(42);
+    long[] hash = new long[2];
+    for (int i = 0; i < 1_000; i++) {
+      String s = randomString(random) + randomString(random) + randomString(random);
+      CharSequence wrapped = type.wrap(s);
+      boolean utf8 = random.nextBoolean();
+      hasher.reset();
+      int index = 0;
+      while (index < s.length()) {
+        int end = index + random.nextInt((s.length() - index) + 1);
+        if (utf8) {
+          hasher.putUtf8(wrapped, index, end);
+        } else {
+          hasher.putUtf16(wrapped, index, end);
+        }
+        index = end;
+      }
+      long[] expected = reference(utf8 ? s.getBytes(UTF_8) : codeUnits(s), 42);
+      hasher.hash128(hash);
+      assertArrayEquals(expected, hash, s);
+      assertEquals(expected[0], hasher.hash64(), s);
+    }
+  }
+
+  @Test
+  public void hasherSplitSurrogatePair() {
+    Murmur3Hasher hasher = new Murmur3Hasher();
+    hasher.putUtf8("abc\uD83D");
+    // a pending high surrogate is hashed as '?' but can still be completed
+    assertEquals(reference("abc?".getBytes(UTF_8), 0)[0], hasher.hash64());
+    hasher.putUtf8("\uDE00");
+    assertEquals(reference("abc\uD83D\uDE00".getBytes(UTF_8), 0)[0], hasher.hash64());
+
+    hasher.reset().putUtf8("abcdefghijklmno\uD83D").putUtf8("d");
+    assertEquals(reference("abcdefghijklmno?d".getBytes(UTF_8), 0)[0], hasher.hash64());
+    hasher.reset().putUtf8("abcdefghijklmno\uD83D");
+    assertEquals(reference("abcdefghijklmno?".getBytes(UTF_8), 0)[0], hasher.hash64());
+  }
+
+  @Test
+  public void hasherBytes() {
+    Random random = new Random(0L);
+    Murmur3Hasher hasher = new Murmur3Hasher(-1);
+    for (int length = 0; length < 100; length++) {
+      byte[] bytes = new byte[length];
+      random.nextBytes(bytes);
+      hasher.reset();
+      int split = length / 3;
+      hasher.putBytes(bytes, 0, split);
+      if (split < length) {
+        hasher.putByte(bytes[split]);
+        hasher.putBytes(bytes, split + 1, length - split - 1);
+      }
+      assertEquals(reference(bytes, -1)[0], hasher.hash64());
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> hasher.putBytes(new byte[2], 1, 2));
+  }
+
+  private static String randomString(Random random) {
+    int length = random.nextInt(40);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Like {@code getBytes(UTF_16LE)} but without replacing unpaired surrogates.
+   */
+  private static byte[] codeUnits(String s) {
+    ByteBuffer buffer = ByteBuffer.allocate(s.length() * 2).order(ByteOrder.LITTLE_ENDIAN);
+    for (int i = 0; i < s.length(); i++) {
+      buffer.putChar(s.charAt(i));
+    }
+    return buffer.array();
+  }
+
+  private static String toHex(long[] hash) {
+    // Guava writes both halves in little endian order
+    ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putLong(hash[0]).putLong(hash[1]);
+    StringBuilder builder = new StringBuilder(32);
+    for (byte b : buffer.array()) {
+      builder.append(Character.forDigit((b >>> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Straight port of {@code MurmurHash3_x64_128} from the reference implementation.
+   */
+  private static long[] reference(byte[] data, int seed) {
+    long c1 = 0x87c37b91114253d5L;
+    long c2 = 0x4cf5ad432745937fL;
+    long h1 = seed & 0xFFFFFFFFL;
+    long h2 = seed & 0xFFFFFFFFL;
+    ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+    int nblocks = data.length / 16;
+    for (int i = 0; i < nblocks; i++) {
+      long k1 = buffer.getLong(i * 16);
+      long k2 = buffer.getLong((i * 16) + 8);
+
+      k1 *= c1; k1 = Long.rotateLeft(k1, 31); k1 *= c2; h1 ^= k1;
+      h1 = Long.rotateLeft(h1, 27); h1 += h2; h1 = (h1 * 5) + 0x52dce729;
+
+      k2 *= c2; k2 = Long.rotateLeft(k2, 33); k2 *= c1; h2 ^= k2;
+      h2 = Long.rotateLeft(h2, 31); h2 += h1; h2 = (h2 * 5) + 0x38495ab5;
+    }
+    long k1 = 0L;
+    long k2 = 0L;
+    int tail = nblocks * 16;
+    for (int i = (data.length & 15) - 1; i >= 0; i--) {
+      long b = data[tail + i] & 0xFFL;
+      if (i >= 8) {
+        k2 ^= b << ((i - 8) * 8);
+      } else {
+        k1 ^= b << (i * 8);
+      }
+    }
+    if ((data.length & 15) > 8) {
+      k2 *= c2; k2 = Long.rotateLeft(k2, 33); k2 *= c1; h2 ^= k2;
+    }
+    if ((data.length & 15) > 0) {
+      k1 *= c1; k1 = Long.rotateLeft(k1, 31); k1 *= c2; h1 ^= k1;
+    }
+
+    h1 ^= data.length;
+    h2 ^= data.length;
+    h1 += h2;
+    h2 += h1;
+    h1 = fmix64(h1);
+    h2 = fmix64(h2);
+    h1 += h2;
+    h2 += h1;
+    return new long[] {h1, h2};
+  }
+
+  private static long fmix64(long k) {
+    long f = k;
+    f ^= f >>> 33;
+    f *= 0xff51afd7ed558ccdL;
+    f ^= f >>> 33;
+    f *= 0xc4ceb9fe1a85ec53L;
+    f ^= f >>> 33;
+    return f;
+  }
+
+}
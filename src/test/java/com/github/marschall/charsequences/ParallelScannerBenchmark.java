@@ -0,0 +1,106 @@
+package com.github.marschall.charsequences;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares {@link ParallelScanner} to scanning the same sequence in a
+ * single thread.
+ *
+ * <p>The marker searched for by {@code indexOf} is in the last quarter
+ * of the sequence.</p>
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ParallelScannerBenchmark {
+
+  private static final char MARKER = '#';
+
+  @Param
+  public CharSequenceType type;
+
+  @Param({"16777216"})
+  public int length;
+
+  private CharSequence text;
+
+  private ParallelScanner scanner;
+
+  private long[] histogram;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*ParallelScannerBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(this.length);
+    StringBuilder builder = new StringBuilder(CharSequencesBenchmark.randomText(random, this.length));
+    builder.setCharAt(this.length - (this.length / 4), MARKER);
+    this.text = this.type.wrap(builder.toString());
+    this.scanner = new ParallelScanner();
+    this.histogram = new long[256];
+  }
+
+  @Benchmark
+  public long countOf() {
+    return this.scanner.countOf(this.text, ',');
+  }
+
+  @Benchmark
+  public long countOfSequential() {
+    long count = 0L;
+    CharSequence sequence = this.text;
+    for (int i = 0; i < sequence.length(); i++) {
+      if (sequence.charAt(i) == ',') {
+        count += 1L;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int indexOf() {
+    return this.scanner.indexOf(this.text, MARKER);
+  }
+
+  @Benchmark
+  public int indexOfSequential() {
+    return CharSequences.indexOf(this.text, MARKER);
+  }
+
+  @Benchmark
+  public long countLines() {
+    return this.scanner.countLines(this.text);
+  }
+
+  @Benchmark
+  public long countLinesSequential() {
+    LineCursor cursor = CharSequences.lineCursor(this.text);
+    long count = 0L;
+    while (cursor.next()) {
+      count += 1L;
+    }
+    return count;
+  }
+
+  @Benchmark
+  public long charHistogram() {
+    return this.scanner.charHistogram(this.text, this.histogram);
+  }
+
+}
@@ -0,0 +1,113 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class ParallelScannerTest {
+
+  private static final String ALPHABET = "ab,\r\n\u00E4\u20AC";
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void agreesWithSequential(CharSequenceType type) {
+    Random random = new Random(type.ordinal());
+    // small thresholds to split into many chunks
+    for (int threshold : new int[] {1, 3, 16, 1 << 16}) {
+      ParallelScanner scanner = new ParallelScanner(ForkJoinPool.commonPool(), threshold);
+      for (int i = 0; i < 200; i++) {
+        String s = randomString(random, 300);
+        CharSequence sequence = type.wrap(s);
+        String message = threshold + " " + s;
+
+        assertEquals(s.chars().filter(c -> c == ',').count(), scanner.countOf(sequence, ','), message);
+        assertEquals(s.indexOf('\u20AC'), scanner.indexOf(sequence, '\u20AC'), message);
+        assertEquals(CharSequences.lines(s).count(), scanner.countLines(sequence), message);
+
+        long[] expected = new long[256];
+        long expectedNotCounted = 0L;
+        for (int j = 0; j < s.length(); j++) {
+          char c = s.charAt(j);
+          if (c < expected.length) {
+            expected[c] += 1L;
+          } else {
+            expectedNotCounted += 1L;
+          }
+        }
+        long[] histogram = new long[256];
+        assertEquals(expectedNotCounted, scanner.charHistogram(sequence, histogram), message);
+        assertArrayEquals(expected, histogram, message);
+
+        if (!s.isEmpty()) {
+          int beginIndex = random.nextInt(s.length());
+          int endIndex = beginIndex + random.nextInt(s.length() - beginIndex + 1);
+          String range = s.substring(beginIndex, endIndex);
+          assertEquals(range.chars().filter(c -> c == 'a').count(), scanner.countOf(sequence, beginIndex, endIndex, 'a'), message);
+          int index = range.indexOf('b');
+          assertEquals(index == -1 ? -1 : index + beginIndex, scanner.indexOf(sequence, beginIndex, endIndex, 'b'), message);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void countLines() {
+    ParallelScanner scanner = new ParallelScanner(ForkJoinPool.commonPool(), 1);
+    assertEquals(0L, scanner.countLines(""));
+    assertEquals(1L, scanner.countLines("a"));
+    assertEquals(1L, scanner.countLines("\n"));
+    assertEquals(1L, scanner.countLines("a\r\n"));
+    assertEquals(2L, scanner.countLines("a\r\nb"));
+    assertEquals(2L, scanner.countLines("\r\r"));
+    assertEquals(3L, scanner.countLines("\n\r\n\r"));
+  }
+
+  @Test
+  public void histogramAccumulates() {
+    ParallelScanner scanner = new ParallelScanner(ForkJoinPool.commonPool(), 2);
+    long[] histogram = new long[128];
+    assertEquals(1L, scanner.charHistogram("abba\u00E4", histogram));
+    assertEquals(1L, scanner.charHistogram("abba\u00E4", histogram));
+    assertEquals(4L, histogram['a']);
+    assertEquals(4L, histogram['b']);
+
+    // longer than four times the histogram to split into chunks
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 1_000; i++) {
+      builder.append("abba\u00E4");
+    }
+    long[] split = new long[128];
+    assertEquals(1_000L, scanner.charHistogram(builder, split));
+    assertEquals(2_000L, split['a']);
+    assertEquals(2_000L, split['b']);
+    assertThrows(IllegalArgumentException.class, () -> scanner.charHistogram("a", new long[0x10001]));
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new ParallelScanner(ForkJoinPool.commonPool(), 0));
+    assertThrows(NullPointerException.class, () -> new ParallelScanner(null, 1));
+    ParallelScanner scanner = new ParallelScanner();
+    assertEquals(ParallelScanner.DEFAULT_THRESHOLD, scanner.getThreshold());
+    assertThrows(IndexOutOfBoundsException.class, () -> scanner.countOf("abc", 2, 1, 'a'));
+    assertThrows(IndexOutOfBoundsException.class, () -> scanner.indexOf("abc", -1, 1, 'a'));
+    assertThrows(IndexOutOfBoundsException.class, () -> scanner.indexOf("abc", 0, 4, 'a'));
+  }
+
+  private static String randomString(Random random, int maxLength) {
+    int length = random.nextInt(maxLength);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+    }
+    return builder.toString();
+  }
+
+}
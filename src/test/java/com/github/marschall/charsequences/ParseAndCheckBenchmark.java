@@ -0,0 +1,156 @@
+package com.github.marschall.charsequences;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Benchmarks the parsing methods of {@link CharSequences} as well as
+ * {@link LuhnCheck} and {@link IbanCheck} over all {@link CharSequenceType}s.
+ *
+ * <p>Unlike {@link ParseDecimalBenchmark} and {@link ParseUuidBenchmark}
+ * the inputs are randomly generated and can not be constant folded.</p>
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ParseAndCheckBenchmark {
+
+  private static final int INPUT_COUNT = CharSequencesBenchmark.INPUT_COUNT;
+
+  @Param
+  public CharSequenceType type;
+
+  private CharSequence[] ints;
+
+  private CharSequence[] longs;
+
+  // "key=value;" records, the value is parsed
+  private CharSequence[] records;
+
+  private CharSequence[] uuids;
+
+  private CharSequence[] creditCardNumbers;
+
+  private CharSequence[] ibans;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*ParseAndCheckBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(INPUT_COUNT);
+    this.ints = new CharSequence[INPUT_COUNT];
+    this.longs = new CharSequence[INPUT_COUNT];
+    this.records = new CharSequence[INPUT_COUNT];
+    this.uuids = new CharSequence[INPUT_COUNT];
+    this.creditCardNumbers = new CharSequence[INPUT_COUNT];
+    this.ibans = new CharSequence[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      // random lengths, mostly small numbers
+      this.ints[i] = this.type.wrap(Integer.toString(random.nextInt() >> random.nextInt(32)));
+      this.longs[i] = this.type.wrap(Long.toString(random.nextLong() >> random.nextInt(64)));
+      this.records[i] = this.type.wrap("key=" + random.nextInt(1_000_000) + ';');
+      this.uuids[i] = this.type.wrap(new UUID(random.nextLong(), random.nextLong()).toString());
+      this.creditCardNumbers[i] = this.type.wrap(randomLuhnNumber(random));
+      this.ibans[i] = this.type.wrap(randomSwissIban(random));
+    }
+    this.index = 0;
+  }
+
+  static String randomLuhnNumber(Random random) {
+    String payload = CharSequencesBenchmark.randomDigits(random, 15);
+    // double every second digit starting from the right, the check digit will be appended
+    int sum = 0;
+    for (int i = 0; i < payload.length(); i++) {
+      int digit = payload.charAt(payload.length() - 1 - i) - '0';
+      if ((i % 2) == 0) {
+        digit *= 2;
+        if (digit > 9) {
+          digit -= 9;
+        }
+      }
+      sum += digit;
+    }
+    String number = payload + ((10 - (sum % 10)) % 10);
+    if (!LuhnCheck.isValid(number)) {
+      throw new AssertionError("invalid number: " + number);
+    }
+    return number;
+  }
+
+  static String randomSwissIban(Random random) {
+    String bban = CharSequencesBenchmark.randomDigits(random, 17);
+    // BBAN followed by "CH00", C = 12, H = 17
+    int remainder = new BigInteger(bban + "121700").mod(BigInteger.valueOf(97L)).intValue();
+    int checkDigits = 98 - remainder;
+    String iban = "CH" + (checkDigits < 10 ? "0" : "") + checkDigits + bban;
+    if (!IbanCheck.isValid(iban)) {
+      throw new AssertionError("invalid IBAN: " + iban);
+    }
+    return iban;
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public int parseInt() {
+    return CharSequences.parseInt(this.ints[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public int parseIntRange() {
+    CharSequence record = this.records[this.nextIndex()];
+    // skip "key=" and ';'
+    return CharSequences.parseInt(record, 4, record.length() - 1);
+  }
+
+  @Benchmark
+  public long parseLong() {
+    return CharSequences.parseLong(this.longs[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public long parseLongRange() {
+    CharSequence record = this.records[this.nextIndex()];
+    // skip "key=" and ';'
+    return CharSequences.parseLong(record, 4, record.length() - 1);
+  }
+
+  @Benchmark
+  public UUID uuidFromCharSequence() {
+    return CharSequences.uuidFromCharSequence(this.uuids[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean luhnCheck() {
+    return LuhnCheck.isValid(this.creditCardNumbers[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean ibanCheck() {
+    return IbanCheck.isValid(this.ibans[this.nextIndex()]);
+  }
+
+}
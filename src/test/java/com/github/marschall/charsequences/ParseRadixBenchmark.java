@@ -0,0 +1,130 @@
+package com.github.marschall.charsequences;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares the radix, unsigned and hexadecimal parsing methods of
+ * {@link CharSequences} to the JDK. The JDK baselines have to call
+ * {@link Object#toString()} on the input as they do on Java 8.
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ParseRadixBenchmark {
+
+  private static final int INPUT_COUNT = CharSequencesBenchmark.INPUT_COUNT;
+
+  @Param
+  public CharSequenceType type;
+
+  private CharSequence[] hexInts;
+
+  private CharSequence[] base36Longs;
+
+  private CharSequence[] unsignedInts;
+
+  private CharSequence[] unsignedLongs;
+
+  private CharSequence[] hexLongs;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*ParseRadixBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(INPUT_COUNT);
+    this.hexInts = new CharSequence[INPUT_COUNT];
+    this.base36Longs = new CharSequence[INPUT_COUNT];
+    this.unsignedInts = new CharSequence[INPUT_COUNT];
+    this.unsignedLongs = new CharSequence[INPUT_COUNT];
+    this.hexLongs = new CharSequence[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      // random lengths, mostly large numbers
+      this.hexInts[i] = this.type.wrap(Integer.toString(random.nextInt() >> random.nextInt(8), 16));
+      this.base36Longs[i] = this.type.wrap(Long.toString(random.nextLong() >> random.nextInt(16), 36));
+      this.unsignedInts[i] = this.type.wrap(Integer.toUnsignedString(random.nextInt() >>> random.nextInt(8)));
+      this.unsignedLongs[i] = this.type.wrap(Long.toUnsignedString(random.nextLong() >>> random.nextInt(16)));
+      this.hexLongs[i] = this.type.wrap(Long.toHexString(random.nextLong() >>> random.nextInt(16)));
+    }
+    this.index = 0;
+  }
+
+  private int nextIndex() {
+    int current = this.index;
+    this.index = (current + 1) & (INPUT_COUNT - 1);
+    return current;
+  }
+
+  @Benchmark
+  public int parseIntHex() {
+    return CharSequences.parseInt(this.hexInts[this.nextIndex()], 16);
+  }
+
+  @Benchmark
+  public int parseIntHexJdk() {
+    return Integer.parseInt(this.hexInts[this.nextIndex()].toString(), 16);
+  }
+
+  @Benchmark
+  public long parseLongBase36() {
+    return CharSequences.parseLong(this.base36Longs[this.nextIndex()], 36);
+  }
+
+  @Benchmark
+  public long parseLongBase36Jdk() {
+    return Long.parseLong(this.base36Longs[this.nextIndex()].toString(), 36);
+  }
+
+  @Benchmark
+  public int parseUnsignedInt() {
+    return CharSequences.parseUnsignedInt(this.unsignedInts[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public int parseUnsignedIntJdk() {
+    return Integer.parseUnsignedInt(this.unsignedInts[this.nextIndex()].toString());
+  }
+
+  @Benchmark
+  public long parseUnsignedLong() {
+    return CharSequences.parseUnsignedLong(this.unsignedLongs[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public long parseUnsignedLongJdk() {
+    return Long.parseUnsignedLong(this.unsignedLongs[this.nextIndex()].toString());
+  }
+
+  @Benchmark
+  public long parseHexLong() {
+    return CharSequences.parseHexLong(this.hexLongs[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public long parseHexLongUnsignedLong() {
+    return CharSequences.parseUnsignedLong(this.hexLongs[this.nextIndex()], 16);
+  }
+
+  @Benchmark
+  public long parseHexLongJdk() {
+    return Long.parseUnsignedLong(this.hexLongs[this.nextIndex()].toString(), 16);
+  }
+
+}
@@ -0,0 +1,130 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares {@link RecordLayout} to parsing fixed-width records with
+ * hard-coded offsets and to parsing them directly from a
+ * {@link ByteBuffer}.
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RecordLayoutBenchmark {
+
+  private static final int RECORD_COUNT = 1024;
+
+  // id, amount, reference, name, card and a line separator
+  private static final int RECORD_LENGTH = 8 + 12 + 36 + 20 + 16 + 1;
+
+  @Param({"STRING", "STRING_BUILDER"})
+  public CharSequenceType type;
+
+  private RecordLayout layout;
+
+  private RecordLayout.Row row;
+
+  private int amount;
+
+  private int name;
+
+  private CharSequence records;
+
+  private ByteBuffer directBuffer;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*RecordLayoutBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RECORD_COUNT);
+    StringBuilder builder = new StringBuilder(RECORD_COUNT * RECORD_LENGTH);
+    for (int i = 0; i < RECORD_COUNT; i++) {
+      builder.append(pad(Integer.toString(random.nextInt(100_000_000)), 8));
+      builder.append(pad(random.nextInt(1_000_000) + "." + (10 + random.nextInt(90)), 12));
+      builder.append(new UUID(random.nextLong(), random.nextLong()));
+      builder.append(pad(CharSequencesBenchmark.randomText(random, 1 + random.nextInt(19)), 20));
+      builder.append(ParseAndCheckBenchmark.randomLuhnNumber(random));
+      builder.append('\n');
+    }
+    this.records = this.type.wrap(builder.toString());
+    byte[] bytes = builder.toString().getBytes(ISO_8859_1);
+    this.directBuffer = ByteBuffer.allocateDirect(bytes.length);
+    this.directBuffer.put(bytes);
+    this.layout = RecordLayout.builder()
+        .intField("id", 0, 8)
+        .decimalField("amount", 8, 20, 2)
+        .uuidField("reference", 20)
+        .textField("name", 56, 76)
+        .luhnField("card", 76, 92)
+        .recordLength(RECORD_LENGTH)
+        .build();
+    this.row = this.layout.newRow();
+    this.amount = this.layout.fieldIndex("amount");
+    this.name = this.layout.fieldIndex("name");
+  }
+
+  private static String pad(String s, int length) {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = s.length(); i < length; i++) {
+      builder.append(' ');
+    }
+    return builder.append(s).toString();
+  }
+
+  @Benchmark
+  public long recordLayout() {
+    long sum = 0L;
+    for (int offset = 0; offset < this.records.length(); offset += RECORD_LENGTH) {
+      this.layout.parse(this.records, offset, this.row);
+      sum += this.row.getUnscaledValue(this.amount) + this.row.getTextEnd(this.name);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long hardCodedOffsets() {
+    CharSequence records = this.records;
+    long sum = 0L;
+    for (int offset = 0; offset < records.length(); offset += RECORD_LENGTH) {
+      sum += CharSequences.parseInt(CharSequences.trim(records.subSequence(offset, offset + 8)));
+      CharSequence amount = CharSequences.trim(records.subSequence(offset + 8, offset + 20));
+      int dot = CharSequences.indexOf(amount, '.');
+      sum += (CharSequences.parseLong(amount, 0, dot) * 100L) + CharSequences.parseInt(amount, dot + 1, amount.length());
+      sum += CharSequences.uuidFromCharSequence(records.subSequence(offset + 20, offset + 56)).getLeastSignificantBits();
+      sum += CharSequences.trim(records.subSequence(offset + 56, offset + 76)).length();
+      sum += LuhnCheck.isValid(records.subSequence(offset + 76, offset + 92)) ? 1 : 0;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long recordLayoutDirectBuffer() {
+    // cast for Java 8 compatibility, ByteBuffer#clear() is covariant in Java 9+
+    ((Buffer) this.directBuffer).clear();
+    long[] sum = new long[1];
+    this.layout.parseAll(this.directBuffer, this.row, r -> sum[0] += r.getUnscaledValue(this.amount));
+    return sum[0];
+  }
+
+}
@@ -0,0 +1,209 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class RecordLayoutTest {
+
+  private static final String RECORD_1 = "    42-1234567890123    12.50123e4567-e89b-12d3-a456-426655440000  Hans Muster 79927398713          CH9300762011623852957 \n";
+
+  private static final String RECORD_2 = "   -17 0000000000001     -0.500112233-4455-6677-8899-aabbccddeeffGrete         4111111111111111     GB82WEST12345698765432\n";
+
+  private static RecordLayout layout() {
+    return RecordLayout.builder()
+        .intField("id", 0, 6)
+        .longField("number", 6, 20)
+        .decimalField("amount", 20, 29, 2)
+        .uuidField("reference", 29)
+        .textField("name", 65, 79)
+        .luhnField("card", 79, 100)
+        .ibanField("iban", 100, 122)
+        .recordLength(123)
+        .build();
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parse(CharSequenceType type) {
+    RecordLayout layout = layout();
+    RecordLayout.Row row = layout.newRow();
+    CharSequence record = type.wrap(RECORD_1);
+    layout.parse(record, 0, row);
+
+    assertEquals(42, row.getInt(layout.fieldIndex("id")));
+    assertEquals(-1234567890123L, row.getLong(layout.fieldIndex("number")));
+    assertEquals(1250L, row.getUnscaledValue(layout.fieldIndex("amount")));
+    assertEquals(new BigDecimal("12.50"), row.getDecimal(layout.fieldIndex("amount")));
+    UUID reference = UUID.fromString("123e4567-e89b-12d3-a456-426655440000");
+    assertEquals(reference, row.getUuid(layout.fieldIndex("reference")));
+    assertEquals(reference.getMostSignificantBits(), row.getUuidMostSignificantBits(layout.fieldIndex("reference")));
+    assertEquals(reference.getLeastSignificantBits(), row.getUuidLeastSignificantBits(layout.fieldIndex("reference")));
+    int name = layout.fieldIndex("name");
+    assertEquals("Hans Muster", row.getText(name).toString());
+    assertEquals(67, row.getTextStart(name));
+    assertEquals(78, row.getTextEnd(name));
+    assertSame(record, row.getRecord());
+    assertEquals("79927398713", row.getText(layout.fieldIndex("card")).toString());
+    assertEquals("CH9300762011623852957", row.getText(layout.fieldIndex("iban")).toString());
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseAll(CharSequenceType type) {
+    RecordLayout layout = layout();
+    RecordLayout.Row row = layout.newRow();
+    int id = layout.fieldIndex("id");
+    int amount = layout.fieldIndex("amount");
+    int name = layout.fieldIndex("name");
+    List<String> parsed = new ArrayList<>();
+    // the last record does not need a line separator
+    CharSequence records = type.wrap(RECORD_1 + RECORD_2 + RECORD_1.substring(0, RECORD_1.length() - 1));
+    int count = layout.parseAll(records, row, r -> parsed.add(r.getInt(id) + " " + r.getDecimal(amount) + " " + r.getText(name)));
+    assertEquals(3, count);
+    assertEquals(3, parsed.size());
+    assertEquals("42 12.50 Hans Muster", parsed.get(0));
+    assertEquals("-17 -0.50 Grete", parsed.get(1));
+    assertEquals("42 12.50 Hans Muster", parsed.get(2));
+  }
+
+  @Test
+  public void parseAllByteBuffer() {
+    RecordLayout layout = layout();
+    RecordLayout.Row row = layout.newRow();
+    int number = layout.fieldIndex("number");
+    int iban = layout.fieldIndex("iban");
+    byte[] bytes = ("skip" + RECORD_1 + RECORD_2 + "partial").getBytes(ISO_8859_1);
+    for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.wrap(bytes), ByteBuffer.allocateDirect(bytes.length).put(bytes)}) {
+      buffer.clear();
+      buffer.position(4);
+      List<String> parsed = new ArrayList<>();
+      int count = layout.parseAll(buffer, row, r -> parsed.add(r.getLong(number) + " " + r.getText(iban)));
+      assertEquals(2, count);
+      assertEquals("-1234567890123 CH9300762011623852957", parsed.get(0));
+      assertEquals("1 GB82WEST12345698765432", parsed.get(1));
+      assertEquals(4 + (2 * layout.recordLength()), buffer.position());
+    }
+  }
+
+  @Test
+  public void parseAllMappedByteBuffer(@TempDir Path directory) throws IOException {
+    RecordLayout layout = layout();
+    Path file = directory.resolve("records.txt");
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      content.append((i % 2) == 0 ? RECORD_1 : RECORD_2);
+    }
+    Files.write(file, content.toString().getBytes(ISO_8859_1));
+
+    int amount = layout.fieldIndex("amount");
+    long[] total = new long[1];
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0L, channel.size());
+      int count = layout.parseAll(buffer, layout.newRow(), row -> total[0] += row.getUnscaledValue(amount));
+      assertEquals(1000, count);
+      assertEquals(buffer.limit(), buffer.position());
+    }
+    assertEquals(500L * (1250L - 50L), total[0]);
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void textFieldTrimsLikeStringTrim(CharSequenceType type) {
+    String field = "\t Hans\tMuster \t\u0000";
+    RecordLayout layout = RecordLayout.builder().textField("name", 1, 1 + field.length()).build();
+    RecordLayout.Row row = layout.newRow();
+    layout.parse(type.wrap("|" + field + "|"), 0, row);
+    assertEquals(field.trim(), row.getText(0).toString());
+    assertEquals(3, row.getTextStart(0));
+    assertEquals(14, row.getTextEnd(0));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"1", "1.", "1.0", "1.00", "+1.00", " 1.00 "})
+  public void decimal(String value) {
+    RecordLayout layout = RecordLayout.builder().decimalField("value", 0, value.length(), 2).build();
+    RecordLayout.Row row = layout.newRow();
+    layout.parse(value, 0, row);
+    assertEquals(100L, row.getUnscaledValue(0));
+  }
+
+  @Test
+  public void decimalLimits() {
+    assertEquals(Long.MIN_VALUE, RecordLayout.parseDecimal("-92233720368547758.08", 0, 21, 2));
+    assertEquals(Long.MAX_VALUE, RecordLayout.parseDecimal("9.223372036854775807", 0, 20, 18));
+    assertEquals(-5L, RecordLayout.parseDecimal("-.5", 0, 3, 1));
+    assertThrows(NumberFormatException.class, () -> RecordLayout.parseDecimal("92233720368547758.08", 0, 20, 2));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "-", ".", "-.", "1.001", "1..0", "1.0.0", "1,00", "1 0", "0x10"})
+  public void decimalInvalid(String value) {
+    RecordLayout layout = RecordLayout.builder().decimalField("value", 0, Math.max(1, value.length()), 2).build();
+    RecordLayout.Row row = layout.newRow();
+    String record = value.isEmpty() ? " " : value;
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> layout.parse(record, 0, row));
+    assertEquals("invalid field: value in record at index: 0", exception.getMessage());
+  }
+
+  @Test
+  public void invalidFields() {
+    RecordLayout layout = layout();
+    RecordLayout.Row row = layout.newRow();
+    String records = RECORD_1 + RECORD_1.replace("79927398713", "79927398710");
+    layout.parse(records, 0, row);
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> layout.parse(records, 123, row));
+    assertEquals("invalid field: card in record at index: 123", exception.getMessage());
+
+    assertThrows(IllegalArgumentException.class, () -> layout.parse(RECORD_1.replace("    42", "    4x"), 0, row));
+    assertThrows(IllegalArgumentException.class, () -> layout.parse(RECORD_1.replace("    42", "      "), 0, row));
+    assertThrows(IllegalArgumentException.class, () -> layout.parse(RECORD_1.replace("123e4567", "123g4567"), 0, row));
+    assertThrows(IllegalArgumentException.class, () -> layout.parse(RECORD_1.replace("e89b-", "e89b "), 0, row));
+    assertThrows(IllegalArgumentException.class, () -> layout.parse(RECORD_1.replace("CH93", "CH94"), 0, row));
+  }
+
+  @Test
+  public void invalidArguments() {
+    RecordLayout layout = layout();
+    RecordLayout.Row row = layout.newRow();
+    assertThrows(IndexOutOfBoundsException.class, () -> layout.parse(RECORD_1, -1, row));
+    assertThrows(IndexOutOfBoundsException.class, () -> layout.parse(RECORD_1, 2, row));
+    assertThrows(IllegalArgumentException.class, () -> layout.parse(RECORD_1, 0, layout().newRow()));
+
+    layout.parse(RECORD_1, 0, row);
+    assertThrows(IllegalArgumentException.class, () -> row.getLong(layout.fieldIndex("id")));
+    assertThrows(IllegalArgumentException.class, () -> row.getText(layout.fieldIndex("id")));
+    assertThrows(IllegalArgumentException.class, () -> layout.fieldIndex("unknown"));
+  }
+
+  @Test
+  public void invalidBuilder() {
+    assertThrows(IllegalArgumentException.class, () -> RecordLayout.builder().intField("a", 0, 1).intField("a", 1, 2));
+    assertThrows(IllegalArgumentException.class, () -> RecordLayout.builder().intField("a", 1, 1));
+    assertThrows(IllegalArgumentException.class, () -> RecordLayout.builder().intField("a", -1, 1));
+    assertThrows(IllegalArgumentException.class, () -> RecordLayout.builder().decimalField("a", 0, 1, 19));
+    assertThrows(IllegalStateException.class, () -> RecordLayout.builder().build());
+    assertThrows(IllegalStateException.class, () -> RecordLayout.builder().intField("a", 0, 10).recordLength(9).build());
+  }
+
+}
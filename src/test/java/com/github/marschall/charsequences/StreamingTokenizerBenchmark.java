@@ -0,0 +1,83 @@
+package com.github.marschall.charsequences;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Compares summing the numbers of a CSV stream with
+ * {@link StreamingTokenizer} to {@link BufferedReader#readLine()},
+ * {@link String#split(String)} and {@link Long#parseLong(String)}.
+ *
+ * <p>The stream is read from a {@link StringReader} so that only the
+ * tokenizing and parsing is measured.</p>
+ *
+ * @see BenchmarkSuite
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class StreamingTokenizerBenchmark {
+
+  private static final int LINE_COUNT = 10_000;
+
+  private String csv;
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    BenchmarkSuite.run(".*StreamingTokenizerBenchmark.*", args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(LINE_COUNT);
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < LINE_COUNT; i++) {
+      builder.append(random.nextInt())
+          .append(',')
+          .append(random.nextLong())
+          .append(',')
+          .append(random.nextInt(1_000))
+          .append('\n');
+    }
+    this.csv = builder.toString();
+  }
+
+  @Benchmark
+  public long streamingTokenizer() throws IOException {
+    long total = 0L;
+    try (StreamingTokenizer tokenizer = new StreamingTokenizer(new StringReader(this.csv), ',')) {
+      while (tokenizer.next()) {
+        total += CharSequences.parseLong(tokenizer.token());
+      }
+    }
+    return total;
+  }
+
+  @Benchmark
+  public long readLineSplit() throws IOException {
+    long total = 0L;
+    try (BufferedReader reader = new BufferedReader(new StringReader(this.csv))) {
+      String line = reader.readLine();
+      while (line != null) {
+        for (String token : line.split(",")) {
+          total += Long.parseLong(token);
+        }
+        line = reader.readLine();
+      }
+    }
+    return total;
+  }
+
+}
@@ -0,0 +1,154 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class StreamingTokenizerTest {
+
+  private static final String ALPHABET = "ab,,\r\n\u00E4";
+
+  @Test
+  public void tokens() throws IOException {
+    assertTokens(Collections.emptyList(), "");
+    assertTokens(Collections.singletonList("a"), "a");
+    assertTokens(Collections.singletonList("a"), "a\n");
+    assertTokens(Collections.singletonList(""), "\n");
+    assertTokens(Arrays.asList("", ""), "\n\r");
+    assertTokens(Arrays.asList("a", "", "b", ""), "a,,b,");
+    assertTokens(Arrays.asList("a", "b", "c", "d"), "a,b\r\nc\rd\n");
+    assertTokens(Arrays.asList("a", "", "", "b"), "a,\n\r\nb");
+  }
+
+  @Test
+  public void agreesWithSplit() throws IOException {
+    Random random = new Random(0L);
+    for (int i = 0; i < 2_000; i++) {
+      StringBuilder builder = new StringBuilder();
+      int length = random.nextInt(40);
+      for (int j = 0; j < length; j++) {
+        builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+      }
+      String s = builder.toString();
+      List<String> expected = new ArrayList<>();
+      CharSequences.lines(s).forEach(line -> {
+        for (CharSequence token : CharSequences.split(line, ',')) {
+          expected.add(token.toString());
+        }
+      });
+      // small buffers so that tokens and \r\n are split between reads
+      for (int bufferSize = 1; bufferSize < 5; bufferSize++) {
+        assertEquals(expected, tokens(new StreamingTokenizer(new OneCharReader(s), ',', bufferSize)), s);
+      }
+      assertEquals(expected, tokens(new StreamingTokenizer(new StringReader(s), ',')), s);
+    }
+  }
+
+  @Test
+  public void lineNumbers() throws IOException {
+    StreamingTokenizer tokenizer = new StreamingTokenizer(new StringReader("a,b\nc\r\n\nd"), ',', 2);
+    assertThrows(IllegalStateException.class, tokenizer::token);
+    long[] expectedLines = {1L, 1L, 2L, 3L, 4L};
+    boolean[] expectedEndOfLine = {false, true, true, true, true};
+    for (int i = 0; i < expectedLines.length; i++) {
+      assertTrue(tokenizer.next());
+      assertEquals(expectedLines[i], tokenizer.getLineNumber());
+      assertEquals(expectedEndOfLine[i], tokenizer.isEndOfLine());
+    }
+    assertFalse(tokenizer.next());
+    assertFalse(tokenizer.next());
+    assertThrows(IllegalStateException.class, tokenizer::isEndOfLine);
+  }
+
+  @Test
+  public void parse() throws IOException {
+    String input = "1,-20,300\n4000,50000\n";
+    long total = 0L;
+    try (StreamingTokenizer tokenizer = new StreamingTokenizer(new ByteArrayInputStream(input.getBytes(UTF_8)), UTF_8, ',')) {
+      while (tokenizer.next()) {
+        total += CharSequences.parseLong(tokenizer.token());
+      }
+    }
+    assertEquals(54281L, total);
+  }
+
+  @Test
+  public void channel() throws IOException {
+    String input = "Gr\u00FCezi,\uD83D\uDE00\n";
+    List<String> tokens = tokens(new StreamingTokenizer(Channels.newChannel(new ByteArrayInputStream(input.getBytes(UTF_8))), UTF_8, ','));
+    assertEquals(Arrays.asList("Gr\u00FCezi", "\uD83D\uDE00"), tokens);
+  }
+
+  @Test
+  public void tokenView() throws IOException {
+    StreamingTokenizer tokenizer = new StreamingTokenizer(new StringReader("key=value,x"), ',');
+    assertTrue(tokenizer.next());
+    CharSequence token = tokenizer.token();
+    assertEquals(9, token.length());
+    assertEquals('k', token.charAt(0));
+    assertEquals(3, CharSequences.indexOf(token, '='));
+    assertEquals(3, CharSequences.lastIndexOf(token, '='));
+    assertEquals("value", token.subSequence(4, 9));
+    assertEquals("key=value", token.toString());
+    assertThrows(IndexOutOfBoundsException.class, () -> token.charAt(9));
+    assertThrows(IndexOutOfBoundsException.class, () -> token.subSequence(4, 10));
+    assertTrue(tokenizer.next());
+    assertEquals("x", token.toString());
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new StreamingTokenizer(new StringReader(""), '\n'));
+    assertThrows(IllegalArgumentException.class, () -> new StreamingTokenizer(new StringReader(""), '\r'));
+    assertThrows(IllegalArgumentException.class, () -> new StreamingTokenizer(new StringReader(""), ',', 0));
+    assertThrows(NullPointerException.class, () -> new StreamingTokenizer((Reader) null, ','));
+  }
+
+  private static void assertTokens(List<String> expected, String input) throws IOException {
+    assertEquals(expected, tokens(new StreamingTokenizer(new StringReader(input), ',')), input);
+    assertEquals(expected, tokens(new StreamingTokenizer(new OneCharReader(input), ',', 1)), input);
+  }
+
+  private static List<String> tokens(StreamingTokenizer tokenizer) throws IOException {
+    List<String> tokens = new ArrayList<>();
+    try (StreamingTokenizer closeable = tokenizer) {
+      while (closeable.next()) {
+        tokens.add(closeable.token().toString());
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * Returns at most one char per read.
+   */
+  static final class OneCharReader extends FilterReader {
+
+    OneCharReader(String s) {
+      super(new StringReader(s));
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+      return super.read(cbuf, off, Math.min(len, 1));
+    }
+
+  }
+
+}
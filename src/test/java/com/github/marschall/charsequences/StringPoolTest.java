@@ -0,0 +1,70 @@
+package com.github.marschall.charsequences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.CharBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class StringPoolTest {
+
+  @Test
+  public void canonicalize() {
+    StringPool pool = new StringPool(16);
+    String first = pool.canonicalize(new StringBuilder("CHF"));
+    assertEquals("CHF", first);
+    assertSame(first, pool.canonicalize(new StringBuilder("CHF")));
+    assertSame(first, pool.canonicalize("CHF"));
+    assertSame(first, pool.canonicalize(CharBuffer.wrap("CHF")));
+    assertEquals(3L, pool.getHitCount());
+    assertEquals(1L, pool.getMissCount());
+  }
+
+  @Test
+  public void canonicalizeRange() {
+    StringPool pool = new StringPool(16);
+    String first = pool.canonicalize("EUR,USD", 4, 7);
+    assertEquals("USD", first);
+    assertSame(first, pool.canonicalize("USD,EUR", 0, 3));
+    assertEquals("EUR", pool.canonicalize("USD,EUR", 4, 7));
+    assertEquals("", pool.canonicalize("USD", 1, 1));
+  }
+
+  @Test
+  public void eviction() {
+    StringPool pool = new StringPool(4);
+    assertEquals(4, pool.capacity());
+    String first = pool.canonicalize("0");
+    for (int i = 1; i < 10; i++) {
+      pool.canonicalize(Integer.toString(i));
+    }
+    assertEquals(10L, pool.getMissCount());
+    String second = pool.canonicalize(new StringBuilder("0"));
+    assertEquals(first, second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void referencedSurvivesEviction() {
+    StringPool pool = new StringPool(4);
+    String hot = pool.canonicalize("hot");
+    for (int i = 0; i < 10; i++) {
+      assertSame(hot, pool.canonicalize(new StringBuilder("hot")));
+      pool.canonicalize(Integer.toString(i));
+    }
+  }
+
+  @Test
+  public void invalidArguments() {
+    StringPool pool = new StringPool(16);
+    assertThrows(IndexOutOfBoundsException.class, () -> pool.canonicalize("abc", -1, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> pool.canonicalize("abc", 2, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> pool.canonicalize("abc", 1, 4));
+    assertThrows(NullPointerException.class, () -> pool.canonicalize(null));
+    assertThrows(IllegalArgumentException.class, () -> new StringPool(0));
+  }
+
+}
@@ -0,0 +1,172 @@
+package com.github.marschall.charsequences;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class Utf8CharSequenceTest {
+
+  public static List<String> inputs() {
+    StringBuilder mixed = new StringBuilder();
+    for (int i = 0; i < 300; i++) {
+      mixed.append(i % 7 == 0 ? "💩" : (i % 5 == 0 ? "ä" : (i % 3 == 0 ? "€" : "a")));
+    }
+    StringBuilder ascii = new StringBuilder();
+    for (int i = 0; i < 300; i++) {
+      ascii.append((char) ('a' + (i % 26)));
+    }
+    return Arrays.asList("", "a", "abc", "ä", "a€b", "💩", "a💩b", mixed.toString(), ascii.toString());
+  }
+
+  private static List<Utf8CharSequence> wrap(String input) {
+    byte[] bytes = input.getBytes(UTF_8);
+    byte[] padded = new byte[bytes.length + 4];
+    System.arraycopy(bytes, 0, padded, 2, bytes.length);
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+    direct.put((byte) 'x');
+    direct.put(bytes);
+    direct.flip();
+    direct.position(1);
+    return Arrays.asList(
+            Utf8CharSequence.wrap(bytes),
+            Utf8CharSequence.wrap(padded, 2, bytes.length),
+            Utf8CharSequence.wrap(direct));
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void charAt(String input) {
+    for (Utf8CharSequence sequence : wrap(input)) {
+      assertEquals(input.length(), sequence.length());
+      for (int i = 0; i < input.length(); i++) {
+        assertEquals(input.charAt(i), sequence.charAt(i), "index: " + i);
+      }
+      // random access after sequential access
+      for (int i = input.length() - 1; i >= 0; i -= 13) {
+        assertEquals(input.charAt(i), sequence.charAt(i), "index: " + i);
+      }
+      assertThrows(IndexOutOfBoundsException.class, () -> sequence.charAt(-1));
+      assertThrows(IndexOutOfBoundsException.class, () -> sequence.charAt(input.length()));
+      assertEquals(input, sequence.toString());
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void subSequence(String input) {
+    for (Utf8CharSequence sequence : wrap(input)) {
+      for (int start = 0; start <= input.length(); start += 7) {
+        for (int end = start; end <= input.length(); end += 11) {
+          CharSequence subSequence = sequence.subSequence(start, end);
+          assertEquals(input.substring(start, end), subSequence.toString());
+          assertEquals(end - start, subSequence.length());
+        }
+      }
+      assertSame(sequence, sequence.subSequence(0, input.length()));
+      assertThrows(IndexOutOfBoundsException.class, () -> sequence.subSequence(-1, 0));
+      assertThrows(IndexOutOfBoundsException.class, () -> sequence.subSequence(1, 0));
+      assertThrows(IndexOutOfBoundsException.class, () -> sequence.subSequence(0, input.length() + 1));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  public void indexOf(String input) {
+    for (Utf8CharSequence sequence : wrap(input)) {
+      for (char c : new char[] {'a', 'b', 'ä', '€', '\uD83D', '\uDCA9', 'z'}) {
+        assertEquals(input.indexOf(c), CharSequences.indexOf(sequence, c));
+        assertEquals(input.lastIndexOf(c), CharSequences.lastIndexOf(sequence, c));
+        for (int from = -1; from <= input.length() + 1; from += 5) {
+          assertEquals(input.indexOf(c, from), CharSequences.indexOf(sequence, c, from));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void isAscii() {
+    assertTrue(Utf8CharSequence.wrap(new byte[0]).isAscii());
+    assertTrue(Utf8CharSequence.wrap("abc".getBytes(UTF_8)).isAscii());
+    assertFalse(Utf8CharSequence.wrap("äbc".getBytes(UTF_8)).isAscii());
+    assertTrue(Utf8CharSequence.wrap("äbc".getBytes(UTF_8)).subSequence(1, 3) instanceof Utf8CharSequence);
+  }
+
+  @Test
+  public void parse() {
+    Utf8CharSequence sequence = Utf8CharSequence.wrap("ä,-123,ba226cf7-d156-4b18-a78a-094736208cc9".getBytes(UTF_8));
+    assertEquals(-123, CharSequences.parseInt(sequence, 2, 6));
+    CharSequence uuid = sequence.subSequence(7, sequence.length());
+    assertEquals("ba226cf7-d156-4b18-a78a-094736208cc9", CharSequences.uuidFromCharSequence(uuid).toString());
+  }
+
+  @Test
+  public void parseAscii() {
+    byte[] bytes = "x;-2147483648;9223372036854775807;12a;".getBytes(UTF_8);
+    // array with offset
+    Utf8CharSequence sequence = Utf8CharSequence.wrap(bytes, 2, bytes.length - 2);
+    assertTrue(sequence.isAscii());
+    assertEquals(Integer.MIN_VALUE, CharSequences.parseInt(sequence, 0, 11));
+    assertEquals(Long.MAX_VALUE, CharSequences.parseLong(sequence, 12, 31));
+    assertEquals(12, CharSequences.parseInt(sequence, 32, 34));
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseInt(sequence, 32, 35));
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseInt(sequence, 1, 12));
+    assertThrows(NumberFormatException.class, () -> CharSequences.parseLong(sequence, 0, 1));
+    assertTrue(CharSequences.isNumeric(sequence.subSequence(12, 31)));
+    assertFalse(CharSequences.isNumeric(sequence.subSequence(32, 35)));
+    assertTrue(CharSequences.isNumeric(Utf8CharSequence.wrap(bytes, 24, 4)));
+
+    // without array
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes);
+    // cast for Java 8 compatibility, ByteBuffer#position(int) is covariant in Java 9+
+    ((Buffer) direct).position(2);
+    Utf8CharSequence directSequence = Utf8CharSequence.wrap(direct);
+    assertEquals(Integer.MIN_VALUE, CharSequences.parseInt(directSequence, 0, 11));
+    assertEquals(Long.MAX_VALUE, CharSequences.parseLong(directSequence, 12, 31));
+    assertFalse(CharSequences.isNumeric(directSequence));
+  }
+
+  @Test
+  public void malformed() {
+    // truncated, invalid lead byte, encoded surrogate, overlong
+    byte[] bytes = {'a', (byte) 0xE2, (byte) 0x82, 'b', (byte) 0xFF, (byte) 0xED, (byte) 0xA0, (byte) 0x80, (byte) 0xC0, (byte) 0xAF};
+    Utf8CharSequence sequence = Utf8CharSequence.wrap(bytes);
+    assertEquals("a��b������", sequence.toString());
+    assertEquals(10, sequence.length());
+    assertEquals('b', sequence.charAt(3));
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThrows(NullPointerException.class, () -> Utf8CharSequence.wrap((byte[]) null));
+    assertThrows(NullPointerException.class, () -> Utf8CharSequence.wrap((ByteBuffer) null));
+    assertThrows(IndexOutOfBoundsException.class, () -> Utf8CharSequence.wrap(new byte[1], -1, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> Utf8CharSequence.wrap(new byte[1], 1, 1));
+  }
+
+  @Test
+  public void indexOfOutOfRange() {
+    for (String s : new String[] {"abab", "ab\u00E4ab"}) {
+      Utf8CharSequence sequence = Utf8CharSequence.wrap(s.getBytes(UTF_8));
+      assertEquals(0, sequence.indexOf('a', -1, s.length()));
+      assertEquals(s.length() - 1, sequence.indexOf('b', s.length() - 1, s.length() + 1));
+      assertEquals(-1, sequence.indexOf('a', s.length(), s.length() + 1));
+      assertEquals(-1, sequence.indexOf('a', 2, 1));
+      assertEquals(-1, sequence.indexOf('a', Integer.MIN_VALUE, 0));
+      assertEquals(s.length() - 2, sequence.lastIndexOf('a'));
+    }
+  }
+
+}
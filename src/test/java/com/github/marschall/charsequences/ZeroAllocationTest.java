@@ -0,0 +1,392 @@
+package com.github.marschall.charsequences;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Verifies the methods documented with "no allocation is performed" do
+ * not allocate once warmed up.
+ *
+ * <p>The bytes allocated by the current thread are measured using
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ * The minimum over several rounds is taken to filter out allocations by
+ * class loading or the JIT.</p>
+ */
+public class ZeroAllocationTest {
+
+  private static final int ITERATIONS = 10_000;
+
+  private static final int WARMUP_ROUNDS = 20;
+
+  private static final int ROUNDS = 10;
+
+  /**
+   * The size of an {@link java.util.UUID} with compressed class pointers
+   * is 32 bytes.
+   */
+  private static final long UUID_SIZE = 32L;
+
+  private static com.sun.management.ThreadMXBean threadBean;
+
+  private static long measurementOverhead;
+
+  // prevents dead code elimination
+  static long sink;
+
+  @BeforeAll
+  public static void setUpThreadBean() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "com.sun.management.ThreadMXBean not available");
+    threadBean = (com.sun.management.ThreadMXBean) bean;
+    assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "thread allocated memory not supported");
+    if (!threadBean.isThreadAllocatedMemoryEnabled()) {
+      threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+    // getThreadAllocatedBytes may allocate itself on some JDK versions
+    measurementOverhead = minimumAllocatedBytes(i -> i);
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseInt(CharSequenceType type) {
+    CharSequence number = type.wrap("-2147483648");
+    CharSequence record = type.wrap("key=123456;");
+    assertNoAllocation(i -> CharSequences.parseInt(number));
+    assertNoAllocation(i -> CharSequences.parseInt(record, 4, 10));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseLong(CharSequenceType type) {
+    CharSequence number = type.wrap("-9223372036854775808");
+    CharSequence record = type.wrap("key=1234567890123;");
+    assertNoAllocation(i -> CharSequences.parseLong(number));
+    assertNoAllocation(i -> CharSequences.parseLong(record, 4, 17));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parseRadix(CharSequenceType type) {
+    CharSequence hex = type.wrap("-7fffffff");
+    CharSequence unsigned = type.wrap("18446744073709551615");
+    CharSequence hexLong = type.wrap("0123456789abcdef");
+    CharSequence base36 = type.wrap("1y2p0ij32e8e7");
+    assertNoAllocation(i -> CharSequences.parseInt(hex, 16));
+    assertNoAllocation(i -> CharSequences.parseLong(base36, 36));
+    assertNoAllocation(i -> CharSequences.parseUnsignedInt(hex, 1, 9, 16));
+    assertNoAllocation(i -> CharSequences.parseUnsignedLong(unsigned));
+    assertNoAllocation(i -> CharSequences.parseHexLong(hexLong));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void uuidFromCharSequence(CharSequenceType type) {
+    CharSequence uuid = type.wrap("123e4567-e89b-12d3-a456-426655440000");
+    // only the UUID itself may be allocated
+    assertAllocationAtMost(UUID_SIZE, i -> CharSequences.uuidFromCharSequence(uuid).getLeastSignificantBits());
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void search(CharSequenceType type) {
+    CharSequence sequence = type.wrap("1234567890,abcdefghijklmnopqrstuvwxyz,1234567890");
+    CharSequence prefix = type.wrap("1234");
+    assertNoAllocation(i -> CharSequences.isNumeric(sequence) ? 1L : 0L);
+    assertNoAllocation(i -> CharSequences.indexOf(sequence, 'z'));
+    assertNoAllocation(i -> CharSequences.indexOf(sequence, ',', 12));
+    assertNoAllocation(i -> CharSequences.lastIndexOf(sequence, 'a'));
+    assertNoAllocation(i -> CharSequences.indexOf(sequence, "xyz"));
+    assertNoAllocation(i -> CharSequences.startsWith(sequence, prefix) ? 1L : 0L);
+    assertNoAllocation(i -> CharSequences.startsWithBom(sequence) ? 1L : 0L);
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void comparators(CharSequenceType type) {
+    CharSequence a = type.wrap("file10.txt");
+    CharSequence b = type.wrap("File9.txt");
+    CharSequence[] sorted = {"alpha", "beta", "file10.txt", "file9.txt", "gamma"};
+    assertNoAllocation(i -> CharSequenceComparators.compare(a, b));
+    assertNoAllocation(i -> CharSequenceComparators.ignoringAsciiCase().compare(a, b));
+    assertNoAllocation(i -> CharSequenceComparators.natural().compare(a, b));
+    assertNoAllocation(i -> CharSequenceComparators.binarySearch(sorted, a));
+    assertNoAllocation(i -> CharSequenceComparators.binarySearch(sorted, b, 1, 9));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void trimWithoutWhitespace(CharSequenceType type) {
+    CharSequence sequence = type.wrap("no white space");
+    assertNoAllocation(i -> CharSequences.trim(sequence).length());
+    assertNoAllocation(i -> CharSequences.strip(sequence).length());
+    assertNoAllocation(i -> CharSequences.stripLeading(sequence).length());
+    assertNoAllocation(i -> CharSequences.stripTrailing(sequence).length());
+    assertNoAllocation(i -> CharSequences.removeLeadingBom(sequence).length());
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void utf8(CharSequenceType type) {
+    CharSequence sequence = type.wrap("Gr\u00FC\u00DFe, 10 \u20AC \uD83D\uDE00");
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    assertNoAllocation(i -> CharSequences.utf8Length(sequence));
+    assertNoAllocation(i -> {
+      // cast for Java 8 compatibility, ByteBuffer#clear() is covariant in Java 9+
+      ((Buffer) buffer).clear();
+      return CharSequences.encodeUtf8(sequence, buffer);
+    });
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void checks(CharSequenceType type) {
+    CharSequence creditCardNumber = type.wrap("79927398713");
+    CharSequence iban = type.wrap("CH9300762011623852957");
+    assertNoAllocation(i -> LuhnCheck.isValid(creditCardNumber) ? 1L : 0L);
+    assertNoAllocation(i -> IbanCheck.isValid(iban) ? 1L : 0L);
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void keywordMatcher(CharSequenceType type) {
+    KeywordMatcher matcher = KeywordMatcher.forEnum(TimeUnit.class);
+    CharSequence keyword = type.wrap("MILLISECONDS");
+    CharSequence record = type.wrap("unit=SECONDS;");
+    assertNoAllocation(i -> matcher.indexOf(keyword));
+    assertNoAllocation(i -> matcher.indexOf(record, 5, 12));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void lineCursor(CharSequenceType type) {
+    CharSequence text = type.wrap("first\nsecond\r\nthird\rfourth");
+    LineCursor cursor = CharSequences.lineCursor(text);
+    assertNoAllocation(i -> {
+      cursor.position(0);
+      long sum = 0L;
+      while (cursor.next()) {
+        sum += cursor.lineEnd() - cursor.lineStart();
+      }
+      return sum;
+    });
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void iso8601(CharSequenceType type) {
+    CharSequence timestamp = type.wrap("2020-02-29T13:37:05.123456789+01:00");
+    assertNoAllocation(i -> Iso8601.parseEpochMilli(timestamp));
+    assertNoAllocation(i -> Iso8601.parseEpochNano(timestamp));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void recordLayout(CharSequenceType type) {
+    RecordLayout layout = RecordLayout.builder()
+        .intField("id", 0, 6)
+        .decimalField("amount", 6, 15, 2)
+        .textField("name", 15, 30)
+        .luhnField("card", 30, 42)
+        .build();
+    RecordLayout.Row row = layout.newRow();
+    CharSequence record = type.wrap("    42    12.50  Hans Muster  79927398713 ");
+    assertNoAllocation(i -> {
+      layout.parse(record, 0, row);
+      return row.getUnscaledValue(1) + row.getTextEnd(2);
+    });
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void stringPoolHit(CharSequenceType type) {
+    StringPool pool = new StringPool(16);
+    CharSequence currency = type.wrap("CHF");
+    pool.canonicalize(currency);
+    assertNoAllocation(i -> pool.canonicalize(currency).length());
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void murmur3(CharSequenceType type) {
+    CharSequence token = type.wrap("Gr\u00FCezi mitenand, \uD83D\uDE00 account-4711");
+    long[] hash = new long[2];
+    Murmur3Hasher hasher = new Murmur3Hasher();
+    assertNoAllocation(i -> Murmur3.hash64(token));
+    assertNoAllocation(i -> Murmur3.hash64(token, 3, 30, Murmur3.Encoding.UTF_8, 42));
+    assertNoAllocation(i -> {
+      Murmur3.hash128(token, 0, token.length(), Murmur3.Encoding.UTF_8, 0, hash);
+      return hash[1];
+    });
+    assertNoAllocation(i -> hasher.reset().putUtf8(token, 0, 20).putUtf8(token, 20, token.length()).hash64());
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void editDistance(CharSequenceType type) {
+    CharSequence name = type.wrap("Hans Muster-Meier");
+    CharSequence other = type.wrap("Hans Mustre-Maier");
+    CharSequence text = type.wrap("Herr Hans Mustr-Meier, Zurich");
+    EditDistance editDistance = new EditDistance();
+    FuzzyMatcher matcher = FuzzyMatcher.compile("Muster", 1);
+    assertNoAllocation(i -> editDistance.editDistance(name, other, 3));
+    assertNoAllocation(i -> editDistance.damerauDistance(name, other, 3));
+    assertNoAllocation(i -> matcher.findStart(text, 0, matcher.findEnd(text)));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void escaper(CharSequenceType type) {
+    CharSequence value = type.wrap("say \"Gr\u00FCezi\"\n");
+    StringBuilder builder = new StringBuilder(64);
+    byte[] destination = new byte[64];
+    assertNoAllocation(i -> Escaper.json().needsEscaping(value) ? 1L : 0L);
+    assertNoAllocation(i -> {
+      builder.setLength(0);
+      return Escaper.json().escape(value, builder).length();
+    });
+    assertNoAllocation(i -> Escaper.csv().escapeUtf8(value, 0, value.length(), destination, 0));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void globPattern(CharSequenceType type) {
+    CharSequence topic = type.wrap("key=orders.2024.eu-1;");
+    GlobPattern pattern = GlobPattern.compile("orders.*.eu-?");
+    GlobPattern segments = GlobPattern.compile("*.20?4.*");
+    assertNoAllocation(i -> pattern.matches(topic, 4, 20) ? 1L : 0L);
+    assertNoAllocation(i -> segments.matches(topic) ? 1L : 0L);
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void charClass(CharSequenceType type) {
+    CharSequence hex = type.wrap("0123456789abcdefABCDEF");
+    byte[] ascii = "plain ascii text".getBytes(StandardCharsets.ISO_8859_1);
+    assertNoAllocation(i -> CharClass.HEX_DIGIT.matchesAll(hex) ? 1L : 0L);
+    assertNoAllocation(i -> CharClass.DIGIT.indexOfMismatch(hex, 2, 20));
+    assertNoAllocation(i -> CharClass.ASCII.indexOfMismatch(ascii, 0, ascii.length));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void parallelScannerBelowThreshold(CharSequenceType type) {
+    CharSequence text = type.wrap("a,b,c\r\nd,e\n#");
+    ParallelScanner scanner = new ParallelScanner();
+    long[] histogram = new long[128];
+    assertNoAllocation(i -> scanner.countOf(text, ','));
+    assertNoAllocation(i -> scanner.indexOf(text, '#'));
+    assertNoAllocation(i -> scanner.countLines(text));
+    assertNoAllocation(i -> scanner.charHistogram(text, histogram));
+  }
+
+  @Test
+  public void streamingTokenizer() {
+    StreamingTokenizer tokenizer = new StreamingTokenizer(new CyclicReader("12,-34,5678\r\n"), ',', 64);
+    assertNoAllocation(i -> {
+      try {
+        tokenizer.next();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return CharSequences.parseLong(tokenizer.token()) + tokenizer.getLineNumber();
+    });
+  }
+
+  @ParameterizedTest
+  @EnumSource(CharSequenceType.class)
+  public void charSequenceBuffer(CharSequenceType type) {
+    CharSequence text = type.wrap("key=");
+    CharSequence utf16 = type.wrap("\u20AC");
+    CharSequenceBuffer buffer = new CharSequenceBuffer();
+    assertNoAllocation(i -> buffer.clear().append(text).append(i).append(',').append(-1L * i).length());
+    assertNoAllocation(i -> buffer.clear().append(i).parseInt() + buffer.clear().append(-1L * i).parseLong());
+    assertNoAllocation(i -> CharSequences.indexOf(buffer.clear().append(text).append(i), '='));
+    // the inflated char array is reused after clear()
+    assertNoAllocation(i -> buffer.clear().append(utf16).append(text).append(i).length());
+  }
+
+  private static void assertNoAllocation(Invocation invocation) {
+    assertAllocationAtMost(0L, invocation);
+  }
+
+  private static void assertAllocationAtMost(long bytesPerInvocation, Invocation invocation) {
+    long allocated = minimumAllocatedBytes(invocation) - measurementOverhead;
+    assertThat("bytes allocated in " + ITERATIONS + " invocations", allocated, lessThanOrEqualTo(bytesPerInvocation * ITERATIONS));
+  }
+
+  private static long minimumAllocatedBytes(Invocation invocation) {
+    long threadId = Thread.currentThread().getId();
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      sink += invokeAll(invocation);
+    }
+    long minimum = Long.MAX_VALUE;
+    for (int i = 0; i < ROUNDS; i++) {
+      long before = threadBean.getThreadAllocatedBytes(threadId);
+      long result = invokeAll(invocation);
+      long after = threadBean.getThreadAllocatedBytes(threadId);
+      sink += result;
+      minimum = Math.min(minimum, after - before);
+    }
+    return minimum;
+  }
+
+  private static long invokeAll(Invocation invocation) {
+    long result = 0L;
+    for (int i = 0; i < ITERATIONS; i++) {
+      result += invocation.invoke(i);
+    }
+    return result;
+  }
+
+  /**
+   * Repeats the same input forever.
+   */
+  static final class CyclicReader extends Reader {
+
+    private final String input;
+
+    private int position;
+
+    CyclicReader(String input) {
+      this.input = input;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+      for (int i = 0; i < len; i++) {
+        cbuf[off + i] = this.input.charAt(this.position);
+        this.position = (this.position + 1) % this.input.length();
+      }
+      return len;
+    }
+
+    @Override
+    public void close() {
+      // nothing to close
+    }
+
+  }
+
+  @FunctionalInterface
+  interface Invocation {
+
+    long invoke(int iteration);
+
+  }
+
+}